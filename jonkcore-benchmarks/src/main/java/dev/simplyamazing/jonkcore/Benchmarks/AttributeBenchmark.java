@@ -0,0 +1,44 @@
+package dev.simplyamazing.jonkcore.Benchmarks;
+
+import dev.simplyamazing.jonkcore.Objects.Attribute;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing Attributes of different types with {@link Attribute#fromString(String, Attribute)}, as done when a User's Attributes are unpacked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributeBenchmark {
+    private Attribute<Integer> integerReference;
+    private Attribute<String> stringReference;
+    private Attribute<ChatColor> enumReference;
+
+    @Setup
+    public void setup() {
+        integerReference = new Attribute<>("kills", 0);
+        stringReference = new Attribute<>("nickname", "");
+        enumReference = new Attribute<>("colour", ChatColor.WHITE);
+    }
+
+    @Benchmark
+    public Attribute<?> fromStringInteger() {
+        return Attribute.fromString("kills:1024", integerReference);
+    }
+
+    @Benchmark
+    public Attribute<?> fromStringString() {
+        return Attribute.fromString("nickname:SimplyAmazing", stringReference);
+    }
+
+    @Benchmark
+    public Attribute<?> fromStringEnum() {
+        return Attribute.fromString("colour:GOLD", enumReference);
+    }
+}
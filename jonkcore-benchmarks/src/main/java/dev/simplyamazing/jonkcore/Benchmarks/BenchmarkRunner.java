@@ -0,0 +1,52 @@
+package dev.simplyamazing.jonkcore.Benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {}
+
+    /**
+     * Run the benchmarks, writing the results as JSON to <code>benchmark-results/jonkcore-&lt;version&gt;.json</code>, so the results of each
+     * JonkCORE version can be compared.
+     * <br><br>
+     * Any JMH option may be given, such as a pattern of the benchmarks to run or <code>-rff</code> to write the results elsewhere.
+     *
+     * @param args JMH command line options
+     * @throws Exception if the options are invalid or the benchmarks could not be run
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if(!commandLine.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if(!commandLine.getResult().hasValue()) {
+            File results = new File("benchmark-results", "jonkcore-" + getVersion() + ".json");
+            if(!results.getParentFile().isDirectory() && !results.getParentFile().mkdirs()) throw new IOException("Failed to create the results directory " + results.getParent());
+            options.result(results.getPath());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * Get the version of JonkCORE being benchmarked.
+     * @return version, or <code>unknown</code> if it was not recorded when the benchmarks were built
+     */
+    public static String getVersion() {
+        try(InputStream stream = BenchmarkRunner.class.getResourceAsStream("/benchmark.properties")) {
+            if(stream == null) return "unknown";
+            Properties properties = new Properties();
+            properties.load(stream);
+            return properties.getProperty("jonkcore.version", "unknown");
+        } catch(IOException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package dev.simplyamazing.jonkcore.Benchmarks;
+
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubPlayer;
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubPlugin;
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubUser;
+import dev.simplyamazing.jonkcore.Exceptions.PermissionRequiredException;
+import dev.simplyamazing.jonkcore.Objects.ChatRoom;
+import dev.simplyamazing.jonkcore.Objects.ChatStyle;
+import dev.simplyamazing.jonkcore.Objects.ID;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatContext;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatPipeline;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.CoreChatHandlers;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sending a message from a User to every User subscribed to a ChatRoom, with and without the timings of a ChatPipeline.
+ * <br><br>
+ * JonkCORE is not enabled, so the rate limiter, chat filter, duplicate detector, chat log and relay are all skipped.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatRoomBenchmark {
+    private static final String MESSAGE = "Has anyone found the stronghold yet? I have &aplenty&r of eyes of ender.";
+
+    @Param({"1", "10", "100", "1000"})
+    public int roomSize;
+
+    private ChatRoom room;
+    private StubUser sender;
+    private ChatPipeline pipeline;
+
+    @Setup
+    public void setup() throws PermissionRequiredException {
+        room = new ChatRoom(new ID("bench"), new ChatStyle("&7[&bBench&7]", "", ChatColor.WHITE, true), "#", null);
+        for(int i = 0; i < roomSize; i++) {
+            StubUser user = new StubUser(new StubPlayer("Player" + i, Set.of("*"), false));
+            room.subscribe(user);
+            if(sender == null) sender = user;
+        }
+        pipeline = new ChatPipeline();
+        CoreChatHandlers.register(pipeline, StubPlugin.create("JonkCORE"));
+    }
+
+    @Benchmark
+    public void sendMessage() {
+        room.sendMessage(sender, MESSAGE);
+    }
+
+    @Benchmark
+    public ChatContext sendMessageThroughPipeline() {
+        return pipeline.process(new ChatContext(null, sender, room, MESSAGE));
+    }
+}
@@ -0,0 +1,47 @@
+package dev.simplyamazing.jonkcore.Benchmarks;
+
+import dev.simplyamazing.jonkcore.Objects.ChatStyle;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting messages with a ChatStyle, with and without colour overriding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatStyleBenchmark {
+    @Param({"short", "long"})
+    public String length;
+
+    private ChatStyle colourOverride;
+    private ChatStyle plain;
+    private String message;
+
+    @Setup
+    public void setup() {
+        colourOverride = new ChatStyle("&7[&bStaff&7] ", " &8(&7staff only&8)", ChatColor.AQUA, true);
+        plain = new ChatStyle("&7[&bStaff&7] ", " &8(&7staff only&8)", ChatColor.AQUA, false);
+        message = length.equals("short") ? "&ahello!" : "&aHello everyone, &lwelcome &rto the server. ".repeat(6);
+    }
+
+    @Benchmark
+    public String formatMessage() {
+        return colourOverride.formatMessage(message);
+    }
+
+    @Benchmark
+    public String formatMessageWithoutOverride() {
+        return plain.formatMessage(message);
+    }
+
+    @Benchmark
+    public String formatMessageAnonymously() {
+        return colourOverride.formatMessageAnonymously(message);
+    }
+}
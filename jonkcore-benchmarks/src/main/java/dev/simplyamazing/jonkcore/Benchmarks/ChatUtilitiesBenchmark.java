@@ -0,0 +1,36 @@
+package dev.simplyamazing.jonkcore.Benchmarks;
+
+import dev.simplyamazing.jonkcore.Utilities.ChatUtilities;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translating colour codes with {@link ChatUtilities#autoColour(String)}, which runs on every message sent to every User.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatUtilitiesBenchmark {
+    @Param({"none", "few", "many"})
+    public String codes;
+
+    private String message;
+
+    @Setup
+    public void setup() {
+        message = switch(codes) {
+            case "none" -> "Has anyone found the stronghold yet? I have plenty of eyes of ender.";
+            case "few" -> "&7[&bGlobal&7] &fHas anyone found the &astronghold&f yet?";
+            default -> "&c&lW&6&lE&e&lL&a&lC&b&lO&9&lM&d&lE &r&7to &bthe &3server&8!".repeat(3);
+        };
+    }
+
+    @Benchmark
+    public String autoColour() {
+        return ChatUtilities.autoColour(message);
+    }
+}
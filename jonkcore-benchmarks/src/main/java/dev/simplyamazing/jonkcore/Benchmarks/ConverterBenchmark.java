@@ -0,0 +1,80 @@
+package dev.simplyamazing.jonkcore.Benchmarks;
+
+import dev.simplyamazing.jonkcore.Benchmarks.Load.FakeServer;
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubForeignUser;
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubPlayer;
+import dev.simplyamazing.jonkcore.Exceptions.ConversionException;
+import dev.simplyamazing.jonkcore.Objects.ConversionCache;
+import dev.simplyamazing.jonkcore.Objects.GenericUserConverter;
+import dev.simplyamazing.jonkcore.Objects.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Converting a sub-plugin's own User with the {@link GenericUserConverter}, which re-uses the previous conversion for as long as the User's
+ * modification count does not change.
+ * <br><br>
+ * JonkCORE is enabled on a {@link FakeServer}, since each new conversion starts from an empty User subscribed to the global ChatRoom.
+ * The hit rate of the conversion cache is printed once each benchmark finishes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+    private Path dataFolder;
+    private FakeServer server;
+    private GenericUserConverter converter;
+    private StubForeignUser unchanged;
+    private StubForeignUser modified;
+    private StubForeignUser untracked;
+
+    @Setup
+    public void setup() throws Exception {
+        dataFolder = Files.createTempDirectory("jonkcore-converter");
+        server = FakeServer.install();
+        server.enable(dataFolder.toFile(), Map.of("updates.check-on-startup", false, "relay.enabled", false, "metrics.prometheus.enabled", false));
+        converter = new GenericUserConverter();
+        unchanged = new StubForeignUser(new StubPlayer("Unchanged", Set.of(), false), true);
+        modified = new StubForeignUser(new StubPlayer("Modified", Set.of(), false), true);
+        untracked = new StubForeignUser(new StubPlayer("Untracked", Set.of(), false), false);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        ConversionCache<User> cache = converter.getCache();
+        System.out.println();
+        System.out.println("Conversion cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses, hit rate " + String.format("%.4f", cache.getHitRate()));
+        converter.invalidateAll();
+        server.disable();
+        try(Stream<Path> files = Files.walk(dataFolder)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public User convertUnchanged() throws ConversionException {
+        return converter.convert(unchanged.getUser());
+    }
+
+    @Benchmark
+    public User convertModified() throws ConversionException {
+        modified.modify();
+        return converter.convert(modified.getUser());
+    }
+
+    @Benchmark
+    public User convertUntracked() throws ConversionException {
+        return converter.convert(untracked.getUser());
+    }
+}
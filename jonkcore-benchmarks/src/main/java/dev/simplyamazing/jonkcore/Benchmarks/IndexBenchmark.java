@@ -0,0 +1,67 @@
+package dev.simplyamazing.jonkcore.Benchmarks;
+
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubPlayer;
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubUser;
+import dev.simplyamazing.jonkcore.Objects.ID;
+import dev.simplyamazing.jonkcore.Objects.Index;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import dev.simplyamazing.jonkcore.Objects.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up Users in the Index by ID and by name, where the User looked up was registered last.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexBenchmark {
+    @Param({"10", "100", "1000"})
+    public int users;
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private Index index;
+    private ID lastId;
+    private String lastName;
+    private ID missingId;
+
+    @Setup
+    public void setup() {
+        Metrics.setEnabled(metrics);
+        index = new Index();
+        for(int i = 0; i < users; i++) {
+            StubUser user = new StubUser(new StubPlayer("Player" + i, Set.of(), false));
+            index.registerUser(user);
+            lastId = user.getIdentifier();
+            lastName = user.unsafeGetPlayer().getName();
+        }
+        missingId = new ID(UUID.randomUUID());
+    }
+
+    @TearDown
+    public void tearDown() {
+        Metrics.setEnabled(true);
+    }
+
+    @Benchmark
+    public User getUserById() {
+        return index.getUser(lastId);
+    }
+
+    @Benchmark
+    public User getUserByName() {
+        return index.getUser(lastName);
+    }
+
+    @Benchmark
+    public User getMissingUser() {
+        return index.getUser(missingId);
+    }
+}
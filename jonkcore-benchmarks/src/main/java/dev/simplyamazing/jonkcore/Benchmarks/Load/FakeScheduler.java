@@ -0,0 +1,206 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Load;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * A BukkitScheduler whose synchronous tasks are run by {@link #tick()}, on whichever thread the {@link FakeServer} treats as the main thread.
+ * <br><br>
+ * Asynchronous tasks are run immediately on a shared thread pool, ignoring any delay or period, since JonkCORE only schedules sync tasks.
+ */
+public class FakeScheduler implements InvocationHandler {
+    private final BukkitScheduler scheduler;
+    private final List<Task> tasks;
+    private final List<Task> added;
+    private final AtomicInteger ids;
+    private final ExecutorService async;
+    private volatile long currentTick;
+
+    /**
+     * Constructor for the FakeScheduler object.
+     */
+    public FakeScheduler() {
+        this.scheduler = (BukkitScheduler) Proxy.newProxyInstance(BukkitScheduler.class.getClassLoader(), new Class<?>[] {BukkitScheduler.class}, this);
+        this.tasks = new ArrayList<>();
+        this.added = new ArrayList<>();
+        this.ids = new AtomicInteger();
+        this.async = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "FakeServer-Async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retrieve the BukkitScheduler.
+     * @return BukkitScheduler object
+     */
+    public BukkitScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Retrieve the amount of ticks that have been run.
+     * @return current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Run every synchronous task that is due this tick.
+     * <br><br>
+     * Tasks scheduled while the tick is running are run on a later tick, as on a real server.
+     */
+    public void tick() {
+        currentTick++;
+        synchronized(added) {
+            tasks.addAll(added);
+            added.clear();
+        }
+        Iterator<Task> iterator = tasks.iterator();
+        while(iterator.hasNext()) {
+            Task task = iterator.next();
+            if(task.cancelled) {
+                iterator.remove();
+                continue;
+            }
+            if(task.nextTick > currentTick) continue;
+            try {
+                task.runnable.run();
+            } catch(RuntimeException e) {
+                task.owner.getLogger().severe("Task #" + task.id + " generated an exception: " + e);
+                e.printStackTrace();
+            }
+            if(task.period > 0) task.nextTick = currentTick + task.period;
+            else iterator.remove();
+        }
+    }
+
+    /**
+     * Stop the asynchronous thread pool, waiting briefly for running tasks to finish.
+     */
+    public void shutdown() {
+        async.shutdown();
+        try {
+            async.awaitTermination(5, TimeUnit.SECONDS);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch(method.getName()) {
+            case "runTask":
+                return schedule((Plugin) args[0], runnable(args[1]), 0, 0);
+            case "runTaskLater":
+                return schedule((Plugin) args[0], runnable(args[1]), (long) args[2], 0);
+            case "runTaskTimer":
+                return schedule((Plugin) args[0], runnable(args[1]), (long) args[2], (long) args[3]);
+            case "runTaskAsynchronously":
+            case "runTaskLaterAsynchronously":
+            case "runTaskTimerAsynchronously":
+                Task task = new Task(ids.incrementAndGet(), (Plugin) args[0], runnable(args[1]), 0, 0, false);
+                async.execute(() -> {
+                    if(!task.cancelled) task.runnable.run();
+                });
+                return task.handle;
+            case "cancelTask":
+                cancel(t -> t.id == (int) args[0]);
+                return null;
+            case "cancelTasks":
+                cancel(t -> t.owner.equals(args[0]));
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "FakeScheduler";
+            default:
+                throw new UnsupportedOperationException("FakeScheduler does not support " + method.getName());
+        }
+    }
+
+    private BukkitTask schedule(Plugin owner, Runnable runnable, long delay, long period) {
+        Task task = new Task(ids.incrementAndGet(), owner, runnable, Math.max(1, delay), period, true);
+        synchronized(added) {
+            added.add(task);
+        }
+        return task.handle;
+    }
+
+    private void cancel(Predicate<Task> filter) {
+        synchronized(added) {
+            added.removeIf(filter);
+        }
+        for(Task task : new ArrayList<>(tasks)) {
+            if(filter.test(task)) task.cancelled = true;
+        }
+    }
+
+    private static Runnable runnable(Object task) {
+        if(task instanceof Runnable runnable) return runnable;
+        throw new UnsupportedOperationException("FakeScheduler only supports Runnable tasks (Provided: " + task.getClass().getName() + ")");
+    }
+
+    private final class Task implements InvocationHandler {
+        private final int id;
+        private final Plugin owner;
+        private final Runnable runnable;
+        private final long period;
+        private final boolean sync;
+        private final BukkitTask handle;
+        private volatile boolean cancelled;
+        private long nextTick;
+
+        private Task(int id, Plugin owner, Runnable runnable, long delay, long period, boolean sync) {
+            this.id = id;
+            this.owner = owner;
+            this.runnable = runnable;
+            this.nextTick = currentTick + delay;
+            this.period = period;
+            this.sync = sync;
+            this.handle = (BukkitTask) Proxy.newProxyInstance(BukkitTask.class.getClassLoader(), new Class<?>[] {BukkitTask.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch(method.getName()) {
+                case "getTaskId":
+                    return id;
+                case "getOwner":
+                    return owner;
+                case "isSync":
+                    return sync;
+                case "isCancelled":
+                    return cancelled;
+                case "cancel":
+                    this.cancelled = true;
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return id;
+                case "toString":
+                    return "FakeTask{" + id + "}";
+                default:
+                    throw new UnsupportedOperationException("FakeScheduler does not support " + method.getName());
+            }
+        }
+    }
+}
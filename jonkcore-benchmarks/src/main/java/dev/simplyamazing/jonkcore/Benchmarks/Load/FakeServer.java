@@ -0,0 +1,292 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Load;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.InvalidDescriptionException;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * A Server holding just enough state to enable JonkCORE and drive it with simulated Players: a scheduler, the online Players, and the commands
+ * from the plugin.yml.
+ * <br><br>
+ * The thread that installs the FakeServer is treated as the main thread, and must call {@link #tick()} to run scheduled tasks, such as the
+ * {@link dev.simplyamazing.jonkcore.Objects.JoinProcessor}. Listeners are not registered with the PluginManager - the load harness calls them
+ * directly, with the same events a server would.
+ */
+public class FakeServer implements InvocationHandler {
+    private final Server server;
+    private final Thread mainThread;
+    private final Logger logger;
+    private final FakeScheduler scheduler;
+    private final PluginManager pluginManager;
+    private final ConsoleCommandSender console;
+    private final Map<UUID, Player> onlinePlayers;
+    private final Collection<Player> onlineView;
+    private final Map<String, PluginCommand> commands;
+    private JonkCORE plugin;
+    private volatile boolean disableRequested;
+
+    private FakeServer() {
+        this.server = (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[] {Server.class}, this);
+        this.mainThread = Thread.currentThread();
+        this.logger = Logger.getLogger("FakeServer");
+        this.scheduler = new FakeScheduler();
+        this.pluginManager = (PluginManager) Proxy.newProxyInstance(PluginManager.class.getClassLoader(), new Class<?>[] {PluginManager.class}, this::invokePluginManager);
+        this.console = (ConsoleCommandSender) Proxy.newProxyInstance(ConsoleCommandSender.class.getClassLoader(), new Class<?>[] {ConsoleCommandSender.class}, this::invokeConsole);
+        this.onlinePlayers = new ConcurrentHashMap<>();
+        this.onlineView = Collections.unmodifiableCollection(onlinePlayers.values());
+        this.commands = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create a FakeServer and install it as the Server returned by {@link Bukkit#getServer()}.
+     * <br><br>
+     * Bukkit only allows its Server to be set once, so this can only be called once per JVM.
+     *
+     * @return FakeServer object
+     */
+    public static FakeServer install() {
+        FakeServer fake = new FakeServer();
+        Bukkit.setServer(fake.server);
+        return fake;
+    }
+
+    /**
+     * Load and enable JonkCORE, storing its data in the given folder.
+     * <br><br>
+     * The config values are applied on top of the default config before the plugin is enabled, such as to disable update checks or the relay.
+     *
+     * @param dataFolder folder the config and chat log are stored in
+     * @param config config values to override, by path
+     * @return the enabled JonkCORE
+     * @throws IOException if the plugin.yml could not be read
+     * @throws InvalidDescriptionException if the plugin.yml is invalid
+     * @throws ReflectiveOperationException if JonkCORE could not be constructed or enabled
+     */
+    @SuppressWarnings("deprecation") // the JavaPluginLoader is only used to carry the Server to the plugin, as in MockBukkit
+    public JonkCORE enable(File dataFolder, Map<String, Object> config) throws IOException, InvalidDescriptionException, ReflectiveOperationException {
+        if(plugin != null) throw new IllegalStateException("JonkCORE is already enabled on this FakeServer");
+        PluginDescriptionFile description;
+        try(InputStream stream = JonkCORE.class.getResourceAsStream("/plugin.yml")) {
+            if(stream == null) throw new IOException("The plugin.yml of JonkCORE could not be found on the classpath");
+            description = new PluginDescriptionFile(stream);
+        }
+        Constructor<JonkCORE> constructor = JonkCORE.class.getDeclaredConstructor(JavaPluginLoader.class, PluginDescriptionFile.class, File.class, File.class);
+        constructor.setAccessible(true);
+        this.plugin = constructor.newInstance(new JavaPluginLoader(server), description, dataFolder, new File(dataFolder, "JonkCORE.jar"));
+        registerCommands(description);
+        plugin.saveDefaultConfig();
+        config.forEach(plugin.getConfig()::set);
+        setEnabled(true);
+        if(disableRequested || !plugin.isEnabled()) throw new IllegalStateException("JonkCORE failed to enable, see the log above");
+        return plugin;
+    }
+
+    /**
+     * Disable JonkCORE, and stop the asynchronous thread pool.
+     * @throws ReflectiveOperationException if JonkCORE could not be disabled
+     */
+    public void disable() throws ReflectiveOperationException {
+        if(plugin != null) setEnabled(false);
+        scheduler.shutdown();
+    }
+
+    /**
+     * Run one server tick, running every scheduled task that is due.
+     * <br><br>
+     * This must be called from the main thread.
+     */
+    public void tick() {
+        if(!isPrimaryThread()) throw new IllegalStateException("FakeServer can only be ticked from the main thread");
+        scheduler.tick();
+    }
+
+    /**
+     * Retrieve the Server.
+     * @return Server object
+     */
+    public Server getServer() {
+        return server;
+    }
+
+    /**
+     * Retrieve the scheduler whose tasks are run by {@link #tick()}.
+     * @return FakeScheduler object
+     */
+    public FakeScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Check if the current thread is the main thread.
+     * @return true if this is the main thread
+     */
+    public boolean isPrimaryThread() {
+        return Thread.currentThread() == mainThread;
+    }
+
+    /**
+     * Add a Player to the online Players, such as just before calling the PlayerJoinEvent.
+     * @param player the Player that has joined
+     */
+    public void addPlayer(Player player) {
+        onlinePlayers.put(player.getUniqueId(), player);
+    }
+
+    /**
+     * Remove a Player from the online Players, such as just after calling the PlayerQuitEvent.
+     * @param player the Player that has left
+     */
+    public void removePlayer(Player player) {
+        onlinePlayers.remove(player.getUniqueId());
+    }
+
+    /**
+     * Run a command as a CommandSender, through the CommandExecutor JonkCORE registered for it.
+     * <br><br>
+     * As on a server, this should be called from the main thread.
+     *
+     * @param sender the CommandSender running the command
+     * @param commandLine the command, without the leading slash
+     * @return false if the command is not registered, true otherwise
+     */
+    public boolean dispatchCommand(CommandSender sender, String commandLine) {
+        String[] split = commandLine.split(" ");
+        PluginCommand command = commands.get(split[0].toLowerCase(Locale.ROOT));
+        if(command == null) return false;
+        command.execute(sender, split[0], Arrays.copyOfRange(split, 1, split.length));
+        return true;
+    }
+
+    private void registerCommands(PluginDescriptionFile description) throws ReflectiveOperationException {
+        Constructor<PluginCommand> constructor = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
+        constructor.setAccessible(true);
+        String namespace = description.getName().toLowerCase(Locale.ROOT) + ":";
+        for(Map.Entry<String, Map<String, Object>> entry : description.getCommands().entrySet()) {
+            PluginCommand command = constructor.newInstance(entry.getKey(), plugin);
+            Object desc = entry.getValue() == null ? null : entry.getValue().get("description");
+            if(desc != null) command.setDescription(desc.toString());
+            Object aliases = entry.getValue() == null ? null : entry.getValue().get("aliases");
+            List<String> aliasList = aliases instanceof List<?> list ? list.stream().map(Object::toString).toList() : aliases == null ? List.of() : List.of(aliases.toString());
+            command.setAliases(aliasList);
+            commands.put(entry.getKey().toLowerCase(Locale.ROOT), command);
+            commands.put(namespace + entry.getKey().toLowerCase(Locale.ROOT), command);
+            for(String alias : aliasList) commands.putIfAbsent(alias.toLowerCase(Locale.ROOT), command);
+        }
+    }
+
+    private void setEnabled(boolean enabled) throws ReflectiveOperationException {
+        Method method = JavaPlugin.class.getDeclaredMethod("setEnabled", boolean.class);
+        method.setAccessible(true);
+        method.invoke(plugin, enabled);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch(method.getName()) {
+            case "getName":
+                return "FakeServer";
+            case "getVersion":
+            case "getBukkitVersion":
+                return "load-harness";
+            case "getLogger":
+                return logger;
+            case "getScheduler":
+                return scheduler.getScheduler();
+            case "getPluginManager":
+                return pluginManager;
+            case "getConsoleSender":
+                return console;
+            case "getOnlinePlayers":
+                return onlineView;
+            case "getPlayer":
+                return args[0] instanceof UUID uuid ? onlinePlayers.get(uuid) : onlineView.stream().filter(p -> p.getName().equalsIgnoreCase((String) args[0])).findFirst().orElse(null);
+            case "getPluginCommand":
+                return commands.get(((String) args[0]).toLowerCase(Locale.ROOT));
+            case "isPrimaryThread":
+                return isPrimaryThread();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "FakeServer";
+            default:
+                throw new UnsupportedOperationException("FakeServer does not support " + method.getName());
+        }
+    }
+
+    private Object invokeConsole(Object proxy, Method method, Object[] args) {
+        switch(method.getName()) {
+            case "getName":
+                return "CONSOLE";
+            case "hasPermission":
+            case "isPermissionSet":
+            case "isOp":
+                return true;
+            case "sendMessage":
+                // console output is not part of what is measured
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "FakeConsole";
+            default:
+                throw new UnsupportedOperationException("FakeServer does not support ConsoleCommandSender#" + method.getName());
+        }
+    }
+
+    private Object invokePluginManager(Object proxy, Method method, Object[] args) {
+        switch(method.getName()) {
+            case "registerEvents":
+            case "callEvent":
+                // listeners are called directly by the load harness
+                return null;
+            case "getPlugins":
+                return plugin == null ? new Plugin[0] : new Plugin[] {plugin};
+            case "getPlugin":
+                return plugin != null && plugin.getName().equalsIgnoreCase((String) args[0]) ? plugin : null;
+            case "isPluginEnabled":
+                return plugin != null && plugin.isEnabled();
+            case "disablePlugin":
+                this.disableRequested = true;
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "FakePluginManager";
+            default:
+                throw new UnsupportedOperationException("FakeServer does not support PluginManager#" + method.getName());
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Load;
+
+import dev.simplyamazing.jonkcore.Benchmarks.BenchmarkRunner;
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubPlayer;
+import dev.simplyamazing.jonkcore.Events.UserChatEvent;
+import dev.simplyamazing.jonkcore.Events.UserCreationEvent;
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+import dev.simplyamazing.jonkcore.Objects.ID;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Load test JonkCORE with thousands of simulated Players on a {@link FakeServer}, to size hardware and to find scaling cliffs before a release.
+ * <br><br>
+ * Players join through the {@link UserCreationEvent}, which subscribes them to the ChatRooms they have permission for, switch focus through the
+ * real <code>/chat</code> executor, and chat through the {@link UserChatEvent} from several threads, as on a server. The amount of online Players is raised in steps (see {@link LoadOptions#getPlayers()}),
+ * and each step reports the throughput, latency percentiles and allocations of every kind of operation, along with the length of server ticks.
+ * <br><br>
+ * Chat messages are sent at a fixed rate, and their latency is measured from when each message was due to be sent, so a stall is reported
+ * as the delay every message waiting behind it saw, rather than hidden by the chat threads slowing down.
+ */
+public final class LoadHarness {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final String[] WORDS = {"hello", "anyone", "want", "to", "trade", "diamonds", "for", "emeralds", "?", "the", "nether", "portal",
+            "is", "at", "spawn", "lol", "gg", "who", "killed", "me", "&ajust", "found", "a", "village", "brb", "&ckeep", "inventory", "please", "thanks",
+            "stronghold", "coords", "are", "near", "my", "base", "come", "help", "build", "farm", "&ewow"};
+
+    private final LoadOptions options;
+    private final FakeServer server;
+    private final JonkCORE plugin;
+    private final UserCreationEvent userCreationEvent;
+    private final UserChatEvent userChatEvent;
+    private final SplittableRandom random;
+    private final ExecutorService logins;
+    private final Set<Player> recipients;
+    private final OperationStats chat;
+    private final OperationStats focus;
+    private final OperationStats preLogin;
+    private final OperationStats join;
+    private final OperationStats quit;
+    private final OperationStats tick;
+    private final List<OperationStats> operations;
+    private final StubPlayer admin;
+    private final LongAdder driverAllocated;
+    private volatile Slot[] population;
+    private volatile boolean chatting;
+
+    private LoadHarness(LoadOptions options, FakeServer server, JonkCORE plugin) {
+        this.options = options;
+        this.server = server;
+        this.plugin = plugin;
+        this.userCreationEvent = plugin.getUserCreationEvent();
+        this.userChatEvent = plugin.getUserChatEvent();
+        this.random = new SplittableRandom(options.getSeed());
+        this.logins = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+            Thread thread = new Thread(runnable, "LoadHarness-Login");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the server builds this set for every message, but JonkCORE cancels the event and chooses its own recipients
+        this.recipients = Set.of();
+        this.chat = new OperationStats("chat");
+        this.focus = new OperationStats("/chat");
+        this.preLogin = new OperationStats("pre-login");
+        this.join = new OperationStats("join");
+        this.quit = new OperationStats("quit");
+        this.tick = new OperationStats("tick");
+        this.operations = List.of(chat, focus, preLogin, join, quit, tick);
+        Set<String> permissions = new HashSet<>(Set.of("jonkcore.chat.create", "jonkcore.chatroom.global"));
+        for(int i = 0; i < options.getRooms(); i++) permissions.add("jonkcore.chatroom.room-" + i);
+        this.admin = new StubPlayer("LoadAdmin", permissions, true);
+        this.population = new Slot[0];
+        this.driverAllocated = new LongAdder();
+    }
+
+    /**
+     * Run the load test.
+     * <br><br>
+     * Options are written as <code>--name=value</code>, such as <code>--players=500,1000,2000 --chat-rate=500</code> (see {@link LoadOptions}).
+     *
+     * @param args command line options
+     * @throws Exception if JonkCORE could not be enabled or the results could not be written
+     */
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        Path dataFolder = Files.createTempDirectory("jonkcore-load");
+        FakeServer server = FakeServer.install();
+        try {
+            JonkCORE plugin = server.enable(dataFolder.toFile(), options.getConfig());
+            new LoadHarness(options, server, plugin).run();
+        } finally {
+            server.disable();
+            try(Stream<Path> files = Files.walk(dataFolder)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        String version = BenchmarkRunner.getVersion();
+        System.out.println("JonkCORE " + version + " load test: " + options.getRooms() + " rooms, " + options.getRoomsPerPlayer() + " rooms per player, "
+                + rate(options.getChatRate()) + " messages/s from " + options.getChatThreads() + " threads, " + options.getFocusRate() + " focus switches/s, "
+                + options.getChurnRate() + " rejoins/s");
+        if(!OperationStats.isAllocationMeasured()) System.out.println("This JVM cannot measure allocations, so they are reported as 0.");
+        createRooms();
+        File results = new File(options.getResults() != null ? options.getResults() : "benchmark-results/load-" + version + ".csv");
+        if(results.getAbsoluteFile().getParentFile() != null && !results.getAbsoluteFile().getParentFile().isDirectory() && !results.getAbsoluteFile().getParentFile().mkdirs()) {
+            throw new IOException("Failed to create the results directory " + results.getAbsoluteFile().getParent());
+        }
+        try(PrintWriter csv = new PrintWriter(new FileWriter(results))) {
+            csv.println("players,operation,count,per_second,p50_ns,p99_ns,p999_ns,max_ns,bytes_per_op");
+            Step previous = null;
+            for(int players : options.getPlayers()) {
+                joinStorm(players);
+                Step step = measure(players);
+                step.print(previous);
+                step.write(csv);
+                csv.flush();
+                previous = step;
+            }
+        }
+        System.out.println("Results written to " + results.getPath());
+        logins.shutdownNow();
+    }
+
+    private void createRooms() {
+        preLogin(admin);
+        join(admin);
+        tickUntil(() -> plugin.getStorage().getUser(new ID(admin.getPlayer().getUniqueId())) != null);
+        for(int i = 0; i < options.getRooms(); i++) {
+            server.dispatchCommand(admin.getPlayer(), "chatroom create room-" + i);
+        }
+        if(plugin.getStorage().getChatRoom("room-" + (options.getRooms() - 1)) == null) throw new IllegalStateException("The ChatRooms could not be created, see the log above");
+    }
+
+    /**
+     * Join Players until the given amount are online, all at once, as after a restart.
+     * @param players amount of Players to have online
+     * @throws Exception if a pre-login failed
+     */
+    private void joinStorm(int players) throws Exception {
+        Slot[] current = population;
+        if(players <= current.length) return;
+        Slot[] grown = Arrays.copyOf(current, players);
+        List<Future<?>> preLogins = new ArrayList<>();
+        for(int i = current.length; i < players; i++) {
+            int[] rooms = pickRooms();
+            Set<String> permissions = new HashSet<>();
+            permissions.add("jonkcore.chatroom.global");
+            for(int room : rooms) permissions.add("jonkcore.chatroom.room-" + room);
+            Slot slot = new Slot(new StubPlayer("Player" + i, permissions, false), rooms);
+            slot.player.setOnline(false);
+            grown[i] = slot;
+            preLogins.add(logins.submit(() -> preLogin(slot.player)));
+        }
+        for(Future<?> future : preLogins) future.get();
+        userCreationEvent.getJoinProcessor().resetMaxLag();
+        long start = System.nanoTime();
+        for(int i = current.length; i < players; i++) join(grown[i].player);
+        int ticks = tickUntil(() -> userCreationEvent.getJoinProcessor().getQueueSize() == 0);
+        System.out.printf("%nJoined %d players in %d ticks (%.2fs, longest wait in the join queue %dms)%n", players - current.length, ticks,
+                (System.nanoTime() - start) / 1e9, userCreationEvent.getJoinProcessor().getMaxLag());
+        // otherwise the join queue logs the storm's lag again each time a rejoin drains it
+        userCreationEvent.getJoinProcessor().resetMaxLag();
+        this.population = grown;
+    }
+
+    private Step measure(int players) throws InterruptedException {
+        runTraffic(options.getWarmupSeconds());
+        for(OperationStats operation : operations) operation.reset();
+        driverAllocated.reset();
+        long received = received();
+        long messages = Metrics.CHAT_MESSAGES.sum();
+        long cancelled = Metrics.CHAT_CANCELLED.sum();
+        long allocated = OperationStats.allocatedBytesByAllThreads();
+        long start = System.nanoTime();
+        runTraffic(options.getDurationSeconds());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        // the chat threads have stopped by now, so they count their own allocations
+        allocated = OperationStats.allocatedBytesByAllThreads() - allocated + driverAllocated.sum();
+        return new Step(players, seconds, received() - received, Metrics.CHAT_MESSAGES.sum() - messages, Metrics.CHAT_CANCELLED.sum() - cancelled, allocated);
+    }
+
+    /**
+     * Run chat on the chat threads, and ticks, focus switches and rejoins on the main thread, for the given time.
+     * @param seconds time to run traffic for
+     * @throws InterruptedException if interrupted while waiting for the chat threads
+     */
+    private void runTraffic(int seconds) throws InterruptedException {
+        if(seconds <= 0) return;
+        this.chatting = true;
+        List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < options.getChatThreads(); i++) {
+            Thread thread = new Thread(new ChatDriver(options.getSeed() + i + 1), "LoadHarness-Chat-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        double focusDue = 0;
+        double churnDue = 0;
+        long next = System.nanoTime();
+        for(long ticks = 0; ticks < seconds * 20L; ticks++) {
+            long start = System.nanoTime();
+            long allocated = OperationStats.allocatedBytes();
+            server.tick();
+            for(focusDue += options.getFocusRate() / 20; focusDue >= 1; focusDue--) switchFocus();
+            for(churnDue += options.getChurnRate() / 20; churnDue >= 1; churnDue--) rejoin();
+            tick.record(System.nanoTime() - start, OperationStats.allocatedBytes() - allocated);
+            // sleep until the next tick is due, or run it immediately if this one overran, as a server catching up would
+            next += TICK_NANOS;
+            long remaining = next - System.nanoTime();
+            if(remaining > 0) LockSupport.parkNanos(remaining);
+        }
+        this.chatting = false;
+        for(Thread thread : threads) thread.join();
+    }
+
+    private int tickUntil(BooleanSupplier done) {
+        int ticks = 0;
+        long next = System.nanoTime();
+        while(!done.getAsBoolean()) {
+            server.tick();
+            ticks++;
+            next += TICK_NANOS;
+            long remaining = next - System.nanoTime();
+            if(remaining > 0) LockSupport.parkNanos(remaining);
+        }
+        return ticks;
+    }
+
+    private void preLogin(StubPlayer player) {
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent(player.getPlayer().getName(), InetAddress.getLoopbackAddress(), player.getPlayer().getUniqueId());
+        long start = System.nanoTime();
+        long allocated = OperationStats.allocatedBytes();
+        userCreationEvent.onUserPreLogin(event);
+        preLogin.record(System.nanoTime() - start, OperationStats.allocatedBytes() - allocated);
+    }
+
+    private void join(StubPlayer player) {
+        server.addPlayer(player.getPlayer());
+        player.setOnline(true);
+        PlayerJoinEvent event = new PlayerJoinEvent(player.getPlayer(), null);
+        long start = System.nanoTime();
+        long allocated = OperationStats.allocatedBytes();
+        userCreationEvent.onUserJoin(event);
+        join.record(System.nanoTime() - start, OperationStats.allocatedBytes() - allocated);
+    }
+
+    private void quit(StubPlayer player) {
+        PlayerQuitEvent event = new PlayerQuitEvent(player.getPlayer(), null);
+        player.setOnline(false);
+        long start = System.nanoTime();
+        long allocated = OperationStats.allocatedBytes();
+        userCreationEvent.onUserLeave(event);
+        quit.record(System.nanoTime() - start, OperationStats.allocatedBytes() - allocated);
+        server.removePlayer(player.getPlayer());
+    }
+
+    private void switchFocus() {
+        Slot slot = pickOnline(random);
+        if(slot == null || slot.rooms.length == 0) return;
+        // cycle through the Player's rooms, then back to global
+        slot.focus = (slot.focus + 1) % (slot.rooms.length + 1);
+        command(focus, slot.player, "chat " + (slot.focus == slot.rooms.length ? "global" : "room-" + slot.rooms[slot.focus]));
+    }
+
+    private void rejoin() {
+        Slot slot = pickOnline(random);
+        if(slot == null) return;
+        quit(slot.player);
+        logins.execute(() -> {
+            preLogin(slot.player);
+            server.getScheduler().getScheduler().runTask(plugin, () -> join(slot.player));
+        });
+    }
+
+    private void command(OperationStats stats, StubPlayer player, String command) {
+        long start = System.nanoTime();
+        long allocated = OperationStats.allocatedBytes();
+        server.dispatchCommand(player.getPlayer(), command);
+        stats.record(System.nanoTime() - start, OperationStats.allocatedBytes() - allocated);
+    }
+
+    private int[] pickRooms() {
+        int[] rooms = new int[options.getRoomsPerPlayer()];
+        for(int i = 0; i < rooms.length; i++) {
+            int room;
+            do {
+                room = random.nextInt(options.getRooms());
+            } while(contains(rooms, i, room));
+            rooms[i] = room;
+        }
+        return rooms;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for(int i = 0; i < length; i++) {
+            if(values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private Slot pickOnline(SplittableRandom random) {
+        Slot[] slots = population;
+        if(slots.length == 0) return null;
+        // a few Players may be rejoining, so try a handful before giving up
+        for(int attempt = 0; attempt < 8; attempt++) {
+            Slot slot = slots[random.nextInt(slots.length)];
+            if(slot.player.getPlayer().isOnline()) return slot;
+        }
+        return null;
+    }
+
+    private long received() {
+        long received = admin.getReceived();
+        for(Slot slot : population) received += slot.player.getReceived();
+        return received;
+    }
+
+    private static String rate(double rate) {
+        return rate <= 0 ? "unlimited" : String.valueOf(rate);
+    }
+
+    private static String describe(long nanos) {
+        if(nanos < 1_000_000) return String.format("%.1fµs", nanos / 1e3);
+        return String.format("%.2fms", nanos / 1e6);
+    }
+
+    private static String describeBytes(double bytes) {
+        if(bytes < 1024) return String.format("%.0fB", bytes);
+        if(bytes < 1024 * 1024) return String.format("%.1fKB", bytes / 1024);
+        return String.format("%.1fMB", bytes / 1024 / 1024);
+    }
+
+    /**
+     * A simulated Player and the ChatRooms they join.
+     */
+    private static final class Slot {
+        private final StubPlayer player;
+        private final int[] rooms;
+        private int focus;
+
+        private Slot(StubPlayer player, int[] rooms) {
+            this.player = player;
+            this.rooms = rooms;
+        }
+    }
+
+    /**
+     * Sends chat messages from random online Players until the traffic stops, at an even share of the chat rate.
+     */
+    private final class ChatDriver implements Runnable {
+        private final SplittableRandom random;
+
+        private ChatDriver(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public void run() {
+            long interval = options.getChatRate() <= 0 ? 0 : (long) (1e9 * options.getChatThreads() / options.getChatRate());
+            long due = System.nanoTime();
+            StringBuilder message = new StringBuilder();
+            long allocatedAtStart = OperationStats.allocatedBytes();
+            try {
+                drive(interval, due, message);
+            } finally {
+                driverAllocated.add(OperationStats.allocatedBytes() - allocatedAtStart);
+            }
+        }
+
+        private void drive(long interval, long due, StringBuilder message) {
+            while(chatting) {
+                if(interval > 0) {
+                    due += interval;
+                    long remaining;
+                    while((remaining = due - System.nanoTime()) > 0 && chatting) {
+                        if(remaining > 50_000) LockSupport.parkNanos(remaining - 20_000);
+                        else Thread.onSpinWait();
+                    }
+                    if(!chatting) return;
+                }
+                Slot slot = pickOnline(random);
+                if(slot == null) continue;
+                message.setLength(0);
+                for(int words = 3 + random.nextInt(10), i = 0; i < words; i++) {
+                    if(i > 0) message.append(' ');
+                    message.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                AsyncPlayerChatEvent event = new AsyncPlayerChatEvent(true, slot.player.getPlayer(), message.toString(), recipients);
+                long start = interval > 0 ? due : System.nanoTime();
+                long allocated = OperationStats.allocatedBytes();
+                userChatEvent.onUserChat(event);
+                chat.record(System.nanoTime() - start, OperationStats.allocatedBytes() - allocated);
+            }
+        }
+    }
+
+    /**
+     * The results of measuring one amount of online Players.
+     */
+    private final class Step {
+        private final int players;
+        private final double seconds;
+        private final long received;
+        private final long messages;
+        private final long cancelled;
+        private final long allocated;
+        private final long chatP99;
+        private final long tickP99;
+
+        private Step(int players, double seconds, long received, long messages, long cancelled, long allocated) {
+            this.players = players;
+            this.seconds = seconds;
+            this.received = received;
+            this.messages = messages;
+            this.cancelled = cancelled;
+            this.allocated = allocated;
+            this.chatP99 = chat.getLatency().getPercentile(99);
+            this.tickP99 = tick.getLatency().getPercentile(99);
+        }
+
+        private void print(Step previous) {
+            System.out.printf("%n== %d players, %.0fs ==%n", players, seconds);
+            System.out.printf("%-16s %10s %10s %10s %10s %10s %10s %10s%n", "operation", "count", "per sec", "p50", "p99", "p99.9", "max", "alloc/op");
+            for(OperationStats operation : operations) {
+                Histogram latency = operation.getLatency();
+                if(latency.getCount() == 0) continue;
+                System.out.printf("%-16s %10d %10.1f %10s %10s %10s %10s %10s%n", operation.getName(), latency.getCount(), latency.getCount() / seconds,
+                        describe(latency.getPercentile(50)), describe(latency.getPercentile(99)), describe(latency.getPercentile(99.9)),
+                        describe(latency.getMax()), describeBytes(operation.getAllocatedPerOperation()));
+            }
+            System.out.printf("Messages received by players: %.0f/s (%d chat messages, %d cancelled by a chat handler)%n", received / seconds, messages, cancelled);
+            if(cancelled * 2 > messages) System.out.println("Most messages were cancelled, such as by the rate limiter, so little chat was delivered. Raise the limits with --set=rate-limit.room.per-second=... or disable them with --set=rate-limit.enabled=false to measure delivery.");
+            System.out.printf("Allocation rate: %s/s across every thread%n", describeBytes(allocated / seconds));
+            if(previous == null) return;
+            double growth = (double) players / previous.players;
+            warn("chat p99", previous.chatP99, chatP99, growth);
+            warn("tick p99", previous.tickP99, tickP99, growth);
+        }
+
+        private void warn(String name, long before, long after, double growth) {
+            if(before <= 0) return;
+            double ratio = (double) after / before;
+            // fan-out grows with the rooms, so latency growing with the players is expected, but growing much faster is not
+            if(ratio > growth * 1.5) {
+                System.out.printf("WARNING: %s grew %.1fx (%s -> %s) while players grew %.1fx, which may be a scaling cliff%n", name, ratio,
+                        describe(before), describe(after), growth);
+            }
+        }
+
+        private void write(PrintWriter csv) {
+            for(OperationStats operation : operations) {
+                Histogram latency = operation.getLatency();
+                csv.printf("%d,%s,%d,%.2f,%d,%d,%d,%d,%.0f%n", players, operation.getName(), latency.getCount(), latency.getCount() / seconds,
+                        latency.getPercentile(50), latency.getPercentile(99), latency.getPercentile(99.9), latency.getMax(), operation.getAllocatedPerOperation());
+            }
+            csv.printf("%d,received,%d,%.2f,,,,,%n", players, received, received / seconds);
+            csv.printf("%d,allocated_bytes,%d,%.2f,,,,,%n", players, allocated, allocated / seconds);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The shape of the traffic simulated by the {@link LoadHarness}, read from <code>--name=value</code> command line options.
+ */
+public class LoadOptions {
+    private int[] players = {1000};
+    private int rooms = 20;
+    private int roomsPerPlayer = 3;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 30;
+    private double chatRate = 200;
+    private int chatThreads = 4;
+    private double focusRate = 10;
+    private double churnRate = 2;
+    private long seed = 42;
+    private String results;
+    private final Map<String, Object> config = new LinkedHashMap<>();
+
+    /**
+     * Read the options from the command line.
+     * <br><br>
+     * Every option is written as <code>--name=value</code>, and <code>--set=path=value</code> may be repeated to override JonkCORE's config.
+     *
+     * @param args command line arguments
+     * @return LoadOptions object
+     * @throws IllegalArgumentException if an option is unknown or its value is invalid
+     */
+    public static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        // keep the harness offline and the results free of background work unless asked for
+        options.config.put("updates.check-on-startup", false);
+        options.config.put("relay.enabled", false);
+        options.config.put("metrics.prometheus.enabled", false);
+        for(String arg : args) {
+            if(!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Invalid option " + arg + ", expected --name=value");
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch(name) {
+                case "players" -> options.players = Arrays.stream(value.split(",")).mapToInt(s -> positive(name, Integer.parseInt(s.trim()))).sorted().toArray();
+                case "rooms" -> options.rooms = positive(name, Integer.parseInt(value));
+                case "rooms-per-player" -> options.roomsPerPlayer = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = positive(name, Integer.parseInt(value));
+                case "chat-rate" -> options.chatRate = Double.parseDouble(value);
+                case "chat-threads" -> options.chatThreads = positive(name, Integer.parseInt(value));
+                case "focus-rate" -> options.focusRate = Double.parseDouble(value);
+                case "churn-rate" -> options.churnRate = Double.parseDouble(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "results" -> options.results = value;
+                case "set" -> {
+                    if(!value.contains("=")) throw new IllegalArgumentException("Invalid config override " + value + ", expected --set=path=value");
+                    options.config.put(value.substring(0, value.indexOf('=')), parseValue(value.substring(value.indexOf('=') + 1)));
+                }
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        options.roomsPerPlayer = Math.max(0, Math.min(options.roomsPerPlayer, options.rooms));
+        return options;
+    }
+
+    private static int positive(String name, int value) {
+        if(value <= 0) throw new IllegalArgumentException("--" + name + " must be positive (Provided: " + value + ")");
+        return value;
+    }
+
+    private static Object parseValue(String value) {
+        if(value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) return Boolean.parseBoolean(value);
+        try {
+            return Integer.parseInt(value);
+        } catch(NumberFormatException ignored) {}
+        try {
+            return Double.parseDouble(value);
+        } catch(NumberFormatException ignored) {}
+        return value;
+    }
+
+    /**
+     * Get the amount of online Players at each step, in ascending order. Each step is measured separately, so a scaling cliff shows up as a
+     * jump between two steps.
+     * <br><br>
+     * <b>DEFAULT:</b> 1000
+     *
+     * @return amounts of Players
+     */
+    public int[] getPlayers() {
+        return players;
+    }
+
+    /**
+     * Get the amount of ChatRooms created before the first step, besides the global ChatRoom.
+     * <br><br>
+     * <b>DEFAULT:</b> 20
+     *
+     * @return amount of ChatRooms
+     */
+    public int getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Get the amount of ChatRooms each Player has permission for, and so is subscribed to when joining the server.
+     * <br><br>
+     * <b>DEFAULT:</b> 3
+     *
+     * @return amount of ChatRooms per Player
+     */
+    public int getRoomsPerPlayer() {
+        return roomsPerPlayer;
+    }
+
+    /**
+     * Get the time traffic is run at each step before it is measured, in seconds.
+     * <br><br>
+     * <b>DEFAULT:</b> 10
+     *
+     * @return warmup time
+     */
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /**
+     * Get the time traffic is measured at each step, in seconds.
+     * <br><br>
+     * <b>DEFAULT:</b> 30
+     *
+     * @return measurement time
+     */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Get the amount of chat messages sent each second, across every Player. A rate of 0 sends messages as fast as the chat threads can.
+     * <br><br>
+     * <b>DEFAULT:</b> 200
+     *
+     * @return messages per second
+     */
+    public double getChatRate() {
+        return chatRate;
+    }
+
+    /**
+     * Get the amount of threads chat messages are sent from, as the server's network threads would.
+     * <br><br>
+     * <b>DEFAULT:</b> 4
+     *
+     * @return amount of threads
+     */
+    public int getChatThreads() {
+        return chatThreads;
+    }
+
+    /**
+     * Get the amount of <code>/chat</code> commands run each second to switch a Player's focused ChatRoom.
+     * <br><br>
+     * <b>DEFAULT:</b> 10
+     *
+     * @return commands per second
+     */
+    public double getFocusRate() {
+        return focusRate;
+    }
+
+    /**
+     * Get the amount of Players that leave and rejoin each second.
+     * <br><br>
+     * <b>DEFAULT:</b> 2
+     *
+     * @return Players per second
+     */
+    public double getChurnRate() {
+        return churnRate;
+    }
+
+    /**
+     * Get the seed of the random traffic, so runs against different versions send the same traffic.
+     * <br><br>
+     * <b>DEFAULT:</b> 42
+     *
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get the file the results are written to as CSV.
+     * @return path of the results, or null to use <code>benchmark-results/load-&lt;version&gt;.csv</code>
+     */
+    public String getResults() {
+        return results;
+    }
+
+    /**
+     * Get the values to override in JonkCORE's config, by path.
+     * <br><br>
+     * <b>DEFAULT:</b> update checks, the relay and the Prometheus exporter are disabled
+     *
+     * @return config values
+     */
+    public Map<String, Object> getConfig() {
+        return config;
+    }
+}
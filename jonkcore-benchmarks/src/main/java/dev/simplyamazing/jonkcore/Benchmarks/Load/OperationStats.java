@@ -0,0 +1,110 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Load;
+
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latency and allocation of one kind of simulated operation, such as chatting or switching focus, recorded from any thread.
+ */
+public class OperationStats {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final String name;
+    private final Histogram latency;
+    private final LongAdder allocated;
+
+    /**
+     * Constructor for the OperationStats object.
+     * @param name name of the operation
+     */
+    public OperationStats(String name) {
+        this.name = name;
+        this.latency = new Histogram();
+        this.allocated = new LongAdder();
+    }
+
+    /**
+     * Check if the bytes allocated by a thread can be measured by this JVM.
+     * @return true if allocations are measured
+     */
+    public static boolean isAllocationMeasured() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Get the amount of bytes allocated by the current thread so far.
+     * @return allocated bytes, or 0 if allocations are not measured
+     */
+    public static long allocatedBytes() {
+        return isAllocationMeasured() ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Get the amount of bytes allocated by every live thread so far.
+     * <br><br>
+     * Threads that have stopped are not included, so the difference between two calls is only accurate if the same threads are running throughout.
+     *
+     * @return allocated bytes, or 0 if allocations are not measured
+     */
+    public static long allocatedBytesByAllThreads() {
+        if(!isAllocationMeasured()) return 0;
+        long total = 0;
+        for(long bytes : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            if(bytes > 0) total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Record a completed operation.
+     * @param nanos time taken, in nanoseconds
+     * @param bytes bytes allocated by the operation
+     */
+    public void record(long nanos, long bytes) {
+        latency.record(nanos);
+        allocated.add(bytes);
+    }
+
+    /**
+     * Forget every recorded operation, such as once the warmup has finished.
+     */
+    public void reset() {
+        latency.reset();
+        allocated.reset();
+    }
+
+    /**
+     * Get the name of the operation.
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the latency of every recorded operation, in nanoseconds.
+     * @return Histogram object
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Get the amount of recorded operations.
+     * @return count
+     */
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * Get the average bytes allocated by each recorded operation.
+     * @return bytes per operation, or 0 if no operations were recorded
+     */
+    public double getAllocatedPerOperation() {
+        long count = latency.getCount();
+        return count == 0 ? 0 : (double) allocated.sum() / count;
+    }
+}
@@ -0,0 +1,66 @@
+package dev.simplyamazing.jonkcore.Benchmarks;
+
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubPlayer;
+import dev.simplyamazing.jonkcore.Benchmarks.Stubs.StubUser;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import dev.simplyamazing.jonkcore.Utilities.PermissionUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking permissions with {@link PermissionUtils#checkAny}, which looks up the permission, its parent and wildcards one at a time,
+ * against the same check precompiled with {@link PermissionUtils#compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionBenchmark {
+    private static final String PERMISSION = "jonkcore.chatroom.staff";
+
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private StubUser granted;
+    private StubUser denied;
+    private StubUser wildcard;
+    private String[] compiled;
+
+    @Setup
+    public void setup() {
+        Metrics.setEnabled(metrics);
+        granted = new StubUser(new StubPlayer("Granted", Set.of(PERMISSION), false));
+        denied = new StubUser(new StubPlayer("Denied", Set.of("jonkcore.chatroom.global"), false));
+        wildcard = new StubUser(new StubPlayer("Wildcard", Set.of("*"), false));
+        compiled = PermissionUtils.compile(PERMISSION);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Metrics.setEnabled(true);
+    }
+
+    @Benchmark
+    public boolean checkAnyGranted() {
+        return PermissionUtils.checkAny(granted, PERMISSION);
+    }
+
+    @Benchmark
+    public boolean checkAnyDenied() {
+        return PermissionUtils.checkAny(denied, PERMISSION);
+    }
+
+    @Benchmark
+    public boolean checkAnyWildcard() {
+        return PermissionUtils.checkAny(wildcard, PERMISSION);
+    }
+
+    @Benchmark
+    public boolean checkCompiledDenied() {
+        return PermissionUtils.checkCompiled(denied, compiled);
+    }
+}
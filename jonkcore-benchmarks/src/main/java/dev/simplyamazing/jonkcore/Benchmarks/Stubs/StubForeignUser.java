@@ -0,0 +1,84 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Stubs;
+
+import dev.simplyamazing.jonkcore.Objects.Attribute;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A sub-plugin's own IUser implementation bound to a {@link StubPlayer}, as converted by the GenericUserConverter.
+ * <br><br>
+ * The User is a dynamic proxy holding a few Attributes, and either tracks its modifications or leaves
+ * {@link IUser#getModificationCount()} at its default.
+ */
+public class StubForeignUser implements InvocationHandler {
+    private final StubPlayer stub;
+    private final boolean tracked;
+    private final List<Attribute> attributes;
+    private final IUser user;
+    private long modificationCount;
+
+    /**
+     * Constructor for the StubForeignUser object.
+     * @param stub the Player this User is bound to
+     * @param tracked whether the User tracks its modifications
+     */
+    public StubForeignUser(StubPlayer stub, boolean tracked) {
+        this.stub = stub;
+        this.tracked = tracked;
+        this.attributes = new ArrayList<>(List.of(new Attribute<>("kills", 0), new Attribute<>("nickname", stub.getPlayer().getName())));
+        this.user = (IUser) Proxy.newProxyInstance(IUser.class.getClassLoader(), new Class<?>[] {IUser.class}, this);
+    }
+
+    /**
+     * Retrieve the User.
+     * @return IUser object
+     */
+    public IUser getUser() {
+        return user;
+    }
+
+    /**
+     * Change one of the User's Attributes, as a sub-plugin would between conversions.
+     */
+    @SuppressWarnings("unchecked")
+    public void modify() {
+        Attribute<Integer> kills = (Attribute<Integer>) attributes.get(0);
+        kills.setValue(kills.getValue() + 1);
+        modificationCount++;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch(method.getName()) {
+            case "getModificationCount":
+                return tracked ? modificationCount : -1L;
+            case "pack":
+                return proxy;
+            case "isPlayer":
+                return true;
+            case "unsafeGetPlayer":
+            case "safeGetLegacy":
+                return stub.getPlayer();
+            case "getChatRooms":
+                return Collections.emptyList();
+            case "getAttributes":
+                return attributes;
+            case "getObjectName":
+                return "StubForeignUser";
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "StubForeignUser{" + stub.getPlayer().getName() + "}";
+            default:
+                return method.getReturnType() == boolean.class ? false : null;
+        }
+    }
+}
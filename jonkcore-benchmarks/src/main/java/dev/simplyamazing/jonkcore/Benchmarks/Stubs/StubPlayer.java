@@ -0,0 +1,112 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Stubs;
+
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Player without a server, answering only what JonkCORE asks of a Player.
+ * <br><br>
+ * The Player is a dynamic proxy, so each call costs a little more than on a real server. Benchmarks using it are meant to be compared
+ * against each other and against previous versions, rather than read as absolute server timings.
+ */
+public class StubPlayer implements InvocationHandler {
+    private final String name;
+    private final UUID uuid;
+    private final Set<String> permissions;
+    private final boolean op;
+    private final Player player;
+    private final LongAdder received;
+    private volatile boolean online;
+
+    /**
+     * Constructor for the StubPlayer object.
+     * @param name name of the Player
+     * @param permissions permissions the Player has, which may include <code>*</code>
+     * @param op whether the Player is an operator
+     */
+    public StubPlayer(String name, Set<String> permissions, boolean op) {
+        this.name = name;
+        this.uuid = UUID.nameUUIDFromBytes(name.getBytes());
+        this.permissions = Set.copyOf(permissions);
+        this.op = op;
+        this.received = new LongAdder();
+        this.online = true;
+        this.player = (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] {Player.class}, this);
+    }
+
+    /**
+     * Retrieve the Player.
+     * @return Player object
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Get the amount of messages sent to the Player.
+     * @return amount of messages
+     */
+    public long getReceived() {
+        return received.sum();
+    }
+
+    /**
+     * Set whether the Player is online, such as when simulating them leaving and rejoining.
+     * <br><br>
+     * <b>DEFAULT:</b> true
+     *
+     * @param online whether the Player is online
+     */
+    public void setOnline(boolean online) {
+        this.online = online;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch(method.getName()) {
+            case "getName":
+            case "getDisplayName":
+            case "getPlayerListName":
+                return name;
+            case "getUniqueId":
+                return uuid;
+            case "hasPermission":
+            case "isPermissionSet":
+                return permissions.contains(args[0] instanceof Permission permission ? permission.getName() : (String) args[0]);
+            case "isOp":
+                return op;
+            case "isOnline":
+                return online;
+            case "sendMessage":
+                received.increment();
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "StubPlayer{" + name + "}";
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if(!type.isPrimitive() || type == void.class) return null;
+        if(type == boolean.class) return false;
+        if(type == char.class) return (char) 0;
+        if(type == long.class) return 0L;
+        if(type == float.class) return 0f;
+        if(type == double.class) return 0d;
+        if(type == byte.class) return (byte) 0;
+        if(type == short.class) return (short) 0;
+        return 0;
+    }
+}
@@ -0,0 +1,31 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Stubs;
+
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+/**
+ * A Plugin without a server, for objects that only need a plugin's name and logger, such as the owner of a chat handler.
+ */
+public final class StubPlugin {
+    private StubPlugin() {}
+
+    /**
+     * Create a Plugin.
+     * @param name name of the Plugin
+     * @return Plugin object
+     */
+    public static Plugin create(String name) {
+        Logger logger = Logger.getLogger(name);
+        return (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] {Plugin.class}, (proxy, method, args) -> switch(method.getName()) {
+            case "getName" -> name;
+            case "getLogger" -> logger;
+            case "isEnabled" -> true;
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "StubPlugin{" + name + "}";
+            default -> null;
+        });
+    }
+}
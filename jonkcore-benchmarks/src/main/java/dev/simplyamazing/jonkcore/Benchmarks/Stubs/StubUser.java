@@ -0,0 +1,30 @@
+package dev.simplyamazing.jonkcore.Benchmarks.Stubs;
+
+import dev.simplyamazing.jonkcore.Objects.User;
+
+/**
+ * A player-User bound to a {@link StubPlayer}.
+ * <br><br>
+ * Unlike {@link User#fetch(org.bukkit.command.CommandSender)}, this does not need JonkCORE to be enabled, and does not subscribe the User to any ChatRoom.
+ */
+public class StubUser extends User {
+    private final StubPlayer stub;
+
+    /**
+     * Constructor for the StubUser object.
+     * @param stub the Player this User is bound to
+     */
+    public StubUser(StubPlayer stub) {
+        super(stub.getPlayer().getUniqueId());
+        this.stub = stub;
+        this.legacyPlayer = stub.getPlayer();
+    }
+
+    /**
+     * Retrieve the Player this User is bound to.
+     * @return StubPlayer object
+     */
+    public StubPlayer getStub() {
+        return stub;
+    }
+}
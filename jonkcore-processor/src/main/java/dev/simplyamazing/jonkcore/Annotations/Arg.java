@@ -0,0 +1,34 @@
+package dev.simplyamazing.jonkcore.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a parameter of a {@link SubCommand} method as a command argument.
+ * <br><br>
+ * Arguments may be a <code>String</code>, <code>int</code>, <code>long</code>, <code>double</code> or <code>boolean</code>, or their boxed types.
+ * The generated dispatcher parses them in order, and tells the User the usage of the command if one is missing or invalid.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.PARAMETER)
+public @interface Arg {
+    /**
+     * The name of the argument, shown when tab-completing.
+     * @return argument name
+     */
+    String value();
+
+    /**
+     * Whether the argument may be left out. Missing optional arguments are passed as null, 0 or false.
+     * @return whether the argument is optional
+     */
+    boolean optional() default false;
+
+    /**
+     * Whether the argument takes the rest of the line, including spaces. This is only allowed on the last argument, which must be a <code>String</code>.
+     * @return whether the argument takes the rest of the line
+     */
+    boolean rest() default false;
+}
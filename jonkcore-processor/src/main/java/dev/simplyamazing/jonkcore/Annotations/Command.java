@@ -0,0 +1,46 @@
+package dev.simplyamazing.jonkcore.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a class as the handler of a command.
+ * <br><br>
+ * At compile time, a <code>[ClassName]Dispatcher</code> command group is generated in the same package, which parses arguments and calls the methods of
+ * this class annotated with {@link SubCommand}. The handler is only instantiated the first time one of its commands is used, and so must have a
+ * non-private constructor without parameters.
+ * <br><br>
+ * The command must still be declared in the <code>plugin.yml</code>, and the dispatcher registered with <code>new [ClassName]Dispatcher().register()</code>.
+ * <br><br>
+ * These annotations and their processor are shipped as the separate <code>jonkcore-processor</code> artifact, so a plugin only runs the processor
+ * when it adds that artifact to its build.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Command {
+    /**
+     * The command name, which must match the <code>plugin.yml</code>.
+     * @return command name
+     */
+    String value();
+
+    /**
+     * The command description.
+     * @return command description
+     */
+    String description() default "";
+
+    /**
+     * The command usage.
+     * @return command usage
+     */
+    String usage() default "";
+
+    /**
+     * Whether non-Player Users can execute this command.
+     * @return whether non-players can use the command
+     */
+    boolean canNonPlayerUse() default true;
+}
@@ -0,0 +1,21 @@
+package dev.simplyamazing.jonkcore.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Require a permission to use a {@link Command} or {@link SubCommand}.
+ * <br><br>
+ * Permissions of nested subcommands are checked in addition to the permissions of their parents.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Permission {
+    /**
+     * The permission to check.
+     * @return the permission
+     */
+    String value();
+}
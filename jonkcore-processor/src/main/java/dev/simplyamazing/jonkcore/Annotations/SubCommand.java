@@ -0,0 +1,54 @@
+package dev.simplyamazing.jonkcore.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a method of a {@link Command} class as the handler of a subcommand.
+ * <br><br>
+ * The first parameter of the method must be an <code>IUser</code> or <code>User</code>, and every following parameter must be annotated with {@link Arg}.
+ * <br><br>
+ * The path may contain several names separated by spaces to nest the subcommand, such as <code>"mod mute"</code> for <code>/chatroom mod mute</code>.
+ * An empty path handles the command itself, when no subcommand matches.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface SubCommand {
+    /**
+     * The path of the subcommand, separated by spaces.
+     * @return subcommand path
+     */
+    String value();
+
+    /**
+     * The subcommand description.
+     * @return subcommand description
+     */
+    String description() default "";
+
+    /**
+     * The subcommand usage.
+     * @return subcommand usage
+     */
+    String usage() default "";
+
+    /**
+     * Alternative names of the last part of the path.
+     * @return list of aliases
+     */
+    String[] aliases() default {};
+
+    /**
+     * Whether non-Player Users can execute this subcommand.
+     * @return whether non-players can use the subcommand
+     */
+    boolean canNonPlayerUse() default true;
+
+    /**
+     * Whether the subcommand runs off the main thread, see <code>IChildCommand.isAsync()</code>.
+     * @return whether the subcommand runs async
+     */
+    boolean async() default false;
+}
@@ -0,0 +1,384 @@
+package dev.simplyamazing.jonkcore.Processors;
+
+import dev.simplyamazing.jonkcore.Annotations.Arg;
+import dev.simplyamazing.jonkcore.Annotations.Command;
+import dev.simplyamazing.jonkcore.Annotations.Permission;
+import dev.simplyamazing.jonkcore.Annotations.SubCommand;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating a command group dispatcher for every class annotated with {@link Command}.
+ * <br><br>
+ * The generated dispatchers parse arguments with an <code>ArgumentCursor</code> and call the handler methods directly, so no reflection is used at runtime.
+ */
+@SupportedAnnotationTypes({
+        "dev.simplyamazing.jonkcore.Annotations.Command",
+        "dev.simplyamazing.jonkcore.Annotations.SubCommand",
+        "dev.simplyamazing.jonkcore.Annotations.Arg",
+        "dev.simplyamazing.jonkcore.Annotations.Permission"
+})
+public class CommandProcessor extends AbstractProcessor {
+    private static final String IUSER = "dev.simplyamazing.jonkcore.Objects.Interfaces.IUser";
+    private static final String USER = "dev.simplyamazing.jonkcore.Objects.User";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for(Element element : roundEnv.getElementsAnnotatedWith(SubCommand.class)) {
+            if(element.getEnclosingElement().getAnnotation(Command.class) == null) {
+                error(element, "@SubCommand methods must be declared in a class annotated with @Command");
+            }
+        }
+        for(Element element : roundEnv.getElementsAnnotatedWith(Command.class)) {
+            if(!(element instanceof TypeElement type)) continue;
+            try {
+                generate(type);
+            } catch(IOException e) {
+                error(type, "Unable to write the dispatcher for " + type.getQualifiedName() + ": " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        if(type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT) || type.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            error(type, "@Command classes must be top-level, non-abstract classes");
+            return;
+        }
+        if(!hasDefaultConstructor(type)) {
+            error(type, "@Command classes must have a non-private constructor without parameters");
+            return;
+        }
+
+        // build the tree of subcommands from their paths
+        Node root = new Node("");
+        List<Handler> handlers = new ArrayList<>();
+        for(ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            SubCommand sub = method.getAnnotation(SubCommand.class);
+            if(sub == null) continue;
+            Handler handler = validate(method, handlers.size());
+            if(handler == null) continue;
+            Node node = root;
+            for(String part : sub.value().trim().split("\\s+")) {
+                if(part.isEmpty()) continue;
+                node = node.children.computeIfAbsent(part.toLowerCase(), key -> new Node(part));
+            }
+            if(node.handler != null) {
+                error(method, "Duplicate @SubCommand path '" + sub.value() + "'");
+                continue;
+            }
+            node.handler = handler;
+            handlers.add(handler);
+        }
+
+        String pkg = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        String handlerName = type.getSimpleName().toString();
+        String name = handlerName + "Dispatcher";
+        Command command = type.getAnnotation(Command.class);
+        Permission permission = type.getAnnotation(Permission.class);
+
+        StringBuilder out = new StringBuilder();
+        if(!pkg.isEmpty()) out.append("package ").append(pkg).append(";\n\n");
+        out.append("import dev.simplyamazing.jonkcore.Objects.Command.ArgumentCursor;\n");
+        out.append("import dev.simplyamazing.jonkcore.Objects.Command.PluginCommandGroup;\n");
+        out.append("import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;\n");
+        out.append("import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;\n\n");
+        out.append("import java.util.Collections;\n");
+        out.append("import java.util.List;\n\n");
+        out.append("/**\n * Dispatcher for {@link ").append(handlerName).append("}, generated by JonkCORE. Do not edit.\n */\n");
+        out.append("public final class ").append(name).append(" extends PluginCommandGroup {\n");
+        // async subcommands run on CommandScheduler threads, so the handler is created with double-checked locking
+        out.append("    private volatile ").append(handlerName).append(" handler;\n\n");
+
+        out.append("    public ").append(name).append("() {\n");
+        out.append("        super(").append(literal(command.value())).append(", ").append(literal(command.description())).append(", ")
+                .append(literal(command.usage())).append(", ").append(permission == null ? "null" : literal(permission.value())).append(", ")
+                .append(command.canNonPlayerUse()).append(");\n");
+        out.append("    }\n\n");
+
+        out.append("    private ").append(handlerName).append(" handler() {\n");
+        out.append("        ").append(handlerName).append(" instance = handler;\n");
+        out.append("        if(instance == null) {\n");
+        out.append("            synchronized(this) {\n");
+        out.append("                instance = handler;\n");
+        out.append("                if(instance == null) handler = instance = new ").append(handlerName).append("();\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("        return instance;\n");
+        out.append("    }\n\n");
+
+        // register the subcommands, parents before children
+        out.append("    @Override\n    public void register() {\n");
+        out.append("        clearCommands();\n");
+        int[] counter = {0};
+        for(Node child : root.children.values()) writeNode(out, name, child, "this", counter);
+        out.append("        super.register();\n");
+        out.append("    }\n\n");
+
+        out.append("    @Override\n    public void unregister() {\n        clearCommands();\n        super.unregister();\n    }\n\n");
+
+        out.append("    @Override\n    public void execute(IUser sender, String[] args) {\n        execute(sender, new ArgumentCursor(args));\n    }\n\n");
+        out.append("    @Override\n    public void execute(IUser sender, ArgumentCursor args) {\n");
+        out.append("        if(!args.isEmpty() && executeSubCommand(args.peek(), sender, args)) return;\n");
+        if(root.handler != null) out.append("        invoke").append(root.handler.index).append("(sender, args, getUsage());\n");
+        else out.append("        sender.sendMessage(\"&cInvalid usage! &7\" + getUsage());\n");
+        out.append("    }\n\n");
+
+        out.append("    @Override\n    public List<String> tabComplete(IUser sender, String[] args) {\n        return tabComplete(sender, new ArgumentCursor(args));\n    }\n\n");
+        out.append("    @Override\n    public List<String> tabComplete(IUser sender, ArgumentCursor args) {\n");
+        out.append("        if(args.isEmpty()) return null;\n");
+        out.append("        else if(args.size() == 1) return subCommandCompletions(sender, args.peek());\n");
+        out.append("        return tabCompleteResponse(args.peek(), sender, args);\n");
+        out.append("    }\n");
+
+        for(Handler handler : handlers) writeInvoker(out, handler);
+
+        out.append("\n    private static List<String> argumentName(int index, boolean rest, String... names) {\n");
+        out.append("        if(index < 1 || names.length == 0) return null;\n");
+        out.append("        if(index > names.length) return rest ? Collections.singletonList(names[names.length - 1]) : null;\n");
+        out.append("        return Collections.singletonList(names[index - 1]);\n");
+        out.append("    }\n");
+        out.append("}\n");
+
+        try(Writer writer = processingEnv.getFiler().createSourceFile((pkg.isEmpty() ? "" : pkg + ".") + name, type).openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    private void writeNode(StringBuilder out, String dispatcher, Node node, String parent, int[] counter) {
+        String variable = "sub" + counter[0]++;
+        Handler handler = node.handler;
+        SubCommand sub = handler == null ? null : handler.method.getAnnotation(SubCommand.class);
+        Permission permission = handler == null ? null : handler.method.getAnnotation(Permission.class);
+        String varType = "PluginSubCommand<" + dispatcher + ">";
+        out.append("        ").append(node.children.isEmpty() ? "" : varType + " " + variable + " = ").append("new ").append(varType).append("(").append(parent).append(", ")
+                .append(literal(node.name)).append(", ")
+                .append(sub == null ? "null" : literal(sub.description())).append(", ")
+                .append(sub == null ? "null" : literal(sub.usage())).append(", ")
+                .append(permission == null ? "null" : literal(permission.value())).append(", ")
+                .append(sub == null || sub.canNonPlayerUse()).append(", new String[] {");
+        if(sub != null) {
+            for(int i = 0; i < sub.aliases().length; i++) {
+                out.append(i == 0 ? "" : ", ").append(literal(sub.aliases()[i]));
+            }
+        }
+        out.append("}) {\n");
+        if(sub != null && sub.async()) {
+            out.append("            @Override\n            public boolean isAsync() {\n                return true;\n            }\n\n");
+        }
+        out.append("            @Override\n            public void execute(IUser sender, String[] args) {\n                execute(sender, new ArgumentCursor(args));\n            }\n\n");
+        out.append("            @Override\n            public void execute(IUser sender, ArgumentCursor args) {\n");
+        if(handler != null) out.append("                invoke").append(handler.index).append("(sender, args, getUsage());\n");
+        else out.append("                sender.sendMessage(\"&cInvalid usage! &7\" + getUsage());\n");
+        out.append("            }\n\n");
+        out.append("            @Override\n            public List<String> tabComplete(IUser sender, String[] args) {\n");
+        if(handler == null || handler.args.isEmpty()) {
+            out.append("                return null;\n");
+        } else {
+            out.append("                return argumentName(args.length, ").append(handler.args.get(handler.args.size() - 1).rest);
+            for(Argument arg : handler.args) out.append(", ").append(literal(arg.name));
+            out.append(");\n");
+        }
+        out.append("            }\n");
+        out.append("        };\n");
+        for(Node child : node.children.values()) writeNode(out, dispatcher, child, variable, counter);
+    }
+
+    private void writeInvoker(StringBuilder out, Handler handler) {
+        out.append("\n    private void invoke").append(handler.index).append("(IUser sender, ArgumentCursor args, String usage) {\n");
+        String senderArg = "sender";
+        if(handler.concreteUser) {
+            out.append("        if(!(sender instanceof ").append(USER).append(" user)) throw new IllegalArgumentException(\"Provided User is a differing implementation than required (Expected: \" + ")
+                    .append(USER).append(".class.getName() + \", Provided: \" + sender.getClass().getName() + \")\");\n");
+            senderArg = "user";
+        }
+        int required = 0;
+        for(Argument arg : handler.args) if(!arg.optional) required++;
+        if(required > 0) {
+            out.append("        if(args.size() < ").append(required).append(") {\n");
+            out.append("            sender.sendMessage(\"&cInvalid usage! &7\" + usage);\n");
+            out.append("            return;\n");
+            out.append("        }\n");
+        }
+        StringBuilder call = new StringBuilder(senderArg);
+        for(int i = 0; i < handler.args.size(); i++) {
+            Argument arg = handler.args.get(i);
+            String variable = "arg" + i;
+            call.append(", ").append(variable);
+            if(arg.rest) {
+                out.append("        ").append(arg.type).append(" ").append(variable).append(" = args.size() > ").append(i).append(" ? args.restString(").append(i).append(") : null;\n");
+                continue;
+            }
+            String raw = "args.get(" + i + ")";
+            switch(arg.kind) {
+                case "string" -> out.append("        ").append(arg.type).append(" ").append(variable).append(" = ").append(raw).append(";\n");
+                case "boolean" -> {
+                    out.append("        ").append(arg.type).append(" ").append(variable).append(" = ").append(arg.boxed ? "null" : "false").append(";\n");
+                    out.append("        if(").append(raw).append(" != null) {\n");
+                    out.append("            if(!").append(raw).append(".equalsIgnoreCase(\"true\") && !").append(raw).append(".equalsIgnoreCase(\"false\")) {\n");
+                    out.append("                sender.sendMessage(\"&cInvalid value for ").append(escape(arg.name)).append("! Expected true or false. &7\" + usage);\n");
+                    out.append("                return;\n");
+                    out.append("            }\n");
+                    out.append("            ").append(variable).append(" = ").append(raw).append(".equalsIgnoreCase(\"true\");\n");
+                    out.append("        }\n");
+                }
+                default -> {
+                    String parser = switch(arg.kind) {
+                        case "int" -> "Integer.parseInt";
+                        case "long" -> "Long.parseLong";
+                        default -> "Double.parseDouble";
+                    };
+                    out.append("        ").append(arg.type).append(" ").append(variable).append(" = ").append(arg.boxed ? "null" : "0").append(";\n");
+                    out.append("        if(").append(raw).append(" != null) {\n");
+                    out.append("            try {\n");
+                    out.append("                ").append(variable).append(" = ").append(parser).append("(").append(raw).append(");\n");
+                    out.append("            } catch(NumberFormatException e) {\n");
+                    out.append("                sender.sendMessage(\"&cInvalid number for ").append(escape(arg.name)).append("! &7\" + usage);\n");
+                    out.append("                return;\n");
+                    out.append("            }\n");
+                    out.append("        }\n");
+                }
+            }
+        }
+        out.append("        handler().").append(handler.method.getSimpleName()).append("(").append(call).append(");\n");
+        out.append("    }\n");
+    }
+
+    private Handler validate(ExecutableElement method, int index) {
+        if(method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) {
+            error(method, "@SubCommand methods must be non-private instance methods");
+            return null;
+        }
+        List<? extends VariableElement> params = method.getParameters();
+        String first = params.isEmpty() ? "" : params.get(0).asType().toString();
+        if(!first.equals(IUSER) && !first.equals(USER)) {
+            error(method, "The first parameter of a @SubCommand method must be an IUser or User");
+            return null;
+        }
+        Handler handler = new Handler(method, index, first.equals(USER));
+        boolean optional = false;
+        for(int i = 1; i < params.size(); i++) {
+            VariableElement param = params.get(i);
+            Arg arg = param.getAnnotation(Arg.class);
+            if(arg == null) {
+                error(param, "Parameters of a @SubCommand method after the User must be annotated with @Arg");
+                return null;
+            }
+            String type = param.asType().toString();
+            String kind = switch(type) {
+                case "java.lang.String" -> "string";
+                case "int", "java.lang.Integer" -> "int";
+                case "long", "java.lang.Long" -> "long";
+                case "double", "java.lang.Double" -> "double";
+                case "boolean", "java.lang.Boolean" -> "boolean";
+                default -> null;
+            };
+            if(kind == null) {
+                error(param, "Unsupported @Arg type " + type + ", expected String, int, long, double or boolean");
+                return null;
+            }
+            if(arg.rest() && (i != params.size() - 1 || !kind.equals("string"))) {
+                error(param, "Only the last @Arg may take the rest of the line, and it must be a String");
+                return null;
+            }
+            if(optional && !arg.optional()) {
+                error(param, "Required arguments must not follow optional arguments");
+                return null;
+            }
+            optional |= arg.optional();
+            handler.args.add(new Argument(arg.value(), type, kind, type.startsWith("java.lang."), arg.optional(), arg.rest()));
+        }
+        return handler;
+    }
+
+    private boolean hasDefaultConstructor(TypeElement type) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        if(constructors.isEmpty()) return true;
+        for(ExecutableElement constructor : constructors) {
+            if(constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) return true;
+        }
+        return false;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String literal(String value) {
+        return "\"" + escape(value) + "\"";
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for(char c : value.toCharArray()) {
+            switch(c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Map<String, Node> children;
+        private Handler handler;
+
+        private Node(String name) {
+            this.name = name;
+            this.children = new LinkedHashMap<>();
+        }
+    }
+
+    private static final class Handler {
+        private final ExecutableElement method;
+        private final int index;
+        private final boolean concreteUser;
+        private final List<Argument> args;
+
+        private Handler(ExecutableElement method, int index, boolean concreteUser) {
+            this.method = method;
+            this.index = index;
+            this.concreteUser = concreteUser;
+            this.args = new ArrayList<>();
+        }
+    }
+
+    private static final class Argument {
+        private final String name;
+        private final String type;
+        private final String kind;
+        private final boolean boxed;
+        private final boolean optional;
+        private final boolean rest;
+
+        private Argument(String name, String type, String kind, boolean boxed, boolean optional, boolean rest) {
+            this.name = name;
+            this.type = type;
+            this.kind = kind;
+            this.boxed = boxed;
+            this.optional = optional;
+            this.rest = rest;
+        }
+    }
+}
@@ -6,7 +6,9 @@ import dev.simplyamazing.jonkcore.Objects.ChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Command.PluginCommand;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.MessageHistory;
 import dev.simplyamazing.jonkcore.Objects.User;
+import dev.simplyamazing.jonkcore.Utilities.CompletionUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +35,7 @@ public class ChatCommand extends PluginCommand {
                 try {
                     sender.setFocusedChatRoom(c);
                     sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aYou are now focused on the ChatRoom &e" + c.getIdentifier().toString() + "&a.");
+                    c.replayHistory(sender, MessageHistory.getReplayCount());
                     return;
                 } catch(UserException e) {
                     sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cUh oh! Something went wrong! Please check to ensure you have access to the ChatRoom you are trying to focus on.");
@@ -49,22 +52,7 @@ public class ChatCommand extends PluginCommand {
         if(!(sender instanceof User u)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
 
         if(args.length == 0) return null;
-        else if(args.length == 1) return getChatRoomNames(u);
+        else if(args.length == 1) return CompletionUtils.complete(u.getSortedChatRoomNames(), args[0]);
         return new ArrayList<>();
     }
-
-    /**
-     * Logic for getting the list of ChatRoom names.
-     *
-     * @param sender command sender
-     * @return list of ChatRoom names
-     */
-    private List<String> getChatRoomNames(User sender) {
-        List<String> names = new ArrayList<>();
-        for(IChatRoom chat : sender.getChatRooms()) {
-            if(!(chat instanceof ChatRoom c)) continue;
-            names.add(c.getIdentifier().toString());
-        }
-        return names;
-    }
 }
@@ -1,14 +1,14 @@
 package dev.simplyamazing.jonkcore.Commands.ChatRoomGroup;
 
+import dev.simplyamazing.jonkcore.Objects.Command.ArgumentCursor;
 import dev.simplyamazing.jonkcore.Objects.Command.PluginCommandGroup;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
 
-import java.util.Arrays;
 import java.util.List;
 
 public class ChatRoomGroup extends PluginCommandGroup {
     public ChatRoomGroup() {
-        super("chatroom", "Execute actions relevant to ChatRooms.", "/chatroom [join / create / remove / list] (args)", null, true);
+        super("chatroom", "Execute actions relevant to ChatRooms.", "/chatroom [join / create / remove / list / history] (args)", null, true);
     }
 
     @Override
@@ -18,6 +18,7 @@ public class ChatRoomGroup extends PluginCommandGroup {
             new ChatRoomJoinCommand(this);
             new ChatRoomRemoveCommand(this);
             new ChatRoomListCommand(this);
+            new ChatRoomHistoryCommand(this);
         } catch(Exception e) {
             e.printStackTrace();
         }
@@ -26,25 +27,35 @@ public class ChatRoomGroup extends PluginCommandGroup {
 
     @Override
     public void unregister() {
-        subCommands.clear();
+        clearCommands();
         super.unregister();
     }
 
     @Override
     public void execute(IUser sender, String[] args) {
-        if(args.length == 0) {
+        execute(sender, new ArgumentCursor(args));
+    }
+
+    @Override
+    public void execute(IUser sender, ArgumentCursor args) {
+        if(args.isEmpty()) {
             sender.sendMessage("&cInvalid usage! &7" + getUsage());
             return;
         }
 
-        boolean success = executeSubCommand(args[0], sender, args);
+        boolean success = executeSubCommand(args.peek(), sender, args);
         if(!success) sender.sendMessage("&cInvalid usage! &7" + getUsage());
     }
 
     @Override
     public List<String> tabComplete(IUser sender, String[] args) {
-        if(args.length == 0) return null;
-        else if(args.length == 1) return Arrays.asList("join", "create", "remove", "list");
-        return tabCompleteResponse(args[0], sender, args);
+        return tabComplete(sender, new ArgumentCursor(args));
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, ArgumentCursor args) {
+        if(args.isEmpty()) return null;
+        else if(args.size() == 1) return subCommandCompletions(sender, args.peek());
+        return tabCompleteResponse(args.peek(), sender, args);
     }
 }
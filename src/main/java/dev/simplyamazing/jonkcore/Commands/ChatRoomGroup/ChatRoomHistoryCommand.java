@@ -0,0 +1,66 @@
+package dev.simplyamazing.jonkcore.Commands.ChatRoomGroup;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.ChatRoom;
+import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.MessageHistory;
+import dev.simplyamazing.jonkcore.Objects.User;
+import dev.simplyamazing.jonkcore.Utilities.CompletionUtils;
+
+import java.util.List;
+
+public class ChatRoomHistoryCommand extends PluginSubCommand<ChatRoomGroup> {
+    private static final int PAGE_SIZE = 10;
+
+    public ChatRoomHistoryCommand(ChatRoomGroup group) {
+        super(group, "history", "Page through the recent messages of a ChatRoom.", "/chatroom history [name/id] (page)", null, true);
+    }
+
+    @Override
+    public void execute(IUser sender, String[] args) {
+        if(!(sender instanceof User u)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        ChatRoom cr = args.length == 0 ? u.getFocusedChatRoom() : JonkCORE.getInstance().getStorage().getChatRoom(args[0]);
+        if(cr == null) {
+            sender.sendMessage("&cInvalid ChatRoom &8(&7" + (args.length == 0 ? "none" : args[0]) + "&8). &7You can find a list of valid rooms with &e&l/chatroom list&7.");
+            return;
+        }
+        if(!sender.hasChatRoom(cr) && !sender.hasPermission("jonkcore.chatroom.history.bypass")) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cYou must be in a ChatRoom to see its history!");
+            return;
+        }
+        int page = 1;
+        if(args.length > 1) {
+            try {
+                page = Integer.parseInt(args[1]);
+            } catch(NumberFormatException e) {
+                sender.sendMessage("&cInvalid page &8(&7" + args[1] + "&8)&c.");
+                return;
+            }
+        }
+
+        MessageHistory history = cr.getHistory();
+        int pages = history.getPageCount(PAGE_SIZE);
+        if(pages == 0) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&7There are no recent messages in &e" + cr.getIdentifier().toString() + "&7.");
+            return;
+        }
+        if(page < 1 || page > pages) {
+            sender.sendMessage("&cInvalid page &8(&7" + page + "&8)&c. &7There " + (pages == 1 ? "is &e1 &7page" : "are &e" + pages + " &7pages") + ".");
+            return;
+        }
+        sender.sendMessage("&8&m----&r &7History of &e" + cr.getIdentifier().toString() + " &8(&7page &e" + page + "&7/&e" + pages + "&8) &8&m----");
+        for(MessageHistory.Entry entry : history.getPage(page - 1, PAGE_SIZE)) sender.sendMessage(cr.formatHistory(entry));
+        if(page < pages) sender.sendMessage("&7Older messages: &e/chatroom history " + cr.getIdentifier().toString() + " " + (page + 1));
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, String[] args) {
+        if(!(sender instanceof User u)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        if(args.length == 0) return null;
+        else if(args.length == 1) return CompletionUtils.complete(u.getSortedChatRoomNames(), args[0]);
+        else return null;
+    }
+}
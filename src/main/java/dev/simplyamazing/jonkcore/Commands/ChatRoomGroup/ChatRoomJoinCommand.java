@@ -4,11 +4,10 @@ import dev.simplyamazing.jonkcore.Exceptions.PermissionRequiredException;
 import dev.simplyamazing.jonkcore.JonkCORE;
 import dev.simplyamazing.jonkcore.Objects.ChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
-import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
 import dev.simplyamazing.jonkcore.Objects.User;
+import dev.simplyamazing.jonkcore.Utilities.CompletionUtils;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class ChatRoomJoinCommand extends PluginSubCommand<ChatRoomGroup> {
@@ -46,22 +45,7 @@ public class ChatRoomJoinCommand extends PluginSubCommand<ChatRoomGroup> {
         if(!(sender instanceof User u)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
 
         if(args.length == 0) return null;
-        else if(args.length == 1) return getChatRoomNames(u);
+        else if(args.length == 1) return CompletionUtils.complete(JonkCORE.getInstance().getStorage().getSortedChatRoomNames(), args[0]);
         else return null;
     }
-
-    /**
-     * Logic for getting the list of ChatRoom names.
-     *
-     * @param sender command sender
-     * @return list of ChatRoom names
-     */
-    private List<String> getChatRoomNames(User sender) {
-        List<String> names = new ArrayList<>();
-        for(IChatRoom chat : sender.getChatRooms()) {
-            if(!(chat instanceof ChatRoom c)) continue;
-            names.add(c.getIdentifier().toString());
-        }
-        return names;
-    }
 }
@@ -0,0 +1,36 @@
+package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.ChatLog.ChatLog;
+import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.User;
+
+import java.util.List;
+
+public class JonkcoreChatLogCommand extends PluginSubCommand<JonkcoreGroup> {
+    public JonkcoreChatLogCommand(JonkcoreGroup group) {
+        super(group, "chatlog", "Search the chat log of every ChatRoom.", "/jonkcore chatlog [search] (args)", "jonkcore.chatlog", true);
+        new JonkcoreChatLogSearchCommand(this);
+    }
+
+    @Override
+    public void execute(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        ChatLog log = JonkCORE.getInstance().getChatLog();
+        if(log == null) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cThe chat log is disabled.");
+            return;
+        }
+        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aThe chat log holds &e" + log.getSegmentCount() + " &asegment(s), with &e" + log.getDroppedCount() + " &amessage(s) dropped.");
+        sender.sendMessage("&7Usage: &e" + getChild("search").getUsage());
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        return null;
+    }
+}
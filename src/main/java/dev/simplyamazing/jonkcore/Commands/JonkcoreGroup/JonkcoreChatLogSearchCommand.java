@@ -0,0 +1,69 @@
+package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.ChatLog.ChatLog;
+import dev.simplyamazing.jonkcore.Objects.ChatLog.ChatLogEntry;
+import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.User;
+import dev.simplyamazing.jonkcore.Utilities.CompletionUtils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class JonkcoreChatLogSearchCommand extends PluginSubCommand<JonkcoreGroup> {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+    private static final int RESULTS = 15;
+
+    public JonkcoreChatLogSearchCommand(JonkcoreChatLogCommand parent) {
+        super(parent, "search", "Search the chat log for a word, or any message (*), optionally within a ChatRoom or from a user.", "/jonkcore chatlog search [term/*] (room/*) (user)", "jonkcore.chatlog.search", true);
+    }
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public void execute(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+        if(args.length == 0) {
+            sender.sendMessage("&cInvalid usage! &7" + getUsage());
+            return;
+        }
+        ChatLog log = JonkCORE.getInstance().getChatLog();
+        if(log == null) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cThe chat log is disabled.");
+            return;
+        }
+
+        String room = args.length > 1 && !args[1].equals("*") ? args[1] : null;
+        String user = args.length > 2 ? args[2] : null;
+        List<String> ignored = ChatLog.getIgnoredTerms(args[0]);
+        if(!ignored.isEmpty()) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&7Ignoring &e" + String.join(", ", ignored) + " &7- only words of " + ChatLog.getMinTermLength() + " to "
+                    + ChatLog.getMaxTermLength() + " characters are searched for.");
+        }
+        long start = System.nanoTime();
+        List<ChatLogEntry> results = log.search(args[0], room, user, RESULTS);
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        if(results.isEmpty()) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&7No messages found matching &e" + args[0] + " &8(" + elapsed + "ms)&7.");
+            return;
+        }
+        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aShowing the &e" + results.size() + " &amost recent message(s) matching &e" + args[0] + " &8(" + elapsed + "ms)&a:");
+        for(ChatLogEntry entry : results) {
+            sender.sendMessage("&8[" + TIME.format(Instant.ofEpochMilli(entry.getTimestamp())) + "] &7(" + entry.getRoom() + ") &r" + entry.getSenderName() + "&7: &f" + entry.getBody());
+        }
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        if(args.length == 2) return CompletionUtils.complete(JonkCORE.getInstance().getStorage().getSortedChatRoomNames(), args[1]);
+        return null;
+    }
+}
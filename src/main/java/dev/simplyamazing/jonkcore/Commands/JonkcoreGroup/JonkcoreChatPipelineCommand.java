@@ -0,0 +1,51 @@
+package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatPipeline;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatStage;
+import dev.simplyamazing.jonkcore.Objects.User;
+
+import java.util.List;
+
+public class JonkcoreChatPipelineCommand extends PluginSubCommand<JonkcoreGroup> {
+    public JonkcoreChatPipelineCommand(JonkcoreGroup group) {
+        super(group, "pipeline", "Shows the chat handlers of each stage and how long they take.", "/jonkcore pipeline", "jonkcore.pipeline", true);
+    }
+
+    @Override
+    public void execute(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        ChatPipeline pipeline = JonkCORE.getInstance().getChatPipeline();
+        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aChat pipeline timings &7(p50 / p99 / max in µs)&a:");
+        List<ChatPipeline.Registration> registrations = pipeline.getRegistrations();
+        for(ChatStage stage : ChatStage.values()) {
+            sender.sendMessage("&e" + stage + "&7: " + describe(pipeline.getStageTimings(stage)));
+            for(ChatPipeline.Registration registration : registrations) {
+                if(registration.getStage() != stage) continue;
+                String failures = registration.getFailureCount() == 0 ? "" : " &c" + registration.getFailureCount() + " failed";
+                sender.sendMessage("&8- &f" + registration.getOwner().getName() + "&7:&f" + registration.getName() + " &8(" + registration.getPriority() + ")&7: "
+                        + describe(registration.getTimings()) + failures);
+            }
+        }
+    }
+
+    private static String describe(Histogram timings) {
+        if(timings.getCount() == 0) return "&7no messages";
+        return "&f" + micros(timings.getPercentile(50)) + " &7/ &f" + micros(timings.getPercentile(99)) + " &7/ &f" + micros(timings.getMax()) + " &7over &f" + timings.getCount() + " &7message(s)";
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f", nanos / 1000.0);
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        return null;
+    }
+}
@@ -1,36 +1,48 @@
 package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
 
 import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.Command.CommandScheduler;
 import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
 import dev.simplyamazing.jonkcore.Objects.User;
-import dev.simplyamazing.jonkcore.Utilities.UpdateChecker;
 
+import java.util.Collections;
 import java.util.List;
 
 public class JonkcoreCheckUpdateCommand extends PluginSubCommand<JonkcoreGroup> {
     public JonkcoreCheckUpdateCommand(JonkcoreGroup group) {
-        super(group, "checkupdate", "Check's the plugin GitHub for plugin updates.", "/jonkcore checkupdate", "jonkcore.checkupdates", true);
+        super(group, "checkupdate", "Check's the plugin GitHub for plugin updates.", "/jonkcore checkupdate (all)", "jonkcore.checkupdates", true);
     }
 
     @Override
     public void execute(IUser sender, String[] args) {
         if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+        CommandScheduler scheduler = JonkCORE.getInstance().getCommandScheduler();
 
-        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aChecking for updates...");
-        UpdateChecker updateChecker = new UpdateChecker(JonkCORE.getInstance());
-        updateChecker.run();
-        if(updateChecker.isUpToDate()) {
-            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aNo updates are available.");
-        } else {
-            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aAn update is available! &7" + updateChecker.getLatestVersion());
+        if(args.length > 0 && args[0].equalsIgnoreCase("all")) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aChecking all plugins for updates...");
+            // the check does not block, so the results are sent back on the main thread rather than the HTTP client's
+            JonkCORE.getInstance().checkAllUpdates().thenAccept(report -> scheduler.runSync(() -> sender.sendMessages(report.getLines())));
+            return;
         }
+
+        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aChecking for updates...");
+        JonkCORE.getInstance().getUpdateChecker().check().thenAccept(result -> scheduler.runSync(() -> {
+            if(!result.isSuccessful()) {
+                sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&c" + result.getError());
+            } else if(result.isUpToDate()) {
+                sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aNo updates are available.");
+            } else {
+                sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aAn update is available! &7" + result.getLatestVersion());
+            }
+        }));
     }
 
     @Override
     public List<String> tabComplete(IUser sender, String[] args) {
         if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
 
+        if(args.length == 1 && "all".startsWith(args[0].toLowerCase())) return Collections.singletonList("all");
         return null;
     }
 }
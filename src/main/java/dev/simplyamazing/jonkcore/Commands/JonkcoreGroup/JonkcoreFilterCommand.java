@@ -0,0 +1,52 @@
+package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.Command.CommandScheduler;
+import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
+import dev.simplyamazing.jonkcore.Objects.Filter.ChatFilter;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.User;
+
+import java.util.Collections;
+import java.util.List;
+
+public class JonkcoreFilterCommand extends PluginSubCommand<JonkcoreGroup> {
+    public JonkcoreFilterCommand(JonkcoreGroup group) {
+        super(group, "filter", "Shows the chat filter's statistics, or reloads its patterns from the config.", "/jonkcore filter (reload)", "jonkcore.filter", true);
+    }
+
+    @Override
+    public void execute(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        ChatFilter filter = JonkCORE.getInstance().getChatFilter();
+        if(filter == null) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cChat filtering is disabled.");
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("reload")) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aReloading the chat filter...");
+            long start = System.nanoTime();
+            CommandScheduler scheduler = JonkCORE.getInstance().getCommandScheduler();
+            // the patterns are compiled off the main thread, so the result is sent back on the main thread rather than the compiling one
+            JonkCORE.getInstance().reloadChatFilter().whenComplete((ignored, error) -> {
+                long elapsed = System.nanoTime() - start;
+                scheduler.runSync(() -> {
+                    if(error != null) sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cFailed to reload the chat filter: " + (error.getCause() == null ? error : error.getCause()).getMessage());
+                    else sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aCompiled &e" + filter.getPatternCount() + " &apattern(s) in &e" + elapsed / 1_000_000 + "ms&a.");
+                });
+            });
+            return;
+        }
+        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aFiltering &e" + filter.getPatternCount() + " &apattern(s). Censored &e" + filter.getCensoredCount()
+                + " &aand blocked &e" + filter.getBlockedCount() + " &amessage(s).");
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        if(args.length == 1 && "reload".startsWith(args[0].toLowerCase())) return Collections.singletonList("reload");
+        return null;
+    }
+}
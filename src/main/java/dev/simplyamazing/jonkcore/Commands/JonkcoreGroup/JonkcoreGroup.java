@@ -1,15 +1,15 @@
 package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
 
+import dev.simplyamazing.jonkcore.Objects.Command.ArgumentCursor;
 import dev.simplyamazing.jonkcore.Objects.Command.PluginCommandGroup;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
 import dev.simplyamazing.jonkcore.Objects.User;
 
-import java.util.Arrays;
 import java.util.List;
 
 public class JonkcoreGroup extends PluginCommandGroup {
     public JonkcoreGroup() {
-        super("jcore", "The main command for the JonkCORE plugin.", "/jcore [version / checkupdate / help]", null, true);
+        super("jcore", "The main command for the JonkCORE plugin.", "/jcore [version / checkupdate / relay / ratelimit / filter / chatlog / pipeline / metrics / help]", null, true);
     }
 
     @Override
@@ -17,6 +17,12 @@ public class JonkcoreGroup extends PluginCommandGroup {
         try {
             new JonkcoreVersionCommand(this);
             new JonkcoreCheckUpdateCommand(this);
+            new JonkcoreRelayCommand(this);
+            new JonkcoreRateLimitCommand(this);
+            new JonkcoreFilterCommand(this);
+            new JonkcoreChatLogCommand(this);
+            new JonkcoreChatPipelineCommand(this);
+            new JonkcoreMetricsCommand(this);
         } catch(Exception e) {
             e.printStackTrace();
         }
@@ -25,28 +31,38 @@ public class JonkcoreGroup extends PluginCommandGroup {
 
     @Override
     public void unregister() {
-        subCommands.clear();
+        clearCommands();
         super.unregister();
     }
 
     @Override
     public void execute(IUser sender, String[] args) {
+        execute(sender, new ArgumentCursor(args));
+    }
+
+    @Override
+    public void execute(IUser sender, ArgumentCursor args) {
         if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
-        if(args.length == 0) {
+        if(args.isEmpty()) {
             sender.sendMessage("&cInvalid usage! &7" + getUsage());
             return;
         }
 
-        boolean success = executeSubCommand(args[0], sender, args);
+        boolean success = executeSubCommand(args.peek(), sender, args);
         if(!success) sender.sendMessage("&cInvalid usage! &7" + getUsage());
     }
 
     @Override
     public List<String> tabComplete(IUser sender, String[] args) {
+        return tabComplete(sender, new ArgumentCursor(args));
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, ArgumentCursor args) {
         if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
 
-        if(args.length == 0) return null;
-        else if(args.length == 1) return Arrays.asList("version", "checkupdate", "help");
-        return tabCompleteResponse(args[0], sender, args);
+        if(args.isEmpty()) return null;
+        else if(args.size() == 1) return subCommandCompletions(sender, args.peek());
+        return tabCompleteResponse(args.peek(), sender, args);
     }
 }
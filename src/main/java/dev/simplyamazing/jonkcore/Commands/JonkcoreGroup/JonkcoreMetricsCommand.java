@@ -0,0 +1,68 @@
+package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import dev.simplyamazing.jonkcore.Objects.Metrics.MetricsRegistry;
+import dev.simplyamazing.jonkcore.Objects.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class JonkcoreMetricsCommand extends PluginSubCommand<JonkcoreGroup> {
+    public JonkcoreMetricsCommand(JonkcoreGroup group) {
+        super(group, "metrics", "Shows the metrics JonkCORE records about itself.", "/jonkcore metrics (filter)", "jonkcore.metrics", true);
+    }
+
+    @Override
+    public void execute(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        if(!Metrics.isEnabled()) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cMetrics are disabled.");
+            return;
+        }
+        String filter = args.length > 0 ? args[0].toLowerCase() : "";
+        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aMetrics" + (filter.isEmpty() ? "" : " matching &e" + filter) + " &7(histograms show count, p50 / p99 / p99.9 / max)&a:");
+        for(MetricsRegistry.Family family : Metrics.getRegistry().getFamilies()) {
+            if(!family.getName().contains(filter)) continue;
+            String name = family.getName().replaceFirst("^jonkcore_", "");
+            for(Map.Entry<String, Long> entry : family.getValues().entrySet()) {
+                sender.sendMessage("&8- &f" + name + labels(entry.getKey()) + "&7: &e" + entry.getValue());
+            }
+            for(Map.Entry<String, Histogram> entry : family.getHistograms().entrySet()) {
+                Histogram histogram = entry.getValue();
+                if(histogram.getCount() == 0) continue;
+                sender.sendMessage("&8- &f" + name + labels(entry.getKey()) + "&7: &e" + histogram.getCount() + " &7| &f" + describe(family, histogram.getPercentile(50))
+                        + " &7/ &f" + describe(family, histogram.getPercentile(99)) + " &7/ &f" + describe(family, histogram.getPercentile(99.9)) + " &7/ &f" + describe(family, histogram.getMax()));
+            }
+        }
+    }
+
+    private static String labels(String labels) {
+        return labels.isEmpty() ? "" : " &8{" + labels.replace("\"", "") + "}";
+    }
+
+    private static String describe(MetricsRegistry.Family family, long value) {
+        double scaled = value * family.getScale();
+        if(!family.getName().endsWith("_seconds")) return String.format("%.0f", scaled);
+        if(scaled < 0.001) return String.format("%.1fµs", scaled * 1_000_000);
+        return String.format("%.2fms", scaled * 1_000);
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        if(args.length != 1) return null;
+        List<String> completions = new ArrayList<>();
+        for(MetricsRegistry.Family family : Metrics.getRegistry().getFamilies()) {
+            String name = family.getName().replaceFirst("^jonkcore_", "");
+            if(name.startsWith(args[0].toLowerCase())) completions.add(name);
+        }
+        return completions;
+    }
+}
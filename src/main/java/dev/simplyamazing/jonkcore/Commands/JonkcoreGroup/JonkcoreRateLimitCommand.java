@@ -0,0 +1,54 @@
+package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
+import dev.simplyamazing.jonkcore.Objects.DuplicateDetector;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.RateLimiter;
+import dev.simplyamazing.jonkcore.Objects.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class JonkcoreRateLimitCommand extends PluginSubCommand<JonkcoreGroup> {
+    public JonkcoreRateLimitCommand(JonkcoreGroup group) {
+        super(group, "ratelimit", "Shows how many messages have been rejected as spam.", "/jonkcore ratelimit", "jonkcore.ratelimit", true);
+    }
+
+    @Override
+    public void execute(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        DuplicateDetector duplicateDetector = JonkCORE.getInstance().getDuplicateDetector();
+        if(duplicateDetector != null) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aDropped &e" + duplicateDetector.getDroppedCount() + " &aand flagged &e" + duplicateDetector.getFlaggedCount() + " &arepeated message(s).");
+        }
+        RateLimiter rateLimiter = JonkCORE.getInstance().getRateLimiter();
+        if(rateLimiter == null) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cRate limiting is disabled.");
+            return;
+        }
+        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aRejected &e" + rateLimiter.getUserRejections() + " &amessage(s) from players sending too quickly, and &e"
+                + rateLimiter.getRoomRejections() + " &ain ChatRooms receiving too many.");
+        List<Map.Entry<String, Long>> rooms = new ArrayList<>(rateLimiter.getRejectionsByRoom().entrySet());
+        rooms.removeIf(entry -> entry.getValue() == 0);
+        rooms.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        for(Map.Entry<String, Long> entry : rooms) {
+            RateLimiter.Limit[] limits = rateLimiter.getLimits(entry.getKey());
+            sender.sendMessage("&8- &e" + entry.getKey() + "&7: &f" + entry.getValue() + " &7rejected (player " + describe(limits[0]) + "&7, room " + describe(limits[1]) + "&7)");
+        }
+    }
+
+    private static String describe(RateLimiter.Limit limit) {
+        if(limit.isUnlimited()) return "&funlimited";
+        return "&f" + limit.getBurst() + " &7burst, &f" + limit.getPerSecond() + "&7/s";
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        return null;
+    }
+}
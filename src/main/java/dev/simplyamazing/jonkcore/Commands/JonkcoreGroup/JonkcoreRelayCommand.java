@@ -0,0 +1,44 @@
+package dev.simplyamazing.jonkcore.Commands.JonkcoreGroup;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.Command.PluginSubCommand;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.Relay.ChatRelay;
+import dev.simplyamazing.jonkcore.Objects.Relay.LinkMetrics;
+import dev.simplyamazing.jonkcore.Objects.User;
+
+import java.util.List;
+
+public class JonkcoreRelayCommand extends PluginSubCommand<JonkcoreGroup> {
+    public JonkcoreRelayCommand(JonkcoreGroup group) {
+        super(group, "relay", "Shows the status and metrics of each chat relay link.", "/jonkcore relay", "jonkcore.relay", true);
+    }
+
+    @Override
+    public void execute(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        ChatRelay relay = JonkCORE.getInstance().getChatRelay();
+        if(relay == null) {
+            sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&cChat relaying is disabled.");
+            return;
+        }
+        sender.sendMessage(JonkCORE.getInstance().getPrefix() + "&aRelaying as &e" + relay.getServerId() + "&a over &e" + relay.getLinks().size() + " &alink(s):");
+        for(ChatRelay.Link link : relay.getLinks()) {
+            LinkMetrics metrics = link.getMetrics();
+            sender.sendMessage("&8- &e" + link.getName() + " " + (link.isConnected() ? "&a(connected)" : "&c(disconnected)"));
+            sender.sendMessage("&7  Sent: &f" + metrics.getMessagesSent() + " &7messages in &f" + metrics.getFramesSent() + " &7frames (&f" + metrics.getBytesSent() + " &7bytes, &f"
+                    + String.format("%.1f", metrics.getMessagesSentPerSecond()) + " &7msg/s), &c" + metrics.getSendFailures() + " &7failed");
+            sender.sendMessage("&7  Received: &f" + metrics.getMessagesReceived() + " &7messages in &f" + metrics.getFramesReceived() + " &7frames (&f" + metrics.getBytesReceived() + " &7bytes)");
+            sender.sendMessage("&7  Latency: send &f" + String.format("%.2f", metrics.getAverageSendMillis()) + "ms &7avg / &f" + String.format("%.2f", metrics.getMaxSendMillis())
+                    + "ms &7max, delivery &f" + String.format("%.1f", metrics.getAverageDeliveryMillis()) + "ms &7avg / &f" + metrics.getMaxDeliveryMillis() + "ms &7max");
+        }
+    }
+
+    @Override
+    public List<String> tabComplete(IUser sender, String[] args) {
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+
+        return null;
+    }
+}
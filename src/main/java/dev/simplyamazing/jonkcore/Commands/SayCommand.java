@@ -2,12 +2,12 @@ package dev.simplyamazing.jonkcore.Commands;
 
 import dev.simplyamazing.jonkcore.JonkCORE;
 import dev.simplyamazing.jonkcore.Objects.ChatRoom;
+import dev.simplyamazing.jonkcore.Objects.Command.ArgumentCursor;
 import dev.simplyamazing.jonkcore.Objects.Command.PluginCommand;
-import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
 import dev.simplyamazing.jonkcore.Objects.User;
+import dev.simplyamazing.jonkcore.Utilities.CompletionUtils;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -18,21 +18,21 @@ public class SayCommand extends PluginCommand {
 
     @Override
     public void execute(IUser sender, String[] args) {
+        execute(sender, new ArgumentCursor(args));
+    }
+
+    @Override
+    public void execute(IUser sender, ArgumentCursor args) {
         if(!(sender instanceof User u)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
-        if(args.length == 0) {
+        if(args.isEmpty()) {
             sender.sendMessage("&cYou must specify a ChatRoom to speak in! Usage: " + getUsage());
             return;
-        } else if(args.length == 1) {
+        } else if(args.size() == 1) {
             sender.sendMessage("&cYou must specify a message to send! Usage: " + getUsage());
             return;
         }
 
-        ChatRoom chatroom = JonkCORE.getInstance().getStorage().getChatRoom(args[0]);
-        StringBuilder message = new StringBuilder();
-        for(int i = 1; i < args.length; i++) {
-            message.append(args[i]).append(" ");
-        }
-
+        ChatRoom chatroom = JonkCORE.getInstance().getStorage().getChatRoom(args.peek());
         if(chatroom == null) {
             sender.sendMessage("&cThat ChatRoom does not exist! Usage: " + getUsage());
             return;
@@ -42,7 +42,7 @@ public class SayCommand extends PluginCommand {
             sender.sendMessage("&cYou are not subscribed to that ChatRoom! Usage: " + getUsage());
             return;
         }
-        chatroom.sendMessage(u, message.toString());
+        chatroom.sendMessage(u, args.restString(1));
     }
 
     @Override
@@ -50,29 +50,10 @@ public class SayCommand extends PluginCommand {
         if(!(sender instanceof User u)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
 
         if(args.length == 0) return null;
-        else if(args.length == 1) return getChatRoomNames(u);
-        else return Collections.singletonList("message");
-    }
-
-    /**
-     * Logic for getting the list of ChatRoom names.
-     *
-     * @param sender command sender
-     * @return list of ChatRoom names
-     */
-    private List<String> getChatRoomNames(User sender) {
-        List<String> names = new ArrayList<>();
-        if(sender.hasPermission("jonkcore.say.bypassChatMembership")) {
-            for(IChatRoom chatroom : JonkCORE.getInstance().getStorage().getChatRooms()) {
-                if(!(chatroom instanceof ChatRoom c)) continue;
-                names.add(c.getIdentifier().toString());
-            }
-        } else {
-            for(IChatRoom chat : sender.getChatRooms()) {
-                if(!(chat instanceof ChatRoom c)) continue;
-                names.add(c.getIdentifier().toString());
-            }
+        else if(args.length == 1) {
+            String[] names = u.hasPermission("jonkcore.say.bypassChatMembership") ? JonkCORE.getInstance().getStorage().getSortedChatRoomNames() : u.getSortedChatRoomNames();
+            return CompletionUtils.complete(names, args[0]);
         }
-        return names;
+        else return Collections.singletonList("message");
     }
 }
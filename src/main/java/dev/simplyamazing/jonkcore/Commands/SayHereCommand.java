@@ -1,6 +1,7 @@
 package dev.simplyamazing.jonkcore.Commands;
 
 import dev.simplyamazing.jonkcore.Objects.ChatRoom;
+import dev.simplyamazing.jonkcore.Objects.Command.ArgumentCursor;
 import dev.simplyamazing.jonkcore.Objects.Command.PluginCommand;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
 import dev.simplyamazing.jonkcore.Objects.User;
@@ -15,8 +16,13 @@ public class SayHereCommand extends PluginCommand {
 
     @Override
     public void execute(IUser sender, String[] args) {
+        execute(sender, new ArgumentCursor(args));
+    }
+
+    @Override
+    public void execute(IUser sender, ArgumentCursor args) {
         if(!(sender instanceof User u)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
-        if(args.length == 0) {
+        if(args.isEmpty()) {
             sender.sendMessage(getUsage());
             return;
         }
@@ -26,11 +32,7 @@ public class SayHereCommand extends PluginCommand {
             sender.sendMessage("&cYou are not currently focused on a chat room.");
             return;
         }
-        StringBuilder message = new StringBuilder();
-        for(String arg : args) {
-            message.append(arg).append(" ");
-        }
-        chatRoom.sendMessage(u, message.toString());
+        chatRoom.sendMessage(u, args.restString(0));
     }
 
     @Override
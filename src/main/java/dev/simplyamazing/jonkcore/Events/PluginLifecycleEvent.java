@@ -0,0 +1,67 @@
+package dev.simplyamazing.jonkcore.Events;
+
+import dev.simplyamazing.jonkcore.Objects.JonkPluginRegistry;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatPipeline;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+public class PluginLifecycleEvent implements Listener {
+    protected final JavaPlugin plugin;
+    protected final JonkPluginRegistry registry;
+    protected final ChatPipeline chatPipeline;
+
+    /**
+     * Constructor for PluginLifecycleEvent (Overridable Listener).
+     * @param plugin the JavaPlugin that is using this listener.
+     * @param registry the registry kept up to date with every enabled sub-plugin.
+     * @param chatPipeline the ChatPipeline whose handlers are unregistered when the plugin owning them is disabled.
+     */
+    public PluginLifecycleEvent(final JavaPlugin plugin, final JonkPluginRegistry registry, final ChatPipeline chatPipeline) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.chatPipeline = chatPipeline;
+    }
+
+    /**
+     * Register the listener, also adding every sub-plugin that is already enabled to the registry.
+     */
+    public void register() {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        registry.addAll(plugin.getServer().getPluginManager().getPlugins());
+    }
+
+    /**
+     * Unregister the listener.
+     */
+    public void unregister() {
+        PluginEnableEvent.getHandlerList().unregister(this);
+        PluginDisableEvent.getHandlerList().unregister(this);
+    }
+
+    /**
+     * Event that is called when any plugin is enabled.
+     * <br><br>
+     * Sub-plugins are added to the registry once they have finished enabling, so their storage is ready to be read.
+     * @param e the PluginEnableEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnabled(PluginEnableEvent e) {
+        registry.add(e.getPlugin());
+    }
+
+    /**
+     * Event that is called when any plugin is disabled.
+     * <br><br>
+     * Any chat handlers the plugin registered are also unregistered, so its classes are not called once it has been unloaded.
+     * @param e the PluginDisableEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisabled(PluginDisableEvent e) {
+        registry.remove(e.getPlugin());
+        chatPipeline.unregisterAll(e.getPlugin());
+    }
+}
@@ -1,11 +1,15 @@
 package dev.simplyamazing.jonkcore.Events;
 
 import dev.simplyamazing.jonkcore.Exceptions.ConversionException;
-import dev.simplyamazing.jonkcore.Exceptions.UserException;
 import dev.simplyamazing.jonkcore.JonkCORE;
-import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.JoinProcessor;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatContext;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatPipeline;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.CoreChatHandlers;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
@@ -40,23 +44,38 @@ public class UserChatEvent implements Listener {
 
     /**
      * Event that is called when a player chats.
+     * <br><br>
+     * The message is passed through the {@link ChatPipeline}, which chooses its ChatRoom from a trigger keyword or the player's focused ChatRoom.
+     * Messages from a player still waiting in the join queue are deferred until they are registered (see {@link JoinProcessor#whenRegistered(Player)}),
+     * rather than blocking the chat thread.
      * @param e : the AsyncPlayerChatEvent that is called.
      */
     @EventHandler
     public void onUserChat(AsyncPlayerChatEvent e) {
         e.setCancelled(true);
+        Player player = e.getPlayer();
+        String message = e.getMessage();
+        UserCreationEvent creation = JonkCORE.getInstance() == null ? null : JonkCORE.getInstance().getUserCreationEvent();
+        if(creation != null && !Bukkit.isPrimaryThread() && creation.getJoinProcessor().isPending(player)) {
+            // completed on the main thread once the player is registered, or has left
+            creation.getJoinProcessor().whenRegistered(player).thenRun(() -> {
+                if(Bukkit.isPrimaryThread()) process(player, message);
+                else Bukkit.getScheduler().runTask(plugin, () -> process(player, message));
+            });
+            return;
+        }
+        process(player, message);
+    }
+
+    private void process(Player player, String message) {
+        if(!player.isOnline()) return;
         try {
-            IUser u = jonkPlugin.getUserConverter().convert(e.getPlayer());
-            for(IChatRoom cr : jonkPlugin.getStorage().getChatRooms()) {
-                String triggerKeyword = cr.getTriggerKeyword();
-                if(triggerKeyword != null && e.getMessage().startsWith(triggerKeyword) && cr.isSubscribed(u)) {
-                    String message = e.getMessage().replaceFirst(triggerKeyword, "");
-                    u.sudoSendMessage(cr, message);
-                    return;
-                }
-            }
-            u.sudoSendMessage(e.getMessage());
-        } catch(ConversionException | UserException exc) {
+            IUser u = jonkPlugin.getUserConverter().convert(player);
+            ChatContext context = new ChatContext(jonkPlugin, u, null, message);
+            ChatPipeline pipeline = JonkCORE.getInstance() == null ? null : JonkCORE.getInstance().getChatPipeline();
+            if(pipeline != null) pipeline.process(context);
+            else CoreChatHandlers.process(context);
+        } catch(ConversionException exc) {
             exc.printStackTrace();
         }
     }
@@ -2,11 +2,14 @@ package dev.simplyamazing.jonkcore.Events;
 
 import dev.simplyamazing.jonkcore.JonkCORE;
 import dev.simplyamazing.jonkcore.Objects.ID;
+import dev.simplyamazing.jonkcore.Objects.JoinProcessor;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginEnableEvent;
@@ -15,6 +18,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 public class UserCreationEvent implements Listener {
     protected JavaPlugin plugin;
     protected IJonkPlugin jonkPlugin;
+    protected JoinProcessor joinProcessor;
 
     /**
      * Constructor for UserCreationEvent (Overridable Listener).
@@ -24,6 +28,7 @@ public class UserCreationEvent implements Listener {
     public UserCreationEvent(final IJonkPlugin jonkPlugin, final JavaPlugin plugin) {
         this.plugin = plugin;
         this.jonkPlugin = jonkPlugin;
+        this.joinProcessor = new JoinProcessor(jonkPlugin, plugin);
     }
 
     /**
@@ -31,14 +36,28 @@ public class UserCreationEvent implements Listener {
      */
     public void register() {
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        joinProcessor.start();
     }
 
     /**
      * Unregister the listener.
      */
     public void unregister() {
+        AsyncPlayerPreLoginEvent.getHandlerList().unregister(this);
         PlayerJoinEvent.getHandlerList().unregister(this);
         PlayerQuitEvent.getHandlerList().unregister(this);
+        joinProcessor.stop();
+    }
+
+    /**
+     * Get the JoinProcessor that registers joining users.
+     * <br><br>
+     * This is useful for checking the size and lag of the join queue.
+     *
+     * @return JoinProcessor object
+     */
+    public JoinProcessor getJoinProcessor() {
+        return joinProcessor;
     }
 
     /**
@@ -57,15 +76,35 @@ public class UserCreationEvent implements Listener {
         }
     }
 
+    /**
+     * Event that is called off the main thread when a player is attempting to join the server.
+     * <br><br>
+     * The user's data is prepared here, so only binding it to the Player is left to do on join.
+     * @param e the AsyncPlayerPreLoginEvent that is called.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onUserPreLogin(AsyncPlayerPreLoginEvent e) {
+        if(e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            jonkPlugin.getStorage().discardPreloadedUser(e.getUniqueId());
+            return;
+        }
+        jonkPlugin.getStorage().preloadUser(e.getUniqueId());
+    }
+
     /**
      * Event that is called when a player joins the server.
+     * <br><br>
+     * If the user was prepared during pre-login, it is bound to the Player here rather than created.
+     * <br><br>
+     * Registration is queued and completed within the following ticks (see {@link JoinProcessor}), so a large amount of players joining at once does not stall the server.
+     * The user is registered immediately if they chat or run a command before their turn.
      * @param e the PlayerJoinEvent that is called.
      */
     @EventHandler
     public void onUserJoin(PlayerJoinEvent e) {
-        // register the user
+        // queue the user for registration
         if(jonkPlugin.getStorage().getUser(new ID(e.getPlayer().getUniqueId())) != null) return; // return if user is already registered
-        jonkPlugin.getStorage().registerUser(e.getPlayer());
+        joinProcessor.enqueue(e.getPlayer());
     }
 
     /**
@@ -74,6 +113,10 @@ public class UserCreationEvent implements Listener {
      */
     @EventHandler
     public void onUserLeave(PlayerQuitEvent e) {
+        // release any cached conversions of the user
+        jonkPlugin.getUserConverter().invalidate(e.getPlayer());
+        jonkPlugin.getStorage().discardPreloadedUser(e.getPlayer().getUniqueId());
+        joinProcessor.cancel(e.getPlayer());
         // unregister the user
         if(jonkPlugin.getStorage().getUser(new ID(e.getPlayer().getUniqueId())) == null) return; // return if user is not registered
         jonkPlugin.getStorage().unregisterUser(new ID(e.getPlayer().getUniqueId()));
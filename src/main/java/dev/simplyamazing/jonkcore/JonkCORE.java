@@ -3,33 +3,97 @@ package dev.simplyamazing.jonkcore;
 import dev.simplyamazing.jonkcore.Commands.*;
 import dev.simplyamazing.jonkcore.Commands.ChatRoomGroup.*;
 import dev.simplyamazing.jonkcore.Commands.JonkcoreGroup.JonkcoreGroup;
+import dev.simplyamazing.jonkcore.Events.PluginLifecycleEvent;
 import dev.simplyamazing.jonkcore.Events.UserChatEvent;
 import dev.simplyamazing.jonkcore.Events.UserCreationEvent;
+import dev.simplyamazing.jonkcore.Objects.ChatLog.ChatLog;
 import dev.simplyamazing.jonkcore.Objects.ChatRoom;
+import dev.simplyamazing.jonkcore.Objects.ChatRoomDirectory;
+import dev.simplyamazing.jonkcore.Objects.Command.CommandScheduler;
+import dev.simplyamazing.jonkcore.Objects.ConverterRegistry;
+import dev.simplyamazing.jonkcore.Objects.DuplicateDetector;
+import dev.simplyamazing.jonkcore.Objects.Filter.ChatFilter;
 import dev.simplyamazing.jonkcore.Objects.GenericUserConverter;
 import dev.simplyamazing.jonkcore.Objects.ID;
 import dev.simplyamazing.jonkcore.Objects.Index;
+import dev.simplyamazing.jonkcore.Objects.JonkPluginRegistry;
+import dev.simplyamazing.jonkcore.Objects.MessageHistory;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import dev.simplyamazing.jonkcore.Objects.Metrics.MetricsRegistry;
+import dev.simplyamazing.jonkcore.Objects.Metrics.PrometheusExporter;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatPipeline;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatStage;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.CoreChatHandlers;
+import dev.simplyamazing.jonkcore.Objects.RateLimiter;
+import dev.simplyamazing.jonkcore.Objects.Relay.ChatRelay;
+import dev.simplyamazing.jonkcore.Objects.Relay.RelayBroker;
+import dev.simplyamazing.jonkcore.Objects.Relay.RelayMessage;
+import dev.simplyamazing.jonkcore.Objects.Relay.TcpTransport;
+import dev.simplyamazing.jonkcore.Objects.UpdateCoordinator;
+import dev.simplyamazing.jonkcore.Objects.User;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUserConverter;
+import dev.simplyamazing.jonkcore.Utilities.CompletionUtils;
+import dev.simplyamazing.jonkcore.Utilities.UpdateChecker;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public final class JonkCORE extends JavaPlugin implements IJonkPlugin {
     // instance variables
     private static JonkCORE instance;
     private Index index;
     private GenericUserConverter userConverter;
+    private ConverterRegistry converterRegistry;
+    private CommandScheduler commandScheduler;
+    private UpdateCoordinator updateCoordinator;
+    private JonkPluginRegistry jonkPluginRegistry;
+    private RelayBroker relayBroker;
+    private ChatRelay chatRelay;
+    private ChatLog chatLog;
+    private RateLimiter rateLimiter;
+    private DuplicateDetector duplicateDetector;
+    private ChatFilter chatFilter;
+    private ChatPipeline chatPipeline;
+    private PrometheusExporter prometheusExporter;
     // event variables
+    private PluginLifecycleEvent pluginLifecycleEvent;
     private UserCreationEvent userCreationEvent;
     private UserChatEvent userChatEvent;
 
+    /**
+     * Constructor for JonkCORE, used by the server when loading the plugin.
+     */
+    public JonkCORE() {
+        super();
+    }
+
+    /**
+     * Constructor for JonkCORE outside of a server, such as by MockBukkit or the load harness in <code>jonkcore-benchmarks</code>.
+     * <br><br>
+     * Bukkit refuses this constructor if the plugin was loaded by a server, so it is only reachable through reflection by a test environment.
+     *
+     * @param loader the loader providing the fake Server
+     * @param description the description read from the plugin.yml
+     * @param dataFolder the folder the config and chat log are stored in
+     * @param file the file the plugin was loaded from
+     */
+    protected JonkCORE(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
     /**
      * Enable the plugin.
      * <br><br>
@@ -39,12 +103,36 @@ public final class JonkCORE extends JavaPlugin implements IJonkPlugin {
     public void onEnable() {
         instance = this;
         try {
+            saveDefaultConfig();
+            Metrics.setEnabled(getConfig().getBoolean("metrics.enabled", true));
             // set instance variables
             this.index = new Index();
-            this.userConverter = new GenericUserConverter();
+            this.jonkPluginRegistry = new JonkPluginRegistry(new ChatRoomDirectory());
+            this.converterRegistry = new ConverterRegistry();
+            this.userConverter = new GenericUserConverter(converterRegistry);
+            converterRegistry.registerUserConverter(this, User.class, userConverter);
+            this.updateCoordinator = new UpdateCoordinator(getConfig().getInt("updates.max-requests-per-host", 4));
+            this.chatPipeline = new ChatPipeline();
+            CoreChatHandlers.register(chatPipeline, this);
+            this.commandScheduler = new CommandScheduler(this, getConfig().getInt("commands.async-threads", 2), getConfig().getInt("commands.async-queue", 32), getConfig().getBoolean("commands.virtual-threads", true));
             // load events
+            this.pluginLifecycleEvent = new PluginLifecycleEvent(this, jonkPluginRegistry, chatPipeline);
+            pluginLifecycleEvent.register();
             this.userCreationEvent = new UserCreationEvent(this, this);
+            userCreationEvent.getJoinProcessor().setTickBudget(getConfig().getLong("join-queue.tick-budget-ms", 5));
+            CompletionUtils.setMaxResults(getConfig().getInt("tab-complete.max-results", 100));
+            MessageHistory.setDefaults(getConfig().getInt("history.size", 100), getConfig().getInt("history.slot-bytes", 512));
+            MessageHistory.setReplayCount(getConfig().getInt("history.replay-on-focus", 10));
+            if(getConfig().getBoolean("rate-limit.enabled", true)) this.rateLimiter = RateLimiter.fromConfig(getConfig().getConfigurationSection("rate-limit"));
+            if(getConfig().getBoolean("duplicates.enabled", true)) this.duplicateDetector = DuplicateDetector.fromConfig(getConfig().getConfigurationSection("duplicates"));
+            ConfigurationSection filterSection = getConfig().getConfigurationSection("filter");
+            if(filterSection != null && filterSection.getBoolean("enabled", true)) {
+                this.chatFilter = new ChatFilter();
+                chatFilter.load(filterSection, getDataFolder());
+            }
             userCreationEvent.register();
+            // discard Users prepared during pre-login for Players that never joined
+            Bukkit.getScheduler().runTaskTimer(this, index::expirePreloadedUsers, 1200, 1200);
             this.userChatEvent = new UserChatEvent(this, this);
             userChatEvent.register();
             // register commands
@@ -56,6 +144,26 @@ public final class JonkCORE extends JavaPlugin implements IJonkPlugin {
             // fill index with default chat rooms
             index.registerChatRoom(new ChatRoom(new ID("global"), null));
             index.getChatRoom("global").enableParentLock(); // set as persistent room
+            // log chat to disk for searching
+            if(getConfig().getBoolean("chatlog.enabled", false)) {
+                this.chatLog = new ChatLog(new File(getDataFolder(), "chatlog"), getConfig().getInt("chatlog.segment-size-mb", 16) * 1024 * 1024,
+                        getConfig().getInt("chatlog.compress-after-days", 2), getConfig().getInt("chatlog.retention-days", 30), getLogger());
+                chatLog.open();
+            }
+            // relay chat to the other servers in the network
+            if(getConfig().getBoolean("relay.enabled", false)) enableRelay();
+            // expose metrics to a local node exporter
+            registerMetrics();
+            if(Metrics.isEnabled() && getConfig().getBoolean("metrics.prometheus.enabled", false)) {
+                File file = new File(getConfig().getString("metrics.prometheus.file", "metrics/jonkcore.prom"));
+                if(!file.isAbsolute()) file = new File(getDataFolder(), file.getPath());
+                this.prometheusExporter = new PrometheusExporter(Metrics.getRegistry(), file, getConfig().getLong("metrics.prometheus.interval-seconds", 15), getLogger());
+                prometheusExporter.start();
+            }
+            // check every sub-plugin for updates once the server has finished starting
+            if(getConfig().getBoolean("updates.check-on-startup", true)) {
+                Bukkit.getScheduler().runTask(this, () -> checkAllUpdates().thenAccept(report -> report.log(getLogger())));
+            }
         } catch(Exception e) {
             // log the exception and disable the plugin
             getLogger().severe("Plugin has failed to load. See stacktrace below.");
@@ -72,6 +180,24 @@ public final class JonkCORE extends JavaPlugin implements IJonkPlugin {
      */
     @Override
     public void onDisable() {
+        // write the final metrics
+        if(prometheusExporter != null) prometheusExporter.close();
+        // stop relaying chat
+        if(chatRelay != null) chatRelay.close();
+        if(relayBroker != null) relayBroker.close();
+        // write the remaining chat log
+        if(chatLog != null) chatLog.close();
+        // stop tracking sub-plugins
+        if(pluginLifecycleEvent != null) pluginLifecycleEvent.unregister();
+        if(jonkPluginRegistry != null) jonkPluginRegistry.clear();
+        // finish running async commands
+        if(commandScheduler != null) commandScheduler.shutdown();
+        // stop processing queued joins
+        if(userCreationEvent != null) userCreationEvent.getJoinProcessor().stop();
+        // release cached user conversions
+        if(userConverter != null) userConverter.invalidateAll();
+        if(converterRegistry != null) converterRegistry.clear();
+        if(index != null) index.getSenderUsers().clear();
         // disable other plugins that require this plugin
         for(Plugin p : Bukkit.getPluginManager().getPlugins()) {
             if(p.getDescription().getDepend().contains(getName())) {
@@ -81,6 +207,59 @@ public final class JonkCORE extends JavaPlugin implements IJonkPlugin {
         }
     }
 
+    /**
+     * Register the metrics kept by other objects, such as the counts of rejected messages, with the registry in {@link Metrics}.
+     */
+    private void registerMetrics() {
+        MetricsRegistry registry = Metrics.getRegistry();
+        registry.gauge("jonkcore_users", "Users registered in the Index.", () -> index.getUsers().size());
+        registry.gauge("jonkcore_chat_rooms", "ChatRooms registered in the Index.", () -> index.getChatRooms().size());
+        for(ChatStage stage : ChatStage.values()) {
+            registry.registerHistogram("jonkcore_chat_stage_duration_seconds", "Time taken by every handler of a chat pipeline stage combined.", Metrics.NANOSECONDS, Metrics.DURATION_BOUNDS,
+                    chatPipeline.getStageTimings(stage), "stage", stage.name().toLowerCase());
+        }
+        RateLimiter limiter = rateLimiter;
+        if(limiter != null) {
+            registry.counter("jonkcore_chat_rate_limited_total", "Messages rejected for being sent too quickly.", limiter::getUserRejections, "limit", "user");
+            registry.counter("jonkcore_chat_rate_limited_total", "Messages rejected for being sent too quickly.", limiter::getRoomRejections, "limit", "room");
+        }
+        DuplicateDetector detector = duplicateDetector;
+        if(detector != null) {
+            registry.counter("jonkcore_chat_duplicates_total", "Messages repeating a recent message.", detector::getDroppedCount, "action", "dropped");
+            registry.counter("jonkcore_chat_duplicates_total", "Messages repeating a recent message.", detector::getFlaggedCount, "action", "flagged");
+        }
+        ChatFilter filter = chatFilter;
+        if(filter != null) {
+            registry.counter("jonkcore_chat_filtered_total", "Messages matching a filtered word.", filter::getCensoredCount, "action", "censored");
+            registry.counter("jonkcore_chat_filtered_total", "Messages matching a filtered word.", filter::getBlockedCount, "action", "blocked");
+        }
+        ChatLog log = chatLog;
+        if(log != null) registry.counter("jonkcore_chatlog_dropped_total", "Messages dropped because the chat log could not keep up.", log::getDroppedCount);
+    }
+
+    /**
+     * Start the chat relay from the <code>relay</code> section of the config, also hosting the broker if this server is configured to.
+     *
+     * @throws IOException if the broker could not be started
+     */
+    private void enableRelay() throws IOException {
+        String host = getConfig().getString("relay.broker-host", "127.0.0.1");
+        int port = getConfig().getInt("relay.broker-port", 25580);
+        if(getConfig().getBoolean("relay.host-broker", false)) {
+            this.relayBroker = new RelayBroker(host, port, getLogger());
+            relayBroker.start();
+        }
+        this.chatRelay = new ChatRelay(getConfig().getString("relay.server-id", "server"), getConfig().getStringList("relay.rooms"),
+                getConfig().getLong("relay.flush-interval-ms", 50), getConfig().getInt("relay.compression-threshold", 512),
+                messages -> Bukkit.getScheduler().runTask(this, () -> {
+                    for(RelayMessage message : messages) {
+                        ChatRoom room = index.getChatRoom(message.getRoom());
+                        if(room != null) room.receiveRelayed(message);
+                    }
+                }), getLogger());
+        chatRelay.addLink(new TcpTransport("broker", host, port, getLogger()));
+    }
+
     /**
      * Get the instance of the plugin.
      * <br><br>
@@ -123,17 +302,32 @@ public final class JonkCORE extends JavaPlugin implements IJonkPlugin {
      * It is possible to register and unregister the sub-plugins from other classes, though not recommended as it will break core features of the plugin
      * <br><br>
      * The returned list is a list of Plugin objects, which can be cast to {@link IJonkPlugin} and {@link JavaPlugin} respectively.
+     * It is maintained as sub-plugins are enabled and disabled (see {@link JonkPluginRegistry}), and cannot be modified.
      *
      * @return list of sub-plugins
      */
     public List<Plugin> getJonkPlugins() {
-        List<Plugin> jonkPlugins = new ArrayList<>();
-        for(Plugin plugin : Bukkit.getPluginManager().getPlugins()) {
-            if(plugin instanceof IJonkPlugin) {
-                jonkPlugins.add(plugin);
-            }
-        }
-        return jonkPlugins;
+        return jonkPluginRegistry.getPlugins();
+    }
+
+    /**
+     * Retrieve the registry of every enabled sub-plugin.
+     *
+     * @return JonkPluginRegistry object
+     */
+    public JonkPluginRegistry getJonkPluginRegistry() {
+        return jonkPluginRegistry;
+    }
+
+    /**
+     * Retrieve the directory of every chat room across every sub-plugin's storage.
+     * <br><br>
+     * The directory is updated as chat rooms are registered and unregistered, so it is cheap to use repeatedly.
+     *
+     * @return ChatRoomDirectory object
+     */
+    public ChatRoomDirectory getChatRoomDirectory() {
+        return jonkPluginRegistry.getChatRoomDirectory();
     }
 
     /**
@@ -150,6 +344,136 @@ public final class JonkCORE extends JavaPlugin implements IJonkPlugin {
         return userConverter;
     }
 
+    /**
+     * Retrieve the central ConverterRegistry.
+     * <br><br>
+     * Every sub-plugin should register its converters here when it is enabled (see {@link ConverterRegistry#registerUserConverter}), and remove them
+     * when it is disabled. Any registered conversion can then be performed from any other sub-plugin without knowing which plugin provides it.
+     *
+     * @return ConverterRegistry object
+     */
+    public ConverterRegistry getConverterRegistry() {
+        return converterRegistry;
+    }
+
+    /**
+     * Retrieve the CommandScheduler, which runs async commands and records the latency of every command.
+     * <br><br>
+     * Async commands should use {@link CommandScheduler#callSync} for any Bukkit API calls that must be made on the main thread.
+     *
+     * @return CommandScheduler object
+     */
+    public CommandScheduler getCommandScheduler() {
+        return commandScheduler;
+    }
+
+    /**
+     * Retrieve the ChatPipeline, which every message sent by a User passes through.
+     * <br><br>
+     * Sub-plugins register handlers into its stages to filter, route or decorate messages, instead of listening for chat events themselves.
+     *
+     * @return ChatPipeline object
+     */
+    public ChatPipeline getChatPipeline() {
+        return chatPipeline;
+    }
+
+    /**
+     * Retrieve the ChatRelay, which sends ChatRoom messages to the other servers in the network.
+     *
+     * @return ChatRelay object, or null if relaying is disabled
+     */
+    public ChatRelay getChatRelay() {
+        return chatRelay;
+    }
+
+    /**
+     * Retrieve the RateLimiter, which rejects messages sent too quickly in a ChatRoom.
+     *
+     * @return RateLimiter object, or null if rate limiting is disabled
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Retrieve the DuplicateDetector, which drops or flags messages repeating a recent message.
+     *
+     * @return DuplicateDetector object, or null if duplicate detection is disabled
+     */
+    public DuplicateDetector getDuplicateDetector() {
+        return duplicateDetector;
+    }
+
+    /**
+     * Retrieve the ChatFilter, which censors or blocks filtered words in ChatRooms.
+     *
+     * @return ChatFilter object, or null if filtering is disabled
+     */
+    public ChatFilter getChatFilter() {
+        return chatFilter;
+    }
+
+    /**
+     * Reload the config, and recompile the ChatFilter from its <code>filter</code> section in the background.
+     * <br><br>
+     * Messages continue to be filtered with the previous filter sets until the new ones have been compiled. This must be called on the main thread.
+     *
+     * @return future completed once the new filter sets are in use, or completed exceptionally if they could not be loaded
+     */
+    public CompletableFuture<Void> reloadChatFilter() {
+        reloadConfig();
+        ConfigurationSection filterSection = getConfig().getConfigurationSection("filter");
+        ChatFilter filter = chatFilter;
+        if(filter == null) return CompletableFuture.failedFuture(new IllegalStateException("Chat filtering is disabled."));
+        if(filterSection == null) return CompletableFuture.failedFuture(new IllegalStateException("The config has no filter section."));
+        return CompletableFuture.runAsync(() -> {
+            try {
+                filter.load(filterSection, getDataFolder());
+            } catch(IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Retrieve the ChatLog, which records every ChatRoom message to disk so it can be searched.
+     *
+     * @return ChatLog object, or null if the chat log is disabled
+     */
+    public ChatLog getChatLog() {
+        return chatLog;
+    }
+
+    /**
+     * Retrieve the UpdateChecker for this plugin.
+     * <br><br>
+     * The UpdateChecker caches its result, so it should be re-used rather than creating a new one for each check.
+     *
+     * @return UpdateChecker object
+     */
+    public UpdateChecker getUpdateChecker() {
+        return updateCoordinator.getChecker(this);
+    }
+
+    /**
+     * Retrieve the UpdateCoordinator, which checks every sub-plugin for updates in parallel.
+     *
+     * @return UpdateCoordinator object
+     */
+    public UpdateCoordinator getUpdateCoordinator() {
+        return updateCoordinator;
+    }
+
+    /**
+     * Check every sub-plugin, including this plugin, for updates in parallel.
+     *
+     * @return future completed with the aggregated report
+     */
+    public CompletableFuture<UpdateCoordinator.Report> checkAllUpdates() {
+        return updateCoordinator.checkAll(jonkPluginRegistry.getJonkPlugins());
+    }
+
     /**
      * Retrieve the Storage object of the sub-plugin.
      * <br><br>
@@ -0,0 +1,333 @@
+package dev.simplyamazing.jonkcore.Objects.ChatLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ChatLog {
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int MAX_PENDING = 10000;
+    private static final int CACHED_INDEXES = 16;
+
+    private final File directory;
+    private final int segmentBytes;
+    private final int compressAfterDays;
+    private final int retentionDays;
+    private final Logger logger;
+    private final ScheduledExecutorService writer;
+    private final Queue<ChatLogEntry> queue;
+    private final AtomicInteger pending;
+    private final LongAdder dropped;
+    // sealed segments, oldest first
+    private final List<LogSegment> sealed;
+    private final Map<LogSegment, SegmentIndex> sealedIndexes;
+    private volatile LogSegment active;
+    private volatile SegmentIndex activeIndex;
+    private LocalDate activeDay;
+
+    /**
+     * Constructor for the ChatLog object.
+     * <br><br>
+     * Messages are appended by a background thread to memory-mapped segment files of <code>segmentBytes</code> bytes, starting a new segment
+     * each day or once the current one is full. Each segment has an inverted index of the terms in its messages, along with indexes of their senders
+     * and ChatRooms, which is kept in memory while the segment is written and saved next to it once it is sealed.
+     * <br><br>
+     * Sealed segments are compressed after <code>compressAfterDays</code> days, and deleted after <code>retentionDays</code> days.
+     *
+     * @param directory the directory to store segments in
+     * @param segmentBytes the size of each segment in bytes
+     * @param compressAfterDays days after which sealed segments are compressed, or 0 to never compress
+     * @param retentionDays days after which segments are deleted, or 0 to keep them forever
+     * @param logger logger to report failures to
+     */
+    public ChatLog(File directory, int segmentBytes, int compressAfterDays, int retentionDays, Logger logger) {
+        this.directory = directory;
+        this.segmentBytes = Math.max(64 * 1024, segmentBytes);
+        this.compressAfterDays = Math.max(0, compressAfterDays);
+        this.retentionDays = Math.max(0, retentionDays);
+        this.logger = logger;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.pending = new AtomicInteger();
+        this.dropped = new LongAdder();
+        this.sealed = new CopyOnWriteArrayList<>();
+        this.sealedIndexes = Collections.synchronizedMap(new LinkedHashMap<>(CACHED_INDEXES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LogSegment, SegmentIndex> eldest) {
+                return size() > CACHED_INDEXES;
+            }
+        });
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JonkCORE-ChatLog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open the log, recovering any segment left unsealed by a crash, and schedule compaction every 6 hours.
+     * @throws IOException if the directory could not be created
+     */
+    public void open() throws IOException {
+        if(!directory.isDirectory() && !directory.mkdirs()) throw new IOException("Failed to create the chat log directory " + directory.getPath());
+        File[] files = directory.listFiles();
+        SortedMap<String, Boolean> segments = new TreeMap<>();
+        if(files != null) {
+            for(File file : files) {
+                String fileName = file.getName();
+                if(fileName.endsWith(LogSegment.COMPRESSED)) segments.put(fileName.substring(0, fileName.length() - LogSegment.COMPRESSED.length()), true);
+                else if(fileName.endsWith(LogSegment.LOG)) segments.putIfAbsent(fileName.substring(0, fileName.length() - LogSegment.LOG.length()), false);
+            }
+        }
+        for(Map.Entry<String, Boolean> entry : segments.entrySet()) {
+            LogSegment segment = LogSegment.open(directory, entry.getKey(), entry.getValue());
+            if(!segment.getIndexFile().isFile()) {
+                try {
+                    recover(segment);
+                } catch(IOException e) {
+                    logger.log(Level.WARNING, "Failed to recover the chat log segment " + segment.getName() + ", it will not be searchable", e);
+                    continue;
+                }
+            }
+            sealed.add(segment);
+        }
+        writer.scheduleWithFixedDelay(this::drain, 20, 20, TimeUnit.MILLISECONDS);
+        writer.scheduleWithFixedDelay(this::compactNow, 1, 360, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Queue a message to be appended to the log.
+     * <br><br>
+     * This may be called from any thread, and returns immediately. Queued messages are written in batches every 20 milliseconds.
+     * If the writer has fallen too far behind, the message is dropped.
+     *
+     * @param room the name of the ChatRoom the message was sent in
+     * @param senderId the ID of the sender, or null if unknown
+     * @param senderName the formatted name of the sender
+     * @param timestamp the time the message was sent, in milliseconds since the epoch
+     * @param body the unformatted message
+     */
+    public void append(String room, String senderId, String senderName, long timestamp, String body) {
+        if(pending.incrementAndGet() > MAX_PENDING) {
+            pending.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        queue.add(new ChatLogEntry(timestamp, room, senderId == null ? "" : senderId, senderName, body));
+    }
+
+    /**
+     * Search the log for messages containing every term of a query, newest first.
+     * <br><br>
+     * Terms are matched as whole words, ignoring case and colour codes. Only the index of each segment is consulted, so only matching
+     * messages are read from disk.
+     *
+     * @param query the words to search for
+     * @param room the name of the ChatRoom to search, or null for every ChatRoom
+     * @param sender the name or ID of the sender to search for, or null for every sender
+     * @param limit the maximum amount of results
+     * @return matching messages, newest first
+     */
+    public List<ChatLogEntry> search(String query, String room, String sender, int limit) {
+        List<String> terms = SegmentIndex.tokenize(query);
+        if(terms.isEmpty() && room == null && sender == null) return Collections.emptyList();
+        String roomKey = room == null ? null : SegmentIndex.normalise(room);
+        String senderKey = sender == null ? null : SegmentIndex.normalise(sender);
+        List<ChatLogEntry> results = new ArrayList<>(Math.min(limit, 64));
+
+        LogSegment current = active;
+        SegmentIndex currentIndex = activeIndex;
+        boolean searchedCurrent = current != null && currentIndex != null;
+        if(searchedCurrent) collect(current, currentIndex, terms, roomKey, senderKey, limit, results);
+        List<LogSegment> segments = new ArrayList<>(sealed);
+        for(int i = segments.size() - 1; i >= 0 && results.size() < limit; i--) {
+            LogSegment segment = segments.get(i);
+            // the active segment may have been sealed since it was searched
+            if(searchedCurrent && segment == current) continue;
+            SegmentIndex index = getIndex(segment);
+            if(index != null) collect(segment, index, terms, roomKey, senderKey, limit, results);
+        }
+        return results;
+    }
+
+    /**
+     * Find the words of a query that are not searched for, as they are shorter or longer than any indexed word.
+     * <br><br>
+     * Words shorter than {@link #getMinTermLength()} characters, or longer than {@link #getMaxTermLength()} characters, are not indexed.
+     *
+     * @param query the words to search for
+     * @return distinct ignored words, lowercased and without colour codes
+     */
+    public static List<String> getIgnoredTerms(String query) {
+        return SegmentIndex.ignoredTerms(query);
+    }
+
+    /**
+     * Get the length of the shortest word that is indexed.
+     * @return minimum length, in characters
+     */
+    public static int getMinTermLength() {
+        return SegmentIndex.getMinTermLength();
+    }
+
+    /**
+     * Get the length of the longest word that is indexed.
+     * @return maximum length, in characters
+     */
+    public static int getMaxTermLength() {
+        return SegmentIndex.getMaxTermLength();
+    }
+
+    /**
+     * Compress and delete old segments in the background, as configured.
+     */
+    public void compact() {
+        writer.execute(this::compactNow);
+    }
+
+    /**
+     * Write every queued message, seal the active segment and stop the writer.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if(!writer.awaitTermination(10, TimeUnit.SECONDS)) writer.shutdownNow();
+        } catch(InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        sealActive();
+    }
+
+    /**
+     * Get the amount of segments, including the active segment.
+     * @return amount of segments
+     */
+    public int getSegmentCount() {
+        return sealed.size() + (active == null ? 0 : 1);
+    }
+
+    /**
+     * Get the amount of messages waiting to be written.
+     * @return amount of queued messages
+     */
+    public int getQueuedCount() {
+        return pending.get();
+    }
+
+    /**
+     * Get the amount of messages dropped because the writer had fallen behind.
+     * @return amount of dropped messages
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        ChatLogEntry entry;
+        while((entry = queue.poll()) != null) {
+            pending.decrementAndGet();
+            write(entry);
+        }
+    }
+
+    private void write(ChatLogEntry entry) {
+        try {
+            LocalDate today = LocalDate.now();
+            if(active != null && !today.equals(activeDay)) sealActive();
+            if(active == null) startSegment(today);
+            int offset = active.write(entry);
+            if(offset < 0) {
+                sealActive();
+                startSegment(today);
+                offset = active.write(entry);
+                if(offset < 0) return; // larger than an entire segment
+            }
+            activeIndex.add(offset, entry);
+        } catch(IOException e) {
+            logger.log(Level.WARNING, "Failed to write to the chat log", e);
+        }
+    }
+
+    private void startSegment(LocalDate day) throws IOException {
+        String prefix = "chat-" + DAY.format(day) + "-";
+        int sequence = 0;
+        for(LogSegment segment : sealed) {
+            if(segment.getName().startsWith(prefix)) sequence = Math.max(sequence, Integer.parseInt(segment.getName().substring(prefix.length())) + 1);
+        }
+        this.activeIndex = new SegmentIndex();
+        this.active = LogSegment.create(directory, prefix + String.format("%04d", sequence), segmentBytes);
+        this.activeDay = day;
+    }
+
+    private void sealActive() {
+        LogSegment segment = active;
+        SegmentIndex index = activeIndex;
+        if(segment == null) return;
+        try {
+            segment.seal();
+            index.write(segment.getIndexFile());
+            sealed.add(segment);
+            sealedIndexes.put(segment, index);
+        } catch(IOException e) {
+            logger.log(Level.WARNING, "Failed to seal the chat log segment " + segment.getName(), e);
+        }
+        this.active = null;
+        this.activeIndex = null;
+    }
+
+    // rebuilds the index of a segment left unsealed by a crash, whose unwritten end is zeroed as in a sealed segment
+    private void recover(LogSegment segment) throws IOException {
+        SegmentIndex index = new SegmentIndex();
+        segment.scan((entry, offset) -> index.add(offset, entry));
+        index.write(segment.getIndexFile());
+        logger.info("Recovered " + index.getRecordCount() + " messages in the chat log segment " + segment.getName() + ".");
+    }
+
+    private SegmentIndex getIndex(LogSegment segment) {
+        SegmentIndex index = sealedIndexes.get(segment);
+        if(index == null) {
+            try {
+                index = SegmentIndex.read(segment.getIndexFile());
+                sealedIndexes.put(segment, index);
+            } catch(IOException e) {
+                logger.log(Level.WARNING, "Failed to read the chat log index of " + segment.getName(), e);
+            }
+        }
+        return index;
+    }
+
+    private void collect(LogSegment segment, SegmentIndex index, List<String> terms, String room, String sender, int limit, List<ChatLogEntry> results) {
+        int[] offsets = index.find(terms, room, sender);
+        try {
+            for(int i = offsets.length - 1; i >= 0 && results.size() < limit; i--) results.add(segment.read(offsets[i]));
+        } catch(IOException e) {
+            logger.log(Level.WARNING, "Failed to read the chat log segment " + segment.getName(), e);
+        }
+    }
+
+    private void compactNow() {
+        long now = System.currentTimeMillis();
+        for(LogSegment segment : sealed) {
+            long age = TimeUnit.MILLISECONDS.toDays(now - segment.getIndexFile().lastModified());
+            try {
+                if(retentionDays > 0 && age >= retentionDays) {
+                    sealed.remove(segment);
+                    sealedIndexes.remove(segment);
+                    segment.delete();
+                } else if(compressAfterDays > 0 && age >= compressAfterDays && !segment.isCompressed()) {
+                    segment.compress();
+                }
+            } catch(IOException e) {
+                logger.log(Level.WARNING, "Failed to compact the chat log segment " + segment.getName(), e);
+            }
+        }
+    }
+}
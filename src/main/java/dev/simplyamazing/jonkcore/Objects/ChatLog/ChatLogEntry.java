@@ -0,0 +1,65 @@
+package dev.simplyamazing.jonkcore.Objects.ChatLog;
+
+public final class ChatLogEntry {
+    private final long timestamp;
+    private final String room;
+    private final String senderId;
+    private final String senderName;
+    private final String body;
+
+    /**
+     * Constructor for the ChatLogEntry object.
+     * @param timestamp the time the message was sent, in milliseconds since the epoch
+     * @param room the name of the ChatRoom the message was sent in
+     * @param senderId the ID of the sender, or an empty string if unknown
+     * @param senderName the formatted name of the sender
+     * @param body the unformatted message
+     */
+    public ChatLogEntry(long timestamp, String room, String senderId, String senderName, String body) {
+        this.timestamp = timestamp;
+        this.room = room;
+        this.senderId = senderId;
+        this.senderName = senderName;
+        this.body = body;
+    }
+
+    /**
+     * Get the time the message was sent.
+     * @return time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Get the name of the ChatRoom the message was sent in.
+     * @return ChatRoom name
+     */
+    public String getRoom() {
+        return room;
+    }
+
+    /**
+     * Get the ID of the sender.
+     * @return sender ID, or an empty string if unknown
+     */
+    public String getSenderId() {
+        return senderId;
+    }
+
+    /**
+     * Get the formatted name of the sender, as it was when the message was sent.
+     * @return sender name
+     */
+    public String getSenderName() {
+        return senderName;
+    }
+
+    /**
+     * Get the unformatted message.
+     * @return message body
+     */
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,227 @@
+package dev.simplyamazing.jonkcore.Objects.ChatLog;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+final class LogSegment {
+    static final String LOG = ".log", COMPRESSED = ".log.gz", INDEX = ".idx";
+    private static final int MAX_STRING = Short.MAX_VALUE;
+
+    private final File directory;
+    private final String name;
+    private FileChannel channel;
+    private volatile MappedByteBuffer map;
+    private int position;
+    private volatile boolean compressed;
+    private volatile ByteBuffer readMap;
+    private volatile SoftReference<ByteBuffer> inflated;
+
+    private LogSegment(File directory, String name, boolean compressed) {
+        this.directory = directory;
+        this.name = name;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Create a new, empty segment, mapping <code>capacity</code> bytes of it into memory for writing.
+     */
+    static LogSegment create(File directory, String name, int capacity) throws IOException {
+        LogSegment segment = new LogSegment(directory, name, false);
+        segment.channel = FileChannel.open(segment.getLogFile().toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment.map = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        return segment;
+    }
+
+    /**
+     * Open an existing segment for reading.
+     */
+    static LogSegment open(File directory, String name, boolean compressed) {
+        return new LogSegment(directory, name, compressed);
+    }
+
+    /**
+     * Append a record.
+     * @return the offset of the record, or -1 if the segment is full
+     */
+    int write(ChatLogEntry entry) {
+        byte[] room = bytes(entry.getRoom()), id = bytes(entry.getSenderId()), sender = bytes(entry.getSenderName()), body = bytes(entry.getBody());
+        int length = 4 + 8 + 2 + room.length + 2 + id.length + 2 + sender.length + 2 + body.length;
+        // leave room for the zero length marking the end of the segment
+        if(position + length + 4 > map.capacity()) return -1;
+        int offset = position;
+        map.position(offset);
+        map.putInt(length);
+        map.putLong(entry.getTimestamp());
+        putString(map, room);
+        putString(map, id);
+        putString(map, sender);
+        putString(map, body);
+        position += length;
+        return offset;
+    }
+
+    /**
+     * Read the record at an offset.
+     */
+    ChatLogEntry read(int offset) throws IOException {
+        // the active segment is read through its writable mapping
+        MappedByteBuffer writable = map;
+        return read(writable != null ? writable.duplicate() : readBuffer(), offset);
+    }
+
+    /**
+     * Read every record in order, such as to rebuild a lost index.
+     * @return the offset after the last record
+     */
+    int scan(ObjIntConsumer<ChatLogEntry> consumer) throws IOException {
+        ByteBuffer buffer = readBuffer();
+        int offset = 0;
+        while(offset + 4 <= buffer.limit()) {
+            int length = buffer.getInt(offset);
+            if(length <= 0 || offset + length > buffer.limit()) break;
+            consumer.accept(read(buffer, offset), offset);
+            offset += length;
+        }
+        return offset;
+    }
+
+    /**
+     * Stop writing to the segment.
+     * <br><br>
+     * The file is left at its full size, as a file cannot be truncated while it is still mapped on some platforms, such as Windows. The unused end of
+     * the file is zeroed, so the zero length after the last record marks the end of the segment (see {@link #getLength()}).
+     */
+    void seal() throws IOException {
+        if(channel == null) return;
+        map.force();
+        this.map = null;
+        channel.close();
+        this.channel = null;
+    }
+
+    /**
+     * Find the length of the records in the segment, up to the zero length marking its end.
+     * @return the offset after the last record
+     */
+    int getLength() throws IOException {
+        if(map != null) return position;
+        ByteBuffer buffer = readBuffer();
+        int offset = 0;
+        while(offset + 4 <= buffer.limit()) {
+            int length = buffer.getInt(offset);
+            if(length <= 0 || offset + length > buffer.limit()) break;
+            offset += length;
+        }
+        return offset;
+    }
+
+    /**
+     * Compress a sealed segment, replacing its log file.
+     */
+    void compress() throws IOException {
+        if(compressed || channel != null) return;
+        File source = getLogFile(), target = new File(directory, name + COMPRESSED);
+        // only the records are kept, not the unused end of the file
+        int length = getLength();
+        ByteBuffer buffer = readBuffer();
+        try(OutputStream out = new GZIPOutputStream(new FileOutputStream(target), 65536)) {
+            byte[] chunk = new byte[65536];
+            for(int offset = 0; offset < length; offset += chunk.length) {
+                int size = Math.min(chunk.length, length - offset);
+                buffer.get(offset, chunk, 0, size);
+                out.write(chunk, 0, size);
+            }
+        }
+        this.compressed = true;
+        this.readMap = null;
+        if(!source.delete()) source.deleteOnExit();
+    }
+
+    /**
+     * Delete every file of a sealed segment.
+     */
+    void delete() {
+        this.readMap = null;
+        this.inflated = null;
+        getLogFile().delete();
+        new File(directory, name + COMPRESSED).delete();
+        getIndexFile().delete();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isCompressed() {
+        return compressed;
+    }
+
+    File getLogFile() {
+        return new File(directory, name + (compressed ? COMPRESSED : LOG));
+    }
+
+    File getIndexFile() {
+        return new File(directory, name + INDEX);
+    }
+
+    private ByteBuffer readBuffer() throws IOException {
+        if(compressed) {
+            SoftReference<ByteBuffer> reference = inflated;
+            ByteBuffer buffer = reference == null ? null : reference.get();
+            if(buffer == null) {
+                try(InputStream in = new GZIPInputStream(new FileInputStream(getLogFile()), 65536)) {
+                    buffer = ByteBuffer.wrap(in.readAllBytes());
+                }
+                this.inflated = new SoftReference<>(buffer);
+            }
+            return buffer.duplicate();
+        }
+        ByteBuffer buffer = readMap;
+        if(buffer == null) {
+            try(FileChannel file = FileChannel.open(getLogFile().toPath(), StandardOpenOption.READ)) {
+                buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            }
+            this.readMap = buffer;
+        }
+        return buffer.duplicate();
+    }
+
+    private static ChatLogEntry read(ByteBuffer buffer, int offset) throws IOException {
+        if(offset < 0 || offset + 4 > buffer.limit()) throw new IOException("Invalid chat log offset " + offset + ".");
+        buffer.position(offset + 4);
+        long timestamp = buffer.getLong();
+        return new ChatLogEntry(timestamp, getString(buffer), getString(buffer), getString(buffer), getString(buffer));
+    }
+
+    private static byte[] bytes(String value) {
+        if(value == null) return new byte[0];
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length <= MAX_STRING) return bytes;
+        // truncate on a character boundary
+        int end = MAX_STRING;
+        while(end > 0 && (bytes[end] & 0xC0) == 0x80) end--;
+        byte[] truncated = new byte[end];
+        System.arraycopy(bytes, 0, truncated, 0, end);
+        return truncated;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,280 @@
+package dev.simplyamazing.jonkcore.Objects.ChatLog;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+final class SegmentIndex {
+    private static final int MAGIC = 0x4A434958; // JCIX
+    private static final int TERMS = 0, SENDERS = 1, ROOMS = 2;
+    private static final int MIN_TERM = 2;
+    private static final int MAX_TERM = 32;
+
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<String, Postings> senders = new HashMap<>();
+    private final Map<String, Postings> rooms = new HashMap<>();
+    // an index read from disk only holds the position of each key's postings, which are decoded when searched for
+    private final List<Map<String, Integer>> dictionary = new ArrayList<>(3);
+    private ByteBuffer postingsArea;
+    private int records;
+
+    /**
+     * Index a record.
+     * @param offset offset of the record within its segment, which must be greater than every offset indexed before it
+     * @param entry the record
+     */
+    synchronized void add(int offset, ChatLogEntry entry) {
+        for(String term : tokenize(entry.getBody())) add(terms, term, offset);
+        add(rooms, normalise(entry.getRoom()), offset);
+        String name = normalise(entry.getSenderName());
+        if(!name.isEmpty()) add(senders, name, offset);
+        String id = entry.getSenderId().toLowerCase(Locale.ROOT);
+        if(!id.isEmpty() && !id.equals(name)) add(senders, id, offset);
+        records++;
+    }
+
+    /**
+     * Find the offsets of every record containing every term, optionally also sent in a room and by a sender.
+     * @param query normalised terms, see {@link #tokenize(String)}
+     * @param room normalised room name, or null for any room
+     * @param sender normalised sender name or ID, or null for any sender
+     * @return matching offsets, in ascending order
+     */
+    synchronized int[] find(List<String> query, String room, String sender) {
+        int[] result = null;
+        for(String term : query) {
+            result = intersect(result, get(TERMS, terms, term));
+            if(result.length == 0) return result;
+        }
+        if(room != null) result = intersect(result, get(ROOMS, rooms, room));
+        // without terms or a room, the sender's postings are the starting set
+        if(sender != null && (result == null || result.length > 0)) result = intersect(result, get(SENDERS, senders, sender));
+        return result == null ? new int[0] : result;
+    }
+
+    synchronized int getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Write the index to a file: a dictionary of every key and the position of its postings, followed by the delta-encoded postings.
+     */
+    synchronized void write(File file) throws IOException {
+        ByteArrayOutputStream area = new ByteArrayOutputStream();
+        DataOutputStream areaOut = new DataOutputStream(area);
+        List<Map<String, Integer>> positions = List.of(encode(areaOut, terms), encode(areaOut, senders), encode(areaOut, rooms));
+        File temp = new File(file.getPath() + ".tmp");
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(records);
+            for(Map<String, Integer> map : positions) {
+                out.writeInt(map.size());
+                for(Map.Entry<String, Integer> entry : map.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+            }
+            out.writeInt(area.size());
+            area.writeTo(out);
+        }
+        if(!temp.renameTo(file)) {
+            // renaming over an existing file fails on some platforms
+            if(!file.delete() || !temp.renameTo(file)) throw new IOException("Failed to write the chat log index " + file.getName());
+        }
+    }
+
+    /**
+     * Read the dictionary of an index file, mapping its postings into memory to be decoded when searched for.
+     */
+    static SegmentIndex read(File file) throws IOException {
+        SegmentIndex index = new SegmentIndex();
+        int areaLength;
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if(in.readInt() != MAGIC) throw new IOException("The chat log index " + file.getName() + " is corrupt.");
+            index.records = in.readInt();
+            for(int i = 0; i < 3; i++) {
+                int size = in.readInt();
+                Map<String, Integer> map = new HashMap<>(size * 4 / 3 + 1);
+                for(int j = 0; j < size; j++) map.put(in.readUTF(), in.readInt());
+                index.dictionary.add(map);
+            }
+            areaLength = in.readInt();
+        }
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if(areaLength < 0 || areaLength > channel.size()) throw new IOException("The chat log index " + file.getName() + " is corrupt.");
+            index.postingsArea = channel.map(FileChannel.MapMode.READ_ONLY, channel.size() - areaLength, areaLength);
+        }
+        return index;
+    }
+
+    /**
+     * Split a message into normalised search terms: lowercase runs of letters and digits, without colour codes.
+     * @param text the text to split
+     * @return distinct terms, in order of first appearance
+     */
+    static List<String> tokenize(String text) {
+        if(text == null) return Collections.emptyList();
+        List<String> tokens = new ArrayList<>();
+        split(text, tokens, null);
+        return tokens;
+    }
+
+    /**
+     * Find the words of a text that {@link #tokenize(String)} drops for being too short or too long to be indexed.
+     * @param text the text to split
+     * @return distinct dropped words, in order of first appearance
+     */
+    static List<String> ignoredTerms(String text) {
+        if(text == null) return Collections.emptyList();
+        List<String> ignored = new ArrayList<>();
+        split(text, new ArrayList<>(), ignored);
+        return ignored;
+    }
+
+    static int getMinTermLength() {
+        return MIN_TERM;
+    }
+
+    static int getMaxTermLength() {
+        return MAX_TERM;
+    }
+
+    private static void split(String text, List<String> tokens, List<String> ignored) {
+        StringBuilder token = new StringBuilder();
+        for(int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if((c == '&' || c == '§') && i + 1 < text.length() && isColourCode(text.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            if(Character.isLetterOrDigit(c)) token.append(Character.toLowerCase(c));
+            else flush(token, tokens, ignored);
+        }
+        flush(token, tokens, ignored);
+    }
+
+    /**
+     * Normalise a room or sender name for lookups: lowercase, without colour codes.
+     * @param name the name
+     * @return the normalised name
+     */
+    static String normalise(String name) {
+        if(name == null) return "";
+        StringBuilder builder = new StringBuilder(name.length());
+        for(int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if((c == '&' || c == '§') && i + 1 < name.length() && isColourCode(name.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            builder.append(Character.toLowerCase(c));
+        }
+        return builder.toString().trim();
+    }
+
+    private static boolean isColourCode(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'k' && c <= 'o') || c == 'r' || (c >= 'A' && c <= 'F') || (c >= 'K' && c <= 'O') || c == 'R';
+    }
+
+    private static void flush(StringBuilder token, List<String> tokens, List<String> ignored) {
+        if(token.length() >= MIN_TERM && token.length() <= MAX_TERM) {
+            String term = token.toString();
+            if(!tokens.contains(term)) tokens.add(term);
+        } else if(ignored != null && token.length() > 0) {
+            String term = token.toString();
+            if(!ignored.contains(term)) ignored.add(term);
+        }
+        token.setLength(0);
+    }
+
+    private static void add(Map<String, Postings> map, String key, int offset) {
+        map.computeIfAbsent(key, k -> new Postings()).add(offset);
+    }
+
+    private static int[] intersect(int[] current, Postings postings) {
+        if(postings == null) return new int[0];
+        if(current == null) return Arrays.copyOf(postings.offsets, postings.size);
+        int[] result = new int[Math.min(current.length, postings.size)];
+        int i = 0, j = 0, n = 0;
+        while(i < current.length && j < postings.size) {
+            int a = current[i], b = postings.offsets[j];
+            if(a == b) {
+                result[n++] = a;
+                i++;
+                j++;
+            } else if(a < b) i++;
+            else j++;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private Postings get(int section, Map<String, Postings> map, String key) {
+        if(postingsArea == null) return map.get(key);
+        Integer position = dictionary.get(section).get(key);
+        if(position == null) return null;
+        ByteBuffer area = postingsArea.duplicate();
+        area.position(position);
+        int count = readVarInt(area);
+        Postings postings = new Postings(count);
+        int previous = 0;
+        for(int i = 0; i < count; i++) {
+            previous += readVarInt(area);
+            postings.add(previous);
+        }
+        return postings;
+    }
+
+    private static Map<String, Integer> encode(DataOutputStream out, Map<String, Postings> map) throws IOException {
+        Map<String, Integer> positions = new HashMap<>(map.size() * 4 / 3 + 1);
+        for(Map.Entry<String, Postings> entry : map.entrySet()) {
+            positions.put(entry.getKey(), out.size());
+            Postings postings = entry.getValue();
+            writeVarInt(out, postings.size);
+            // offsets ascend, so deltas stay small
+            int previous = 0;
+            for(int i = 0; i < postings.size; i++) {
+                writeVarInt(out, postings.offsets[i] - previous);
+                previous = postings.offsets[i];
+            }
+        }
+        return positions;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for(int shift = 0; shift < 35; shift += 7) {
+            int b = in.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) return value;
+        }
+        throw new IllegalStateException("The chat log index is corrupt.");
+    }
+
+    private static final class Postings {
+        private int[] offsets;
+        private int size;
+
+        private Postings() {
+            this(4);
+        }
+
+        private Postings(int capacity) {
+            this.offsets = new int[Math.max(1, capacity)];
+        }
+
+        private void add(int offset) {
+            if(size == offsets.length) offsets = Arrays.copyOf(offsets, size * 2);
+            offsets[size++] = offset;
+        }
+    }
+}
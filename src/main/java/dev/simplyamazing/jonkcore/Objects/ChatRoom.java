@@ -2,23 +2,38 @@ package dev.simplyamazing.jonkcore.Objects;
 
 import dev.simplyamazing.jonkcore.Exceptions.PermissionRequiredException;
 import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.ChatLog.ChatLog;
+import dev.simplyamazing.jonkcore.Objects.Filter.ChatFilter;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatStyling;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
-import dev.simplyamazing.jonkcore.Utilities.ChatUtilities;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatContext;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatPipeline;
+import dev.simplyamazing.jonkcore.Objects.Pipeline.CoreChatHandlers;
+import dev.simplyamazing.jonkcore.Objects.Relay.ChatRelay;
+import dev.simplyamazing.jonkcore.Objects.Relay.RelayMessage;
 import dev.simplyamazing.jonkcore.Utilities.PermissionUtils;
 import org.bukkit.entity.Player;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class ChatRoom extends PluginObject implements IChatRoom {
+    private static final DateTimeFormatter HISTORY_TIME = DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneId.systemDefault());
+
     private final IChatStyling chatStyle;
     private final String trigger;
     private final String permission;
     private final List<User> subscribedUsers;
+    private final MessageHistory history;
 
-    private boolean roomLock;
+    // read by JoinCandidates off the main thread, during pre-login
+    private volatile boolean roomLock;
     private boolean roomMute;
 
     /**
@@ -43,6 +58,7 @@ public class ChatRoom extends PluginObject implements IChatRoom {
         this.trigger = trigger;
         this.permission = permission;
         this.subscribedUsers = new ArrayList<>();
+        this.history = new MessageHistory();
         this.roomLock = false;
         this.roomMute = false;
     }
@@ -108,6 +124,8 @@ public class ChatRoom extends PluginObject implements IChatRoom {
      */
     @Override
     public void sendMessage(String message) {
+        history.append(null, null, System.currentTimeMillis(), message);
+        Metrics.record(Metrics.CHAT_FANOUT, subscribedUsers.size());
         for(IUser user : subscribedUsers) {
             user.sendMessage(chatStyle.formatMessage(message));
         }
@@ -116,25 +134,104 @@ public class ChatRoom extends PluginObject implements IChatRoom {
     /**
      * Send a message to all Users subscribed to this ChatRoom, prefixed with the User's name.
      * <br><br>
-     * This message will be automatically formatted and styled according to the ChatStyling object of this ChatRoom.
+     * The message is passed through the {@link ChatPipeline}, where it is automatically formatted and styled according to the ChatStyling object of this ChatRoom.
      * This method <i>can</i> bypass the mute status of the ChatRoom, depending on the User's permission.
+     * Messages sent too quickly are rejected, unless rate limiting is disabled or the User has permission to bypass it (see {@link RateLimiter}).
+     * Likewise, filtered words are censored or blocked (see {@link ChatFilter}), and messages repeating a recent message are dropped or flagged (see {@link DuplicateDetector}).
      * <br><br>
      * The alternative {@link #sendMessage(String)} method should instead be used if trying to send a generic message.
+     * <br><br>
+     * Messages typed into chat are also handed to this method if it is overridden, before being checked or formatted. To change how messages are sent to their
+     * recipients once checked and formatted, override {@link #deliver(ChatContext)} instead.
      * @param sender  User sending the message
      * @param message Message to send
      */
     @Override
     public void sendMessage(IUser sender, String message) {
-        if(roomIsMuted() && !sender.hasPermission("jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-") + ".bypassmute")) {
-            sender.sendMessage("&cThis chat room is currently muted.");
-            return;
+        ChatContext context = new ChatContext(JonkCORE.getInstance(), sender, this, message);
+        ChatPipeline pipeline = JonkCORE.getInstance() == null ? null : JonkCORE.getInstance().getChatPipeline();
+        if(pipeline != null) pipeline.process(context);
+        else CoreChatHandlers.process(context);
+    }
+
+    /**
+     * Deliver a message that has passed through every other stage of the {@link ChatPipeline}.
+     * <br><br>
+     * The message is recorded in the history of this ChatRoom and the chat log, sent to each recipient with the line formatted for them,
+     * and published to the other servers in the network if relaying is enabled.
+     * <br><br>
+     * This is the final stage of every message sent by a User, whether typed into chat or sent through {@link #sendMessage(IUser, String)}, so it may be
+     * overridden to change how messages are delivered.
+     *
+     * @param context the formatted message
+     */
+    public void deliver(ChatContext context) {
+        IUser sender = context.getSender();
+        ID senderId = sender instanceof PluginObject object ? object.getIdentifier() : null;
+        String senderName = context.getSenderName();
+        String message = context.getMessage();
+        history.append(senderId, senderName, context.getTimestamp(), message);
+        ChatLog log = JonkCORE.getInstance() == null ? null : JonkCORE.getInstance().getChatLog();
+        if(log != null) log.append(getIdentifier().toString(), senderId == null ? null : senderId.toString(), senderName, context.getTimestamp(), message);
+        Metrics.record(Metrics.CHAT_FANOUT, context.getRecipients().size());
+        for(IUser user : context.getRecipients()) {
+            user.sendMessage(user.equals(sender) ? context.getSenderFormat() : context.getFormat());
         }
+        // publish to the other servers in the network, if relaying is enabled
+        ChatRelay relay = JonkCORE.getInstance() == null ? null : JonkCORE.getInstance().getChatRelay();
+        if(relay != null) relay.publish(getIdentifier().toString(), senderName, message);
+    }
+
+    /**
+     * Send a message that was relayed from another server to all Users subscribed to this ChatRoom.
+     * <br><br>
+     * The message is styled by this ChatRoom, and tagged with the server it was sent on. It is not relayed again.
+     *
+     * @param message relayed message to send
+     */
+    public void receiveRelayed(RelayMessage message) {
+        history.append(null, "&8[&7" + message.getOrigin() + "&8] &r" + message.getSender(), message.getTimestamp(), message.getBody());
+        ChatLog log = JonkCORE.getInstance() == null ? null : JonkCORE.getInstance().getChatLog();
+        if(log != null) log.append(getIdentifier().toString(), null, "&8[&7" + message.getOrigin() + "&8] &r" + message.getSender(), message.getTimestamp(), message.getBody());
+        Metrics.record(Metrics.CHAT_FANOUT, subscribedUsers.size());
+        String line = chatStyle.getPrefix() + " &8[&7" + message.getOrigin() + "&8] &r" + message.getSender() + ": &r" + chatStyle.formatMessageAnonymously(message.getBody()) + " " + chatStyle.getSuffix();
         for(IUser user : subscribedUsers) {
-            if(user.equals(sender)) user.sendMessage(chatStyle.getPrefix() + " &a&lYOU: &r" + chatStyle.formatMessageAnonymously(message) + " " + chatStyle.getSuffix());
-            else user.sendMessage(chatStyle.getPrefix() + " " + ChatUtilities.nameFromUser(sender) + ": &r" + chatStyle.formatMessageAnonymously(message) + " " + chatStyle.getSuffix());
+            user.sendMessage(line);
         }
     }
 
+    /**
+     * Retrieve the history of recent messages sent in this ChatRoom.
+     * @return MessageHistory object
+     */
+    public MessageHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Send the most recent messages of this ChatRoom to a User, such as when they focus on it.
+     * @param user User to send the messages to
+     * @param count maximum amount of messages to send
+     */
+    public void replayHistory(IUser user, int count) {
+        if(count <= 0) return;
+        List<MessageHistory.Entry> entries = history.getRecent(count);
+        if(entries.isEmpty()) return;
+        user.sendMessage("&8&m----&r &7Recent messages in &e" + getIdentifier().toString() + " &8&m----");
+        for(MessageHistory.Entry entry : entries) user.sendMessage(formatHistory(entry));
+    }
+
+    /**
+     * Format a message from the history of this ChatRoom, styled by this ChatRoom and prefixed with the time it was sent.
+     * @param entry the message to format
+     * @return formatted message
+     */
+    public String formatHistory(MessageHistory.Entry entry) {
+        String time = "&8[" + HISTORY_TIME.format(Instant.ofEpochMilli(entry.getTimestamp())) + "] &r";
+        if(entry.getName() == null) return time + chatStyle.formatMessage(entry.getBody());
+        return time + chatStyle.getPrefix() + " " + entry.getName() + ": &r" + chatStyle.formatMessageAnonymously(entry.getBody()) + " " + chatStyle.getSuffix();
+    }
+
     /**
      * Subscribe a User to this ChatRoom.
      * <br><br>
@@ -150,19 +247,49 @@ public class ChatRoom extends PluginObject implements IChatRoom {
     @Override
     public void subscribe(IUser user) throws PermissionRequiredException {
         if(user instanceof User user1) {
-            if(subscribedUsers.contains(user1)) return;
-            if(roomIsLocked() && !user1.hasPermission("jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-") + ".bypasslock")) {
-                throw new PermissionRequiredException(user1, "jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-") + ".bypasslock", "Unable to subscribe to chat room " + getIdentifier().toString() + ": Chat room is locked.");
-            }
-            if(!user1.hasPermission("jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-"))) {
-                throw new PermissionRequiredException(user1, "jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-"), "Unable to subscribe to chat room " + getIdentifier().toString() + ": User does not have permission.");
-            }
-            subscribedUsers.add(user1);
-            user1.subscribeToChat(this);
-            user1.sendMessage("&7[&a+&7] &bYou have been added to the chatroom &a(" + getIdentifier().getString() + ")&b.");
+            subscribe(user1, true);
         } else throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + user.getClass().getName() + ")");
     }
 
+    /**
+     * Subscribe a User to this ChatRoom, optionally without notifying them.
+     * <br><br>
+     * Notifications are skipped when the User is sent a single combined message instead, such as when joining the server (see {@link User#bind(Player)}).
+     *
+     * @param user1 User to subscribe
+     * @param notify whether the User should be notified of their subscription
+     * @throws PermissionRequiredException If the User does not have permission to subscribe to the ChatRoom OR the ChatRoom is locked
+     */
+    void subscribe(User user1, boolean notify) throws PermissionRequiredException {
+        if(subscribedUsers.contains(user1)) return;
+        if(roomIsLocked() && !user1.hasPermission("jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-") + ".bypasslock")) {
+            throw new PermissionRequiredException(user1, "jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-") + ".bypasslock", "Unable to subscribe to chat room " + getIdentifier().toString() + ": Chat room is locked.");
+        }
+        if(!user1.hasPermission("jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-"))) {
+            throw new PermissionRequiredException(user1, "jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-"), "Unable to subscribe to chat room " + getIdentifier().toString() + ": User does not have permission.");
+        }
+        subscribedUsers.add(user1);
+        user1.subscribeToChat(this);
+        if(notify) user1.sendMessage("&7[&a+&7] &bYou have been added to the chatroom &a(" + getIdentifier().getString() + ")&b.");
+    }
+
+    /**
+     * Subscribe a User that is already known to be allowed in this ChatRoom, without notifying them or updating the User object.
+     * <br><br>
+     * Unlike {@link #subscribe(User, boolean)}, the <code>jonkcore.chatroom.&lt;name&gt;</code> permission is not checked, as a joining User qualifies for
+     * persistent ChatRooms through their own permission (see {@link #getPermission()} and {@link JoinCandidates}). The lock of this ChatRoom is still respected.
+     * This is only used when a User joins the server, see {@link User#bind(Player)}.
+     *
+     * @param user User to subscribe
+     * @return true if the User is subscribed, false if this ChatRoom is locked
+     */
+    boolean join(User user) {
+        if(subscribedUsers.contains(user)) return true;
+        if(roomIsLocked() && !user.hasPermission("jonkcore.chatroom." + getIdentifier().toString().replaceAll(" ", "-") + ".bypasslock")) return false;
+        subscribedUsers.add(user);
+        return true;
+    }
+
     /**
      * Unsubscribe a User from this ChatRoom.
      * <br><br>
@@ -184,6 +311,17 @@ public class ChatRoom extends PluginObject implements IChatRoom {
         } else throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + user.getClass().getName() + ")");
     }
 
+    /**
+     * Remove a User from this ChatRoom without notifying them or updating the User object.
+     * <br><br>
+     * This is only used when a User object is being released, see {@link User#release()}.
+     *
+     * @param user User to detach
+     */
+    void detach(User user) {
+        subscribedUsers.remove(user);
+    }
+
     /**
      * Check whether a User is subscribed to this ChatRoom.
      * @param user User to check
@@ -205,6 +343,7 @@ public class ChatRoom extends PluginObject implements IChatRoom {
     @Override
     public void lockRoom() {
         this.roomLock = true;
+        notifyChanged();
         sendMessage("&7[&4!&7] &cThis ChatRoom has been locked by an administrator. No new users can join.");
     }
 
@@ -216,9 +355,34 @@ public class ChatRoom extends PluginObject implements IChatRoom {
     @Override
     public void unlockRoom() {
         this.roomLock = false;
+        notifyChanged();
         sendMessage("&7[&4!&7] &aThis ChatRoom has been unlocked by an administrator. New users can now join.");
     }
 
+    /**
+     * Set whether this ChatRoom is persistent, and so whether joining Users are subscribed to it.
+     *
+     * @param val the new value
+     * @throws NoSuchMethodException when the object value `parentLock` is false
+     */
+    @Override
+    public void setLocked(boolean val) throws NoSuchMethodException {
+        super.setLocked(val);
+        notifyChanged();
+    }
+
+    /**
+     * Tell JonkCORE's storage that which Users may join this ChatRoom has changed, so it no longer relies on a snapshot taken before the change
+     * (see {@link Index#chatRoomChanged(ChatRoom)}).
+     * <br><br>
+     * This is called when the ChatRoom is locked, unlocked or made persistent. Subclasses whose {@link #getPermission()} can change should call it after
+     * each change.
+     */
+    protected void notifyChanged() {
+        JonkCORE core = JonkCORE.getInstance();
+        if(core != null && core.getStorage() != null) core.getStorage().chatRoomChanged(this);
+    }
+
     /**
      * Check whether this ChatRoom is locked.
      * <p>
@@ -274,20 +438,17 @@ public class ChatRoom extends PluginObject implements IChatRoom {
      * Find all applicable ChatRooms.
      * <br><br>
      * This method will return all (persistent) ChatRooms that a Player has permission to join.
+     * Each distinct permission is only checked once, regardless of how many ChatRooms require it.
      * @param p Player to check
      * @return List of ChatRooms
      */
     public static ArrayList<ChatRoom> findApplicableRooms(Player p) {
+        Index index = JonkCORE.getInstance().getStorage();
         ArrayList<ChatRoom> applicableRooms = new ArrayList<>();
-        for(IChatRoom room : JonkCORE.getInstance().getStorage().getChatRooms()) {
-            if(!(room instanceof ChatRoom room1)) continue;
-            if(!(room1.isLocked())) continue;
-            if(room1.getPermission() == null || room1.getPermission().isEmpty()) {
-                applicableRooms.add(room1);
-                continue;
-            }
-            if(PermissionUtils.legacyCheckAny(p, room1.getPermission())) {
-                applicableRooms.add(room1);
+        addLockedRooms(applicableRooms, index.getUnrestrictedChatRooms());
+        for(Map.Entry<String, List<ChatRoom>> entry : index.getChatRoomsByPermission().entrySet()) {
+            if(PermissionUtils.legacyCheckAny(p, entry.getKey())) {
+                addLockedRooms(applicableRooms, entry.getValue());
             }
         }
         return applicableRooms;
@@ -297,22 +458,25 @@ public class ChatRoom extends PluginObject implements IChatRoom {
      * Find all applicable ChatRooms.
      * <br><br>
      * This method will return all (persistent) ChatRooms that a User has permission to join.
+     * Each distinct permission is only checked once, regardless of how many ChatRooms require it.
      * @param u User to check
      * @return List of ChatRooms
      */
     public static ArrayList<ChatRoom> findApplicableRooms(User u) {
+        Index index = JonkCORE.getInstance().getStorage();
         ArrayList<ChatRoom> applicableRooms = new ArrayList<>();
-        for(IChatRoom room : JonkCORE.getInstance().getStorage().getChatRooms()) {
-            if(!(room instanceof ChatRoom room1)) continue;
-            if(!(room1.isLocked())) continue;
-            if(room1.getPermission() == null || room1.getPermission().isEmpty()) {
-                applicableRooms.add(room1);
-                continue;
-            }
-            if(u.hasPermission(room1.getPermission())) {
-                applicableRooms.add(room1);
+        addLockedRooms(applicableRooms, index.getUnrestrictedChatRooms());
+        for(Map.Entry<String, List<ChatRoom>> entry : index.getChatRoomsByPermission().entrySet()) {
+            if(u.hasPermission(entry.getKey())) {
+                addLockedRooms(applicableRooms, entry.getValue());
             }
         }
         return applicableRooms;
     }
+
+    private static void addLockedRooms(List<ChatRoom> applicableRooms, List<ChatRoom> rooms) {
+        for(ChatRoom room : rooms) {
+            if(room.isLocked()) applicableRooms.add(room);
+        }
+    }
 }
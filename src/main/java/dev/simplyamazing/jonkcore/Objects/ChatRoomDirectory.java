@@ -0,0 +1,215 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoomListener;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IStorage;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ChatRoomDirectory {
+    private final Map<IJonkPlugin, Entry> entries;
+    // bumped on every change; a flattened view is only re-used if it was built at the current version
+    private final AtomicLong version;
+    // flattened views, rebuilt lazily after any entry changes
+    private volatile View<Map<IJonkPlugin, List<IChatRoom>>> byPlugin;
+    private volatile View<List<IChatRoom>> all;
+
+    /**
+     * Constructor for the ChatRoomDirectory object.
+     */
+    public ChatRoomDirectory() {
+        this.entries = new ConcurrentHashMap<>();
+        this.version = new AtomicLong();
+    }
+
+    /**
+     * Add a sub-plugin to the directory, reading every chat room from its storage and listening for changes.
+     * <br><br>
+     * Adding a sub-plugin that is already in the directory will re-read its storage.
+     *
+     * @param plugin the sub-plugin to add
+     */
+    public void addPlugin(IJonkPlugin plugin) {
+        IStorage storage = plugin.getStorage();
+        if(storage == null) return;
+        Entry previous = entries.remove(plugin);
+        if(previous != null) previous.detach();
+        Entry entry = new Entry(storage);
+        entry.rooms = List.copyOf(storage.getChatRooms());
+        entry.listening = storage.addChatRoomListener(entry);
+        entries.put(plugin, entry);
+        invalidate();
+    }
+
+    /**
+     * Remove a sub-plugin and all of its chat rooms from the directory.
+     * @param plugin the sub-plugin to remove
+     */
+    public void removePlugin(IJonkPlugin plugin) {
+        Entry entry = entries.remove(plugin);
+        if(entry != null) {
+            entry.detach();
+            invalidate();
+        }
+    }
+
+    /**
+     * Remove every sub-plugin from the directory.
+     */
+    public void clear() {
+        for(Entry entry : entries.values()) entry.detach();
+        entries.clear();
+        invalidate();
+    }
+
+    /**
+     * Retrieve every chat room of every sub-plugin, keyed by sub-plugin.
+     * <br><br>
+     * The map is cached until a chat room is registered or unregistered in any storage, and cannot be modified.
+     *
+     * @return unmodifiable map of sub-plugin to its chat rooms
+     */
+    public Map<IJonkPlugin, List<IChatRoom>> asMap() {
+        refreshPolled();
+        // read the version before the entries, so a change made during the rebuild leaves the rebuilt view stale
+        long current = version.get();
+        View<Map<IJonkPlugin, List<IChatRoom>>> view = byPlugin;
+        if(view == null || view.version != current) {
+            Map<IJonkPlugin, List<IChatRoom>> map = new LinkedHashMap<>();
+            for(Map.Entry<IJonkPlugin, Entry> entry : entries.entrySet()) map.put(entry.getKey(), entry.getValue().rooms);
+            view = new View<>(current, Collections.unmodifiableMap(map));
+            this.byPlugin = view;
+        }
+        return view.value;
+    }
+
+    /**
+     * Retrieve every chat room of every sub-plugin.
+     * @return unmodifiable list of chat rooms
+     */
+    public List<IChatRoom> getChatRooms() {
+        refreshPolled();
+        long current = version.get();
+        View<List<IChatRoom>> view = all;
+        if(view == null || view.version != current) {
+            List<IChatRoom> list = new ArrayList<>();
+            for(Entry entry : entries.values()) list.addAll(entry.rooms);
+            view = new View<>(current, Collections.unmodifiableList(list));
+            this.all = view;
+        }
+        return view.value;
+    }
+
+    /**
+     * Retrieve the chat rooms of a single sub-plugin.
+     * @param plugin the sub-plugin
+     * @return unmodifiable list of chat rooms, empty if the sub-plugin is not in the directory
+     */
+    public List<IChatRoom> getChatRooms(IJonkPlugin plugin) {
+        Entry entry = entries.get(plugin);
+        if(entry == null) return Collections.emptyList();
+        if(!entry.listening) entry.poll();
+        return entry.rooms;
+    }
+
+    /**
+     * Retrieve every chat room with a name, across every sub-plugin.
+     * <br><br>
+     * Each sub-plugin's storage is searched with {@link IStorage#getChatRoom(String)}, so the name is matched the same way that storage matches it.
+     *
+     * @param name name of the chat rooms
+     * @return list of matching chat rooms
+     */
+    public List<IChatRoom> getChatRooms(String name) {
+        List<IChatRoom> matches = new ArrayList<>(1);
+        for(Entry entry : entries.values()) {
+            IChatRoom chatRoom = entry.storage.getChatRoom(name);
+            if(chatRoom != null) matches.add(chatRoom);
+        }
+        return matches;
+    }
+
+    /**
+     * Retrieve the sub-plugin whose storage holds a chat room.
+     * @param chatRoom the chat room
+     * @return the owning sub-plugin, or null if the chat room is not in the directory
+     */
+    public IJonkPlugin getOwner(IChatRoom chatRoom) {
+        refreshPolled();
+        for(Map.Entry<IJonkPlugin, Entry> entry : entries.entrySet()) {
+            if(entry.getValue().rooms.contains(chatRoom)) return entry.getKey();
+        }
+        return null;
+    }
+
+    private void refreshPolled() {
+        for(Entry entry : entries.values()) {
+            if(!entry.listening) entry.poll();
+        }
+    }
+
+    private void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private static final class View<T> {
+        private final long version;
+        private final T value;
+
+        private View(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    private final class Entry implements IChatRoomListener {
+        private final IStorage storage;
+        private volatile List<IChatRoom> rooms;
+        private boolean listening;
+
+        private Entry(IStorage storage) {
+            this.storage = storage;
+        }
+
+        @Override
+        public synchronized void onChatRoomRegistered(IStorage storage, IChatRoom chatRoom) {
+            if(rooms.contains(chatRoom)) return;
+            List<IChatRoom> updated = new ArrayList<>(rooms.size() + 1);
+            updated.addAll(rooms);
+            updated.add(chatRoom);
+            this.rooms = Collections.unmodifiableList(updated);
+            invalidate();
+        }
+
+        @Override
+        public synchronized void onChatRoomUnregistered(IStorage storage, IChatRoom chatRoom) {
+            if(!rooms.contains(chatRoom)) return;
+            List<IChatRoom> updated = new ArrayList<>(rooms);
+            updated.remove(chatRoom);
+            this.rooms = Collections.unmodifiableList(updated);
+            invalidate();
+        }
+
+        @Override
+        public synchronized void onChatRoomsCleared(IStorage storage, Iterable<? extends IChatRoom> chatRooms) {
+            this.rooms = Collections.emptyList();
+            invalidate();
+        }
+
+        // storages without listener support are compared against their current chat rooms instead
+        private synchronized void poll() {
+            List<IChatRoom> current = storage.getChatRooms();
+            if(!current.equals(rooms)) {
+                this.rooms = List.copyOf(current);
+                invalidate();
+            }
+        }
+
+        private void detach() {
+            if(listening) storage.removeChatRoomListener(this);
+        }
+    }
+}
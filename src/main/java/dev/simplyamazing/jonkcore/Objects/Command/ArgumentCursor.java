@@ -0,0 +1,242 @@
+package dev.simplyamazing.jonkcore.Objects.Command;
+
+import java.util.Arrays;
+
+public class ArgumentCursor {
+    private final String[] args;
+    private int offset;
+    // lazily computed start index of each argument within the joined line
+    private int[] starts;
+    private Slice slice;
+
+    /**
+     * Initialise a new ArgumentCursor over a set of command arguments.
+     * <br><br>
+     * The provided array is not copied, and must not be modified while the cursor is in use.
+     *
+     * @param args the command arguments
+     */
+    public ArgumentCursor(String[] args) {
+        this.args = args;
+        this.offset = 0;
+    }
+
+    /**
+     * Retrieve the amount of arguments remaining after the cursor.
+     * @return amount of remaining arguments
+     */
+    public int size() {
+        return args.length - offset;
+    }
+
+    /**
+     * Check whether there are no arguments remaining after the cursor.
+     * @return true if there are no remaining arguments
+     */
+    public boolean isEmpty() {
+        return offset >= args.length;
+    }
+
+    /**
+     * Retrieve an argument relative to the cursor.
+     * @param index the index of the argument, where 0 is the argument at the cursor
+     * @return the argument, or null if it does not exist
+     */
+    public String get(int index) {
+        int i = offset + index;
+        return (index < 0 || i >= args.length) ? null : args[i];
+    }
+
+    /**
+     * Retrieve the argument at the cursor without moving it.
+     * @return the argument, or null if there are no remaining arguments
+     */
+    public String peek() {
+        return get(0);
+    }
+
+    /**
+     * Retrieve the argument at the cursor, then move the cursor past it.
+     * @return the argument, or null if there are no remaining arguments
+     */
+    public String next() {
+        String arg = peek();
+        if(arg != null) offset++;
+        return arg;
+    }
+
+    /**
+     * Move the cursor forward.
+     * <br><br>
+     * This is used when passing the arguments down to a sub-command, and does not copy the arguments.
+     *
+     * @param count the amount of arguments to skip
+     */
+    public void advance(int count) {
+        this.offset = Math.min(args.length, offset + count);
+    }
+
+    /**
+     * Retrieve the absolute position of the cursor.
+     * @return the position of the cursor
+     */
+    public int getPosition() {
+        return offset;
+    }
+
+    /**
+     * Move the cursor to an absolute position, such as one previously retrieved with {@link #getPosition()}.
+     * @param position the position to move to
+     */
+    public void setPosition(int position) {
+        this.offset = Math.max(0, Math.min(args.length, position));
+    }
+
+    /**
+     * Parse an argument relative to the cursor as an integer.
+     * @param index the index of the argument
+     * @param def the value to return if the argument does not exist or is not an integer
+     * @return the parsed value
+     */
+    public int getInt(int index, int def) {
+        String arg = get(index);
+        if(arg == null) return def;
+        try {
+            return Integer.parseInt(arg);
+        } catch(NumberFormatException e) {
+            return def;
+        }
+    }
+
+    /**
+     * Parse an argument relative to the cursor as a long.
+     * @param index the index of the argument
+     * @param def the value to return if the argument does not exist or is not a long
+     * @return the parsed value
+     */
+    public long getLong(int index, long def) {
+        String arg = get(index);
+        if(arg == null) return def;
+        try {
+            return Long.parseLong(arg);
+        } catch(NumberFormatException e) {
+            return def;
+        }
+    }
+
+    /**
+     * Parse an argument relative to the cursor as a double.
+     * @param index the index of the argument
+     * @param def the value to return if the argument does not exist or is not a number
+     * @return the parsed value
+     */
+    public double getDouble(int index, double def) {
+        String arg = get(index);
+        if(arg == null) return def;
+        try {
+            return Double.parseDouble(arg);
+        } catch(NumberFormatException e) {
+            return def;
+        }
+    }
+
+    /**
+     * Parse an argument relative to the cursor as a boolean.
+     * <br><br>
+     * Only "true" and "false" (case-insensitive) are accepted.
+     *
+     * @param index the index of the argument
+     * @param def the value to return if the argument does not exist or is not a boolean
+     * @return the parsed value
+     */
+    public boolean getBoolean(int index, boolean def) {
+        String arg = get(index);
+        if(arg == null) return def;
+        if(arg.equalsIgnoreCase("true")) return true;
+        if(arg.equalsIgnoreCase("false")) return false;
+        return def;
+    }
+
+    /**
+     * Retrieve the rest of the line from an argument relative to the cursor, with arguments separated by spaces.
+     * <br><br>
+     * The returned CharSequence is a view over the original arguments and does not copy them. It is re-used by each call, and is only valid until this
+     * method is called again. Call {@link CharSequence#toString()} on the result if a String is required.
+     *
+     * @param index the index of the first argument to include
+     * @return the rest of the line, or an empty CharSequence if there are no arguments from the index
+     */
+    public CharSequence rest(int index) {
+        int from = Math.min(args.length, offset + Math.max(0, index));
+        if(starts == null) {
+            starts = new int[args.length + 1];
+            for(int i = 0; i < args.length; i++) {
+                starts[i + 1] = starts[i] + args[i].length() + 1;
+            }
+        }
+        if(slice == null) slice = new Slice();
+        slice.from = from;
+        return slice;
+    }
+
+    /**
+     * Retrieve the rest of the line from an argument relative to the cursor as a String, with arguments separated by spaces.
+     * @param index the index of the first argument to include
+     * @return the rest of the line
+     */
+    public String restString(int index) {
+        return rest(index).toString();
+    }
+
+    /**
+     * Copy the remaining arguments after the cursor into a new array.
+     * <br><br>
+     * This is only needed by commands that have not been updated to use an ArgumentCursor.
+     *
+     * @return the remaining arguments
+     */
+    public String[] toArray() {
+        return Arrays.copyOfRange(args, offset, args.length);
+    }
+
+    private final class Slice implements CharSequence {
+        private int from;
+
+        @Override
+        public int length() {
+            if(from >= args.length) return 0;
+            return starts[args.length] - starts[from] - 1;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if(index < 0 || index >= length()) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for the rest of the line (Length: " + length() + ")");
+            int absolute = starts[from] + index;
+            // binary search for the argument containing the character
+            int low = from, high = args.length - 1;
+            while(low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if(starts[mid] <= absolute) low = mid;
+                else high = mid - 1;
+            }
+            int local = absolute - starts[low];
+            return local == args[low].length() ? ' ' : args[low].charAt(local);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            if(from >= args.length) return "";
+            StringBuilder builder = new StringBuilder(length());
+            for(int i = from; i < args.length; i++) {
+                if(i > from) builder.append(' ');
+                builder.append(args[i]);
+            }
+            return builder.toString();
+        }
+    }
+}
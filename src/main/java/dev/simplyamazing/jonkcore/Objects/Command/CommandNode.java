@@ -0,0 +1,184 @@
+package dev.simplyamazing.jonkcore.Objects.Command;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Utilities.PermissionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+final class CommandNode {
+    private final PluginSubCommand<?> command;
+    // lookup structures, keyed by case-folded name and aliases
+    private final Map<String, CommandNode> children;
+    private final CommandTrie<CommandNode> trie;
+    // permissions of this node and every ancestor, compiled once
+    private final String[][] permissions;
+    private final boolean playerOnly;
+    // whether the command overrides the String[] entry points, which must then be called instead of the ArgumentCursor ones
+    private final boolean legacyEntryPoints;
+    // whether the command overrides the ArgumentCursor entry points, which must then be called instead of dispatching directly
+    private final boolean cursorEntryPoints;
+
+    private CommandNode(PluginSubCommand<?> command, String[][] permissions, boolean playerOnly) {
+        this.command = command;
+        this.children = new HashMap<>();
+        this.trie = new CommandTrie<>();
+        this.permissions = permissions;
+        this.playerOnly = playerOnly;
+        this.legacyEntryPoints = command != null && (overrides(command, "onCommand", String[].class) || overrides(command, "onTabComplete", String[].class));
+        this.cursorEntryPoints = command != null && (overrides(command, "onCommand", ArgumentCursor.class) || overrides(command, "onTabComplete", ArgumentCursor.class));
+    }
+
+    /**
+     * Compile a dispatch tree from the top-level subcommands of a group.
+     * @param subCommands the top-level subcommands
+     * @return the root node, which has no command
+     */
+    static CommandNode compile(List<? extends PluginSubCommand<?>> subCommands) {
+        CommandNode root = new CommandNode(null, new String[0][], false);
+        root.addChildren(subCommands);
+        return root;
+    }
+
+    private void addChildren(List<? extends PluginSubCommand<?>> subCommands) {
+        for(PluginSubCommand<?> sub : subCommands) {
+            String[][] chain = permissions;
+            if(sub.getPermission() != null) {
+                chain = Arrays.copyOf(permissions, permissions.length + 1);
+                chain[permissions.length] = PermissionUtils.compile(sub.getPermission());
+            }
+            CommandNode child = new CommandNode(sub, chain, playerOnly || !sub.canNonPlayerUse());
+            children.put(sub.getName().toLowerCase(Locale.ROOT), child);
+            for(String alias : sub.getAliases()) {
+                children.putIfAbsent(alias.toLowerCase(Locale.ROOT), child);
+            }
+            trie.insert(sub.getName(), child);
+            child.addChildren(sub.getChildren());
+        }
+    }
+
+    /**
+     * Retrieve the command of this node.
+     * @return the command, or null if this is the root node
+     */
+    PluginSubCommand<?> getCommand() {
+        return command;
+    }
+
+    /**
+     * Retrieve a direct child of this node from its name or one of its aliases.
+     * @param trigger the name or alias, case-insensitive
+     * @return the child, or null if none match
+     */
+    CommandNode getChild(String trigger) {
+        if(trigger == null) return null;
+        return children.get(trigger.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Follow the arguments down the tree, moving the cursor past each argument that matches a child.
+     * @param args the cursor over the arguments
+     * @param keep the amount of arguments to leave unconsumed, such as the partially typed argument when tab-completing
+     * @return the deepest matching node, or this node if the first argument does not match
+     */
+    CommandNode resolve(ArgumentCursor args, int keep) {
+        CommandNode node = this;
+        while(args.size() > keep) {
+            CommandNode child = node.getChild(args.peek());
+            if(child == null) break;
+            node = child;
+            args.advance(1);
+        }
+        return node;
+    }
+
+    /**
+     * Run the command of this node, whose permissions have already been checked through {@link #canUse(IUser)}.
+     * <br><br>
+     * Commands that override an entry point are run through it, so the override is honoured. Commands that only override the String[] entry point
+     * are passed a copy of the arguments instead.
+     *
+     * @param sender the User who executed the command
+     * @param args the cursor over the arguments, positioned at the name of this node's command
+     */
+    void execute(IUser sender, ArgumentCursor args) {
+        if(legacyEntryPoints) command.onCommand(sender, args.toArray());
+        else if(cursorEntryPoints) command.onCommand(sender, args);
+        else command.dispatch(sender, args);
+    }
+
+    /**
+     * Retrieve the tab-completion options of this node's command, whose permissions have already been checked through {@link #canUse(IUser)}.
+     * @param sender the User who requested the tab-completion
+     * @param args the cursor over the arguments, positioned at the name of this node's command
+     * @return the tab-completion options
+     */
+    List<String> tabComplete(IUser sender, ArgumentCursor args) {
+        if(legacyEntryPoints) return command.onTabComplete(sender, args.toArray());
+        else if(cursorEntryPoints) return command.onTabComplete(sender, args);
+        return command.dispatchTabComplete(sender, args);
+    }
+
+    /**
+     * Check whether a User has the permissions of this node and all its ancestors.
+     * @param user the User to check
+     * @return true if the User has every permission
+     */
+    boolean hasPermission(IUser user) {
+        for(String[] permission : permissions) {
+            if(!PermissionUtils.checkCompiled(user, permission)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a User may use this node, by permission and by whether it is a Player.
+     * @param user the User to check
+     * @return true if the User may use this node
+     */
+    boolean canUse(IUser user) {
+        return (!playerOnly || user.isPlayer()) && hasPermission(user);
+    }
+
+    /**
+     * Check whether this node only accepts Player Users.
+     * @return true if non-Player Users may not use this node
+     */
+    boolean isPlayerOnly() {
+        return playerOnly;
+    }
+
+    /**
+     * Check whether this node has any children.
+     * @return true if this node has children
+     */
+    boolean hasChildren() {
+        return !children.isEmpty();
+    }
+
+    /**
+     * Get the names of all children starting with a prefix, that the User is able to use.
+     * @param user the User who requested this info
+     * @param prefix the partially typed name
+     * @return the list of names, in alphabetical order
+     */
+    List<String> complete(IUser user, String prefix) {
+        List<String> names = new ArrayList<>();
+        for(CommandNode child : trie.completeValues(prefix)) {
+            if(child.canUse(user)) names.add(child.command.getName());
+        }
+        return names;
+    }
+
+    private static boolean overrides(PluginSubCommand<?> command, String name, Class<?> arguments) {
+        try {
+            return command.getClass().getMethod(name, IUser.class, arguments).getDeclaringClass() != PluginSubCommand.class;
+        } catch(NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
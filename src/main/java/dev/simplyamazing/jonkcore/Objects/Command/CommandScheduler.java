@@ -0,0 +1,233 @@
+package dev.simplyamazing.jonkcore.Objects.Command;
+
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+public class CommandScheduler {
+    private final JavaPlugin plugin;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final boolean virtualThreads;
+    private final Map<String, Latency> latencies;
+
+    /**
+     * Constructor for the CommandScheduler object.
+     * <br><br>
+     * At most <code>threads</code> async commands run at once on platform threads, with up to <code>queueCapacity</code> more waiting. When virtual
+     * threads are available and enabled, every accepted command runs on its own virtual thread instead, still limited to <code>threads + queueCapacity</code>.
+     *
+     * @param plugin the JavaPlugin used to schedule tasks back onto the main thread
+     * @param threads the amount of platform threads running async commands
+     * @param queueCapacity the amount of async commands that may wait for a thread
+     * @param useVirtualThreads whether to run async commands on virtual threads, where the server's Java version supports them
+     */
+    public CommandScheduler(final JavaPlugin plugin, int threads, int queueCapacity, boolean useVirtualThreads) {
+        this.plugin = plugin;
+        this.permits = new Semaphore(Math.max(1, threads) + Math.max(0, queueCapacity));
+        this.latencies = new ConcurrentHashMap<>();
+        ExecutorService virtual = useVirtualThreads ? createVirtualExecutor() : null;
+        this.virtualThreads = virtual != null;
+        if(virtual != null) {
+            this.executor = virtual;
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+                Thread thread = new Thread(runnable, plugin.getName() + "-Command-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Run a command on the executor, recording its latency.
+     * <br><br>
+     * If this is called off the main thread, such as by a command that is already running async, the command is run immediately on the current thread.
+     *
+     * @param key the name the latency is recorded under
+     * @param command the command to run
+     * @return false if the executor is full and the command was rejected, true otherwise
+     */
+    public boolean submit(String key, Runnable command) {
+        if(!Bukkit.isPrimaryThread()) {
+            time(key, command);
+            return true;
+        }
+        if(!permits.tryAcquire()) {
+            Metrics.count(Metrics.COMMANDS_REJECTED);
+            return false;
+        }
+        long queued = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                try {
+                    command.run();
+                } catch(Throwable t) {
+                    plugin.getLogger().log(Level.SEVERE, "Unhandled exception while running the async command " + key, t);
+                } finally {
+                    permits.release();
+                    record(key, System.nanoTime() - queued);
+                }
+            });
+        } catch(RejectedExecutionException e) {
+            permits.release();
+            Metrics.count(Metrics.COMMANDS_REJECTED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Run a command on the current thread, recording its latency.
+     * @param key the name the latency is recorded under
+     * @param command the command to run
+     */
+    public void time(String key, Runnable command) {
+        long start = System.nanoTime();
+        try {
+            command.run();
+        } finally {
+            record(key, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Run a task on the main thread and retrieve its result, such as a call to the Bukkit API from an async command.
+     * <br><br>
+     * If this is called on the main thread, the task is run immediately. Otherwise, it is run on the next tick and the returned future is completed
+     * once it has finished. Async commands may wait for the result with {@link CompletableFuture#join()}, but the main thread never should.
+     *
+     * @param task the task to run
+     * @param <T> the type of the result
+     * @return future completed with the result of the task, or exceptionally if it threw
+     */
+    public <T> CompletableFuture<T> callSync(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable run = () -> {
+            try {
+                future.complete(task.call());
+            } catch(Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+        if(Bukkit.isPrimaryThread()) run.run();
+        else if(!plugin.isEnabled()) future.completeExceptionally(new IllegalStateException(plugin.getName() + " is disabled, the task cannot be scheduled."));
+        else Bukkit.getScheduler().runTask(plugin, run);
+        return future;
+    }
+
+    /**
+     * Run a task on the main thread, see {@link #callSync(Callable)}.
+     * @param task the task to run
+     * @return future completed once the task has finished
+     */
+    public CompletableFuture<Void> runSync(Runnable task) {
+        return callSync(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Stop accepting async commands, and wait up to 5 seconds for running commands to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(5, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch(InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Check whether async commands run on virtual threads.
+     * @return true if virtual threads are used
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Retrieve the recorded latency of every command that has been run, keyed by command.
+     * <br><br>
+     * Top-level commands are keyed by their name, and subcommands by their identifier (e.g. <code>jcore-checkupdate</code>).
+     *
+     * @return unmodifiable map of command to latency
+     */
+    public Map<String, Latency> getLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    /**
+     * Record the latency of a command that was run on the current thread, such as a synchronous command timed without a closure.
+     * @param key the name the latency is recorded under
+     * @param nanos the time the command took, in nanoseconds
+     */
+    public void record(String key, long nanos) {
+        latencies.computeIfAbsent(key, Latency::new).record(nanos);
+    }
+
+    private static ExecutorService createVirtualExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch(ReflectiveOperationException | LinkageError e) {
+            // virtual threads are not available on this Java version
+            return null;
+        }
+    }
+
+    public static final class Latency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final Histogram histogram;
+
+        private Latency(String key) {
+            this.histogram = Metrics.commandDuration(key);
+        }
+
+        private void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+            Metrics.record(histogram, nanos);
+        }
+
+        /**
+         * Retrieve the amount of times the command has been run.
+         * @return amount of runs
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Retrieve the average time the command took, including any time spent waiting for a thread.
+         * @return average latency, in milliseconds
+         */
+        public double getAverageMillis() {
+            long runs = count.sum();
+            return runs == 0 ? 0 : total.sum() / (double) runs / 1_000_000;
+        }
+
+        /**
+         * Retrieve the longest time the command took, including any time spent waiting for a thread.
+         * @return maximum latency, in milliseconds
+         */
+        public double getMaxMillis() {
+            return max.get() / 1_000_000.0;
+        }
+    }
+}
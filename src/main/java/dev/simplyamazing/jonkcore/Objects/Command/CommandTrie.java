@@ -0,0 +1,105 @@
+package dev.simplyamazing.jonkcore.Objects.Command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+public class CommandTrie<T> {
+    private final Node<T> root;
+
+    /**
+     * Initialise a new, empty CommandTrie.
+     */
+    public CommandTrie() {
+        this.root = new Node<>();
+    }
+
+    /**
+     * Insert a new keyword into the trie.
+     * <br><br>
+     * Keywords are case-insensitive. Inserting a keyword that already exists will replace its value.
+     *
+     * @param keyword the keyword
+     * @param value the value associated with the keyword
+     */
+    public void insert(String keyword, T value) {
+        Node<T> node = root;
+        String folded = keyword.toLowerCase(Locale.ROOT);
+        for(int i = 0; i < folded.length(); i++) {
+            node = node.children.computeIfAbsent(folded.charAt(i), k -> new Node<>());
+        }
+        node.keyword = keyword;
+        node.value = value;
+    }
+
+    /**
+     * Remove a keyword from the trie.
+     * @param keyword the keyword
+     */
+    public void remove(String keyword) {
+        Node<T> node = find(keyword);
+        if(node == null) return;
+        node.keyword = null;
+        node.value = null;
+    }
+
+    /**
+     * Remove all keywords from the trie.
+     */
+    public void clear() {
+        root.children.clear();
+        root.keyword = null;
+        root.value = null;
+    }
+
+    /**
+     * Retrieve all keywords starting with a prefix, in alphabetical order.
+     * <br><br>
+     * The prefix is case-insensitive, and the keywords are returned as they were inserted.
+     *
+     * @param prefix the prefix to search for
+     * @return list of matching keywords
+     */
+    public List<String> complete(String prefix) {
+        List<String> keywords = new ArrayList<>();
+        collect(find(prefix), keywords, null);
+        return keywords;
+    }
+
+    /**
+     * Retrieve the values of all keywords starting with a prefix, in alphabetical order of their keywords.
+     * @param prefix the prefix to search for
+     * @return list of matching values
+     */
+    public List<T> completeValues(String prefix) {
+        List<T> values = new ArrayList<>();
+        collect(find(prefix), null, values);
+        return values;
+    }
+
+    private Node<T> find(String prefix) {
+        Node<T> node = root;
+        for(int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(Character.toLowerCase(prefix.charAt(i)));
+        }
+        return node;
+    }
+
+    private void collect(Node<T> node, List<String> keywords, List<T> values) {
+        if(node == null) return;
+        if(node.keyword != null) {
+            if(keywords != null) keywords.add(node.keyword);
+            if(values != null) values.add(node.value);
+        }
+        for(Node<T> child : node.children.values()) {
+            collect(child, keywords, values);
+        }
+    }
+
+    private static final class Node<T> {
+        private final TreeMap<Character, Node<T>> children = new TreeMap<>();
+        private String keyword;
+        private T value;
+    }
+}
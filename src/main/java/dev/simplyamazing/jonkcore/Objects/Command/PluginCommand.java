@@ -48,13 +48,13 @@ public abstract class PluginCommand extends PluginObject implements ICommand, Co
         User user = User.fetch(sender);
         if(sender instanceof org.bukkit.entity.Player) {
             if(permission == null || user.hasPermission(permission)) {
-                execute(user, args);
+                dispatch(user, args);
             } else {
                 user.sendMessage("&cYou do not have permission to use this command!");
             }
         } else {
             if(canNonPlayerUse) {
-                execute(user, args);
+                dispatch(user, args);
             } else {
                 user.sendMessage("&cYou must be a player to use this command!");
             }
@@ -62,6 +62,29 @@ public abstract class PluginCommand extends PluginObject implements ICommand, Co
         return true;
     }
 
+    /**
+     * Execute the command on the main thread, or on the CommandScheduler if it is async, recording its latency.
+     * @param user command sender
+     * @param args command arguments
+     */
+    private void dispatch(User user, String[] args) {
+        CommandScheduler scheduler = JonkCORE.getInstance().getCommandScheduler();
+        if(!isAsync()) {
+            // run in place, so synchronous commands allocate no cursor or closure
+            long start = System.nanoTime();
+            try {
+                execute(user, args);
+            } finally {
+                scheduler.record(cmd, System.nanoTime() - start);
+            }
+            return;
+        }
+        ArgumentCursor cursor = new ArgumentCursor(args);
+        if(!scheduler.submit(cmd, () -> execute(user, cursor))) {
+            user.sendMessage("&cThe server is too busy to run this command right now, please try again shortly.");
+        }
+    }
+
     /**
      * Bukkit tab completer.
      * @param sender command sender
@@ -1,5 +1,6 @@
 package dev.simplyamazing.jonkcore.Objects.Command;
 
+import dev.simplyamazing.jonkcore.JonkCORE;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IChildCommand;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IParentCommand;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
@@ -10,7 +11,9 @@ import java.util.List;
 
 public abstract class PluginCommandGroup extends PluginCommand implements IParentCommand {
     // list of registered subcommands
-    protected List<PluginSubCommand> subCommands;
+    protected List<PluginSubCommand<?>> subCommands;
+    // compiled dispatch tree, rebuilt lazily after subcommands change
+    private volatile CommandNode dispatchTree;
 
     /**
      * Initialise a new group command.
@@ -27,11 +30,46 @@ public abstract class PluginCommandGroup extends PluginCommand implements IParen
 
     /**
      * Register a new subcommand.
+     * <br><br>
+     * The subcommand will be reachable through its name and any of its aliases, regardless of case.
+     * If the subcommand is nested beneath another subcommand, it is registered beneath that subcommand instead of the group.
+     *
      * @param psc the subcommand
      */
     public void newCommand(IChildCommand psc) {
-        if(!(psc instanceof PluginSubCommand)) throw new IllegalArgumentException("Provided ChildCommand is a differing implementation than required (Expected: " + PluginSubCommand.class.getName() + ", Provided: " + psc.getClass().getName() + ")");
-        subCommands.add((PluginSubCommand)psc);
+        if(!(psc instanceof PluginSubCommand<?> sub)) throw new IllegalArgumentException("Provided ChildCommand is a differing implementation than required (Expected: " + PluginSubCommand.class.getName() + ", Provided: " + psc.getClass().getName() + ")");
+        if(sub.getParentCommand() == null) subCommands.add(sub);
+        else sub.attachToParent();
+        this.dispatchTree = null;
+    }
+
+    /**
+     * Unregister all subcommands.
+     */
+    public void clearCommands() {
+        subCommands.clear();
+        this.dispatchTree = null;
+    }
+
+    /**
+     * Retrieve a top-level subcommand from its name or one of its aliases.
+     * @param trigger the name or alias, case-insensitive
+     * @return the subcommand, or null if none match
+     */
+    public PluginSubCommand<?> getSubCommand(String trigger) {
+        CommandNode node = getDispatchTree().getChild(trigger);
+        return node == null ? null : node.getCommand();
+    }
+
+    /**
+     * Retrieve a subcommand at any depth from the path of names or aliases leading to it.
+     * @param path the names or aliases, case-insensitive
+     * @return the subcommand, or null if the path does not lead to one
+     */
+    public PluginSubCommand<?> getSubCommand(String... path) {
+        ArgumentCursor cursor = new ArgumentCursor(path);
+        CommandNode node = getDispatchTree().resolve(cursor, 0);
+        return cursor.isEmpty() ? node.getCommand() : null;
     }
 
     /**
@@ -42,16 +80,44 @@ public abstract class PluginCommandGroup extends PluginCommand implements IParen
      * @return whether the command was executed
      */
     public boolean executeSubCommand(String trigger, IUser sender, String[] args) {
-        PluginSubCommand sub = null;
-        for(PluginSubCommand psc : subCommands) {
-            if(psc.getName().equalsIgnoreCase(trigger)) {
-                sub = psc;
-                break;
+        return executeSubCommand(trigger, sender, new ArgumentCursor(args));
+    }
+
+    /**
+     * Execute a subcommand, passing the arguments down without copying them.
+     * @param trigger the command trigger keyword
+     * @param sender the User who executed the command
+     * @param args the cursor over the arguments, positioned at the trigger keyword
+     * @return whether the command was executed
+     */
+    public boolean executeSubCommand(String trigger, IUser sender, ArgumentCursor args) {
+        CommandNode root = getDispatchTree();
+        if(root.getChild(trigger) == null) return false;
+        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
+        CommandNode node = root.resolve(args, 0);
+        // step back onto the subcommand's name, which its entry point expects to skip
+        args.setPosition(args.getPosition() - 1);
+        if(!node.hasPermission(sender)) {
+            sender.sendMessage(node.getCommand().getPermissionMessage());
+            return true;
+        }
+        if(node.isPlayerOnly() && !sender.isPlayer()) {
+            sender.sendMessage("&cYou must be a player to use this command.");
+            return true;
+        }
+        PluginSubCommand<?> sub = node.getCommand();
+        CommandScheduler scheduler = JonkCORE.getInstance().getCommandScheduler();
+        String key = sub.getIdentifier().getString();
+        if(!sub.isAsync()) {
+            long start = System.nanoTime();
+            try {
+                node.execute(sender, args);
+            } finally {
+                scheduler.record(key, System.nanoTime() - start);
             }
+        } else if(!scheduler.submit(key, () -> node.execute(sender, args))) {
+            sender.sendMessage("&cThe server is too busy to run this command right now, please try again shortly.");
         }
-        if(sub == null) return false;
-        if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
-        sub.onCommand(sender, args);
         return true;
     }
 
@@ -63,15 +129,51 @@ public abstract class PluginCommandGroup extends PluginCommand implements IParen
      * @return the list of strings to display
      */
     public List<String> tabCompleteResponse(String trigger, IUser sender, String[] args) {
-        PluginSubCommand sub = null;
-        for(PluginSubCommand psc : subCommands) {
-            if(psc.getName().equalsIgnoreCase(trigger)) {
-                sub = psc;
-                break;
-            }
-        }
-        if(sub == null) return null;
+        return tabCompleteResponse(trigger, sender, new ArgumentCursor(args));
+    }
+
+    /**
+     * Get the tab complete response from a subcommand, passing the arguments down without copying them.
+     * <br><br>
+     * If the subcommand has nested subcommands, their names are completed before the subcommand's own tab-completion options.
+     *
+     * @param trigger the trigger argument for the subcommand
+     * @param sender the User who requested this info
+     * @param args the cursor over the current arguments, positioned at the trigger argument
+     * @return the list of strings to display
+     */
+    public List<String> tabCompleteResponse(String trigger, IUser sender, ArgumentCursor args) {
+        CommandNode root = getDispatchTree();
+        if(root.getChild(trigger) == null) return null;
         if(!(sender instanceof User)) throw new IllegalArgumentException("Provided User is a differing implementation than required (Expected: " + User.class.getName() + ", Provided: " + sender.getClass().getName() + ")");
-        return sub.onTabComplete(sender, args);
+        // leave the partially typed argument for the subcommand to complete
+        CommandNode node = root.resolve(args, 1);
+        if(node == root || !node.canUse(sender)) return null;
+        if(args.size() == 1 && node.hasChildren()) {
+            List<String> names = node.complete(sender, args.peek());
+            if(!names.isEmpty()) return names;
+        }
+        // step back onto the subcommand's name, which its entry point expects to skip
+        args.setPosition(args.getPosition() - 1);
+        return node.tabComplete(sender, args);
+    }
+
+    /**
+     * Get the names of all subcommands starting with a prefix, that the User is able to use.
+     * @param sender the User who requested this info
+     * @param prefix the partially typed subcommand name
+     * @return the list of subcommand names, in alphabetical order
+     */
+    public List<String> subCommandCompletions(IUser sender, String prefix) {
+        return getDispatchTree().complete(sender, prefix);
+    }
+
+    private CommandNode getDispatchTree() {
+        CommandNode tree = dispatchTree;
+        if(tree == null) {
+            tree = CommandNode.compile(subCommands);
+            this.dispatchTree = tree;
+        }
+        return tree;
     }
 }
@@ -6,7 +6,11 @@ import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
 import dev.simplyamazing.jonkcore.Objects.PluginObject;
 import dev.simplyamazing.jonkcore.Objects.User;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public abstract class PluginSubCommand<T extends PluginCommandGroup> extends PluginObject implements IChildCommand {
     protected final T group;
@@ -15,6 +19,11 @@ public abstract class PluginSubCommand<T extends PluginCommandGroup> extends Plu
     protected final String usage;
     protected final String requiredPermission;
     protected final boolean canNonPlayerUse;
+    protected final List<String> aliases;
+    protected final PluginSubCommand<T> parentCommand;
+    protected final List<PluginSubCommand<T>> children;
+    // nested subcommands keyed by case-folded name and aliases
+    private final Map<String, PluginSubCommand<T>> childLookup;
 
     /**
      * Initialise a new subcommand.
@@ -36,13 +45,53 @@ public abstract class PluginSubCommand<T extends PluginCommandGroup> extends Plu
      * @param canNonPlayerUse whether non-Player Users can execute this subcommand
      */
     public PluginSubCommand(T group, String triggerKeyword, String description, String usage, String requiredPerm, boolean canNonPlayerUse) {
-        super(new ID(group.getName() + "-" + triggerKeyword));
+        this(group, triggerKeyword, description, usage, requiredPerm, canNonPlayerUse, new String[0]);
+    }
+
+    /**
+     * Initialise a new subcommand with all custom values and aliases.
+     * @param group the group this subcommand belongs to
+     * @param triggerKeyword the trigger keyword
+     * @param description the description of the subcommand
+     * @param usage how to use the subcommand
+     * @param requiredPerm the required permission for the subcommand
+     * @param canNonPlayerUse whether non-Player Users can execute this subcommand
+     * @param aliases alternative trigger keywords
+     */
+    public PluginSubCommand(T group, String triggerKeyword, String description, String usage, String requiredPerm, boolean canNonPlayerUse, String... aliases) {
+        this(group, null, triggerKeyword, description, usage, requiredPerm, canNonPlayerUse, aliases);
+    }
+
+    /**
+     * Initialise a new subcommand nested beneath another subcommand, with all custom values and aliases.
+     * <br><br>
+     * For example, a subcommand "mute" nested beneath the subcommand "mod" of the group "chatroom" will be executed by typing "/chatroom mod mute".
+     * Nested subcommands may themselves have subcommands, to any depth.
+     *
+     * @param parent the subcommand this subcommand belongs to
+     * @param triggerKeyword the trigger keyword
+     * @param description the description of the subcommand
+     * @param usage how to use the subcommand
+     * @param requiredPerm the required permission for the subcommand, checked in addition to the permissions of its parents
+     * @param canNonPlayerUse whether non-Player Users can execute this subcommand
+     * @param aliases alternative trigger keywords
+     */
+    public PluginSubCommand(PluginSubCommand<T> parent, String triggerKeyword, String description, String usage, String requiredPerm, boolean canNonPlayerUse, String... aliases) {
+        this(parent.group, parent, triggerKeyword, description, usage, requiredPerm, canNonPlayerUse, aliases);
+    }
+
+    private PluginSubCommand(T group, PluginSubCommand<T> parent, String triggerKeyword, String description, String usage, String requiredPerm, boolean canNonPlayerUse, String[] aliases) {
+        super(new ID((parent == null ? group.getName() : parent.getIdentifier().getString()) + "-" + triggerKeyword));
         this.group = group;
+        this.parentCommand = parent;
+        this.children = new ArrayList<>();
+        this.childLookup = new HashMap<>();
         this.triggerKeyword = triggerKeyword;
         this.description = description;
         this.usage = usage;
         this.requiredPermission = requiredPerm;
         this.canNonPlayerUse = canNonPlayerUse;
+        this.aliases = List.of(aliases);
         group.newCommand(this);
     }
 
@@ -56,6 +105,21 @@ public abstract class PluginSubCommand<T extends PluginCommandGroup> extends Plu
      * @return whether the command was executed
      */
     public boolean onCommand(IUser sender, String[] args) {
+        return onCommand(sender, new ArgumentCursor(args));
+    }
+
+    /**
+     * Run this command with checks in-place, from an ArgumentCursor positioned at the command name.
+     * <br><br>
+     * The cursor is moved past the command name before being passed to {@link #execute(IUser, ArgumentCursor)}, so no arguments are copied.
+     * If the next argument matches a nested subcommand, the cursor is passed on to that subcommand instead.
+     *
+     * @param sender the user who executed the command
+     * @param args the cursor over the arguments passed to the command
+     * @return whether the command was executed
+     */
+    @Override
+    public boolean onCommand(IUser sender, ArgumentCursor args) {
         if(requiredPermission != null && !sender.hasPermission(requiredPermission)) {
             sender.sendMessage("&cYou do not have permission to use this command.");
             return true;
@@ -66,10 +130,23 @@ public abstract class PluginSubCommand<T extends PluginCommandGroup> extends Plu
             return true;
         }
 
-        String[] arguments = new String[args.length-1];
-        System.arraycopy(args, 1, arguments, 0, args.length-1);
+        return dispatch(sender, args);
+    }
 
-        execute(sender, arguments);
+    /**
+     * Run this command without checks, from an ArgumentCursor positioned at the command name.
+     * <br><br>
+     * The group has already checked the permissions of this command and its parents when it resolved it, so they are not checked again.
+     *
+     * @param sender the user who executed the command
+     * @param args the cursor over the arguments passed to the command
+     * @return whether the command was executed
+     */
+    boolean dispatch(IUser sender, ArgumentCursor args) {
+        args.advance(1);
+        PluginSubCommand<T> child = getChild(args.peek());
+        if(child != null) return child.onCommand(sender, args);
+        execute(sender, args);
         return false;
     }
 
@@ -81,6 +158,18 @@ public abstract class PluginSubCommand<T extends PluginCommandGroup> extends Plu
      * @return the tab-completion options
      */
     public List<String> onTabComplete(IUser sender, String[] args) {
+        return onTabComplete(sender, new ArgumentCursor(args));
+    }
+
+    /**
+     * Retrieve tab-completion options for the command with checks, from an ArgumentCursor positioned at the command name.
+     *
+     * @param sender the user who requested the tab-completion
+     * @param args the cursor over the arguments passed to the command
+     * @return the tab-completion options
+     */
+    @Override
+    public List<String> onTabComplete(IUser sender, ArgumentCursor args) {
         if(requiredPermission != null && !sender.hasPermission(requiredPermission)) {
             return null;
         }
@@ -89,10 +178,23 @@ public abstract class PluginSubCommand<T extends PluginCommandGroup> extends Plu
             return null;
         }
 
-        String[] arguments = new String[args.length-1];
-        System.arraycopy(args, 1, arguments, 0, args.length-1);
+        return dispatchTabComplete(sender, args);
+    }
 
-        return tabComplete(sender, arguments);
+    /**
+     * Retrieve tab-completion options for the command without checks, from an ArgumentCursor positioned at the command name.
+     *
+     * @param sender the user who requested the tab-completion
+     * @param args the cursor over the arguments passed to the command
+     * @return the tab-completion options
+     */
+    List<String> dispatchTabComplete(IUser sender, ArgumentCursor args) {
+        args.advance(1);
+        if(args.size() > 1) {
+            PluginSubCommand<T> child = getChild(args.peek());
+            if(child != null) return child.onTabComplete(sender, args);
+        }
+        return tabComplete(sender, args);
     }
 
     /**
@@ -104,6 +206,56 @@ public abstract class PluginSubCommand<T extends PluginCommandGroup> extends Plu
         return group;
     }
 
+    /**
+     * Get the subcommand this subcommand is nested beneath.
+     *
+     * @return the parent subcommand, or null if this subcommand belongs directly to the group
+     */
+    public PluginSubCommand<T> getParentCommand() {
+        return parentCommand;
+    }
+
+    /**
+     * Get the subcommands nested beneath this subcommand.
+     *
+     * @return list of nested subcommands
+     */
+    public List<PluginSubCommand<T>> getChildren() {
+        return children;
+    }
+
+    /**
+     * Retrieve a subcommand nested directly beneath this subcommand from its name or one of its aliases.
+     * <br><br>
+     * This is only used when the subcommand is run manually, the group resolves nested subcommands through its compiled dispatch tree.
+     *
+     * @param trigger the name or alias, case-insensitive
+     * @return the nested subcommand, or null if none match
+     */
+    public PluginSubCommand<T> getChild(String trigger) {
+        if(trigger == null) return null;
+        return childLookup.get(trigger.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Nest this subcommand beneath the subcommand it was created under, which shares its group type.
+     */
+    void attachToParent() {
+        parentCommand.addChild(this);
+    }
+
+    /**
+     * Nest a subcommand directly beneath this subcommand, reachable through its name and any of its aliases.
+     * @param child the nested subcommand
+     */
+    void addChild(PluginSubCommand<T> child) {
+        children.add(child);
+        childLookup.put(child.getName().toLowerCase(Locale.ROOT), child);
+        for(String alias : child.aliases) {
+            childLookup.putIfAbsent(alias.toLowerCase(Locale.ROOT), child);
+        }
+    }
+
     /**
      * Retrieve the command name.
      * <br><br>
@@ -119,6 +271,18 @@ public abstract class PluginSubCommand<T extends PluginCommandGroup> extends Plu
         return triggerKeyword;
     }
 
+    /**
+     * Retrieve the alternative names of the command.
+     * <br><br>
+     * Aliases execute the sub-command the same as its name, but are not suggested in tab-completion.
+     *
+     * @return list of aliases
+     */
+    @Override
+    public List<String> getAliases() {
+        return aliases;
+    }
+
     /**
      * Retrieve the command description.
      * <br><br>
@@ -0,0 +1,217 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+public class ConversionCache<T> {
+    private final int maxSize;
+    private final Map<SourceKey, Entry<T>> entries;
+    private final Consumer<T> onEvict;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * Initialise a new ConversionCache.
+     * @param maxSize the maximum amount of conversions to hold before the least recently used is evicted
+     * @param onEvict called with each converted object as it leaves the cache, or null if nothing needs to be released
+     */
+    public ConversionCache(int maxSize, Consumer<T> onEvict) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.onEvict = onEvict;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Retrieve a previously converted object for a source.
+     * <br><br>
+     * Sources are matched by identity rather than equality, and the cached object is only returned if the source has not been modified since it was converted.
+     * A source with a negative modification count does not track its changes, and as such will never produce a hit.
+     *
+     * @param source the object that was converted
+     * @param modificationCount the current modification count of the source
+     * @return the cached conversion, or null if there is no up-to-date conversion
+     */
+    public synchronized T get(Object source, long modificationCount) {
+        Entry<T> entry = entries.get(new SourceKey(source));
+        if(entry == null || modificationCount < 0 || entry.modificationCount != modificationCount) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Retrieve the converted object for a source regardless of whether the source has changed since.
+     * <br><br>
+     * This is useful for re-using the previously converted object when refreshing a stale conversion. It is not counted as a hit or miss.
+     *
+     * @param source the object that was converted
+     * @return the last conversion of the source, or null if it has not been converted
+     */
+    public synchronized T peek(Object source) {
+        Entry<T> entry = entries.get(new SourceKey(source));
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Store the converted object for a source.
+     * <br><br>
+     * Sources with a negative modification count are not stored.
+     * If the cache exceeds its maximum size, the least recently used conversion will be evicted.
+     *
+     * @param source the object that was converted
+     * @param modificationCount the modification count of the source at the time of conversion
+     * @param value the converted object
+     */
+    public synchronized void put(Object source, long modificationCount, T value) {
+        if(modificationCount < 0) return;
+        Entry<T> previous = entries.put(new SourceKey(source), new Entry<>(source, modificationCount, value));
+        if(previous != null && previous.value != value) evict(previous.value);
+        if(entries.size() > maxSize) {
+            Iterator<Entry<T>> it = entries.values().iterator();
+            evict(it.next().value);
+            it.remove();
+        }
+    }
+
+    /**
+     * Retrieve the up-to-date conversion of a source, converting and storing it in a single step if there is none.
+     * <br><br>
+     * The lookup, conversion and store happen under one lock, so two threads converting the same source can never both create a conversion.
+     * The converter is given the previous conversion of the source to refresh, or null if it has not been converted.
+     * <br><br>
+     * Unlike {@link #put(Object, long, Object)}, sources with a negative modification count are stored, so their previous conversion is
+     * refreshed rather than replaced, but they still never produce a hit.
+     *
+     * @param source the object to convert
+     * @param modificationCount the current modification count of the source
+     * @param converter converts the source, given its previous conversion or null
+     * @return the cached or newly converted object
+     */
+    public synchronized T compute(Object source, long modificationCount, UnaryOperator<T> converter) {
+        SourceKey key = new SourceKey(source);
+        Entry<T> entry = entries.get(key);
+        if(entry != null && modificationCount >= 0 && entry.modificationCount == modificationCount) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        T value = converter.apply(entry == null ? null : entry.value);
+        entries.put(key, new Entry<>(source, modificationCount, value));
+        if(entry != null && entry.value != value) evict(entry.value);
+        if(entries.size() > maxSize) {
+            Iterator<Entry<T>> it = entries.values().iterator();
+            evict(it.next().value);
+            it.remove();
+        }
+        return value;
+    }
+
+    /**
+     * Remove the conversion of a single source.
+     * @param source the object that was converted
+     */
+    public synchronized void invalidate(Object source) {
+        Entry<T> entry = entries.remove(new SourceKey(source));
+        if(entry != null) evict(entry.value);
+    }
+
+    /**
+     * Remove the conversions of all sources matching a condition.
+     * @param condition the condition the source must match to be removed
+     */
+    public synchronized void invalidateIf(Predicate<Object> condition) {
+        Iterator<Entry<T>> it = entries.values().iterator();
+        while(it.hasNext()) {
+            Entry<T> entry = it.next();
+            if(condition.test(entry.source)) {
+                evict(entry.value);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all conversions.
+     */
+    public synchronized void clear() {
+        entries.values().forEach(entry -> evict(entry.value));
+        entries.clear();
+    }
+
+    /**
+     * Retrieve the amount of conversions currently held.
+     * @return amount of held conversions
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieve the amount of lookups that returned a cached conversion.
+     * @return amount of cache hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieve the amount of lookups that did not return a cached conversion.
+     * @return amount of cache misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieve the ratio of hits to total lookups, between 0 and 1.
+     * @return the hit rate, or 0 if no lookups have been made
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private void evict(T value) {
+        if(onEvict != null) onEvict.accept(value);
+    }
+
+    private static final class SourceKey {
+        private final Object source;
+
+        private SourceKey(Object source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof SourceKey key && key.source == source;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(source);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final Object source;
+        private final long modificationCount;
+        private final T value;
+
+        private Entry(Object source, long modificationCount, T value) {
+            this.source = source;
+            this.modificationCount = modificationCount;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import dev.simplyamazing.jonkcore.Exceptions.ConversionException;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IConverter;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUserConverter;
+import org.bukkit.entity.Player;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ConverterRegistry {
+    private static final MethodHandle CONVERT;
+    private static final MethodHandle IDENTITY = MethodHandles.identity(Object.class);
+    private static final MethodHandle MISSING = MethodHandles.constant(Object.class, null);
+
+    static {
+        try {
+            CONVERT = MethodHandles.lookup().findVirtual(IConverter.class, "convert", MethodType.methodType(Object.class, Object.class));
+        } catch(NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final List<Registration> registrations;
+    private final Map<Class<?>, Map<Class<?>, MethodHandle>> linked;
+
+    /**
+     * Constructor for the ConverterRegistry object.
+     */
+    public ConverterRegistry() {
+        this.registrations = new CopyOnWriteArrayList<>();
+        this.linked = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Register a new converter between a source and target type.
+     * <br><br>
+     * This should be done by each sub-plugin when it is enabled. Registering a converter for a pair that has already been registered will replace it.
+     *
+     * @param plugin the sub-plugin that owns the converter
+     * @param source the type of object the converter accepts
+     * @param target the type of object the converter produces
+     * @param converter the converter
+     */
+    public <S, T> void register(IJonkPlugin plugin, Class<S> source, Class<T> target, IConverter<? super S, ? extends T> converter) {
+        registrations.removeIf(r -> r.source == source && r.target == target);
+        registrations.add(new Registration(plugin, source, target, CONVERT.bindTo(converter)));
+        linked.clear();
+    }
+
+    /**
+     * Register all conversions supported by a sub-plugin's UserConverter.
+     * <br><br>
+     * This registers a conversion to the target type from {@link IUser}, {@link Player} and {@link String} objects.
+     *
+     * @param plugin the sub-plugin that owns the converter
+     * @param target the sub-plugin's variant of the User object
+     * @param converter the sub-plugin's UserConverter
+     */
+    public <T extends IUser> void registerUserConverter(IJonkPlugin plugin, Class<T> target, IUserConverter converter) {
+        register(plugin, IUser.class, target, user -> target.cast(converter.convert(user)));
+        register(plugin, Player.class, target, p -> target.cast(converter.convert(p)));
+        register(plugin, String.class, target, name -> target.cast(converter.convert(name)));
+    }
+
+    /**
+     * Unregister all converters owned by a sub-plugin.
+     * <br><br>
+     * This should be done by each sub-plugin when it is disabled.
+     *
+     * @param plugin the sub-plugin that owns the converters
+     */
+    public void unregisterAll(IJonkPlugin plugin) {
+        if(registrations.removeIf(r -> r.plugin == plugin)) linked.clear();
+    }
+
+    /**
+     * Clear all registered converters.
+     */
+    public void clear() {
+        registrations.clear();
+        linked.clear();
+    }
+
+    /**
+     * Check whether a conversion between two types is possible.
+     *
+     * @param source the type of object to convert
+     * @param target the type of object to convert to
+     * @return true if a converter exists, or the source type is already an instance of the target type
+     */
+    public boolean canConvert(Class<?> source, Class<?> target) {
+        return resolve(source, target) != MISSING;
+    }
+
+    /**
+     * Convert an object to a target type.
+     * <br><br>
+     * The converter is resolved once per concrete source type and target type, then linked and re-used for every following conversion between the pair.
+     * Converters registered for a superclass or interface of the source type will be used if there is no converter registered for the exact type.
+     * <br><br>
+     * A {@link ConversionException} will be thrown if the object is null, no converter is registered for the pair, or the converter fails.
+     *
+     * @param object the object to convert
+     * @param target the type of object to convert to
+     * @return the converted object
+     * @throws ConversionException If the object cannot be converted.
+     */
+    public <T> T convert(Object object, Class<T> target) throws ConversionException {
+        if(object == null) throw new ConversionException("Cannot convert null object to " + target.getSimpleName() + " object.");
+        MethodHandle handle = resolve(object.getClass(), target);
+        if(handle == MISSING) throw new ConversionException("Cannot convert object of type " + object.getClass().getName() + " to " + target.getSimpleName() + " object.");
+        try {
+            return target.cast((Object)handle.invokeExact(object));
+        } catch(ConversionException | RuntimeException | Error e) {
+            throw e;
+        } catch(Throwable e) {
+            throw new ConversionException("Failed to convert object of type " + object.getClass().getName() + " to " + target.getSimpleName() + " object: " + e.getMessage());
+        }
+    }
+
+    private MethodHandle resolve(Class<?> source, Class<?> target) {
+        return linked.computeIfAbsent(source, k -> new ConcurrentHashMap<>()).computeIfAbsent(target, k -> link(source, target));
+    }
+
+    private MethodHandle link(Class<?> source, Class<?> target) {
+        if(target.isAssignableFrom(source)) return IDENTITY;
+        // walk the source type's hierarchy breadth-first, so the most specific converter wins
+        Deque<Class<?>> queue = new ArrayDeque<>(Collections.singletonList(source));
+        Set<Class<?>> visited = new HashSet<>();
+        while(!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if(!visited.add(type)) continue;
+            for(Registration r : registrations) {
+                if(r.source == type && target.isAssignableFrom(r.target)) return r.handle;
+            }
+            if(type.getSuperclass() != null) queue.add(type.getSuperclass());
+            queue.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        return MISSING;
+    }
+
+    private static final class Registration {
+        private final IJonkPlugin plugin;
+        private final Class<?> source;
+        private final Class<?> target;
+        private final MethodHandle handle;
+
+        private Registration(IJonkPlugin plugin, Class<?> source, Class<?> target, MethodHandle handle) {
+            this.plugin = plugin;
+            this.source = source;
+            this.target = target;
+            this.handle = handle;
+        }
+    }
+}
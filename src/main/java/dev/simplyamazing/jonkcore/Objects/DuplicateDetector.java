@@ -0,0 +1,239 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class DuplicateDetector {
+    public static final String BYPASS_PERMISSION = "jonkcore.duplicates.bypass";
+    // amount of hash functions in a signature, so similarity is estimated in steps of 1/16
+    private static final int HASHES = 16;
+    private static final int SHINGLE = 4;
+    private static final int SEED = 0x5DEECE6D;
+
+    private final double threshold;
+    private final int minLength;
+    private final int userWindow;
+    private final int roomWindow;
+    private final long windowNanos;
+    private final boolean drop;
+    private final Map<String, Window> rooms;
+    private final LongAdder dropped;
+    private final LongAdder flagged;
+
+    /**
+     * Constructor for the DuplicateDetector object.
+     * <br><br>
+     * Each message is reduced to a MinHash signature of the rolling hashes of its character shingles, once lowercased and stripped of colour codes,
+     * punctuation and repeated characters. Signatures are compared against fixed-size windows of the most recent signatures of the sender and of the ChatRoom,
+     * so small variations of a copy-pasted message are still detected, and the memory used does not grow with the amount of messages sent.
+     *
+     * @param threshold estimated similarity, between 0 and 1, above which a message is a duplicate
+     * @param minLength minimum length of a normalised message before it is checked, so short replies may be repeated
+     * @param userWindow amount of recent messages remembered for each sender
+     * @param roomWindow amount of recent messages remembered for each ChatRoom, or 0 to only compare messages from the same sender
+     * @param windowSeconds age in seconds after which a remembered message is forgotten
+     * @param drop true to drop duplicates, or false to only flag them
+     */
+    public DuplicateDetector(double threshold, int minLength, int userWindow, int roomWindow, int windowSeconds, boolean drop) {
+        this.threshold = Math.min(1, Math.max(0, threshold));
+        this.minLength = Math.max(1, minLength);
+        this.userWindow = Math.max(1, userWindow);
+        this.roomWindow = Math.max(0, roomWindow);
+        this.windowNanos = Math.max(1, windowSeconds) * 1_000_000_000L;
+        this.drop = drop;
+        this.rooms = new ConcurrentHashMap<>();
+        this.dropped = new LongAdder();
+        this.flagged = new LongAdder();
+    }
+
+    /**
+     * Create a DuplicateDetector from a config section.
+     * <br><br>
+     * <b>DEFAULT:</b> messages at least 80% similar to one of the sender's last 5 messages within 30 seconds are dropped. Messages are only compared
+     * with those of other senders in the same ChatRoom if a <code>room-window</code> is set.
+     *
+     * @param section the <code>duplicates</code> section of the config, or null to use the defaults
+     * @return DuplicateDetector object
+     */
+    public static DuplicateDetector fromConfig(ConfigurationSection section) {
+        if(section == null) return new DuplicateDetector(0.8, 8, 5, 0, 30, true);
+        return new DuplicateDetector(section.getDouble("threshold", 0.8), section.getInt("min-length", 8), section.getInt("user-window", 5),
+                section.getInt("room-window", 0), section.getInt("window-seconds", 30), !section.getString("action", "drop").equalsIgnoreCase("flag"));
+    }
+
+    /**
+     * Check whether a message is a near-duplicate of a recent message from its sender or in its ChatRoom, and remember it for future checks.
+     * <br><br>
+     * Duplicates are counted, and the sender's {@value #BYPASS_PERMISSION} permission is only checked once a message is found to be a duplicate.
+     * Dropped messages are not remembered, so a sender is not held back for repeating a message that nobody saw.
+     * <br><br>
+     * This may be called from any thread.
+     *
+     * @param sender User sending the message
+     * @param room ChatRoom the message is sent in
+     * @param message the unformatted message
+     * @return the result of the check
+     */
+    public Result check(IUser sender, ChatRoom room, String message) {
+        int[] signature = signature(message, minLength);
+        if(signature == null) return Result.UNIQUE;
+        long now = System.nanoTime();
+        Window userRecent = sender instanceof User user ? getWindow(user) : null;
+        Window roomRecent = roomWindow == 0 ? null : rooms.computeIfAbsent(room.getIdentifier().toString(), key -> new Window(roomWindow));
+        boolean duplicate = (userRecent != null && userRecent.contains(signature, now, windowNanos, threshold))
+                || (roomRecent != null && roomRecent.contains(signature, now, windowNanos, threshold));
+        Result result = duplicate && !sender.hasPermission(BYPASS_PERMISSION) ? (drop ? Result.DROPPED : Result.FLAGGED) : Result.UNIQUE;
+        if(result == Result.DROPPED) {
+            dropped.increment();
+            return result;
+        }
+        if(result == Result.FLAGGED) flagged.increment();
+        if(userRecent != null) userRecent.add(signature, now);
+        if(roomRecent != null) roomRecent.add(signature, now);
+        return result;
+    }
+
+    /**
+     * Get the amount of messages dropped as duplicates.
+     * @return amount of dropped messages
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Get the amount of messages flagged as duplicates, but still sent.
+     * @return amount of flagged messages
+     */
+    public long getFlaggedCount() {
+        return flagged.sum();
+    }
+
+    /**
+     * Estimate the similarity of two messages, between 0 and 1.
+     * <br><br>
+     * This is the share of the MinHash signatures of the messages that are equal, which estimates the Jaccard similarity of their character shingles.
+     *
+     * @param first the first message
+     * @param second the second message
+     * @return estimated similarity, or 0 if either message is too short to compare
+     */
+    public static double similarity(String first, String second) {
+        int[] a = signature(first, 1), b = signature(second, 1);
+        if(a == null || b == null) return 0;
+        return (double) matches(a, 0, b) / HASHES;
+    }
+
+    private Window getWindow(User user) {
+        Window window = user.duplicateWindow;
+        if(window == null) {
+            synchronized(user) {
+                window = user.duplicateWindow;
+                if(window == null) user.duplicateWindow = window = new Window(userWindow);
+            }
+        }
+        return window;
+    }
+
+    // the signature of a normalised message, or null if it is shorter than minLength
+    private static int[] signature(String message, int minLength) {
+        if(message == null) return null;
+        char[] text = new char[message.length()];
+        int length = 0;
+        for(int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if((c == '&' || c == '§') && i + 1 < message.length() && isColourCode(message.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            if(!Character.isLetterOrDigit(c)) continue;
+            c = Character.toLowerCase(c);
+            // "heeeey" and "hey" are the same message
+            if(length > 0 && text[length - 1] == c) continue;
+            text[length++] = c;
+        }
+        if(length < minLength) return null;
+
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingle = Math.min(SHINGLE, length);
+        // polynomial rolling hash of each shingle, removing the leading character as the next one is added
+        int power = 1;
+        for(int i = 1; i < shingle; i++) power *= 31;
+        int hash = 0;
+        for(int i = 0; i < length; i++) {
+            if(i >= shingle) hash -= text[i - shingle] * power;
+            hash = hash * 31 + text[i];
+            if(i < shingle - 1) continue;
+            // each hash function is derived from two base hashes, rather than mixing the shingle once per function
+            int value = mix(hash), step = mix(hash ^ SEED) | 1;
+            for(int j = 0; j < HASHES; j++) {
+                if(value < signature[j]) signature[j] = value;
+                value += step;
+            }
+        }
+        return signature;
+    }
+
+    private static int matches(int[] signatures, int offset, int[] signature) {
+        int matches = 0;
+        for(int i = 0; i < HASHES; i++) {
+            if(signatures[offset + i] == signature[i]) matches++;
+        }
+        return matches;
+    }
+
+    private static int mix(int value) {
+        value ^= value >>> 16;
+        value *= 0x85EBCA6B;
+        value ^= value >>> 13;
+        value *= 0xC2B2AE35;
+        return value ^ (value >>> 16);
+    }
+
+    private static boolean isColourCode(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'k' && c <= 'o') || c == 'r' || (c >= 'A' && c <= 'F') || (c >= 'K' && c <= 'O') || c == 'R';
+    }
+
+    /**
+     * The result of checking a message against a DuplicateDetector.
+     */
+    public enum Result {
+        UNIQUE,
+        FLAGGED,
+        DROPPED
+    }
+
+    // ring of the most recent signatures, stored in one flat array
+    static final class Window {
+        private final int[] signatures;
+        private final long[] times;
+        private int next;
+
+        private Window(int size) {
+            this.signatures = new int[size * HASHES];
+            this.times = new long[size];
+            Arrays.fill(times, Long.MIN_VALUE);
+        }
+
+        private synchronized boolean contains(int[] signature, long now, long windowNanos, double threshold) {
+            int required = (int) Math.ceil(threshold * HASHES);
+            for(int i = 0; i < times.length; i++) {
+                if(times[i] == Long.MIN_VALUE || now - times[i] > windowNanos) continue;
+                if(matches(signatures, i * HASHES, signature) >= required) return true;
+            }
+            return false;
+        }
+
+        private synchronized void add(int[] signature, long now) {
+            System.arraycopy(signature, 0, signatures, next * HASHES, HASHES);
+            times[next] = now;
+            next = (next + 1) % times.length;
+        }
+    }
+}
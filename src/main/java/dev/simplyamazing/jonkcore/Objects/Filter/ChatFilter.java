@@ -0,0 +1,284 @@
+package dev.simplyamazing.jonkcore.Objects.Filter;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ChatFilter {
+    public static final String BYPASS_PERMISSION = "jonkcore.filter.bypass";
+    private static final byte BLOCK = 1;
+    private static final byte INSIDE_WORDS = 2;
+
+    private volatile Snapshot snapshot;
+    private final LongAdder censored;
+    private final LongAdder blocked;
+
+    /**
+     * Constructor for the ChatFilter object, which filters nothing until it is given filter sets with {@link #update(Collection, Map, List)}.
+     */
+    public ChatFilter() {
+        this.snapshot = new Snapshot(Collections.emptyMap(), FilterAutomaton.EMPTY, 0);
+        this.censored = new LongAdder();
+        this.blocked = new LongAdder();
+    }
+
+    /**
+     * Replace the filter sets of every ChatRoom.
+     * <br><br>
+     * The patterns of each combination of filter sets are compiled into a single automaton, and every automaton is then swapped in at once;
+     * messages filtered while this runs use the previous filter sets. This may be called from any thread, and should be called off the main thread
+     * when there are many patterns.
+     *
+     * @param sets every filter set
+     * @param roomSets names of the filter sets of each ChatRoom, by ChatRoom name
+     * @param defaultSets names of the filter sets of every ChatRoom not in <code>roomSets</code>
+     */
+    public void update(Collection<FilterSet> sets, Map<String, List<String>> roomSets, List<String> defaultSets) {
+        Map<String, FilterSet> byName = new HashMap<>();
+        for(FilterSet set : sets) byName.put(set.getName().toLowerCase(Locale.ROOT), set);
+        // ChatRooms sharing the same filter sets share an automaton
+        Map<List<String>, FilterAutomaton> compiled = new HashMap<>();
+        Map<String, FilterAutomaton> rooms = new HashMap<>();
+        for(Map.Entry<String, List<String>> entry : roomSets.entrySet()) {
+            rooms.put(entry.getKey().toLowerCase(Locale.ROOT), compiled.computeIfAbsent(normaliseNames(entry.getValue()), names -> compile(byName, names)));
+        }
+        FilterAutomaton fallback = compiled.computeIfAbsent(normaliseNames(defaultSets), names -> compile(byName, names));
+        int patterns = 0;
+        for(FilterSet set : sets) patterns += set.getPatterns().size();
+        this.snapshot = new Snapshot(rooms, fallback, patterns);
+    }
+
+    /**
+     * Replace the filter sets of every ChatRoom from a config section, see {@link #update(Collection, Map, List)}.
+     * <br><br>
+     * Each set under <code>sets</code> has an <code>action</code> (<code>censor</code> or <code>block</code>), whether it should <code>match-inside-words</code>,
+     * and its <code>patterns</code>, along with an optional <code>file</code> in <code>dataFolder</code> of further patterns, one per line.
+     * The sets of each ChatRoom are listed under <code>rooms</code>, and every other ChatRoom uses <code>default-sets</code>.
+     *
+     * @param section the <code>filter</code> section of the config
+     * @param dataFolder the folder pattern files are read from
+     * @throws IOException if a pattern file could not be read
+     */
+    public void load(ConfigurationSection section, File dataFolder) throws IOException {
+        List<FilterSet> sets = new ArrayList<>();
+        ConfigurationSection setSection = section.getConfigurationSection("sets");
+        if(setSection != null) {
+            for(String name : setSection.getKeys(false)) {
+                ConfigurationSection set = setSection.getConfigurationSection(name);
+                if(set == null) continue;
+                List<String> patterns = new ArrayList<>(set.getStringList("patterns"));
+                String file = set.getString("file", "");
+                if(file != null && !file.isEmpty()) {
+                    for(String line : Files.readAllLines(new File(dataFolder, file).toPath(), StandardCharsets.UTF_8)) {
+                        if(!line.isBlank() && !line.startsWith("#")) patterns.add(line);
+                    }
+                }
+                sets.add(new FilterSet(name, patterns, set.getString("action", "censor").equalsIgnoreCase("block"), set.getBoolean("match-inside-words", false)));
+            }
+        }
+        Map<String, List<String>> roomSets = new HashMap<>();
+        ConfigurationSection roomSection = section.getConfigurationSection("rooms");
+        if(roomSection != null) {
+            for(String room : roomSection.getKeys(false)) roomSets.put(room, roomSection.getStringList(room));
+        }
+        update(sets, roomSets, section.getStringList("default-sets"));
+    }
+
+    /**
+     * Filter a message sent by a User in a ChatRoom.
+     * <br><br>
+     * The message is normalised and matched against every pattern of the ChatRoom's filter sets in a single pass, taking time linear in the length
+     * of the message. Matches of censoring sets are replaced with asterisks, while a match of a blocking set rejects the message. Matches are counted,
+     * and the sender's {@value #BYPASS_PERMISSION} permission is only checked once a message matches.
+     * <br><br>
+     * This may be called from any thread.
+     *
+     * @param sender User sending the message
+     * @param room name of the ChatRoom the message is sent in
+     * @param message the unformatted message
+     * @return the filtered message, the same message if nothing matched, or null if the message is blocked
+     */
+    public String filter(IUser sender, String room, String message) {
+        Snapshot current = snapshot;
+        FilterAutomaton automaton = current.rooms.getOrDefault(room.toLowerCase(Locale.ROOT), current.fallback);
+        if(automaton.getPatternCount() == 0) return message;
+        String filtered = apply(automaton, message);
+        if(filtered == message || sender.hasPermission(BYPASS_PERMISSION)) return message;
+        (filtered == null ? blocked : censored).increment();
+        return filtered;
+    }
+
+    /**
+     * Get the amount of patterns across every filter set.
+     * @return amount of patterns
+     */
+    public int getPatternCount() {
+        return snapshot.patterns;
+    }
+
+    /**
+     * Get the amount of messages censored.
+     * @return amount of censored messages
+     */
+    public long getCensoredCount() {
+        return censored.sum();
+    }
+
+    /**
+     * Get the amount of messages blocked.
+     * @return amount of blocked messages
+     */
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    // normalises and matches the message in one pass, then censors or blocks the matches once their word boundaries are known
+    private static String apply(FilterAutomaton automaton, String message) {
+        int length = message.length();
+        char[] normalised = new char[length];
+        // whether each normalised character ends a word, being whitespace or a symbol used as a letter, such as the ! in "sh!t" or "hi!"
+        boolean[] boundaries = new boolean[length];
+        // the range of the message each normalised character came from, including skipped and repeated characters after it
+        int[] starts = new int[length];
+        int[] ends = new int[length];
+        // how many times each normalised character was repeated, only known once the message has been read
+        int[] runs = new int[length];
+        // the first normalised character, last normalised character and pattern of each match
+        int[] matches = null;
+        int count = 0, matchCount = 0, state = 0;
+        for(int i = 0; i < length; i++) {
+            if(FilterNormaliser.isColourCode(message, i)) {
+                i++;
+                continue;
+            }
+            char c = FilterNormaliser.fold(message.charAt(i));
+            if(c == FilterNormaliser.SKIP || (count > 0 && normalised[count - 1] == c)) {
+                if(count > 0 && c != FilterNormaliser.SPACE) {
+                    ends[count - 1] = i;
+                    if(c != FilterNormaliser.SKIP) runs[count - 1]++;
+                }
+                continue;
+            }
+            normalised[count] = c;
+            boundaries[count] = c == FilterNormaliser.SPACE || !Character.isLetterOrDigit(message.charAt(i));
+            starts[count] = i;
+            ends[count] = i;
+            runs[count] = 1;
+            count++;
+            state = automaton.step(state, c);
+            for(int match = automaton.firstMatch(state); match >= 0; match = automaton.nextMatch(match)) {
+                for(int pattern = automaton.getPattern(match); pattern >= 0; pattern = automaton.nextPattern(pattern)) {
+                    if(matches == null) matches = new int[12];
+                    else if(matchCount * 3 == matches.length) matches = Arrays.copyOf(matches, matches.length * 2);
+                    matches[matchCount * 3] = count - automaton.getLength(pattern);
+                    matches[matchCount * 3 + 1] = count - 1;
+                    matches[matchCount * 3 + 2] = pattern;
+                    matchCount++;
+                }
+            }
+        }
+        if(matchCount == 0) return message;
+
+        char[] result = null;
+        for(int m = 0; m < matchCount; m++) {
+            int start = matches[m * 3], end = matches[m * 3 + 1], pattern = matches[m * 3 + 2], flags = automaton.getFlags(pattern);
+            if(!automaton.matchesRuns(pattern, runs, start)) continue;
+            if((flags & INSIDE_WORDS) == 0) {
+                if(start > 0 && !boundaries[start - 1]) continue;
+                if(end < count - 1 && !boundaries[end + 1]) continue;
+            }
+            if((flags & BLOCK) != 0) return null;
+            if(result == null) result = message.toCharArray();
+            for(int i = starts[start]; i <= ends[end]; i++) {
+                if(!Character.isWhitespace(result[i])) result[i] = '*';
+            }
+        }
+        return result == null ? message : new String(result);
+    }
+
+    private static List<String> normaliseNames(List<String> names) {
+        List<String> normalised = new ArrayList<>(names.size());
+        for(String name : names) normalised.add(name.toLowerCase(Locale.ROOT));
+        Collections.sort(normalised);
+        return normalised;
+    }
+
+    private static FilterAutomaton compile(Map<String, FilterSet> byName, List<String> names) {
+        List<String> patterns = new ArrayList<>();
+        List<int[]> runs = new ArrayList<>();
+        ByteArrayOutputStream flags = new ByteArrayOutputStream();
+        for(String name : names) {
+            FilterSet set = byName.get(name);
+            if(set == null) continue;
+            byte setFlags = (byte) ((set.isBlocking() ? BLOCK : 0) | (set.isMatchingInsideWords() ? INSIDE_WORDS : 0));
+            for(String pattern : set.getPatterns()) {
+                String normalised = FilterNormaliser.normalise(pattern);
+                if(normalised.isEmpty()) continue;
+                patterns.add(normalised);
+                // repeated characters are kept as runs rather than collapsed away, so "ass" does not censor "as"
+                runs.add(FilterNormaliser.runLengths(pattern));
+                flags.write(setFlags);
+            }
+        }
+        return FilterAutomaton.compile(patterns, runs.toArray(new int[0][]), flags.toByteArray());
+    }
+
+    /**
+     * A named set of patterns, either censored or blocked.
+     */
+    public static final class FilterSet {
+        private final String name;
+        private final List<String> patterns;
+        private final boolean blocking;
+        private final boolean matchingInsideWords;
+
+        /**
+         * Constructor for the FilterSet object.
+         * @param name name of the set
+         * @param patterns words or phrases to filter
+         * @param blocking true to reject messages matching a pattern, or false to censor the matches
+         * @param matchingInsideWords true to also match patterns inside longer words
+         */
+        public FilterSet(String name, List<String> patterns, boolean blocking, boolean matchingInsideWords) {
+            this.name = name;
+            this.patterns = List.copyOf(patterns);
+            this.blocking = blocking;
+            this.matchingInsideWords = matchingInsideWords;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+
+        public boolean isBlocking() {
+            return blocking;
+        }
+
+        public boolean isMatchingInsideWords() {
+            return matchingInsideWords;
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<String, FilterAutomaton> rooms;
+        private final FilterAutomaton fallback;
+        private final int patterns;
+
+        private Snapshot(Map<String, FilterAutomaton> rooms, FilterAutomaton fallback, int patterns) {
+            this.rooms = rooms;
+            this.fallback = fallback;
+            this.patterns = patterns;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.simplyamazing.jonkcore.Objects.Filter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An Aho-Corasick automaton matching many normalised patterns in a single pass over a message.
+ * <br><br>
+ * Failure links are folded into a complete transition table when the automaton is compiled, so each character of a message costs one table lookup
+ * regardless of how many patterns there are. The automaton is immutable, and may be used by any amount of threads at once.
+ * <br><br>
+ * Patterns are matched with their repeated characters collapsed, as messages are. The length of each run a pattern was collapsed from is kept, so a match
+ * can then be checked against the runs of the message, see {@link #matchesRuns(int, int[], int)}.
+ */
+final class FilterAutomaton {
+    static final FilterAutomaton EMPTY = compile(List.of(), new int[0][], new byte[0]);
+
+    // maps folded characters to columns of the transition table; column 0 is every character not found in a pattern
+    private final byte[] asciiColumns;
+    private final char[] otherChars;
+    private final int[] otherColumns;
+    private final int width;
+    private final int[] transitions;
+    // the first pattern ending at each state, or -1
+    private final int[] patterns;
+    // the next pattern with the same characters as each pattern but different runs, or -1
+    private final int[] duplicates;
+    // the nearest state along the failure links that ends a pattern, or -1
+    private final int[] outputs;
+    private final int[] lengths;
+    private final int[][] runs;
+    private final byte[] flags;
+
+    private FilterAutomaton(byte[] asciiColumns, char[] otherChars, int[] otherColumns, int width, int[] transitions, int[] patterns, int[] duplicates, int[] outputs,
+                            int[] lengths, int[][] runs, byte[] flags) {
+        this.asciiColumns = asciiColumns;
+        this.otherChars = otherChars;
+        this.otherColumns = otherColumns;
+        this.width = width;
+        this.transitions = transitions;
+        this.patterns = patterns;
+        this.duplicates = duplicates;
+        this.outputs = outputs;
+        this.lengths = lengths;
+        this.runs = runs;
+        this.flags = flags;
+    }
+
+    /**
+     * Compile an automaton.
+     * @param normalised patterns, already normalised with {@link FilterNormaliser#normalise(String)}
+     * @param runs runs of each pattern, from {@link FilterNormaliser#runLengths(String)}
+     * @param flags flags of each pattern, returned with each match
+     * @return compiled automaton
+     */
+    static FilterAutomaton compile(List<String> normalised, int[][] runs, byte[] flags) {
+        // assign a column to each distinct character
+        byte[] asciiColumns = new byte[128];
+        StringBuilder other = new StringBuilder();
+        int width = 1, states = 1;
+        for(String pattern : normalised) {
+            states += pattern.length();
+            for(int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if(c < 128) {
+                    if(asciiColumns[c] == 0) asciiColumns[c] = (byte) width++;
+                } else if(other.indexOf(String.valueOf(c)) < 0) other.append(c);
+            }
+        }
+        char[] otherChars = other.toString().toCharArray();
+        Arrays.sort(otherChars);
+        int[] otherColumns = new int[otherChars.length];
+        for(int i = 0; i < otherChars.length; i++) otherColumns[i] = width++;
+
+        // build the trie
+        int[] transitions = new int[states * width];
+        Arrays.fill(transitions, -1);
+        int[] patterns = new int[states];
+        Arrays.fill(patterns, -1);
+        int[] lengths = new int[normalised.size()];
+        int[] duplicates = new int[normalised.size()];
+        Arrays.fill(duplicates, -1);
+        byte[] merged = flags.clone();
+        int used = 1;
+        for(int p = 0; p < normalised.size(); p++) {
+            String pattern = normalised.get(p);
+            lengths[p] = pattern.length();
+            if(pattern.isEmpty()) continue;
+            int state = 0;
+            for(int i = 0; i < pattern.length(); i++) {
+                int index = state * width + column(asciiColumns, otherChars, otherColumns, pattern.charAt(i));
+                if(transitions[index] < 0) transitions[index] = used++;
+                state = transitions[index];
+            }
+            if(patterns[state] < 0) {
+                patterns[state] = p;
+                continue;
+            }
+            // the same pattern in several filter sets matches with the flags of every set, while patterns only differing in runs are checked separately
+            int same = patterns[state];
+            while(!Arrays.equals(runs[same], runs[p]) && duplicates[same] >= 0) same = duplicates[same];
+            if(Arrays.equals(runs[same], runs[p])) merged[same] |= flags[p];
+            else duplicates[same] = p;
+        }
+
+        // breadth-first, replace missing transitions with those of the failure state, whose transitions are already complete
+        int[] failures = new int[used];
+        int[] outputs = new int[used];
+        Arrays.fill(outputs, -1);
+        int[] queue = new int[used];
+        int head = 0, tail = 0;
+        for(int c = 0; c < width; c++) {
+            int next = transitions[c];
+            if(next < 0) transitions[c] = 0;
+            else queue[tail++] = next;
+        }
+        while(head < tail) {
+            int state = queue[head++];
+            int failure = failures[state];
+            outputs[state] = patterns[failure] >= 0 ? failure : outputs[failure];
+            for(int c = 0; c < width; c++) {
+                int index = state * width + c;
+                int next = transitions[index];
+                if(next < 0) transitions[index] = transitions[failure * width + c];
+                else {
+                    failures[next] = transitions[failure * width + c];
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return new FilterAutomaton(asciiColumns, otherChars, otherColumns, width, Arrays.copyOf(transitions, used * width), Arrays.copyOf(patterns, used), duplicates, outputs,
+                lengths, runs.clone(), merged);
+    }
+
+    /**
+     * Follow the transition from a state for a folded character.
+     * @param state the current state, starting at 0
+     * @param c the folded character
+     * @return the next state
+     */
+    int step(int state, char c) {
+        return transitions[state * width + column(asciiColumns, otherChars, otherColumns, c)];
+    }
+
+    /**
+     * Get the first match ending at a state, or -1. Further matches ending at the state are found with {@link #nextMatch(int)}.
+     */
+    int firstMatch(int state) {
+        return patterns[state] >= 0 ? state : outputs[state];
+    }
+
+    /**
+     * Get the next match ending at the same position as a match from {@link #firstMatch(int)}, or -1.
+     */
+    int nextMatch(int match) {
+        return outputs[match];
+    }
+
+    /**
+     * Get the first pattern of a match. Further patterns with the same characters but different runs are found with {@link #nextPattern(int)}.
+     */
+    int getPattern(int match) {
+        return patterns[match];
+    }
+
+    /**
+     * Get the next pattern with the same characters as a pattern but different runs, or -1.
+     */
+    int nextPattern(int pattern) {
+        return duplicates[pattern];
+    }
+
+    int getLength(int pattern) {
+        return lengths[pattern];
+    }
+
+    byte getFlags(int pattern) {
+        return flags[pattern];
+    }
+
+    /**
+     * Check that every run of a message a pattern matched is at least as long as the run of the pattern it matched, so a single character
+     * of a pattern matches a run of the same character but <code>"ass"</code> does not match <code>"as"</code>.
+     * @param pattern the matched pattern
+     * @param messageRuns length of the run behind each normalised character of the message
+     * @param start index of the first normalised character of the match
+     * @return true if every run is long enough
+     */
+    boolean matchesRuns(int pattern, int[] messageRuns, int start) {
+        int[] required = runs[pattern];
+        if(required == null) return true;
+        for(int i = 0; i < required.length; i++) {
+            if(messageRuns[start + i] < required[i]) return false;
+        }
+        return true;
+    }
+
+    int getPatternCount() {
+        return lengths.length;
+    }
+
+    int getStateCount() {
+        return patterns.length;
+    }
+
+    private static int column(byte[] asciiColumns, char[] otherChars, int[] otherColumns, char c) {
+        if(c < 128) return asciiColumns[c];
+        int index = Arrays.binarySearch(otherChars, c);
+        return index < 0 ? 0 : otherColumns[index];
+    }
+}
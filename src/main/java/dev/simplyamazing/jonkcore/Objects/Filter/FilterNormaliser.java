@@ -0,0 +1,136 @@
+package dev.simplyamazing.jonkcore.Objects.Filter;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+public final class FilterNormaliser {
+    /**
+     * Folded value of characters that are skipped entirely, such as punctuation between the letters of a word.
+     */
+    public static final char SKIP = 0;
+    /**
+     * Folded value of every whitespace character.
+     */
+    public static final char SPACE = ' ';
+
+    // the folded value of every character, computed the first time it is seen so folding is then a single array lookup
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+    private static final char UNCOMPUTED = Character.MAX_VALUE;
+    private static final String CONFUSABLES =
+            // cyrillic
+            "аaвbеeёeіiјjкkмmнhоoрpсcтtуyхxѕsһhԁd" +
+            // greek
+            "αaβbεeιiκkνvοoρpτtυuχxωw";
+    private static final String LEET = "0o1i3e4a5s7t@a$s!i|l+t€e";
+
+    static {
+        Arrays.fill(FOLD, UNCOMPUTED);
+    }
+
+    private FilterNormaliser() {}
+
+    /**
+     * Fold a character for filtering.
+     * <br><br>
+     * Letters are lowercased and stripped of accents, full-width and look-alike letters from other alphabets are replaced with their latin counterparts,
+     * and digits and symbols commonly used in place of letters are replaced with those letters. Whitespace becomes {@link #SPACE}, and every other character
+     * becomes {@link #SKIP}.
+     *
+     * @param c the character to fold
+     * @return the folded character
+     */
+    public static char fold(char c) {
+        char folded = FOLD[c];
+        // racing threads compute the same value, so the table needs no synchronisation
+        if(folded == UNCOMPUTED) FOLD[c] = folded = computeFold(c);
+        return folded;
+    }
+
+    /**
+     * Normalise a pattern or message for filtering: fold each character, drop colour codes and skipped characters, and collapse repeated characters.
+     * @param text the text to normalise
+     * @return normalised text
+     */
+    public static String normalise(String text) {
+        return normalise(text, null);
+    }
+
+    /**
+     * Count how many times each character of a normalised text was repeated before it was collapsed, see {@link #normalise(String)}.
+     * <br><br>
+     * Repeats are counted across skipped characters, so both <code>"ass"</code> and <code>"as-s"</code> end with a run of 2. Whitespace always counts as a run of 1.
+     *
+     * @param text the text to normalise
+     * @return length of the run behind each character of the normalised text, or null if every run has a length of 1
+     */
+    public static int[] runLengths(String text) {
+        int[] runs = new int[text.length()];
+        int length = normalise(text, runs).length();
+        for(int i = 0; i < length; i++) {
+            if(runs[i] > 1) return Arrays.copyOf(runs, length);
+        }
+        return null;
+    }
+
+    private static String normalise(String text, int[] runs) {
+        StringBuilder builder = new StringBuilder(text.length());
+        char previous = SKIP;
+        for(int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if(isColourCode(text, i)) {
+                i++;
+                continue;
+            }
+            char folded = fold(c);
+            if(folded == SKIP) continue;
+            if(folded == previous) {
+                if(runs != null && folded != SPACE) runs[builder.length() - 1]++;
+                continue;
+            }
+            if(runs != null) runs[builder.length()] = 1;
+            builder.append(folded);
+            previous = folded;
+        }
+        // collapsed whitespace leaves at most one space at either end
+        if(builder.length() > 0 && builder.charAt(0) == SPACE) {
+            builder.deleteCharAt(0);
+            if(runs != null) System.arraycopy(runs, 1, runs, 0, builder.length());
+        }
+        if(builder.length() > 0 && builder.charAt(builder.length() - 1) == SPACE) builder.setLength(builder.length() - 1);
+        return builder.toString();
+    }
+
+    /**
+     * Check whether the character at an index starts a colour code, such as <code>&amp;c</code>.
+     * @param text the text to check
+     * @param index the index of the character
+     * @return true if a colour code starts at the index
+     */
+    public static boolean isColourCode(String text, int index) {
+        char c = text.charAt(index);
+        if((c != '&' && c != '§') || index + 1 >= text.length()) return false;
+        char code = Character.toLowerCase(text.charAt(index + 1));
+        return (code >= '0' && code <= '9') || (code >= 'a' && code <= 'f') || (code >= 'k' && code <= 'o') || code == 'r';
+    }
+
+    private static char computeFold(char c) {
+        if(Character.isWhitespace(c) || Character.isSpaceChar(c)) return SPACE;
+        int leet = LEET.indexOf(c);
+        if(leet >= 0 && leet % 2 == 0) return LEET.charAt(leet + 1);
+        if(!Character.isLetterOrDigit(c)) return SKIP;
+        char lower = Character.toLowerCase(c);
+        if(lower >= 'a' && lower <= 'z' || lower >= '0' && lower <= '9') return lower;
+        int confusable = CONFUSABLES.indexOf(lower);
+        if(confusable >= 0 && confusable % 2 == 0) return CONFUSABLES.charAt(confusable + 1);
+        // accented and full-width letters decompose to a latin letter followed by marks; other alphabets are left as they are
+        if(c < 0x0250 || (c >= 0x1E00 && c < 0x1F00) || (c >= 0xFF00 && c < 0xFF70)) {
+            String decomposed = Normalizer.normalize(String.valueOf(lower), Normalizer.Form.NFKD);
+            if(!decomposed.isEmpty()) {
+                char base = Character.toLowerCase(decomposed.charAt(0));
+                if(base >= 'a' && base <= 'z') return base;
+                if(base >= '0' && base <= '9') return computeFold(base);
+            }
+        }
+        return lower;
+    }
+}
@@ -7,10 +7,32 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 public class GenericUserConverter implements IUserConverter {
+    private final ConversionCache<User> cache;
+    private final ConverterRegistry registry;
+
+    /**
+     * Constructor for the GenericUserConverter object, without a {@link ConverterRegistry}.
+     * <br><br>
+     * {@link #convert(Object)} will only be able to convert the types handled by this converter.
+     */
+    public GenericUserConverter() {
+        this(null);
+    }
+
+    /**
+     * Constructor for the GenericUserConverter object.
+     * @param registry The registry to resolve unknown objects through, or null to only convert the types handled by this converter.
+     */
+    public GenericUserConverter(ConverterRegistry registry) {
+        this.cache = new ConversionCache<>(1024, User::release);
+        this.registry = registry;
+    }
+
     /**
      * Convert from an unknown object to a User object.
      * <br><br>
-     * This method will call all the other methods in this interface to try and convert the object.
+     * The conversion is resolved through the {@link ConverterRegistry} this converter was created with, which will call the other methods in this
+     * interface or any other converter registered for the object's type. Without a registry, only IUser, Player and String objects are converted.
      * <br><br>
      * If it fails to convert, it will throw a {@link ConversionException}.
      *
@@ -20,7 +42,11 @@ public class GenericUserConverter implements IUserConverter {
      */
     @Override
     public User convert(Object object) throws ConversionException {
-        if(object instanceof IUser) {
+        if(registry != null) {
+            return registry.convert(object, User.class);
+        } else if(object == null) {
+            throw new ConversionException("Cannot convert null object to User object.");
+        } else if(object instanceof IUser) {
             return convert((IUser) object);
         } else if(object instanceof Player) {
             return convert((Player) object);
@@ -42,6 +68,9 @@ public class GenericUserConverter implements IUserConverter {
      * Attribute-converted variables will be hashed using the specified object's hash method, or a default hash method if the specified object does not have one.
      * <br><br>
      * A {@link ConversionException} will be thrown if the IUser object at any point becomes null, or if the User object cannot be converted.
+     * <br><br>
+     * Conversions are cached against the provided object, and will be re-used for as long as its {@link IUser#getModificationCount()} does not change.
+     * Objects that do not track their modifications are converted again each time, into the same User object.
      *
      * @param user The User object to convert.
      * @return The converted User object.
@@ -55,10 +84,14 @@ public class GenericUserConverter implements IUserConverter {
         if(user instanceof User) {
             return (User)user;
         }
-        user = (IUser)user.pack();
-        User newUser = User.fetchEmpty();
-        newUser.unpack(user);
-        return newUser;
+        return cache.compute(user, user.getModificationCount(), previous -> {
+            IUser packed = (IUser)user.pack();
+            User newUser = previous;
+            if(newUser == null) newUser = User.fetchEmpty();
+            else newUser.release();
+            newUser.unpack(packed);
+            return newUser;
+        });
     }
 
     /**
@@ -107,4 +140,36 @@ public class GenericUserConverter implements IUserConverter {
         }
         throw new ConversionException("Cannot convert " + name + " to User object : No online player matched criteria.");
     }
+
+    /**
+     * Remove all cached conversions of a Player's foreign User objects.
+     * <br><br>
+     * This should be called once the Player leaves the server, so their converted User objects can be released.
+     *
+     * @param p The Player whose conversions should be removed.
+     */
+    @Override
+    public void invalidate(Player p) {
+        if(p == null) return;
+        cache.invalidateIf(source -> source instanceof IUser user && user.isPlayer() && user.unsafeGetPlayer() != null && user.unsafeGetPlayer().getUniqueId().equals(p.getUniqueId()));
+    }
+
+    /**
+     * Remove all cached conversions.
+     */
+    @Override
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Retrieve the conversion cache of this converter.
+     * <br><br>
+     * This is useful for checking the cache's hit rate and size.
+     *
+     * @return The conversion cache.
+     */
+    public ConversionCache<User> getCache() {
+        return cache;
+    }
 }
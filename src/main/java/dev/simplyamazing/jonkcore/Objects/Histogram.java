@@ -0,0 +1,150 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Histogram {
+    // each power of two is split into 2^SUB_BITS buckets, so recorded values are accurate to within about 6%
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final AtomicLong max;
+
+    /**
+     * Constructor for the Histogram object.
+     * <br><br>
+     * Values are counted in log-linear buckets, so recording a value is a few atomic increments, and percentiles can be read at any time
+     * without stopping threads that are recording. Any non-negative long can be recorded, such as a duration in nanoseconds.
+     */
+    public Histogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Record a value. Negative values are recorded as 0.
+     * <br><br>
+     * This may be called from any thread.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if(value < 0) value = 0;
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        long current;
+        while(value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Get the amount of values recorded.
+     * @return amount of values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the sum of every value recorded.
+     * @return sum of values
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Get the mean of the values recorded.
+     * @return mean, or 0 if nothing has been recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Get the largest value recorded.
+     * @return largest value, or 0 if nothing has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Estimate a percentile of the values recorded.
+     * <br><br>
+     * The estimate is the upper bound of the bucket holding the percentile, capped at the largest value recorded.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return estimated value, or 0 if nothing has been recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for(int i = 0; i < BUCKETS; i++) total += snapshot[i] = buckets.get(i);
+        if(total == 0) return 0;
+        long rank = (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total);
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if(seen >= Math.max(1, rank)) return Math.min(upperBound(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Get the count of each bucket along with its upper bound, skipping empty buckets.
+     * @return pairs of <code>{upper bound, count}</code>, in ascending order
+     */
+    public long[][] getBuckets() {
+        int used = 0;
+        long[] snapshot = new long[BUCKETS];
+        for(int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            if(snapshot[i] > 0) used++;
+        }
+        long[][] result = new long[used][];
+        int next = 0;
+        for(int i = 0; i < BUCKETS && next < used; i++) {
+            if(snapshot[i] > 0) result[next++] = new long[] {upperBound(i), snapshot[i]};
+        }
+        return result;
+    }
+
+    /**
+     * Clear every recorded value.
+     * <br><br>
+     * Values recorded while this runs may be partially cleared.
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    private static int bucket(long value) {
+        if(value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if(bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long lower = (1L << exponent) | ((long) sub << (exponent - SUB_BITS));
+        long width = 1L << (exponent - SUB_BITS);
+        return lower + width - 1;
+    }
+}
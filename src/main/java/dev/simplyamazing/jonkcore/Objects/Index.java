@@ -2,23 +2,51 @@ package dev.simplyamazing.jonkcore.Objects;
 
 import dev.simplyamazing.jonkcore.Objects.Command.PluginCommand;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoomListener;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IStorage;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import dev.simplyamazing.jonkcore.Utilities.CompletionUtils;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Index implements IStorage {
+    private static final long PRELOAD_EXPIRY = 60000;
+
     private final List<ChatRoom> chatRooms;
+    private final Map<String, List<ChatRoom>> chatRoomsByPermission;
+    private final List<ChatRoom> unrestrictedChatRooms;
+    // sorted ChatRoom names for tab-completion, rebuilt lazily after ChatRooms change
+    private volatile String[] sortedChatRoomNames;
+    // immutable snapshot of the ChatRooms a joining User may be subscribed to, rebuilt whenever ChatRooms change
+    private volatile JoinCandidates joinCandidates;
+    private final List<IChatRoomListener> chatRoomListeners;
     private final List<User> users;
+    private final SenderUserCache senderUsers;
+    private final Map<UUID, PreloadedUser> preloadedUsers;
 
     /**
      * Constructor for the Index object.
      */
     public Index() {
         this.chatRooms = new ArrayList<>();
-        this.users = new ArrayList<>();
+        this.chatRoomsByPermission = new LinkedHashMap<>();
+        this.unrestrictedChatRooms = new ArrayList<>();
+        // Users are looked up from the chat threads while Players join and leave on the main thread
+        this.users = new CopyOnWriteArrayList<>();
+        this.senderUsers = new SenderUserCache();
+        this.preloadedUsers = new ConcurrentHashMap<>();
+        this.chatRoomListeners = new CopyOnWriteArrayList<>();
+        this.joinCandidates = new JoinCandidates(unrestrictedChatRooms, chatRoomsByPermission);
     }
 
     /**
@@ -37,17 +65,23 @@ public class Index implements IStorage {
      */
     @Override
     public User getUser(String name) {
+        long start = Metrics.start();
+        User found = null;
         for(User u : users) {
             if(u.isPlayer()) {
                 if(u.unsafeGetPlayer().getName().equalsIgnoreCase(name)) {
-                    return u;
+                    found = u;
+                    break;
                 }
             }
             if(u.getIdentifier().getIdentifier().equals(name)) {
-                return u;
+                found = u;
+                break;
             }
         }
-        return null;
+        Metrics.stop(Metrics.USER_LOOKUPS_BY_NAME, start);
+        if(found == null) Metrics.count(Metrics.USER_LOOKUP_MISSES);
+        return found;
     }
 
     /**
@@ -57,12 +91,37 @@ public class Index implements IStorage {
      */
     @Override
     public User getUser(ID id) {
+        long start = Metrics.start();
+        User found = null;
         for(User u : users) {
             if(u.getIdentifier().equals(id)) {
-                return u;
+                found = u;
+                break;
             }
         }
-        return null;
+        Metrics.stop(Metrics.USER_LOOKUPS_BY_ID, start);
+        if(found == null) Metrics.count(Metrics.USER_LOOKUP_MISSES);
+        return found;
+    }
+
+    /**
+     * Retrieve the cached User object of a non-player CommandSender, such as the console or a command block.
+     * <br><br>
+     * These User objects are not part of the list of registered users, and are evicted after a period of inactivity (except for the console).
+     *
+     * @param sender non-player CommandSender
+     * @return User object of the sender
+     */
+    public User getSenderUser(CommandSender sender) {
+        return senderUsers.get(sender);
+    }
+
+    /**
+     * Retrieve the cache holding User objects of non-player CommandSenders.
+     * @return the SenderUserCache
+     */
+    public SenderUserCache getSenderUsers() {
+        return senderUsers;
     }
 
     /**
@@ -85,10 +144,76 @@ public class Index implements IStorage {
     @Override
     public void registerUser(Player legacy) {
         if(getUser(legacy.getUniqueId().toString()) == null) {
-            this.users.add(User.fetch(legacy));
+            PreloadedUser preloaded = preloadedUsers.remove(legacy.getUniqueId());
+            if(preloaded != null) {
+                preloaded.user.bind(legacy);
+                this.users.add(preloaded.user);
+            } else this.users.add(new User(legacy));
         }
     }
 
+    /**
+     * Retrieve the User object a Player will be registered with once they are taken from the join queue, preparing it if it was not preloaded.
+     * <br><br>
+     * This is used when a Player that is still waiting in the join queue is needed off the main thread (see {@link User#fetch(CommandSender)}), so the object
+     * handed out is the one later registered through {@link #registerUser(Player)} rather than a duplicate. It is already attached to the Player, but is not
+     * subscribed to any ChatRoom until it is registered.
+     * <br><br>
+     * This is safe to call from any thread.
+     *
+     * @param legacy the joining Player
+     * @return the pending User, or the registered User if the Player has been registered in the meantime
+     */
+    public User getPendingUser(Player legacy) {
+        UUID uuid = legacy.getUniqueId();
+        long now = System.currentTimeMillis();
+        // refresh the preload, so it is not expired while the Player waits in the queue
+        User pending = preloadedUsers.compute(uuid, (key, preloaded) -> new PreloadedUser(preloaded == null ? new User(uuid) : preloaded.user, now)).user;
+        pending.attach(legacy);
+        User registered = getUser(new ID(uuid));
+        if(registered == null) return pending;
+        // registered while the preload was refreshed
+        preloadedUsers.remove(uuid);
+        return registered;
+    }
+
+    /**
+     * Prepare the User object of a Player that is about to join.
+     * <br><br>
+     * This method is called off the main thread during pre-login. The prepared User is bound to the Player and registered once they join
+     * through {@link #registerUser(Player)}. Prepared Users of Players that never join are discarded by {@link #expirePreloadedUsers()}.
+     * <br><br>
+     * Which ChatRooms the User is subscribed to depends on the Player's permissions, which are only available once they have logged in, so this is left to
+     * {@link User#bind(Player)}. The candidate ChatRooms and their permissions are compiled here instead (see {@link #getJoinCandidates()}), so the
+     * main thread only checks the Player's permissions against them, unless a ChatRoom changes in the meantime.
+     *
+     * @param uuid UUID of the joining Player
+     */
+    @Override
+    public void preloadUser(UUID uuid) {
+        preloadedUsers.computeIfAbsent(uuid, k -> new PreloadedUser(new User(uuid), System.currentTimeMillis()));
+        joinCandidates.prepare();
+    }
+
+    /**
+     * Discard the prepared User objects of Players that did not join within a minute of pre-login.
+     * <br><br>
+     * This is run periodically by JonkCORE, and is safe to call from any thread.
+     */
+    public void expirePreloadedUsers() {
+        long now = System.currentTimeMillis();
+        preloadedUsers.values().removeIf(preloaded -> now - preloaded.created > PRELOAD_EXPIRY);
+    }
+
+    /**
+     * Discard the prepared User object of a Player, if one exists.
+     * @param uuid UUID of the Player
+     */
+    @Override
+    public void discardPreloadedUser(UUID uuid) {
+        preloadedUsers.remove(uuid);
+    }
+
     /**
      * Unregister a User object.
      * @param user User object to unregister
@@ -142,12 +267,17 @@ public class Index implements IStorage {
      */
     @Override
     public ChatRoom getChatRoom(String name) {
+        long start = Metrics.start();
+        ChatRoom found = null;
         for(ChatRoom c : chatRooms) {
             if(c.getIdentifier().toString().equals(name)) {
-                return c;
+                found = c;
+                break;
             }
         }
-        return null;
+        Metrics.stop(Metrics.CHAT_ROOM_LOOKUPS_BY_NAME, start);
+        if(found == null) Metrics.count(Metrics.CHAT_ROOM_LOOKUP_MISSES);
+        return found;
     }
 
     /**
@@ -157,12 +287,17 @@ public class Index implements IStorage {
      */
     @Override
     public ChatRoom getChatRoom(ID id) {
+        long start = Metrics.start();
+        ChatRoom found = null;
         for(ChatRoom c : chatRooms) {
             if(c.getIdentifier().equals(id)) {
-                return c;
+                found = c;
+                break;
             }
         }
-        return null;
+        Metrics.stop(Metrics.CHAT_ROOM_LOOKUPS_BY_ID, start);
+        if(found == null) Metrics.count(Metrics.CHAT_ROOM_LOOKUP_MISSES);
+        return found;
     }
 
     /**
@@ -174,6 +309,10 @@ public class Index implements IStorage {
         if(chatRoom instanceof ChatRoom chatRoom1) {
             if(!chatRooms.contains(chatRoom1)) {
                 this.chatRooms.add(chatRoom1);
+                indexPermission(chatRoom1);
+                this.sortedChatRoomNames = null;
+                this.joinCandidates = new JoinCandidates(unrestrictedChatRooms, chatRoomsByPermission);
+                for(IChatRoomListener listener : chatRoomListeners) listener.onChatRoomRegistered(this, chatRoom1);
             }
         } else throw new IllegalArgumentException("Provided ChatRoom is a differing implementation than required (Expected: " + ChatRoom.class.getName() + ", Provided: " + chatRoom.getClass().getName() + ")");
     }
@@ -185,7 +324,12 @@ public class Index implements IStorage {
     @Override
     public void unregisterChatRoom(IChatRoom chatRoom) {
         if(chatRoom instanceof ChatRoom chatRoom1) {
-            this.chatRooms.remove(chatRoom1);
+            if(this.chatRooms.remove(chatRoom1)) {
+                unindexPermission(chatRoom1);
+                this.sortedChatRoomNames = null;
+                this.joinCandidates = new JoinCandidates(unrestrictedChatRooms, chatRoomsByPermission);
+                for(IChatRoomListener listener : chatRoomListeners) listener.onChatRoomUnregistered(this, chatRoom1);
+            }
         } else throw new IllegalArgumentException("Provided ChatRoom is a differing implementation than required (Expected: " + ChatRoom.class.getName() + ", Provided: " + chatRoom.getClass().getName() + ")");
     }
 
@@ -199,6 +343,10 @@ public class Index implements IStorage {
             ChatRoom c = chatRooms.get(i);
             if(c.getIdentifier().equals(id)) {
                 this.chatRooms.remove(c);
+                unindexPermission(c);
+                this.sortedChatRoomNames = null;
+                this.joinCandidates = new JoinCandidates(unrestrictedChatRooms, chatRoomsByPermission);
+                for(IChatRoomListener listener : chatRoomListeners) listener.onChatRoomUnregistered(this, c);
                 return;
             }
         }
@@ -212,6 +360,126 @@ public class Index implements IStorage {
      */
     @Override
     public void clearChatRooms() {
+        List<ChatRoom> cleared = new ArrayList<>(chatRooms);
         this.chatRooms.clear();
+        this.chatRoomsByPermission.clear();
+        this.unrestrictedChatRooms.clear();
+        this.sortedChatRoomNames = null;
+        this.joinCandidates = new JoinCandidates(unrestrictedChatRooms, chatRoomsByPermission);
+        for(IChatRoomListener listener : chatRoomListeners) listener.onChatRoomsCleared(this, cleared);
+    }
+
+    /**
+     * Re-index a registered ChatRoom after it has changed which Users may join it, such as by being locked or unlocked.
+     * <br><br>
+     * The join candidates are replaced (see {@link #getJoinCandidates()}), so Users joining afterwards are subscribed according to the change, and every
+     * ChatRoom listener is notified. This is called by the ChatRoom itself, see {@link ChatRoom#notifyChanged()}.
+     *
+     * @param chatRoom the changed ChatRoom
+     */
+    public void chatRoomChanged(ChatRoom chatRoom) {
+        if(!chatRooms.contains(chatRoom)) return;
+        // the permission may have changed as well, so the index is rebuilt rather than the ChatRoom moved
+        this.chatRoomsByPermission.clear();
+        this.unrestrictedChatRooms.clear();
+        for(ChatRoom c : chatRooms) indexPermission(c);
+        this.joinCandidates = new JoinCandidates(unrestrictedChatRooms, chatRoomsByPermission);
+        for(IChatRoomListener listener : chatRoomListeners) listener.onChatRoomChanged(this, chatRoom);
+    }
+
+    /**
+     * Add a listener that is notified whenever a ChatRoom object is registered or unregistered.
+     * @param listener listener to add
+     * @return true, as listeners are always supported
+     */
+    @Override
+    public boolean addChatRoomListener(IChatRoomListener listener) {
+        if(!chatRoomListeners.contains(listener)) chatRoomListeners.add(listener);
+        return true;
+    }
+
+    /**
+     * Remove a ChatRoom listener.
+     * @param listener listener to remove
+     */
+    @Override
+    public void removeChatRoomListener(IChatRoomListener listener) {
+        chatRoomListeners.remove(listener);
+    }
+
+    /**
+     * Retrieve the names of all registered ChatRooms, sorted case-insensitively for tab-completion.
+     * <br><br>
+     * The array is cached until a ChatRoom is registered or unregistered, and must not be modified.
+     *
+     * @return sorted ChatRoom names
+     */
+    public String[] getSortedChatRoomNames() {
+        String[] names = sortedChatRoomNames;
+        if(names == null) {
+            names = CompletionUtils.sortedNames(chatRooms);
+            this.sortedChatRoomNames = names;
+        }
+        return names;
+    }
+
+    /**
+     * Retrieve all registered ChatRooms grouped by the permission required to join them.
+     * <br><br>
+     * ChatRooms that do not require a permission are not included, see {@link #getUnrestrictedChatRooms()}.
+     * This allows each distinct permission to be checked once, rather than once per ChatRoom.
+     *
+     * @return unmodifiable map of permission to ChatRooms
+     */
+    public Map<String, List<ChatRoom>> getChatRoomsByPermission() {
+        return Collections.unmodifiableMap(chatRoomsByPermission);
+    }
+
+    /**
+     * Retrieve all registered ChatRooms that do not require a permission to join.
+     * @return unmodifiable list of ChatRooms
+     */
+    public List<ChatRoom> getUnrestrictedChatRooms() {
+        return Collections.unmodifiableList(unrestrictedChatRooms);
+    }
+
+    /**
+     * Retrieve the persistent ChatRooms a joining User may be subscribed to, grouped by their compiled join permission.
+     * <br><br>
+     * The snapshot is immutable and replaced whenever a ChatRoom is registered, unregistered, locked, unlocked or made persistent, so it is safe to read
+     * from any thread. It is compiled on first use, normally by {@link #preloadUser(UUID)} off the main thread.
+     *
+     * @return JoinCandidates object
+     */
+    public JoinCandidates getJoinCandidates() {
+        return joinCandidates;
+    }
+
+    private void indexPermission(ChatRoom chatRoom) {
+        String permission = chatRoom.getPermission();
+        if(permission == null || permission.isEmpty()) unrestrictedChatRooms.add(chatRoom);
+        else chatRoomsByPermission.computeIfAbsent(permission, k -> new ArrayList<>()).add(chatRoom);
+    }
+
+    private void unindexPermission(ChatRoom chatRoom) {
+        String permission = chatRoom.getPermission();
+        if(permission == null || permission.isEmpty()) {
+            unrestrictedChatRooms.remove(chatRoom);
+            return;
+        }
+        List<ChatRoom> rooms = chatRoomsByPermission.get(permission);
+        if(rooms == null) return;
+        rooms.remove(chatRoom);
+        if(rooms.isEmpty()) chatRoomsByPermission.remove(permission);
+    }
+
+    private static final class PreloadedUser {
+        private final User user;
+        private final long created;
+
+        private PreloadedUser(User user, long created) {
+            this.user = user;
+            this.created = created;
+        }
     }
 }
@@ -37,6 +37,20 @@ public interface CrossPluginObject {
      */
     void unpack(CrossPluginObject packed);
 
+    /**
+     * Retrieve the amount of times this object has been modified.
+     * <br><br>
+     * The count must change whenever data that would be copied by {@link #unpack(CrossPluginObject)} changes, and is used by converters to decide whether a
+     * previous conversion of this object can be re-used.
+     * <br><br>
+     * <b>DEFAULT:</b> Returns -1, meaning changes are not tracked and conversions of this object are never cached.
+     *
+     * @return The modification count of this object, or a negative value if it is not tracked.
+     */
+    default long getModificationCount() {
+        return -1;
+    }
+
     /**
      * Retrieve the list of Attributes this CrossPluginObject has.
      * <br><br>
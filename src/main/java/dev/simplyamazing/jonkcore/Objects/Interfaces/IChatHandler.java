@@ -0,0 +1,16 @@
+package dev.simplyamazing.jonkcore.Objects.Interfaces;
+
+import dev.simplyamazing.jonkcore.Objects.Pipeline.ChatContext;
+
+@FunctionalInterface
+public interface IChatHandler {
+    /**
+     * Handle a message as it passes through a stage of the ChatPipeline.
+     * <br><br>
+     * The handler may change the message, its ChatRoom, its recipients or its formatting through the context, or cancel it to stop it
+     * passing through any further handlers. Handlers are called on the thread the message was sent from, which is often not the main thread.
+     *
+     * @param context the message being processed
+     */
+    void handle(ChatContext context);
+}
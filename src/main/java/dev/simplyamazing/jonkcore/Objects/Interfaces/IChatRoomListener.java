@@ -0,0 +1,41 @@
+package dev.simplyamazing.jonkcore.Objects.Interfaces;
+
+public interface IChatRoomListener {
+    /**
+     * Called after a ChatRoom object has been registered into a storage.
+     *
+     * @param storage the storage the chat room was registered into
+     * @param chatRoom the registered chat room
+     */
+    void onChatRoomRegistered(IStorage storage, IChatRoom chatRoom);
+
+    /**
+     * Called after a ChatRoom object has been unregistered from a storage.
+     *
+     * @param storage the storage the chat room was unregistered from
+     * @param chatRoom the unregistered chat room
+     */
+    void onChatRoomUnregistered(IStorage storage, IChatRoom chatRoom);
+
+    /**
+     * Called after every ChatRoom object has been cleared from a storage.
+     * <br><br>
+     * <b>DEFAULT:</b> Calls {@link #onChatRoomUnregistered(IStorage, IChatRoom)} for each cleared chat room.
+     *
+     * @param storage the storage the chat rooms were cleared from
+     * @param chatRooms the cleared chat rooms
+     */
+    default void onChatRoomsCleared(IStorage storage, Iterable<? extends IChatRoom> chatRooms) {
+        for(IChatRoom chatRoom : chatRooms) onChatRoomUnregistered(storage, chatRoom);
+    }
+
+    /**
+     * Called after a registered ChatRoom object has changed which Users may join it, such as by being locked or unlocked.
+     * <br><br>
+     * <b>DEFAULT:</b> Does nothing.
+     *
+     * @param storage the storage the chat room is registered in
+     * @param chatRoom the changed chat room
+     */
+    default void onChatRoomChanged(IStorage storage, IChatRoom chatRoom) {}
+}
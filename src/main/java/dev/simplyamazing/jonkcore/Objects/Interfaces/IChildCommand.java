@@ -1,5 +1,8 @@
 package dev.simplyamazing.jonkcore.Objects.Interfaces;
 
+import dev.simplyamazing.jonkcore.Objects.Command.ArgumentCursor;
+
+import java.util.Collections;
 import java.util.List;
 
 public interface IChildCommand {
@@ -59,6 +62,77 @@ public interface IChildCommand {
      */
     List<String> onTabComplete(IUser sender, String[] args);
 
+    /**
+     * Execute the command from an ArgumentCursor.
+     * <br><br>
+     * The cursor is positioned after the command name, and is only valid for the duration of the call. It should not be called directly.
+     * <br><br>
+     * <b>DEFAULT:</b> Copies the remaining arguments and calls {@link #execute(IUser, String[])}.
+     *
+     * @param sender the sender of the command
+     * @param args the cursor over the arguments of the command
+     */
+    default void execute(IUser sender, ArgumentCursor args) {
+        execute(sender, args.toArray());
+    }
+
+    /**
+     * Get the tab-completion options for the command from an ArgumentCursor.
+     * <br><br>
+     * The cursor is positioned after the command name, and is only valid for the duration of the call. It should not be called directly.
+     * <br><br>
+     * <b>DEFAULT:</b> Copies the remaining arguments and calls {@link #tabComplete(IUser, String[])}.
+     *
+     * @param sender the sender of the command
+     * @param args the cursor over the arguments of the command
+     * @return the tab-completion options for the command
+     */
+    default List<String> tabComplete(IUser sender, ArgumentCursor args) {
+        return tabComplete(sender, args.toArray());
+    }
+
+    /**
+     * Run this command with checks in-place, from an ArgumentCursor positioned at the command name.
+     * <br><br>
+     * This method is designed to be called by the parent command.
+     * <br><br>
+     * <b>DEFAULT:</b> Copies the remaining arguments and calls {@link #onCommand(IUser, String[])}.
+     *
+     * @param sender the user who executed the command
+     * @param args the cursor over the arguments passed to the command
+     * @return whether the command was executed
+     */
+    default boolean onCommand(IUser sender, ArgumentCursor args) {
+        return onCommand(sender, args.toArray());
+    }
+
+    /**
+     * Retrieve tab-completion options for the command with checks, from an ArgumentCursor positioned at the command name.
+     * <br><br>
+     * <b>DEFAULT:</b> Copies the remaining arguments and calls {@link #onTabComplete(IUser, String[])}.
+     *
+     * @param sender the user who requested the tab-completion
+     * @param args the cursor over the arguments passed to the command
+     * @return the tab-completion options
+     */
+    default List<String> onTabComplete(IUser sender, ArgumentCursor args) {
+        return onTabComplete(sender, args.toArray());
+    }
+
+    /**
+     * Check whether the command should run off the main thread.
+     * <br><br>
+     * Async commands are run by the {@link dev.simplyamazing.jonkcore.Objects.Command.CommandScheduler}, and must not use the Bukkit API directly. Calls
+     * that are not thread-safe should be scheduled back onto the main thread with {@link dev.simplyamazing.jonkcore.Objects.Command.CommandScheduler#callSync}.
+     * <br><br>
+     * <b>DEFAULT:</b> Returns false.
+     *
+     * @return whether the command runs async
+     */
+    default boolean isAsync() {
+        return false;
+    }
+
     /**
      * Retrieve the command name.
      * <br><br>
@@ -72,6 +146,19 @@ public interface IChildCommand {
      */
     String getName();
 
+    /**
+     * Retrieve the alternative names of the command.
+     * <br><br>
+     * Aliases execute the sub-command the same as its name, but are not suggested in tab-completion.
+     * <br><br>
+     * <b>DEFAULT:</b> Returns an empty list.
+     *
+     * @return list of aliases
+     */
+    default List<String> getAliases() {
+        return Collections.emptyList();
+    }
+
     /**
      * Retrieve the command usage.
      * <br><br>
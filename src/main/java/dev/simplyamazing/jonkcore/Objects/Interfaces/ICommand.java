@@ -1,5 +1,7 @@
 package dev.simplyamazing.jonkcore.Objects.Interfaces;
 
+import dev.simplyamazing.jonkcore.Objects.Command.ArgumentCursor;
+
 import java.util.List;
 
 public interface ICommand {
@@ -9,10 +11,10 @@ public interface ICommand {
      * This method is called when the command is executed, after checks have been performed.
      * It should not be called directly.
      * <br><br>
-     * In the event that the command is a group command, it should always be suffixed with:
+     * In the event that the command is a group command, it should override {@link #execute(IUser, ArgumentCursor)} instead, which should always be suffixed with:
      * <br><br>
      * <code>
-     *     boolean success = executeSubCommand(args[0], sender, args);
+     *     boolean success = executeSubCommand(args.peek(), sender, args);
      *     <br>
      *     if(!success) sender.sendMessage("&cInvalid usage! &7" + getUsage());
      * </code>
@@ -30,10 +32,10 @@ public interface ICommand {
      * This method is called when the command is tab-completed, after checks have been performed.
      * It should not be called directly.
      * <br><br>
-     * In the event that the command is a group command, it should always be suffixed with:
+     * In the event that the command is a group command, it should override {@link #tabComplete(IUser, ArgumentCursor)} instead, which should always be suffixed with:
      * <br><br>
      * <code>
-     *     return tabCompleteResponse(args[0], sender, args);
+     *     return tabCompleteResponse(args.peek(), sender, args);
      * </code>
      * <br><br>
      * This may be subject to change in the future, but this solution remains effective for now.
@@ -44,6 +46,50 @@ public interface ICommand {
      */
     List<String> tabComplete(IUser sender, String[] args);
 
+    /**
+     * Execute the command from an ArgumentCursor.
+     * <br><br>
+     * This method is called by the command executor instead of {@link #execute(IUser, String[])}, and allows group commands to pass the arguments down to
+     * their sub-commands without copying them. It should not be called directly.
+     * <br><br>
+     * <b>DEFAULT:</b> Copies the remaining arguments and calls {@link #execute(IUser, String[])}.
+     *
+     * @param sender the sender of the command
+     * @param args the cursor over the arguments of the command
+     */
+    default void execute(IUser sender, ArgumentCursor args) {
+        execute(sender, args.toArray());
+    }
+
+    /**
+     * Get the tab-completion options for the command from an ArgumentCursor.
+     * <br><br>
+     * This method is called by the tab completer instead of {@link #tabComplete(IUser, String[])}. It should not be called directly.
+     * <br><br>
+     * <b>DEFAULT:</b> Copies the remaining arguments and calls {@link #tabComplete(IUser, String[])}.
+     *
+     * @param sender the sender of the command
+     * @param args the cursor over the arguments of the command
+     * @return the tab-completion options for the command
+     */
+    default List<String> tabComplete(IUser sender, ArgumentCursor args) {
+        return tabComplete(sender, args.toArray());
+    }
+
+    /**
+     * Check whether the command should run off the main thread.
+     * <br><br>
+     * Async commands are run by the {@link dev.simplyamazing.jonkcore.Objects.Command.CommandScheduler}, and must not use the Bukkit API directly. Calls
+     * that are not thread-safe should be scheduled back onto the main thread with {@link dev.simplyamazing.jonkcore.Objects.Command.CommandScheduler#callSync}.
+     * <br><br>
+     * <b>DEFAULT:</b> Returns false.
+     *
+     * @return whether the command runs async
+     */
+    default boolean isAsync() {
+        return false;
+    }
+
     /**
      * Retrieve the command name.
      * <br><br>
@@ -0,0 +1,19 @@
+package dev.simplyamazing.jonkcore.Objects.Interfaces;
+
+import dev.simplyamazing.jonkcore.Exceptions.ConversionException;
+
+@FunctionalInterface
+public interface IConverter<S, T> {
+    /**
+     * Convert from a source object to a target object.
+     * <br><br>
+     * Converters are registered within the {@link dev.simplyamazing.jonkcore.Objects.ConverterRegistry}, and should not normally be called directly.
+     * <br><br>
+     * A {@link ConversionException} should be thrown if the source object cannot be converted.
+     *
+     * @param source The object to convert.
+     * @return The converted object.
+     * @throws ConversionException If the object cannot be converted.
+     */
+    T convert(S source) throws ConversionException;
+}
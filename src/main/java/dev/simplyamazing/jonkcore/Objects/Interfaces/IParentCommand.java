@@ -1,5 +1,7 @@
 package dev.simplyamazing.jonkcore.Objects.Interfaces;
 
+import dev.simplyamazing.jonkcore.Objects.Command.ArgumentCursor;
+
 import java.util.List;
 
 public interface IParentCommand extends ICommand {
@@ -20,6 +22,20 @@ public interface IParentCommand extends ICommand {
      */
     boolean executeSubCommand(String name, IUser sender, String[] args);
 
+    /**
+     * Execute a subcommand based off its name keyword, passing the arguments down without copying them.
+     * <br><br>
+     * <b>DEFAULT:</b> copies the remaining arguments and calls {@link #executeSubCommand(String, IUser, String[])}.
+     *
+     * @param name the command name
+     * @param sender the User who executed the command
+     * @param args the cursor over the arguments, positioned at the command name
+     * @return whether the command was executed
+     */
+    default boolean executeSubCommand(String name, IUser sender, ArgumentCursor args) {
+        return executeSubCommand(name, sender, args.toArray());
+    }
+
     /**
      * Get the tab complete response from a subcommand based off its name keyword.
      *
@@ -29,4 +45,18 @@ public interface IParentCommand extends ICommand {
      * @return the list of strings to display
      */
     List<String> tabCompleteResponse(String name, IUser sender, String[] args);
+
+    /**
+     * Get the tab complete response from a subcommand based off its name keyword, passing the arguments down without copying them.
+     * <br><br>
+     * <b>DEFAULT:</b> copies the remaining arguments and calls {@link #tabCompleteResponse(String, IUser, String[])}.
+     *
+     * @param name the command name
+     * @param sender the User who requested this info
+     * @param args the cursor over the current arguments, positioned at the command name
+     * @return the list of strings to display
+     */
+    default List<String> tabCompleteResponse(String name, IUser sender, ArgumentCursor args) {
+        return tabCompleteResponse(name, sender, args.toArray());
+    }
 }
@@ -0,0 +1,46 @@
+package dev.simplyamazing.jonkcore.Objects.Interfaces;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+public interface IRelayTransport {
+    /**
+     * Retrieve the name of the link this transport provides, used to identify it in metrics.
+     *
+     * @return name of the link
+     */
+    String getName();
+
+    /**
+     * Open the transport, after which frames may be sent and received.
+     * <br><br>
+     * Received frames are passed to the receiver exactly as they were sent by another server, and may be passed on any thread.
+     * The transport is expected to reconnect by itself if its connection is lost.
+     *
+     * @param receiver consumer of every frame received from other servers
+     * @throws IOException if the transport could not be opened
+     */
+    void open(Consumer<byte[]> receiver) throws IOException;
+
+    /**
+     * Send a frame to every other server on this link.
+     * <br><br>
+     * The frame must not be modified after it has been sent.
+     *
+     * @param frame frame to send
+     * @throws IOException if the frame could not be sent, such as while the transport is reconnecting
+     */
+    void send(byte[] frame) throws IOException;
+
+    /**
+     * Check whether the transport is currently able to send frames.
+     *
+     * @return true if connected
+     */
+    boolean isConnected();
+
+    /**
+     * Close the transport, releasing any connections and threads it holds.
+     */
+    void close();
+}
@@ -4,6 +4,7 @@ import dev.simplyamazing.jonkcore.Objects.ID;
 import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.UUID;
 
 public interface IStorage {
     /**
@@ -67,6 +68,31 @@ public interface IStorage {
      */
     void registerUser(Player legacy);
 
+    /**
+     * Prepare the User object of a Player that is about to join, such as by loading their data from hard-storage.
+     * <br><br>
+     * This method is called <b>off the main thread</b> during pre-login, and as such must not interact with the Bukkit API or any objects used by the main thread.
+     * The prepared User should be bound to the Player once {@link #registerUser(Player)} is called on join.
+     * <br><br>
+     * This method is used internally by the sub-plugin, and should not be used by other plugins.
+     * <br><br>
+     * <b>DEFAULT:</b> Does nothing, and the User object is created on join.
+     *
+     * @param uuid UUID of the joining Player
+     */
+    default void preloadUser(UUID uuid) {}
+
+    /**
+     * Discard the prepared User object of a Player, if one exists.
+     * <br><br>
+     * This is called if a Player's login is denied, or they leave the server.
+     * <br><br>
+     * <b>DEFAULT:</b> Does nothing.
+     *
+     * @param uuid UUID of the Player
+     */
+    default void discardPreloadedUser(UUID uuid) {}
+
     /**
      * Unregister a User object.
      * <br><br>
@@ -177,6 +203,30 @@ public interface IStorage {
      */
     void clearChatRooms();
 
+    /**
+     * Add a listener that is notified whenever a ChatRoom object is registered into or unregistered from this storage.
+     * <br><br>
+     * This is used by the {@link dev.simplyamazing.jonkcore.Objects.ChatRoomDirectory} to keep its view of every sub-plugin's chat rooms up to date,
+     * without re-reading every storage each time it is used.
+     * <br><br>
+     * <b>DEFAULT:</b> Does nothing, and returns false. Storages that do not support listeners are re-read by the directory whenever it is used.
+     *
+     * @param listener listener to add
+     * @return true if the storage supports listeners
+     */
+    default boolean addChatRoomListener(IChatRoomListener listener) {
+        return false;
+    }
+
+    /**
+     * Remove a listener added with {@link #addChatRoomListener(IChatRoomListener)}.
+     * <br><br>
+     * <b>DEFAULT:</b> Does nothing.
+     *
+     * @param listener listener to remove
+     */
+    default void removeChatRoomListener(IChatRoomListener listener) {}
+
     /**
      * Save objects to hard-storage (e.g. a database).
      * <br><br>
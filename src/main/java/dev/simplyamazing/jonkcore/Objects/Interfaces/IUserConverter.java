@@ -64,4 +64,24 @@ public interface IUserConverter {
      * @throws ConversionException If the object cannot be converted.
      */
     IUser convert(String name) throws ConversionException;
+
+    /**
+     * Remove all cached conversions of a Player's foreign User objects.
+     * <br><br>
+     * This is called when the Player leaves the server.
+     * <br><br>
+     * <b>DEFAULT:</b> Does nothing, as conversions are not cached.
+     *
+     * @param p The Player whose conversions should be removed.
+     */
+    default void invalidate(Player p) {}
+
+    /**
+     * Remove all cached conversions.
+     * <br><br>
+     * This is called when the plugin is being disabled.
+     * <br><br>
+     * <b>DEFAULT:</b> Does nothing, as conversions are not cached.
+     */
+    default void invalidateAll() {}
 }
@@ -0,0 +1,133 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import dev.simplyamazing.jonkcore.Utilities.PermissionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class JoinCandidates {
+    private final List<ChatRoom> unrestrictedSource;
+    private final Map<String, List<ChatRoom>> byPermissionSource;
+    // compiled on first use, which is normally during pre-login off the main thread (see Index#preloadUser)
+    private volatile Compiled compiled;
+
+    /**
+     * Constructor for the JoinCandidates object.
+     * <br><br>
+     * The ChatRooms are only copied here. They are compiled on first use, or by {@link #prepare()}: only persistent ChatRooms are kept, locked ChatRooms
+     * are set aside to require their bypass permission, and the permission of each group is compiled once (see {@link PermissionUtils#compile(String)}).
+     * A joining User then only has its permissions checked rather than the ChatRooms walked and every permission split again.
+     *
+     * @param unrestricted ChatRooms that do not require a permission to join
+     * @param byPermission ChatRooms grouped by the permission required to join them
+     */
+    JoinCandidates(List<ChatRoom> unrestricted, Map<String, List<ChatRoom>> byPermission) {
+        this.unrestrictedSource = List.copyOf(unrestricted);
+        Map<String, List<ChatRoom>> copy = new LinkedHashMap<>();
+        for(Map.Entry<String, List<ChatRoom>> entry : byPermission.entrySet()) copy.put(entry.getKey(), List.copyOf(entry.getValue()));
+        this.byPermissionSource = copy;
+    }
+
+    /**
+     * Compile this snapshot ahead of its first use, so the User joining does not have to.
+     * <br><br>
+     * This is safe to call from any thread, and does nothing if the snapshot has already been compiled.
+     */
+    public void prepare() {
+        compiled();
+    }
+
+    /**
+     * Find all persistent ChatRooms a User has permission to join, equivalent to {@link ChatRoom#findApplicableRooms(User)}.
+     * <br><br>
+     * Locked ChatRooms are only included if the User may bypass their lock.
+     * The User must be bound to its legacy Player, as permissions can only be checked once the Player has logged in.
+     *
+     * @param user User to check
+     * @return List of ChatRooms
+     */
+    public List<ChatRoom> findApplicableRooms(User user) {
+        Compiled compiled = compiled();
+        List<ChatRoom> applicableRooms = new ArrayList<>(compiled.size);
+        for(ChatRoom room : compiled.unrestricted) applicableRooms.add(room);
+        for(int i = 0; i < compiled.permissions.length; i++) {
+            if(!PermissionUtils.checkCompiled(user, compiled.permissions[i])) continue;
+            for(ChatRoom room : compiled.rooms[i]) applicableRooms.add(room);
+        }
+        for(int i = 0; i < compiled.locked.length; i++) {
+            if(compiled.lockedPermissions[i] != null && !PermissionUtils.checkCompiled(user, compiled.lockedPermissions[i])) continue;
+            if(PermissionUtils.checkCompiled(user, compiled.bypassPermissions[i])) applicableRooms.add(compiled.locked[i]);
+        }
+        return applicableRooms;
+    }
+
+    /**
+     * Retrieve the amount of candidate ChatRooms, regardless of permission.
+     * @return amount of ChatRooms
+     */
+    public int size() {
+        return compiled().size;
+    }
+
+    private Compiled compiled() {
+        Compiled result = compiled;
+        if(result == null) {
+            synchronized(this) {
+                result = compiled;
+                if(result == null) compiled = result = new Compiled(unrestrictedSource, byPermissionSource);
+            }
+        }
+        return result;
+    }
+
+    private static final class Compiled {
+        private final ChatRoom[] unrestricted;
+        private final String[][] permissions;
+        private final ChatRoom[][] rooms;
+        // locked ChatRooms, with their compiled join permission (or null if unrestricted) and lock bypass permission
+        private final ChatRoom[] locked;
+        private final String[][] lockedPermissions;
+        private final String[][] bypassPermissions;
+        private final int size;
+
+        private Compiled(List<ChatRoom> unrestricted, Map<String, List<ChatRoom>> byPermission) {
+            List<ChatRoom> locked = new ArrayList<>();
+            List<String[]> lockedPermissions = new ArrayList<>();
+            this.unrestricted = persistent(unrestricted, null, locked, lockedPermissions);
+            List<String[]> permissions = new ArrayList<>(byPermission.size());
+            List<ChatRoom[]> rooms = new ArrayList<>(byPermission.size());
+            int size = this.unrestricted.length;
+            for(Map.Entry<String, List<ChatRoom>> entry : byPermission.entrySet()) {
+                String[] permission = PermissionUtils.compile(entry.getKey());
+                ChatRoom[] group = persistent(entry.getValue(), permission, locked, lockedPermissions);
+                if(group.length == 0) continue;
+                permissions.add(permission);
+                rooms.add(group);
+                size += group.length;
+            }
+            this.permissions = permissions.toArray(new String[0][]);
+            this.rooms = rooms.toArray(new ChatRoom[0][]);
+            this.locked = locked.toArray(new ChatRoom[0]);
+            this.lockedPermissions = lockedPermissions.toArray(new String[0][]);
+            this.bypassPermissions = new String[this.locked.length][];
+            for(int i = 0; i < this.locked.length; i++) {
+                this.bypassPermissions[i] = PermissionUtils.compile("jonkcore.chatroom." + this.locked[i].getIdentifier().toString().replaceAll(" ", "-") + ".bypasslock");
+            }
+            this.size = size + this.locked.length;
+        }
+
+        private static ChatRoom[] persistent(List<ChatRoom> rooms, String[] permission, List<ChatRoom> locked, List<String[]> lockedPermissions) {
+            List<ChatRoom> persistent = new ArrayList<>(rooms.size());
+            for(ChatRoom room : rooms) {
+                if(!room.isLocked()) continue;
+                if(room.roomIsLocked()) {
+                    locked.add(room);
+                    lockedPermissions.add(permission);
+                } else persistent.add(room);
+            }
+            return persistent.toArray(new ChatRoom[0]);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+public class JoinProcessor implements Runnable {
+    private final IJonkPlugin jonkPlugin;
+    private final JavaPlugin plugin;
+    private final Map<UUID, PendingJoin> pending;
+    private final Queue<PendingJoin> queue;
+    private final Queue<PendingJoin> priorityQueue;
+    private long tickBudget;
+    private BukkitTask task;
+    // lag variables
+    private volatile long lastLag;
+    private volatile long maxLag;
+    private int processedThisBacklog;
+
+    /**
+     * Constructor for the JoinProcessor object, with a tick budget of 5 milliseconds.
+     * @param jonkPlugin the IJonkPlugin whose storage users are registered into
+     * @param plugin the JavaPlugin used to schedule the processor
+     */
+    public JoinProcessor(final IJonkPlugin jonkPlugin, final JavaPlugin plugin) {
+        this.jonkPlugin = jonkPlugin;
+        this.plugin = plugin;
+        this.pending = new ConcurrentHashMap<>();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.priorityQueue = new ConcurrentLinkedQueue<>();
+        this.tickBudget = TimeUnit.MILLISECONDS.toNanos(5);
+    }
+
+    /**
+     * Start processing queued joins every tick.
+     */
+    public void start() {
+        if(task != null) return;
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1, 1);
+    }
+
+    /**
+     * Stop processing queued joins, registering any that are still waiting.
+     */
+    public void stop() {
+        if(task != null) {
+            task.cancel();
+            this.task = null;
+        }
+        PendingJoin join;
+        while((join = priorityQueue.poll()) != null) complete(join);
+        while((join = queue.poll()) != null) complete(join);
+    }
+
+    /**
+     * Queue a Player that has joined to be registered.
+     * <br><br>
+     * The Player will be registered within the following ticks, as the tick budget allows.
+     *
+     * @param p the Player that has joined
+     */
+    public void enqueue(Player p) {
+        PendingJoin join = new PendingJoin(p, System.nanoTime());
+        if(pending.putIfAbsent(p.getUniqueId(), join) == null) queue.add(join);
+    }
+
+    /**
+     * Remove a Player from the queue without registering them, such as when they leave before being processed.
+     * @param p the Player to remove
+     */
+    public void cancel(Player p) {
+        PendingJoin join = pending.remove(p.getUniqueId());
+        if(join != null) join.done.complete(null);
+    }
+
+    /**
+     * Register a Player that is waiting in the queue as soon as possible.
+     * <br><br>
+     * On the main thread, the Player is registered immediately. On any other thread, the Player is moved to the front of the queue and registered on the
+     * next tick; this method never waits for it, so callers off the main thread should defer their work with {@link #whenRegistered(Player)}.
+     * <br><br>
+     * If the Player is not waiting in the queue, this method does nothing.
+     *
+     * @param p the Player to register
+     */
+    public void ensureRegistered(Player p) {
+        PendingJoin join = pending.get(p.getUniqueId());
+        if(join == null) return;
+        if(Bukkit.isPrimaryThread()) complete(join);
+        else priorityQueue.add(join);
+    }
+
+    /**
+     * Check whether a Player is waiting in the queue to be registered.
+     * @param p the Player to check
+     * @return true if the Player has joined but is not yet registered
+     */
+    public boolean isPending(Player p) {
+        return pending.containsKey(p.getUniqueId());
+    }
+
+    /**
+     * Move a Player that is waiting in the queue to the front, and retrieve a future completed on the main thread once they are registered or leave.
+     * <br><br>
+     * If the Player is not waiting in the queue, the returned future is already complete.
+     *
+     * @param p the Player to register
+     * @return future completed once the Player is no longer waiting
+     */
+    public CompletableFuture<Void> whenRegistered(Player p) {
+        PendingJoin join = pending.get(p.getUniqueId());
+        if(join == null) return CompletableFuture.completedFuture(null);
+        priorityQueue.add(join);
+        return join.done;
+    }
+
+    /**
+     * Register queued Players until the tick budget is used.
+     * <br><br>
+     * Players who are waiting to chat or run a command are always registered first, regardless of the budget.
+     */
+    @Override
+    public void run() {
+        PendingJoin join;
+        while((join = priorityQueue.poll()) != null) complete(join);
+        long start = System.nanoTime();
+        while(System.nanoTime() - start < tickBudget && (join = queue.poll()) != null) {
+            complete(join);
+        }
+        if(queue.isEmpty() && processedThisBacklog > 0) {
+            if(TimeUnit.NANOSECONDS.toMillis(maxLag) >= 1000) {
+                plugin.getLogger().info("Join queue drained " + processedThisBacklog + " users, with a maximum lag of " + TimeUnit.NANOSECONDS.toMillis(maxLag) + "ms.");
+            }
+            this.processedThisBacklog = 0;
+        }
+    }
+
+    /**
+     * Set the amount of time each tick may spend registering queued Players.
+     * @param millis the tick budget, in milliseconds
+     */
+    public void setTickBudget(long millis) {
+        this.tickBudget = TimeUnit.MILLISECONDS.toNanos(Math.max(1, millis));
+    }
+
+    /**
+     * Retrieve the amount of Players waiting to be registered.
+     * @return size of the queue
+     */
+    public int getQueueSize() {
+        return pending.size();
+    }
+
+    /**
+     * Retrieve the time the most recently registered Player spent waiting in the queue.
+     * @return lag of the last registration, in milliseconds
+     */
+    public long getLastLag() {
+        return TimeUnit.NANOSECONDS.toMillis(lastLag);
+    }
+
+    /**
+     * Retrieve the longest time a Player has spent waiting in the queue since the last reset.
+     * @return maximum lag, in milliseconds
+     */
+    public long getMaxLag() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLag);
+    }
+
+    /**
+     * Reset the maximum lag.
+     */
+    public void resetMaxLag() {
+        this.maxLag = 0;
+    }
+
+    private void complete(PendingJoin join) {
+        // the join may already have been completed through the priority queue, or cancelled
+        if(!pending.remove(join.player.getUniqueId(), join)) return;
+        try {
+            if(join.player.isOnline() && jonkPlugin.getStorage().getUser(new ID(join.player.getUniqueId())) == null) {
+                jonkPlugin.getStorage().registerUser(join.player);
+            }
+        } finally {
+            long lag = System.nanoTime() - join.queued;
+            this.lastLag = lag;
+            if(lag > maxLag) this.maxLag = lag;
+            processedThisBacklog++;
+            join.done.complete(null);
+        }
+    }
+
+    private static final class PendingJoin {
+        private final Player player;
+        private final long queued;
+        private final CompletableFuture<Void> done;
+
+        private PendingJoin(Player player, long queued) {
+            this.player = player;
+            this.queued = queued;
+            this.done = new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class JonkPluginRegistry {
+    private final CopyOnWriteArrayList<Plugin> plugins;
+    private final ChatRoomDirectory chatRoomDirectory;
+    // typed view of the registered plugins, rebuilt lazily after a plugin is added or removed
+    private volatile List<IJonkPlugin> jonkPlugins;
+
+    /**
+     * Constructor for the JonkPluginRegistry object.
+     * @param chatRoomDirectory the directory kept in sync with the registered sub-plugins
+     */
+    public JonkPluginRegistry(ChatRoomDirectory chatRoomDirectory) {
+        this.plugins = new CopyOnWriteArrayList<>();
+        this.chatRoomDirectory = chatRoomDirectory;
+    }
+
+    /**
+     * Add every enabled sub-plugin from a list of plugins, such as those already enabled when the registry is created.
+     * @param candidates plugins to add, of which only sub-plugins are added
+     */
+    public void addAll(Plugin[] candidates) {
+        for(Plugin plugin : candidates) {
+            if(plugin.isEnabled()) add(plugin);
+        }
+    }
+
+    /**
+     * Add a sub-plugin to the registry, along with its chat rooms to the directory.
+     * @param plugin the plugin to add, which is ignored if it is not an {@link IJonkPlugin}
+     * @return true if the plugin was added
+     */
+    public boolean add(Plugin plugin) {
+        if(!(plugin instanceof IJonkPlugin jonkPlugin)) return false;
+        if(!plugins.addIfAbsent(plugin)) return false;
+        this.jonkPlugins = null;
+        chatRoomDirectory.addPlugin(jonkPlugin);
+        return true;
+    }
+
+    /**
+     * Remove a sub-plugin from the registry, along with its chat rooms from the directory.
+     * @param plugin the plugin to remove
+     * @return true if the plugin was removed
+     */
+    public boolean remove(Plugin plugin) {
+        if(!plugins.remove(plugin)) return false;
+        this.jonkPlugins = null;
+        chatRoomDirectory.removePlugin((IJonkPlugin) plugin);
+        return true;
+    }
+
+    /**
+     * Remove every sub-plugin from the registry.
+     */
+    public void clear() {
+        plugins.clear();
+        this.jonkPlugins = null;
+        chatRoomDirectory.clear();
+    }
+
+    /**
+     * Check whether a plugin is a registered sub-plugin.
+     * @param plugin the plugin
+     * @return true if the plugin is registered
+     */
+    public boolean contains(Plugin plugin) {
+        return plugins.contains(plugin);
+    }
+
+    /**
+     * Retrieve every registered sub-plugin, in the order they were enabled.
+     * @return unmodifiable list of plugins
+     */
+    public List<Plugin> getPlugins() {
+        return Collections.unmodifiableList(plugins);
+    }
+
+    /**
+     * Retrieve every registered sub-plugin as an {@link IJonkPlugin}, in the order they were enabled.
+     * <br><br>
+     * The list is cached until a sub-plugin is enabled or disabled, and cannot be modified.
+     *
+     * @return unmodifiable list of sub-plugins
+     */
+    public List<IJonkPlugin> getJonkPlugins() {
+        List<IJonkPlugin> list = jonkPlugins;
+        if(list == null) {
+            List<IJonkPlugin> typed = new ArrayList<>(plugins.size());
+            for(Plugin plugin : plugins) typed.add((IJonkPlugin) plugin);
+            list = Collections.unmodifiableList(typed);
+            this.jonkPlugins = list;
+        }
+        return list;
+    }
+
+    /**
+     * Retrieve the directory of every registered sub-plugin's chat rooms.
+     * @return ChatRoomDirectory object
+     */
+    public ChatRoomDirectory getChatRoomDirectory() {
+        return chatRoomDirectory;
+    }
+}
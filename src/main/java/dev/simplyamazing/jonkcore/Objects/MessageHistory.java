@@ -0,0 +1,307 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class MessageHistory {
+    // slot layout: id type, id string length, name length, body length, timestamp, id high bits, id low bits, then the variable-length strings
+    private static final int TYPE = 0, ID_LENGTH = 1, NAME_LENGTH = 3, BODY_LENGTH = 5, TIMESTAMP = 7, ID_HIGH = 15, ID_LOW = 23, HEADER = 31;
+    private static final byte NO_ID = 0, UUID_ID = 1, LONG_ID = 2, STRING_ID = 3;
+    // lengths are stored as unsigned shorts
+    private static final int MAX_SLOT_BYTES = 0xFFFF;
+
+    private static volatile int defaultCapacity = 100;
+    private static volatile int defaultSlotBytes = 512;
+    private static volatile int replayCount = 10;
+
+    private final int capacity;
+    private final int slotBytes;
+    private ByteBuffer buffer;
+    private long written;
+
+    /**
+     * Constructor for the MessageHistory object, using the configured default capacity and slot size.
+     */
+    public MessageHistory() {
+        this(defaultCapacity, defaultSlotBytes);
+    }
+
+    /**
+     * Constructor for the MessageHistory object.
+     * <br><br>
+     * Messages are stored off-heap in a ring of <code>capacity</code> fixed-size slots, so recording a message never allocates and the history
+     * holds no objects for the garbage collector to scan. Each slot holds the sender's ID and name, the timestamp, and as much of the message as fits.
+     * The buffer itself is only allocated once the first message is recorded.
+     *
+     * @param capacity the amount of messages kept, after which the oldest message is overwritten
+     * @param slotBytes the size of each slot in bytes, limiting the length of each stored message, up to 65535
+     * @throws IllegalArgumentException if the buffer would be larger than {@link Integer#MAX_VALUE} bytes
+     */
+    public MessageHistory(int capacity, int slotBytes) {
+        this.capacity = Math.max(1, capacity);
+        this.slotBytes = clampSlotBytes(slotBytes);
+        checkBufferSize(this.capacity, this.slotBytes);
+    }
+
+    /**
+     * Record a message, overwriting the oldest message if the history is full.
+     * <br><br>
+     * Strings that do not fit in the slot are truncated.
+     *
+     * @param sender the ID of the sender, or null for messages not sent by a User
+     * @param name the formatted name of the sender, or null for messages not sent by a User
+     * @param timestamp the time the message was sent, in milliseconds since the epoch
+     * @param body the unformatted message
+     */
+    public synchronized void append(ID sender, String name, long timestamp, String body) {
+        if(buffer == null) this.buffer = ByteBuffer.allocateDirect(capacity * slotBytes);
+        int slot = (int) (written % capacity) * slotBytes;
+        int end = slot + slotBytes;
+        byte type = NO_ID;
+        long high = 0, low = 0;
+        int position = slot + HEADER, idLength = 0;
+        if(sender != null) {
+            if(sender.isUUID()) {
+                type = UUID_ID;
+                high = sender.getUUID().getMostSignificantBits();
+                low = sender.getUUID().getLeastSignificantBits();
+            } else if(sender.isString()) {
+                type = STRING_ID;
+                idLength = writeUtf8(sender.getString(), position, end);
+            } else if(sender.isLong()) {
+                type = LONG_ID;
+                low = sender.getLong();
+            }
+        }
+        position += idLength;
+        int nameLength = name == null ? 0 : writeUtf8(name, position, end);
+        position += nameLength;
+        int bodyLength = body == null ? 0 : writeUtf8(body, position, end);
+
+        buffer.put(slot + TYPE, type);
+        buffer.putShort(slot + ID_LENGTH, (short) idLength);
+        buffer.putShort(slot + NAME_LENGTH, (short) nameLength);
+        buffer.putShort(slot + BODY_LENGTH, (short) bodyLength);
+        buffer.putLong(slot + TIMESTAMP, timestamp);
+        buffer.putLong(slot + ID_HIGH, high);
+        buffer.putLong(slot + ID_LOW, low);
+        written++;
+    }
+
+    /**
+     * Retrieve the most recent messages.
+     * @param count the maximum amount of messages to retrieve
+     * @return the messages, oldest first
+     */
+    public synchronized List<Entry> getRecent(int count) {
+        int size = size();
+        int amount = Math.max(0, Math.min(count, size));
+        return read(written - amount, amount);
+    }
+
+    /**
+     * Retrieve a page of messages, where page 0 holds the most recent messages.
+     * @param page the page to retrieve
+     * @param pageSize the amount of messages on each page
+     * @return the messages on the page, oldest first, or an empty list if the page does not exist
+     */
+    public synchronized List<Entry> getPage(int page, int pageSize) {
+        if(page < 0 || pageSize <= 0) return Collections.emptyList();
+        long newest = written - (long) page * pageSize;
+        long oldest = Math.max(written - size(), newest - pageSize);
+        if(newest <= oldest) return Collections.emptyList();
+        return read(oldest, (int) (newest - oldest));
+    }
+
+    /**
+     * Get the amount of pages of messages held.
+     * @param pageSize the amount of messages on each page
+     * @return amount of pages
+     */
+    public synchronized int getPageCount(int pageSize) {
+        return (size() + pageSize - 1) / Math.max(1, pageSize);
+    }
+
+    /**
+     * Get the amount of messages held, up to the capacity.
+     * @return amount of messages
+     */
+    public synchronized int size() {
+        return (int) Math.min(written, capacity);
+    }
+
+    /**
+     * Get the amount of messages recorded since the history was created or cleared, including overwritten messages.
+     * @return amount of messages recorded
+     */
+    public synchronized long getTotalWritten() {
+        return written;
+    }
+
+    /**
+     * Get the maximum amount of messages held.
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Remove every message, releasing the off-heap buffer.
+     */
+    public synchronized void clear() {
+        this.buffer = null;
+        this.written = 0;
+    }
+
+    private List<Entry> read(long from, int amount) {
+        List<Entry> entries = new ArrayList<>(amount);
+        for(long sequence = from; sequence < from + amount; sequence++) {
+            int slot = (int) (sequence % capacity) * slotBytes;
+            byte type = buffer.get(slot + TYPE);
+            int idLength = buffer.getShort(slot + ID_LENGTH) & 0xFFFF;
+            int nameLength = buffer.getShort(slot + NAME_LENGTH) & 0xFFFF;
+            int bodyLength = buffer.getShort(slot + BODY_LENGTH) & 0xFFFF;
+            int position = slot + HEADER;
+            ID id = switch(type) {
+                case UUID_ID -> new ID(new UUID(buffer.getLong(slot + ID_HIGH), buffer.getLong(slot + ID_LOW)));
+                case LONG_ID -> new ID(buffer.getLong(slot + ID_LOW));
+                case STRING_ID -> new ID(readUtf8(position, idLength));
+                default -> null;
+            };
+            position += idLength;
+            String name = type == NO_ID && nameLength == 0 ? null : readUtf8(position, nameLength);
+            position += nameLength;
+            entries.add(new Entry(id, name, buffer.getLong(slot + TIMESTAMP), readUtf8(position, bodyLength)));
+        }
+        return entries;
+    }
+
+    // encodes directly into the buffer, stopping before the first character that does not fit
+    private int writeUtf8(String value, int position, int end) {
+        int start = position;
+        for(int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if(c < 0x80) {
+                if(position + 1 > end) break;
+                buffer.put(position++, (byte) c);
+            } else if(c < 0x800) {
+                if(position + 2 > end) break;
+                buffer.put(position++, (byte) (0xC0 | (c >> 6)));
+                buffer.put(position++, (byte) (0x80 | (c & 0x3F)));
+            } else if(Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                if(position + 4 > end) break;
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put(position++, (byte) (0xF0 | (codePoint >> 18)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (codePoint & 0x3F)));
+            } else if(Character.isSurrogate(c)) {
+                // unpaired surrogates are replaced, as they cannot be encoded
+                if(position + 1 > end) break;
+                buffer.put(position++, (byte) '?');
+            } else {
+                if(position + 3 > end) break;
+                buffer.put(position++, (byte) (0xE0 | (c >> 12)));
+                buffer.put(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return position - start;
+    }
+
+    private String readUtf8(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Set the capacity and slot size of histories created with {@link #MessageHistory()}.
+     * @param capacity the amount of messages kept
+     * @param slotBytes the size of each slot in bytes, up to 65535
+     * @throws IllegalArgumentException if each buffer would be larger than {@link Integer#MAX_VALUE} bytes
+     */
+    public static void setDefaults(int capacity, int slotBytes) {
+        int checkedCapacity = Math.max(1, capacity);
+        int checkedSlotBytes = clampSlotBytes(slotBytes);
+        checkBufferSize(checkedCapacity, checkedSlotBytes);
+        defaultCapacity = checkedCapacity;
+        defaultSlotBytes = checkedSlotBytes;
+    }
+
+    private static int clampSlotBytes(int slotBytes) {
+        return Math.min(MAX_SLOT_BYTES, Math.max(HEADER + 16, slotBytes));
+    }
+
+    private static void checkBufferSize(int capacity, int slotBytes) {
+        long size = (long) capacity * slotBytes;
+        if(size > Integer.MAX_VALUE) throw new IllegalArgumentException("Message history of " + capacity + " messages of " + slotBytes + " bytes is too large (Maximum: " + Integer.MAX_VALUE + " bytes, Provided: " + size + " bytes)");
+    }
+
+    /**
+     * Set the amount of messages replayed to a User when they focus on a ChatRoom.
+     * @param count amount of messages, or 0 to disable replaying
+     */
+    public static void setReplayCount(int count) {
+        replayCount = Math.max(0, count);
+    }
+
+    /**
+     * Get the amount of messages replayed to a User when they focus on a ChatRoom.
+     * @return amount of messages
+     */
+    public static int getReplayCount() {
+        return replayCount;
+    }
+
+    public static final class Entry {
+        private final ID sender;
+        private final String name;
+        private final long timestamp;
+        private final String body;
+
+        private Entry(ID sender, String name, long timestamp, String body) {
+            this.sender = sender;
+            this.name = name;
+            this.timestamp = timestamp;
+            this.body = body;
+        }
+
+        /**
+         * Get the ID of the sender.
+         * @return sender ID, or null if the message was not sent by a User
+         */
+        public ID getSender() {
+            return sender;
+        }
+
+        /**
+         * Get the formatted name of the sender, as it was when the message was sent.
+         * @return sender name, or null if the message was not sent by a User
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the time the message was sent.
+         * @return time in milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Get the unformatted message, which may have been truncated.
+         * @return message body
+         */
+        public String getBody() {
+            return body;
+        }
+    }
+}
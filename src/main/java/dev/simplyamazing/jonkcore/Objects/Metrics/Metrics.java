@@ -0,0 +1,126 @@
+package dev.simplyamazing.jonkcore.Objects.Metrics;
+
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics JonkCORE records about itself, kept in a single {@link MetricsRegistry}.
+ * <br><br>
+ * Instruments are static so they can be recorded into from anywhere, including static utilities, without looking anything up.
+ * Counters are striped {@link LongAdder}s and histograms are lock-free, so recording never blocks a thread.
+ */
+public final class Metrics {
+    /**
+     * Bucket bounds for durations, in seconds, from 1µs to 10s.
+     */
+    public static final double[] DURATION_BOUNDS = {
+            0.000001, 0.0000025, 0.000005, 0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005,
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+    /**
+     * Bucket bounds for amounts, such as the amount of recipients of a message.
+     */
+    public static final double[] SIZE_BOUNDS = {0, 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+    /**
+     * Scale converting durations recorded in nanoseconds to seconds.
+     */
+    public static final double NANOSECONDS = 1e-9;
+    /**
+     * Value returned by {@link #start()} when metrics are disabled, which {@link #stop(Histogram, long)} ignores.
+     */
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final MetricsRegistry REGISTRY = new MetricsRegistry();
+    private static volatile boolean enabled = true;
+
+    public static final LongAdder CHAT_MESSAGES = REGISTRY.counter("jonkcore_chat_messages_total", "Messages sent by Users into the chat pipeline.");
+    public static final LongAdder CHAT_CANCELLED = REGISTRY.counter("jonkcore_chat_messages_cancelled_total", "Messages cancelled by a chat handler before delivery.");
+    public static final Histogram CHAT_DURATION = REGISTRY.histogram("jonkcore_chat_message_duration_seconds", "Time taken to pass a message through every stage of the chat pipeline.", NANOSECONDS, DURATION_BOUNDS);
+    public static final Histogram CHAT_FANOUT = REGISTRY.histogram("jonkcore_chat_fanout_recipients", "Amount of Users each ChatRoom message is sent to.", 1, SIZE_BOUNDS);
+    public static final LongAdder PERMISSION_LOOKUPS = REGISTRY.counter("jonkcore_permission_lookups_total", "Permissions looked up on a Player, several of which may make up one check.");
+    public static final Histogram PERMISSION_CHECKS = REGISTRY.histogram("jonkcore_permission_check_duration_seconds", "Time taken to check a permission including its parents and wildcards.", NANOSECONDS, DURATION_BOUNDS);
+    public static final Histogram USER_LOOKUPS_BY_NAME = indexLookup("user", "name");
+    public static final Histogram USER_LOOKUPS_BY_ID = indexLookup("user", "id");
+    public static final Histogram CHAT_ROOM_LOOKUPS_BY_NAME = indexLookup("chat_room", "name");
+    public static final Histogram CHAT_ROOM_LOOKUPS_BY_ID = indexLookup("chat_room", "id");
+    public static final LongAdder USER_LOOKUP_MISSES = REGISTRY.counter("jonkcore_index_lookup_misses_total", "Index lookups that found nothing.", "type", "user");
+    public static final LongAdder CHAT_ROOM_LOOKUP_MISSES = REGISTRY.counter("jonkcore_index_lookup_misses_total", "Index lookups that found nothing.", "type", "chat_room");
+    public static final LongAdder COMMANDS_REJECTED = REGISTRY.counter("jonkcore_commands_rejected_total", "Async commands rejected because the command executor was full.");
+
+    private Metrics() {}
+
+    /**
+     * Retrieve the registry every metric is kept in.
+     * @return MetricsRegistry object
+     */
+    public static MetricsRegistry getRegistry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Retrieve the histogram of a command's duration, including any time spent waiting for a thread.
+     * @param command the name the command's latency is recorded under
+     * @return the histogram
+     */
+    public static Histogram commandDuration(String command) {
+        return REGISTRY.histogram("jonkcore_command_duration_seconds", "Time taken to run a command, including any time spent waiting for a thread.", NANOSECONDS, DURATION_BOUNDS, "command", command);
+    }
+
+    /**
+     * Check whether metrics are recorded.
+     * @return True if enabled, false if not
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether metrics are recorded.
+     * <br><br>
+     * <b>DEFAULT:</b> true.
+     *
+     * @param enabled True to record metrics, false to skip recording entirely
+     */
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Increment a counter, if metrics are enabled.
+     * @param counter the counter
+     */
+    public static void count(LongAdder counter) {
+        if(enabled) counter.increment();
+    }
+
+    /**
+     * Record a value into a histogram, if metrics are enabled.
+     * @param histogram the histogram
+     * @param value the value
+     */
+    public static void record(Histogram histogram, long value) {
+        if(enabled) histogram.record(value);
+    }
+
+    /**
+     * Start timing an operation, to be finished with {@link #stop(Histogram, long)}.
+     * @return the current time in nanoseconds, or {@link #NOT_TIMED} if metrics are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Record the time since {@link #start()} into a histogram.
+     * @param histogram the histogram
+     * @param start the value returned by {@link #start()}
+     */
+    public static void stop(Histogram histogram, long start) {
+        if(start != NOT_TIMED) histogram.record(System.nanoTime() - start);
+    }
+
+    private static Histogram indexLookup(String type, String key) {
+        return REGISTRY.histogram("jonkcore_index_lookup_duration_seconds", "Time taken to find a User or ChatRoom in the Index.", NANOSECONDS, DURATION_BOUNDS, "type", type, "key", key);
+    }
+}
@@ -0,0 +1,205 @@
+package dev.simplyamazing.jonkcore.Objects.Metrics;
+
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class MetricsRegistry {
+    private final Map<String, Family> families;
+
+    /**
+     * Constructor for the MetricsRegistry object.
+     * <br><br>
+     * Metrics are grouped into families by name, and each family holds a value for every combination of labels it has been given, in the same
+     * way as Prometheus. Instruments should be retrieved once and kept, since registering and looking them up takes a lock, while recording
+     * into them does not.
+     */
+    public MetricsRegistry() {
+        this.families = new LinkedHashMap<>();
+    }
+
+    /**
+     * Retrieve a counter, creating it if it does not exist.
+     * @param name name of the metric, such as <code>jonkcore_chat_messages_total</code>
+     * @param help description of the metric
+     * @param labels alternating label names and values
+     * @return the counter
+     */
+    public LongAdder counter(String name, String help, String... labels) {
+        return (LongAdder) family(name, help, Type.COUNTER, 1, null).values.computeIfAbsent(labels(labels), key -> new LongAdder());
+    }
+
+    /**
+     * Register a counter whose value is read from elsewhere, such as a count already kept by another object.
+     * @param name name of the metric
+     * @param help description of the metric
+     * @param value supplier of the current count
+     * @param labels alternating label names and values
+     */
+    public void counter(String name, String help, LongSupplier value, String... labels) {
+        family(name, help, Type.COUNTER, 1, null).values.put(labels(labels), value);
+    }
+
+    /**
+     * Register a gauge, a value that may go up and down, such as the amount of online Users.
+     * @param name name of the metric
+     * @param help description of the metric
+     * @param value supplier of the current value
+     * @param labels alternating label names and values
+     */
+    public void gauge(String name, String help, LongSupplier value, String... labels) {
+        family(name, help, Type.GAUGE, 1, null).values.put(labels(labels), value);
+    }
+
+    /**
+     * Retrieve a histogram, creating it if it does not exist.
+     * <br><br>
+     * Values are recorded in their own unit, such as nanoseconds, and multiplied by <code>scale</code> when they are exported, such as to seconds.
+     *
+     * @param name name of the metric, such as <code>jonkcore_chat_message_duration_seconds</code>
+     * @param help description of the metric
+     * @param scale factor converting recorded values to the unit of the metric
+     * @param bounds upper bounds of the exported buckets, in the unit of the metric and in ascending order
+     * @param labels alternating label names and values
+     * @return the histogram
+     */
+    public Histogram histogram(String name, String help, double scale, double[] bounds, String... labels) {
+        return (Histogram) family(name, help, Type.HISTOGRAM, scale, bounds).values.computeIfAbsent(labels(labels), key -> new Histogram());
+    }
+
+    /**
+     * Register a histogram kept by another object, see {@link #histogram(String, String, double, double[], String...)}.
+     * @param name name of the metric
+     * @param help description of the metric
+     * @param scale factor converting recorded values to the unit of the metric
+     * @param bounds upper bounds of the exported buckets, in the unit of the metric and in ascending order
+     * @param histogram the histogram
+     * @param labels alternating label names and values
+     */
+    public void registerHistogram(String name, String help, double scale, double[] bounds, Histogram histogram, String... labels) {
+        family(name, help, Type.HISTOGRAM, scale, bounds).values.put(labels(labels), histogram);
+    }
+
+    /**
+     * Retrieve every family of metrics, in the order they were first registered.
+     * @return list of families
+     */
+    public synchronized List<Family> getFamilies() {
+        return new ArrayList<>(families.values());
+    }
+
+    private synchronized Family family(String name, String help, Type type, double scale, double[] bounds) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type, scale, bounds));
+        if(family.type != type) throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type.name().toLowerCase() + ".");
+        return family;
+    }
+
+    private static String labels(String[] labels) {
+        if(labels.length % 2 != 0) throw new IllegalArgumentException("Labels must be given as pairs of names and values.");
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < labels.length; i += 2) {
+            if(i > 0) builder.append(',');
+            builder.append(labels[i]).append("=\"");
+            String value = labels[i + 1];
+            for(int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if(c == '\\' || c == '"') builder.append('\\').append(c);
+                else if(c == '\n') builder.append("\\n");
+                else builder.append(c);
+            }
+            builder.append('"');
+        }
+        return builder.toString();
+    }
+
+    public enum Type {
+        COUNTER,
+        GAUGE,
+        HISTOGRAM
+    }
+
+    /**
+     * A named metric, holding a value for each combination of labels.
+     */
+    public static final class Family {
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final double scale;
+        private final double[] bounds;
+        // values by their formatted labels, such as <code>stage="parse"</code>; each is a LongAdder, LongSupplier or Histogram
+        private final Map<String, Object> values;
+
+        private Family(String name, String help, Type type, double scale, double[] bounds) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.scale = scale;
+            this.bounds = bounds == null ? new double[0] : bounds.clone();
+            this.values = Collections.synchronizedMap(new LinkedHashMap<>());
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getHelp() {
+            return help;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Get the factor converting recorded values to the unit of the metric.
+         * @return scale, which is 1 for counters and gauges
+         */
+        public double getScale() {
+            return scale;
+        }
+
+        /**
+         * Get the upper bounds of the exported buckets of a histogram.
+         * @return bounds in the unit of the metric, or an empty array if this is not a histogram
+         */
+        public double[] getBounds() {
+            return bounds.clone();
+        }
+
+        /**
+         * Read the current value of every counter or gauge in this family.
+         * @return values by their formatted labels, such as <code>stage="parse"</code>, or an empty map if this is a histogram
+         */
+        public Map<String, Long> getValues() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            if(type == Type.HISTOGRAM) return result;
+            synchronized(values) {
+                for(Map.Entry<String, Object> entry : values.entrySet()) {
+                    Object value = entry.getValue();
+                    result.put(entry.getKey(), value instanceof LongAdder adder ? adder.sum() : ((LongSupplier) value).getAsLong());
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Retrieve every histogram in this family.
+         * @return histograms by their formatted labels, or an empty map if this is not a histogram
+         */
+        public Map<String, Histogram> getHistograms() {
+            Map<String, Histogram> result = new LinkedHashMap<>();
+            if(type != Type.HISTOGRAM) return result;
+            synchronized(values) {
+                for(Map.Entry<String, Object> entry : values.entrySet()) result.put(entry.getKey(), (Histogram) entry.getValue());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package dev.simplyamazing.jonkcore.Objects.Metrics;
+
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class PrometheusExporter {
+    private final MetricsRegistry registry;
+    private final File file;
+    private final long intervalSeconds;
+    private final Logger logger;
+    private final ScheduledExecutorService writer;
+    private volatile boolean failing;
+
+    /**
+     * Constructor for the PrometheusExporter object.
+     * <br><br>
+     * Every <code>intervalSeconds</code> seconds, the metrics of the registry are written to <code>file</code> in the Prometheus text format,
+     * such as for the textfile collector of a node exporter. The file is written next to its destination and then moved into place,
+     * so a scrape never reads a partly written file.
+     *
+     * @param registry the registry to export
+     * @param file the file to write
+     * @param intervalSeconds how often the file is written, in seconds
+     * @param logger logger to report failures to
+     */
+    public PrometheusExporter(MetricsRegistry registry, File file, long intervalSeconds, Logger logger) {
+        this.registry = registry;
+        this.file = file;
+        this.intervalSeconds = Math.max(1, intervalSeconds);
+        this.logger = logger;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JonkCORE-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start writing the file periodically, writing it once immediately.
+     */
+    public void start() {
+        writer.scheduleAtFixedRate(this::writeQuietly, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop writing the file, writing it one last time.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if(!writer.awaitTermination(5, TimeUnit.SECONDS)) writer.shutdownNow();
+        } catch(InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        writeQuietly();
+    }
+
+    /**
+     * Write the file now.
+     * @throws IOException if the file could not be written
+     */
+    public void write() throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temporary, format(registry).getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch(AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Format every metric of a registry in the Prometheus text format.
+     * <br><br>
+     * Histograms are exported with the buckets of their family. Since values are counted in finer buckets of their own, a value is counted
+     * in an exported bucket once the finer bucket holding it fits within, so bucket counts are accurate to within about 6% of the bound.
+     *
+     * @param registry the registry to format
+     * @return the formatted metrics
+     */
+    public static String format(MetricsRegistry registry) {
+        StringBuilder builder = new StringBuilder();
+        for(MetricsRegistry.Family family : registry.getFamilies()) {
+            builder.append("# HELP ").append(family.getName()).append(' ').append(family.getHelp().replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+            builder.append("# TYPE ").append(family.getName()).append(' ').append(family.getType().name().toLowerCase()).append('\n');
+            if(family.getType() != MetricsRegistry.Type.HISTOGRAM) {
+                for(Map.Entry<String, Long> entry : family.getValues().entrySet()) {
+                    appendSample(builder, family.getName(), entry.getKey(), null, entry.getValue());
+                }
+                continue;
+            }
+            double[] bounds = family.getBounds();
+            for(Map.Entry<String, Histogram> entry : family.getHistograms().entrySet()) {
+                Histogram histogram = entry.getValue();
+                long[][] buckets = histogram.getBuckets();
+                long cumulative = 0, total = 0;
+                for(long[] bucket : buckets) total += bucket[1];
+                int next = 0;
+                for(double bound : bounds) {
+                    while(next < buckets.length && buckets[next][0] * family.getScale() <= bound) cumulative += buckets[next++][1];
+                    appendSample(builder, family.getName() + "_bucket", entry.getKey(), formatDouble(bound), cumulative);
+                }
+                appendSample(builder, family.getName() + "_bucket", entry.getKey(), "+Inf", total);
+                builder.append(family.getName()).append("_sum");
+                if(!entry.getKey().isEmpty()) builder.append('{').append(entry.getKey()).append('}');
+                builder.append(' ').append(formatDouble(histogram.getSum() * family.getScale())).append('\n');
+                appendSample(builder, family.getName() + "_count", entry.getKey(), null, total);
+            }
+        }
+        return builder.toString();
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+            failing = false;
+        } catch(IOException e) {
+            // only report the first of consecutive failures, rather than every interval
+            if(!failing) logger.log(Level.WARNING, "Failed to write metrics to " + file.getPath(), e);
+            failing = true;
+        }
+    }
+
+    private static void appendSample(StringBuilder builder, String name, String labels, String le, long value) {
+        builder.append(name);
+        if(!labels.isEmpty() || le != null) {
+            builder.append('{').append(labels);
+            if(le != null) builder.append(labels.isEmpty() ? "" : ",").append("le=\"").append(le).append('"');
+            builder.append('}');
+        }
+        builder.append(' ').append(value).append('\n');
+    }
+
+    private static String formatDouble(double value) {
+        if(value == Math.rint(value) && Math.abs(value) < 1e15) return Long.toString((long) value);
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,235 @@
+package dev.simplyamazing.jonkcore.Objects.Pipeline;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Utilities.ChatUtilities;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ChatContext {
+    private final IJonkPlugin plugin;
+    private final IUser sender;
+    private final String rawMessage;
+    private final long timestamp;
+    private final boolean routed;
+    private String message;
+    private String senderName;
+    private IChatRoom chatRoom;
+    private List<IUser> recipients;
+    private String format;
+    private String senderFormat;
+    private boolean cancelled;
+    private String cancelNotice;
+    private Map<String, Object> attributes;
+
+    /**
+     * Constructor for the ChatContext object, holding a single message as it passes through the ChatPipeline.
+     * <br><br>
+     * A context is only used by the thread processing it, so it is not thread-safe.
+     *
+     * @param plugin the sub-plugin whose storage the message is routed within
+     * @param sender User sending the message
+     * @param chatRoom ChatRoom the message is sent in, or null to be chosen while routing
+     * @param message the message as it was sent
+     */
+    public ChatContext(IJonkPlugin plugin, IUser sender, IChatRoom chatRoom, String message) {
+        this.plugin = plugin;
+        this.sender = sender;
+        this.chatRoom = chatRoom;
+        this.rawMessage = message;
+        this.message = message;
+        this.timestamp = System.currentTimeMillis();
+        this.routed = chatRoom == null;
+    }
+
+    /**
+     * Retrieve the sub-plugin whose storage the message is routed within.
+     * @return IJonkPlugin object
+     */
+    public IJonkPlugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Retrieve the User sending the message.
+     * @return User object
+     */
+    public IUser getSender() {
+        return sender;
+    }
+
+    /**
+     * Retrieve the formatted name of the sender, shown next to the message.
+     * <br><br>
+     * <b>DEFAULT:</b> {@link ChatUtilities#nameFromUser(IUser)}.
+     *
+     * @return formatted name
+     */
+    public String getSenderName() {
+        if(senderName == null) senderName = ChatUtilities.nameFromUser(sender);
+        return senderName;
+    }
+
+    /**
+     * Replace the formatted name of the sender, such as to add a tag before it. This must be done before the {@link ChatStage#FORMAT} stage to be shown.
+     * @param senderName formatted name
+     */
+    public void setSenderName(String senderName) {
+        this.senderName = senderName;
+    }
+
+    /**
+     * Retrieve the message exactly as it was sent, before any handler changed it.
+     * @return the original message
+     */
+    public String getRawMessage() {
+        return rawMessage;
+    }
+
+    /**
+     * Retrieve the message, as changed by the handlers before this one.
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Replace the message.
+     * @param message the new message
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Retrieve the time the message was sent.
+     * @return time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Check whether the ChatRoom is chosen while routing, such as for a message typed into chat, rather than given when the message was sent.
+     * @return True if the ChatRoom is chosen while routing, false if not
+     */
+    public boolean isRouted() {
+        return routed;
+    }
+
+    /**
+     * Retrieve the ChatRoom the message is sent in.
+     * @return ChatRoom object, or null if it has not been chosen yet
+     */
+    public IChatRoom getChatRoom() {
+        return chatRoom;
+    }
+
+    /**
+     * Replace the ChatRoom the message is sent in. This must be done before the {@link ChatStage#ROUTE} stage chooses its recipients.
+     * @param chatRoom ChatRoom object
+     */
+    public void setChatRoom(IChatRoom chatRoom) {
+        this.chatRoom = chatRoom;
+    }
+
+    /**
+     * Retrieve the Users the message is sent to. Handlers may add or remove recipients from the returned list.
+     * @return mutable list of Users, or null if they have not been chosen yet
+     */
+    public List<IUser> getRecipients() {
+        return recipients;
+    }
+
+    /**
+     * Replace the Users the message is sent to.
+     * @param recipients mutable list of Users
+     */
+    public void setRecipients(List<IUser> recipients) {
+        this.recipients = recipients;
+    }
+
+    /**
+     * Retrieve the line shown to each recipient other than the sender.
+     * @return formatted line, or null if it has not been formatted yet
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Replace the line shown to each recipient other than the sender.
+     * @param format formatted line
+     */
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * Retrieve the line shown to the sender, if they are a recipient.
+     * @return formatted line, or null if it has not been formatted yet
+     */
+    public String getSenderFormat() {
+        return senderFormat;
+    }
+
+    /**
+     * Replace the line shown to the sender, if they are a recipient.
+     * @param senderFormat formatted line
+     */
+    public void setSenderFormat(String senderFormat) {
+        this.senderFormat = senderFormat;
+    }
+
+    /**
+     * Check whether the message has been cancelled.
+     * @return True if cancelled, false if not
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancel the message, so it passes through no further handlers and is not sent.
+     * @param notice message sent privately to the sender explaining why, or null to cancel silently
+     */
+    public void cancel(String notice) {
+        this.cancelled = true;
+        this.cancelNotice = notice;
+    }
+
+    /**
+     * Retrieve the message sent to the sender explaining why their message was cancelled.
+     * @return the notice, or null if there is none
+     */
+    public String getCancelNotice() {
+        return cancelNotice;
+    }
+
+    /**
+     * Retrieve a value stored on the message by a handler, such as to pass information to a later stage.
+     * @param key the key of the value, which should be prefixed with the plugin's name
+     * @return the value, or null if there is none
+     */
+    public Object getAttribute(String key) {
+        return attributes == null ? null : attributes.get(key);
+    }
+
+    /**
+     * Store a value on the message.
+     * @param key the key of the value, which should be prefixed with the plugin's name
+     * @param value the value, or null to remove it
+     */
+    public void setAttribute(String key, Object value) {
+        if(value == null) {
+            if(attributes != null) attributes.remove(key);
+            return;
+        }
+        if(attributes == null) attributes = new HashMap<>();
+        attributes.put(key, value);
+    }
+}
@@ -0,0 +1,211 @@
+package dev.simplyamazing.jonkcore.Objects.Pipeline;
+
+import dev.simplyamazing.jonkcore.Objects.Histogram;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatHandler;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+public class ChatPipeline {
+    private static final ChatStage[] STAGES = ChatStage.values();
+
+    private final Histogram[] stageTimings;
+    // the handlers of each stage in the order they run, replaced whenever a handler is registered or unregistered
+    private volatile Registration[][] stages;
+
+    /**
+     * Constructor for the ChatPipeline object.
+     * <br><br>
+     * Every message sent by a User passes through each {@link ChatStage} in order, and through the handlers registered for each stage in order of
+     * priority. The time taken by each handler and each stage is recorded, so slow handlers can be found with <code>/jcore pipeline</code>.
+     */
+    public ChatPipeline() {
+        this.stageTimings = new Histogram[STAGES.length];
+        for(int i = 0; i < STAGES.length; i++) stageTimings[i] = new Histogram();
+        Registration[][] empty = new Registration[STAGES.length][];
+        Arrays.fill(empty, new Registration[0]);
+        this.stages = empty;
+    }
+
+    /**
+     * Register a handler into a stage.
+     * <br><br>
+     * Handlers with a lower priority run first, and handlers with the same priority run in the order they were registered.
+     * JonkCORE's own handlers run at priority 0, so a negative priority runs before them and a positive priority runs after them.
+     *
+     * @param owner the plugin registering the handler, whose handlers are unregistered when it is disabled
+     * @param name name of the handler, shown with its timings
+     * @param stage the stage the handler runs in
+     * @param priority the priority of the handler
+     * @param handler the handler
+     * @return the registration, which can be used to unregister the handler
+     */
+    public Registration register(Plugin owner, String name, ChatStage stage, int priority, IChatHandler handler) {
+        Registration registration = new Registration(owner, name, stage, priority, handler);
+        synchronized(this) {
+            Registration[][] updated = stages.clone();
+            Registration[] current = updated[stage.ordinal()];
+            int index = current.length;
+            while(index > 0 && current[index - 1].priority > priority) index--;
+            Registration[] handlers = new Registration[current.length + 1];
+            System.arraycopy(current, 0, handlers, 0, index);
+            handlers[index] = registration;
+            System.arraycopy(current, index, handlers, index + 1, current.length - index);
+            updated[stage.ordinal()] = handlers;
+            this.stages = updated;
+        }
+        return registration;
+    }
+
+    /**
+     * Unregister a handler.
+     * @param registration the registration returned when the handler was registered
+     * @return True if the handler was registered, false if not
+     */
+    public synchronized boolean unregister(Registration registration) {
+        Registration[][] updated = stages.clone();
+        int stage = registration.stage.ordinal();
+        List<Registration> handlers = new ArrayList<>(Arrays.asList(updated[stage]));
+        if(!handlers.remove(registration)) return false;
+        updated[stage] = handlers.toArray(new Registration[0]);
+        this.stages = updated;
+        return true;
+    }
+
+    /**
+     * Unregister every handler registered by a plugin.
+     * @param owner the plugin
+     * @return amount of handlers unregistered
+     */
+    public synchronized int unregisterAll(Plugin owner) {
+        Registration[][] updated = stages.clone();
+        int removed = 0;
+        for(int i = 0; i < updated.length; i++) {
+            List<Registration> handlers = new ArrayList<>(Arrays.asList(updated[i]));
+            if(handlers.removeIf(registration -> registration.owner.equals(owner))) {
+                removed += updated[i].length - handlers.size();
+                updated[i] = handlers.toArray(new Registration[0]);
+            }
+        }
+        if(removed > 0) this.stages = updated;
+        return removed;
+    }
+
+    /**
+     * Retrieve every registered handler, in the order they run.
+     * @return list of registrations
+     */
+    public List<Registration> getRegistrations() {
+        List<Registration> registrations = new ArrayList<>();
+        for(Registration[] handlers : stages) registrations.addAll(Arrays.asList(handlers));
+        return registrations;
+    }
+
+    /**
+     * Retrieve the time taken by every handler of a stage combined, in nanoseconds, for each message that reached it.
+     * @param stage the stage
+     * @return Histogram of durations
+     */
+    public Histogram getStageTimings(ChatStage stage) {
+        return stageTimings[stage.ordinal()];
+    }
+
+    /**
+     * Pass a message through every stage, stopping once it is cancelled.
+     * <br><br>
+     * A handler throwing an exception is logged to its plugin's logger, and the message continues to the next handler.
+     * If the message is cancelled with a notice, the notice is sent to the sender.
+     *
+     * @param context the message
+     * @return the same context, once processed
+     */
+    public ChatContext process(ChatContext context) {
+        Registration[][] current = stages;
+        long start = System.nanoTime(), time = start;
+        for(int i = 0; i < current.length && !context.isCancelled(); i++) {
+            long stageStart = time;
+            for(Registration registration : current[i]) {
+                try {
+                    registration.handler.handle(context);
+                } catch(RuntimeException e) {
+                    registration.failures.increment();
+                    registration.owner.getLogger().log(Level.SEVERE, "Chat handler " + registration.name + " failed to handle a message in the " + registration.stage + " stage", e);
+                }
+                long end = System.nanoTime();
+                registration.timings.record(end - time);
+                time = end;
+                if(context.isCancelled()) break;
+            }
+            stageTimings[i].record(time - stageStart);
+        }
+        Metrics.count(Metrics.CHAT_MESSAGES);
+        Metrics.record(Metrics.CHAT_DURATION, time - start);
+        if(context.isCancelled()) Metrics.count(Metrics.CHAT_CANCELLED);
+        if(context.isCancelled() && context.getCancelNotice() != null) context.getSender().sendMessage(context.getCancelNotice());
+        return context;
+    }
+
+    /**
+     * A handler registered into a ChatPipeline.
+     */
+    public static final class Registration {
+        private final Plugin owner;
+        private final String name;
+        private final ChatStage stage;
+        private final int priority;
+        private final IChatHandler handler;
+        private final Histogram timings;
+        private final LongAdder failures;
+
+        private Registration(Plugin owner, String name, ChatStage stage, int priority, IChatHandler handler) {
+            this.owner = owner;
+            this.name = name;
+            this.stage = stage;
+            this.priority = priority;
+            this.handler = handler;
+            this.timings = new Histogram();
+            this.failures = new LongAdder();
+        }
+
+        public Plugin getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ChatStage getStage() {
+            return stage;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public IChatHandler getHandler() {
+            return handler;
+        }
+
+        /**
+         * Retrieve the time taken by the handler, in nanoseconds, for each message it handled.
+         * @return Histogram of durations
+         */
+        public Histogram getTimings() {
+            return timings;
+        }
+
+        /**
+         * Retrieve the amount of messages the handler threw an exception for.
+         * @return amount of failures
+         */
+        public long getFailureCount() {
+            return failures.sum();
+        }
+    }
+}
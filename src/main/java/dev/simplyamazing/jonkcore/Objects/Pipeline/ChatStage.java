@@ -0,0 +1,27 @@
+package dev.simplyamazing.jonkcore.Objects.Pipeline;
+
+/**
+ * The stages every message passes through in the ChatPipeline, in order.
+ */
+public enum ChatStage {
+    /**
+     * Read the message as it was sent, such as a leading trigger keyword choosing its ChatRoom.
+     */
+    PARSE,
+    /**
+     * Choose the ChatRoom the message is sent in, and its recipients.
+     */
+    ROUTE,
+    /**
+     * Reject or alter the message, such as when a ChatRoom is muted or the message contains filtered words.
+     */
+    FILTER,
+    /**
+     * Build the lines shown to the recipients and the sender.
+     */
+    FORMAT,
+    /**
+     * Send the message to its recipients, and record it.
+     */
+    DELIVER
+}
@@ -0,0 +1,165 @@
+package dev.simplyamazing.jonkcore.Objects.Pipeline;
+
+import dev.simplyamazing.jonkcore.JonkCORE;
+import dev.simplyamazing.jonkcore.Objects.ChatRoom;
+import dev.simplyamazing.jonkcore.Objects.DuplicateDetector;
+import dev.simplyamazing.jonkcore.Objects.Filter.ChatFilter;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatHandler;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatStyling;
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.RateLimiter;
+import dev.simplyamazing.jonkcore.Utilities.ChatUtilities;
+import org.bukkit.ChatColor;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The handlers JonkCORE registers into the ChatPipeline, which together send a message the way a ChatRoom always has.
+ */
+public final class CoreChatHandlers {
+    // whether a ChatRoom implementation handles messages from Users itself, overriding sendMessage(IUser, String) rather than only deliver(ChatContext)
+    private static final ClassValue<Boolean> HANDLES_MESSAGES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("sendMessage", IUser.class, String.class).getDeclaringClass() != ChatRoom.class;
+            } catch(NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private CoreChatHandlers() {}
+
+    /**
+     * Register every handler into a ChatPipeline, each at priority 0.
+     * @param pipeline the ChatPipeline
+     * @param owner the plugin owning the handlers
+     */
+    public static void register(ChatPipeline pipeline, Plugin owner) {
+        pipeline.register(owner, "trigger-keyword", ChatStage.PARSE, 0, CoreChatHandlers::parse);
+        pipeline.register(owner, "focused-room", ChatStage.ROUTE, 0, CoreChatHandlers::route);
+        pipeline.register(owner, "moderation", ChatStage.FILTER, 0, CoreChatHandlers::filter);
+        pipeline.register(owner, "chat-style", ChatStage.FORMAT, 0, CoreChatHandlers::format);
+        pipeline.register(owner, "chat-room", ChatStage.DELIVER, 0, CoreChatHandlers::deliver);
+    }
+
+    /**
+     * Pass a message through every handler in order without a ChatPipeline, such as when JonkCORE is not enabled.
+     * @param context the message
+     */
+    public static void process(ChatContext context) {
+        IChatHandler[] handlers = {CoreChatHandlers::parse, CoreChatHandlers::route, CoreChatHandlers::filter, CoreChatHandlers::format, CoreChatHandlers::deliver};
+        for(IChatHandler handler : handlers) {
+            handler.handle(context);
+            if(context.isCancelled()) break;
+        }
+        if(context.isCancelled() && context.getCancelNotice() != null) context.getSender().sendMessage(context.getCancelNotice());
+    }
+
+    /**
+     * Redirect a message starting with the trigger keyword of a ChatRoom the sender is subscribed to into that ChatRoom, removing the keyword.
+     * Empty messages are cancelled.
+     */
+    static void parse(ChatContext context) {
+        if(context.getChatRoom() == null && context.getPlugin() != null) {
+            String message = context.getMessage();
+            for(IChatRoom chatRoom : context.getPlugin().getStorage().getChatRooms()) {
+                String trigger = chatRoom.getTriggerKeyword();
+                if(trigger != null && !trigger.isEmpty() && message != null && message.startsWith(trigger) && chatRoom.isSubscribed(context.getSender())) {
+                    context.setMessage(message.substring(trigger.length()));
+                    context.setChatRoom(chatRoom);
+                    break;
+                }
+            }
+        }
+        if(context.getMessage() == null || context.getMessage().isEmpty()) context.cancel(null);
+    }
+
+    /**
+     * Send a message without a ChatRoom to the sender's focused ChatRoom, and send it to every User subscribed to the ChatRoom.
+     * <br><br>
+     * A message typed into chat is instead handed to {@link IChatRoom#sendMessage(IUser, String)} if its ChatRoom overrides it, or is a differing
+     * implementation than {@link ChatRoom}, as chat was before the ChatPipeline. The message then passes through the ChatPipeline again once that method
+     * calls {@link ChatRoom#sendMessage(IUser, String)}, so handlers of the PARSE and ROUTE stages may see it twice.
+     */
+    static void route(ChatContext context) {
+        if(context.getChatRoom() == null) context.setChatRoom(context.getSender().getFocusedChatRoom());
+        IChatRoom chatRoom = context.getChatRoom();
+        if(chatRoom == null) {
+            context.cancel(null);
+            return;
+        }
+        if(context.isRouted() && HANDLES_MESSAGES.get(chatRoom.getClass())) {
+            context.cancel(null);
+            chatRoom.sendMessage(context.getSender(), context.getMessage());
+            return;
+        }
+        if(context.getRecipients() == null) context.setRecipients(chatRoom.getSubscribedUsers());
+    }
+
+    /**
+     * Reject messages in a muted ChatRoom, sent too quickly (see {@link RateLimiter}), containing a blocked word (see {@link ChatFilter}) or repeating a recent
+     * message (see {@link DuplicateDetector}), and censor filtered words.
+     */
+    static void filter(ChatContext context) {
+        if(!(context.getChatRoom() instanceof ChatRoom chatRoom)) return;
+        IUser sender = context.getSender();
+        String roomName = chatRoom.getIdentifier().toString();
+        if(chatRoom.roomIsMuted() && !sender.hasPermission("jonkcore.chatroom." + roomName.replaceAll(" ", "-") + ".bypassmute")) {
+            context.cancel("&cThis chat room is currently muted.");
+            return;
+        }
+        JonkCORE instance = JonkCORE.getInstance();
+        if(instance == null) return;
+        // reject spam before it is recorded or sent to anyone
+        RateLimiter rateLimiter = instance.getRateLimiter();
+        RateLimiter.Result limit = rateLimiter == null ? RateLimiter.Result.ALLOWED : rateLimiter.tryAcquire(sender, chatRoom);
+        if(limit != RateLimiter.Result.ALLOWED) {
+            context.cancel(limit == RateLimiter.Result.USER_LIMITED ? "&cYou are sending messages too quickly." : "&cThis chat room is receiving too many messages, please wait a moment.");
+            return;
+        }
+        ChatFilter chatFilter = instance.getChatFilter();
+        if(chatFilter != null) {
+            String filtered = chatFilter.filter(sender, roomName, context.getMessage());
+            if(filtered == null) {
+                context.cancel("&cYour message contains a blocked word.");
+                return;
+            }
+            context.setMessage(filtered);
+        }
+        DuplicateDetector duplicateDetector = instance.getDuplicateDetector();
+        DuplicateDetector.Result duplicate = duplicateDetector == null ? DuplicateDetector.Result.UNIQUE : duplicateDetector.check(sender, chatRoom, context.getMessage());
+        if(duplicate == DuplicateDetector.Result.DROPPED) {
+            context.cancel("&cPlease do not repeat the same message.");
+            return;
+        }
+        if(duplicate == DuplicateDetector.Result.FLAGGED) {
+            instance.getLogger().info("Possible repeated message from " + ChatColor.stripColor(ChatUtilities.autoColour(context.getSenderName())) + " in " + roomName + ": " + context.getMessage());
+        }
+    }
+
+    /**
+     * Style the message with the ChatRoom's ChatStyling, showing the sender their own message as <code>YOU</code>.
+     */
+    static void format(ChatContext context) {
+        IChatStyling chatStyle = context.getChatRoom().getChatStyle();
+        String body = ": &r" + chatStyle.formatMessageAnonymously(context.getMessage()) + " " + chatStyle.getSuffix();
+        if(context.getFormat() == null) context.setFormat(chatStyle.getPrefix() + " " + context.getSenderName() + body);
+        if(context.getSenderFormat() == null) context.setSenderFormat(chatStyle.getPrefix() + " &a&lYOU" + body);
+    }
+
+    /**
+     * Record the message in the ChatRoom's history and send it to every recipient, see {@link ChatRoom#deliver(ChatContext)}.
+     * ChatRoom implementations changing how messages are delivered should override that method.
+     */
+    static void deliver(ChatContext context) {
+        if(context.getChatRoom() instanceof ChatRoom chatRoom) {
+            chatRoom.deliver(context);
+            return;
+        }
+        for(IUser user : context.getRecipients()) {
+            user.sendMessage(user.equals(context.getSender()) ? context.getSenderFormat() : context.getFormat());
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class RateLimiter {
+    public static final String BYPASS_PERMISSION = "jonkcore.ratelimit.bypass";
+
+    private final Limit userLimit;
+    private final Limit roomLimit;
+    private final Map<String, Limit[]> overrides;
+    private final Map<String, RoomBuckets> rooms;
+    private final LongAdder userRejections;
+    private final LongAdder roomRejections;
+    // nanoTime has an arbitrary origin, so times are measured from construction; a bucket time of 0 is a full bucket
+    private final long epoch;
+    // user slots, reused once released
+    private int nextSlot;
+    private int[] freeSlots;
+    private int freeCount;
+
+    /**
+     * Constructor for the RateLimiter object.
+     * <br><br>
+     * Each ChatRoom has a token bucket shared by every sender, and a token bucket per sender, held in a primitive array indexed by the
+     * sender's slot. A bucket is stored as the time at which it would be full again, so it is refilled lazily whenever it is checked, and taking a token
+     * is a single compare-and-set. No locks are held while checking a message.
+     *
+     * @param userLimit the default limit of each sender in a ChatRoom
+     * @param roomLimit the default limit of every sender combined in a ChatRoom
+     * @param overrides limits of specific ChatRooms by name, as <code>{user limit, room limit}</code>, either of which may be null to use the default
+     */
+    public RateLimiter(Limit userLimit, Limit roomLimit, Map<String, Limit[]> overrides) {
+        this.userLimit = userLimit;
+        this.roomLimit = roomLimit;
+        this.overrides = new HashMap<>();
+        for(Map.Entry<String, Limit[]> entry : overrides.entrySet()) this.overrides.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
+        this.rooms = new ConcurrentHashMap<>();
+        this.userRejections = new LongAdder();
+        this.roomRejections = new LongAdder();
+        this.epoch = System.nanoTime();
+        this.freeSlots = new int[16];
+    }
+
+    /**
+     * Create a RateLimiter from a config section.
+     * <br><br>
+     * <b>DEFAULT:</b> 5 messages at once per sender, regaining 1 per second, and 40 messages at once per ChatRoom, regaining 20 per second.
+     *
+     * @param section the <code>rate-limit</code> section of the config, or null to use the defaults
+     * @return RateLimiter object
+     */
+    public static RateLimiter fromConfig(ConfigurationSection section) {
+        Limit user = Limit.fromConfig(section == null ? null : section.getConfigurationSection("user"), new Limit(5, 1));
+        Limit room = Limit.fromConfig(section == null ? null : section.getConfigurationSection("room"), new Limit(40, 20));
+        Map<String, Limit[]> overrides = new HashMap<>();
+        ConfigurationSection roomSection = section == null ? null : section.getConfigurationSection("rooms");
+        if(roomSection != null) {
+            for(String name : roomSection.getKeys(false)) {
+                ConfigurationSection override = roomSection.getConfigurationSection(name);
+                if(override == null) continue;
+                overrides.put(name, new Limit[] {
+                        override.isConfigurationSection("user") ? Limit.fromConfig(override.getConfigurationSection("user"), user) : null,
+                        override.isConfigurationSection("room") ? Limit.fromConfig(override.getConfigurationSection("room"), room) : null
+                });
+            }
+        }
+        return new RateLimiter(user, room, overrides);
+    }
+
+    /**
+     * Take a token for a message sent by a User in a ChatRoom.
+     * <br><br>
+     * The sender's own bucket is checked before the ChatRoom's, so a sender who is being limited does not use up the ChatRoom's tokens.
+     * If either bucket is empty, the message is rejected unless the sender has the {@value #BYPASS_PERMISSION} permission; the permission is
+     * only checked once a message would be rejected.
+     * <br><br>
+     * This may be called from any thread.
+     *
+     * @param sender User sending the message
+     * @param room ChatRoom the message is sent in
+     * @return the result of the check
+     */
+    public Result tryAcquire(IUser sender, ChatRoom room) {
+        RoomBuckets buckets = getBuckets(room);
+        long now = System.nanoTime() - epoch;
+        if(sender instanceof User user && !buckets.userLimit.isUnlimited()) {
+            int slot = getSlot(user);
+            if(!take(buckets.users(slot), slot, now, buckets.userLimit)) return reject(sender, buckets, Result.USER_LIMITED);
+        }
+        if(!buckets.roomLimit.isUnlimited() && !take(buckets.room, now, buckets.roomLimit)) return reject(sender, buckets, Result.ROOM_LIMITED);
+        return Result.ALLOWED;
+    }
+
+    /**
+     * Get the amount of messages rejected because their sender was sending messages too quickly.
+     * @return amount of rejected messages
+     */
+    public long getUserRejections() {
+        return userRejections.sum();
+    }
+
+    /**
+     * Get the amount of messages rejected because their ChatRoom was receiving messages too quickly.
+     * @return amount of rejected messages
+     */
+    public long getRoomRejections() {
+        return roomRejections.sum();
+    }
+
+    /**
+     * Get the amount of messages rejected in each ChatRoom a message has been checked in.
+     * @return map of ChatRoom names to amounts of rejected messages
+     */
+    public Map<String, Long> getRejectionsByRoom() {
+        Map<String, Long> rejections = new HashMap<>();
+        for(Map.Entry<String, RoomBuckets> entry : rooms.entrySet()) rejections.put(entry.getKey(), entry.getValue().rejections.sum());
+        return rejections;
+    }
+
+    /**
+     * Get the limits applied in a ChatRoom.
+     * @param room name of the ChatRoom
+     * @return the limits, as <code>{user limit, room limit}</code>
+     */
+    public Limit[] getLimits(String room) {
+        Limit[] override = overrides.get(room.toLowerCase(Locale.ROOT));
+        if(override == null) return new Limit[] {userLimit, roomLimit};
+        return new Limit[] {override[0] == null ? userLimit : override[0], override[1] == null ? roomLimit : override[1]};
+    }
+
+    /**
+     * Release the slot of a User that is no longer used, so it can be given to another User.
+     * @param user User to release the slot of
+     */
+    void releaseSlot(User user) {
+        synchronized(this) {
+            int slot = user.rateLimitSlot;
+            if(slot < 0) return;
+            user.rateLimitSlot = -1;
+            // the next User given this slot starts with full buckets
+            for(RoomBuckets buckets : rooms.values()) buckets.reset(slot);
+            if(freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    private int getSlot(User user) {
+        int slot = user.rateLimitSlot;
+        if(slot >= 0) return slot;
+        synchronized(this) {
+            if(user.rateLimitSlot < 0) user.rateLimitSlot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot++;
+            return user.rateLimitSlot;
+        }
+    }
+
+    private RoomBuckets getBuckets(ChatRoom room) {
+        String name = room.getIdentifier().toString();
+        RoomBuckets buckets = rooms.get(name);
+        if(buckets != null) return buckets;
+        return rooms.computeIfAbsent(name, key -> {
+            Limit[] limits = getLimits(key);
+            return new RoomBuckets(limits[0], limits[1]);
+        });
+    }
+
+    private Result reject(IUser sender, RoomBuckets buckets, Result result) {
+        if(sender.hasPermission(BYPASS_PERMISSION)) return Result.ALLOWED;
+        buckets.rejections.increment();
+        (result == Result.USER_LIMITED ? userRejections : roomRejections).increment();
+        return result;
+    }
+
+    private static boolean take(AtomicLongArray buckets, int slot, long now, Limit limit) {
+        while(true) {
+            long full = buckets.get(slot);
+            long next = next(full, now, limit);
+            if(next < 0) return false;
+            if(buckets.compareAndSet(slot, full, next)) return true;
+        }
+    }
+
+    private static boolean take(AtomicLong bucket, long now, Limit limit) {
+        while(true) {
+            long full = bucket.get();
+            long next = next(full, now, limit);
+            if(next < 0) return false;
+            if(bucket.compareAndSet(full, next)) return true;
+        }
+    }
+
+    // the time at which the bucket would be full again after taking a token, or -1 if it is empty
+    private static long next(long full, long now, Limit limit) {
+        long next = Math.max(full, now) + limit.intervalNanos;
+        return next - now > limit.capacityNanos ? -1 : next;
+    }
+
+    /**
+     * The result of checking a message against a RateLimiter.
+     */
+    public enum Result {
+        ALLOWED,
+        USER_LIMITED,
+        ROOM_LIMITED
+    }
+
+    /**
+     * A token bucket limit: up to <code>burst</code> messages may be sent at once, with <code>perSecond</code> tokens regained each second.
+     */
+    public static final class Limit {
+        private final int burst;
+        private final double perSecond;
+        private final long intervalNanos;
+        private final long capacityNanos;
+
+        /**
+         * Constructor for the Limit object.
+         * @param burst the amount of messages that may be sent at once, or 0 for no limit
+         * @param perSecond the amount of messages regained each second, or 0 for no limit
+         */
+        public Limit(int burst, double perSecond) {
+            this.burst = Math.max(0, burst);
+            this.perSecond = Math.max(0, perSecond);
+            this.intervalNanos = isUnlimited() ? 0 : Math.max(1, (long) (1_000_000_000L / perSecond));
+            this.capacityNanos = intervalNanos * this.burst;
+        }
+
+        private static Limit fromConfig(ConfigurationSection section, Limit fallback) {
+            if(section == null) return fallback;
+            return new Limit(section.getInt("burst", fallback.burst), section.getDouble("per-second", fallback.perSecond));
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public double getPerSecond() {
+            return perSecond;
+        }
+
+        public boolean isUnlimited() {
+            return burst == 0 || perSecond == 0;
+        }
+    }
+
+    private static final class RoomBuckets {
+        private final Limit userLimit;
+        private final Limit roomLimit;
+        private final AtomicLong room;
+        private final LongAdder rejections;
+        private volatile AtomicLongArray users;
+
+        private RoomBuckets(Limit userLimit, Limit roomLimit) {
+            this.userLimit = userLimit;
+            this.roomLimit = roomLimit;
+            this.room = new AtomicLong();
+            this.rejections = new LongAdder();
+            this.users = new AtomicLongArray(64);
+        }
+
+        private AtomicLongArray users(int slot) {
+            AtomicLongArray array = users;
+            if(slot < array.length()) return array;
+            synchronized(this) {
+                array = users;
+                if(slot >= array.length()) {
+                    // a token taken from the old array while it is copied may be lost, which at worst lets one extra message through
+                    AtomicLongArray grown = new AtomicLongArray(Math.max(slot + 1, array.length() * 2));
+                    for(int i = 0; i < array.length(); i++) grown.set(i, array.get(i));
+                    this.users = array = grown;
+                }
+            }
+            return array;
+        }
+
+        private void reset(int slot) {
+            AtomicLongArray array = users;
+            if(slot < array.length()) array.set(slot, 0);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package dev.simplyamazing.jonkcore.Objects.Relay;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IRelayTransport;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ChatRelay {
+    private static final int MAX_BATCH = 256;
+
+    private final String serverId;
+    private final Set<String> rooms;
+    private final int compressionThreshold;
+    private final Consumer<List<RelayMessage>> delivery;
+    private final Logger logger;
+    private final List<Link> links;
+    private final Queue<RelayMessage> pending;
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Constructor for the ChatRelay object.
+     * <br><br>
+     * Published messages are queued and sent to every link as a single frame once per flush interval. Received messages are passed to the
+     * delivery consumer on the transport's thread, so it should hop onto the main thread before touching any ChatRooms.
+     *
+     * @param serverId the identifier of this server, which must be unique within the network
+     * @param rooms names of the ChatRooms to relay, or an empty collection to relay every ChatRoom
+     * @param flushIntervalMillis how often queued messages are sent, in milliseconds
+     * @param compressionThreshold minimum frame size in bytes before it is compressed, or 0 to never compress
+     * @param delivery consumer of every batch of messages received from other servers
+     * @param logger logger to report transport failures to
+     */
+    public ChatRelay(String serverId, Collection<String> rooms, long flushIntervalMillis, int compressionThreshold, Consumer<List<RelayMessage>> delivery, Logger logger) {
+        this.serverId = serverId;
+        this.rooms = Set.copyOf(rooms);
+        this.compressionThreshold = Math.max(0, compressionThreshold);
+        this.delivery = delivery;
+        this.logger = logger;
+        this.links = new CopyOnWriteArrayList<>();
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JonkCORE-Relay-" + serverId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, flushIntervalMillis);
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a transport and relay messages through it.
+     * @param transport the transport to add
+     * @throws IOException if the transport could not be opened
+     */
+    public void addLink(IRelayTransport transport) throws IOException {
+        Link link = new Link(transport);
+        transport.open(frame -> receive(link, frame));
+        links.add(link);
+    }
+
+    /**
+     * Queue a message to be sent to every other server.
+     * <br><br>
+     * This may be called from any thread, and returns immediately. Messages in ChatRooms that are not relayed are ignored.
+     *
+     * @param room the name of the ChatRoom the message was sent in
+     * @param sender the formatted name of the User who sent the message
+     * @param body the unformatted message
+     */
+    public void publish(String room, String sender, String body) {
+        if(!relays(room) || links.isEmpty()) return;
+        pending.add(new RelayMessage(serverId, room, sender, body, System.currentTimeMillis()));
+    }
+
+    /**
+     * Check whether messages in a ChatRoom are relayed.
+     * @param room the name of the ChatRoom
+     * @return true if relayed
+     */
+    public boolean relays(String room) {
+        return rooms.isEmpty() || rooms.contains(room);
+    }
+
+    /**
+     * Send every queued message immediately, rather than waiting for the next flush interval.
+     */
+    public void flush() {
+        try {
+            while(!pending.isEmpty()) {
+                List<RelayMessage> batch = new ArrayList<>(Math.min(MAX_BATCH, pending.size()));
+                RelayMessage message;
+                while(batch.size() < MAX_BATCH && (message = pending.poll()) != null) batch.add(message);
+                if(batch.isEmpty()) return;
+                // encode once, and share the same frame with every link
+                byte[] frame = RelayCodec.encode(batch, compressionThreshold);
+                for(Link link : links) link.send(frame, batch.size());
+            }
+        } catch(Throwable t) {
+            // an exception would cancel the scheduled flush
+            logger.log(Level.SEVERE, "Unhandled exception while flushing the chat relay", t);
+        }
+    }
+
+    /**
+     * Flush any queued messages, then close every link.
+     */
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        for(Link link : links) link.transport.close();
+        links.clear();
+    }
+
+    /**
+     * Get the identifier of this server.
+     * @return server identifier
+     */
+    public String getServerId() {
+        return serverId;
+    }
+
+    /**
+     * Retrieve every link messages are relayed through.
+     * @return unmodifiable list of links
+     */
+    public List<Link> getLinks() {
+        return Collections.unmodifiableList(links);
+    }
+
+    private void receive(Link link, byte[] frame) {
+        link.metrics.recordReceived(frame.length);
+        List<RelayMessage> messages;
+        try {
+            messages = RelayCodec.decode(frame);
+        } catch(IOException e) {
+            logger.warning("Discarded a malformed frame on relay link " + link.getName() + ": " + e.getMessage());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<RelayMessage> accepted = new ArrayList<>(messages.size());
+        for(RelayMessage message : messages) {
+            // a broker may echo our own messages back
+            if(serverId.equals(message.getOrigin())) continue;
+            link.metrics.recordDelivered(now - message.getTimestamp());
+            accepted.add(message);
+        }
+        if(!accepted.isEmpty()) delivery.accept(accepted);
+    }
+
+    public final class Link {
+        private final IRelayTransport transport;
+        private final LinkMetrics metrics;
+
+        private Link(IRelayTransport transport) {
+            this.transport = transport;
+            this.metrics = new LinkMetrics();
+        }
+
+        private void send(byte[] frame, int messages) {
+            long start = System.nanoTime();
+            try {
+                transport.send(frame);
+                metrics.recordSent(messages, frame.length, System.nanoTime() - start);
+            } catch(IOException e) {
+                metrics.recordFailure();
+                logger.log(Level.FINE, "Dropped a frame on relay link " + getName(), e);
+            }
+        }
+
+        /**
+         * Get the name of the link.
+         * @return link name
+         */
+        public String getName() {
+            return transport.getName();
+        }
+
+        /**
+         * Check whether the link is currently connected.
+         * @return true if connected
+         */
+        public boolean isConnected() {
+            return transport.isConnected();
+        }
+
+        /**
+         * Retrieve the throughput and latency metrics of the link.
+         * @return LinkMetrics object
+         */
+        public LinkMetrics getMetrics() {
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package dev.simplyamazing.jonkcore.Objects.Relay;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IRelayTransport;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class InMemoryTransport implements IRelayTransport {
+    private static final Map<String, List<InMemoryTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final String name;
+    private volatile Consumer<byte[]> receiver;
+
+    /**
+     * Constructor for the InMemoryTransport object.
+     * <br><br>
+     * Every transport opened on the same channel within this JVM receives the frames sent by the others, on the sending thread.
+     * This is intended for testing several relays without any network.
+     *
+     * @param channel the channel to join
+     * @param name the name of the link
+     */
+    public InMemoryTransport(String channel, String name) {
+        this.channel = channel;
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void open(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void send(byte[] frame) throws IOException {
+        if(receiver == null) throw new IOException("The transport " + name + " is not open.");
+        for(InMemoryTransport other : CHANNELS.getOrDefault(channel, List.of())) {
+            Consumer<byte[]> otherReceiver = other.receiver;
+            if(other != this && otherReceiver != null) otherReceiver.accept(frame);
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return receiver != null;
+    }
+
+    @Override
+    public void close() {
+        List<InMemoryTransport> transports = CHANNELS.get(channel);
+        if(transports != null) transports.remove(this);
+        this.receiver = null;
+    }
+}
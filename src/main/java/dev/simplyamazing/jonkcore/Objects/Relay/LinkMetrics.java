@@ -0,0 +1,145 @@
+package dev.simplyamazing.jonkcore.Objects.Relay;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LinkMetrics {
+    private final long created = System.nanoTime();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder framesReceived = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final AtomicLong maxSendNanos = new AtomicLong();
+    private final LongAdder deliveryMillis = new LongAdder();
+    private final AtomicLong maxDeliveryMillis = new AtomicLong();
+
+    void recordSent(int messages, int bytes, long nanos) {
+        framesSent.increment();
+        messagesSent.add(messages);
+        bytesSent.add(bytes);
+        sendNanos.add(nanos);
+        maxSendNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordFailure() {
+        sendFailures.increment();
+    }
+
+    void recordReceived(int bytes) {
+        framesReceived.increment();
+        bytesReceived.add(bytes);
+    }
+
+    void recordDelivered(long millis) {
+        messagesReceived.increment();
+        long latency = Math.max(0, millis);
+        deliveryMillis.add(latency);
+        maxDeliveryMillis.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Retrieve the amount of frames sent on the link.
+     * @return amount of frames
+     */
+    public long getFramesSent() {
+        return framesSent.sum();
+    }
+
+    /**
+     * Retrieve the amount of messages sent on the link, across all frames.
+     * @return amount of messages
+     */
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    /**
+     * Retrieve the amount of bytes sent on the link, excluding any framing added by the transport.
+     * @return amount of bytes
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    /**
+     * Retrieve the amount of frames that could not be sent, and were dropped.
+     * @return amount of failed frames
+     */
+    public long getSendFailures() {
+        return sendFailures.sum();
+    }
+
+    /**
+     * Retrieve the amount of frames received on the link.
+     * @return amount of frames
+     */
+    public long getFramesReceived() {
+        return framesReceived.sum();
+    }
+
+    /**
+     * Retrieve the amount of messages received on the link, across all frames.
+     * @return amount of messages
+     */
+    public long getMessagesReceived() {
+        return messagesReceived.sum();
+    }
+
+    /**
+     * Retrieve the amount of bytes received on the link.
+     * @return amount of bytes
+     */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * Retrieve the average amount of messages sent per second since the link was added.
+     * @return messages per second
+     */
+    public double getMessagesSentPerSecond() {
+        double seconds = (System.nanoTime() - created) / 1_000_000_000.0;
+        return seconds <= 0 ? 0 : messagesSent.sum() / seconds;
+    }
+
+    /**
+     * Retrieve the average time taken to hand a frame to the transport.
+     * @return average send time, in milliseconds
+     */
+    public double getAverageSendMillis() {
+        long frames = framesSent.sum();
+        return frames == 0 ? 0 : sendNanos.sum() / (double) frames / 1_000_000;
+    }
+
+    /**
+     * Retrieve the longest time taken to hand a frame to the transport.
+     * @return maximum send time, in milliseconds
+     */
+    public double getMaxSendMillis() {
+        return maxSendNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Retrieve the average time between a message being sent on another server and being received on this one.
+     * <br><br>
+     * This includes the flush interval of the sending server, and relies on the clocks of both servers being synchronised.
+     *
+     * @return average delivery latency, in milliseconds
+     */
+    public double getAverageDeliveryMillis() {
+        long messages = messagesReceived.sum();
+        return messages == 0 ? 0 : deliveryMillis.sum() / (double) messages;
+    }
+
+    /**
+     * Retrieve the longest time between a message being sent on another server and being received on this one.
+     * @return maximum delivery latency, in milliseconds
+     */
+    public long getMaxDeliveryMillis() {
+        return maxDeliveryMillis.get();
+    }
+}
@@ -0,0 +1,141 @@
+package dev.simplyamazing.jonkcore.Objects.Relay;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+public class RelayBroker {
+    private final String host;
+    private final int port;
+    private final Logger logger;
+    private final List<Connection> connections;
+    private volatile ServerSocket server;
+
+    /**
+     * Constructor for the RelayBroker object.
+     * <br><br>
+     * The broker forwards every frame it receives from one server to every other connected server, without decoding it. One server in the
+     * network may host it, or it may be replaced by any message broker with a matching {@link dev.simplyamazing.jonkcore.Objects.Interfaces.IRelayTransport}.
+     *
+     * @param host the address to listen on, such as <code>127.0.0.1</code> for servers on the same machine
+     * @param port the port to listen on, or 0 to pick any free port
+     * @param logger logger to report connections to
+     */
+    public RelayBroker(String host, int port, Logger logger) {
+        this.host = host;
+        this.port = port;
+        this.logger = logger;
+        this.connections = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Start listening for servers.
+     * @throws IOException if the port could not be bound
+     */
+    public synchronized void start() throws IOException {
+        if(server != null) throw new IllegalStateException("The relay broker is already running.");
+        ServerSocket socket = new ServerSocket();
+        socket.bind(new InetSocketAddress(host, port));
+        this.server = socket;
+        Thread acceptor = new Thread(this::accept, "JonkCORE-RelayBroker");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Stop listening, and disconnect every server.
+     */
+    public synchronized void close() {
+        ServerSocket socket = server;
+        this.server = null;
+        if(socket != null) {
+            try {
+                socket.close();
+            } catch(IOException ignored) {}
+        }
+        for(Connection connection : connections) connection.close();
+        connections.clear();
+    }
+
+    /**
+     * Get the port the broker is listening on.
+     * @return the bound port, or -1 if the broker is not running
+     */
+    public int getPort() {
+        ServerSocket socket = server;
+        return socket == null ? -1 : socket.getLocalPort();
+    }
+
+    /**
+     * Get the amount of servers currently connected.
+     * @return amount of connections
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private void accept() {
+        ServerSocket socket;
+        while((socket = server) != null) {
+            try {
+                Socket client = socket.accept();
+                client.setTcpNoDelay(true);
+                Connection connection = new Connection(client);
+                connections.add(connection);
+                Thread thread = new Thread(connection, "JonkCORE-RelayBroker-" + client.getRemoteSocketAddress());
+                thread.setDaemon(true);
+                thread.start();
+            } catch(IOException e) {
+                if(server != null) logger.warning("Relay broker failed to accept a connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private final class Connection implements Runnable {
+        private final Socket socket;
+        private final DataOutputStream out;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        @Override
+        public void run() {
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                while(true) {
+                    byte[] frame = RelayCodec.readFrame(in);
+                    for(Connection other : connections) {
+                        if(other != this) other.forward(frame);
+                    }
+                }
+            } catch(IOException ignored) {
+                // the server disconnected
+            } finally {
+                close();
+            }
+        }
+
+        private void forward(byte[] frame) {
+            try {
+                synchronized(out) {
+                    RelayCodec.writeFrame(out, frame);
+                }
+            } catch(IOException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch(IOException ignored) {}
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package dev.simplyamazing.jonkcore.Objects.Relay;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class RelayCodec {
+    /**
+     * Largest frame accepted from a stream, protecting against corrupt length prefixes.
+     */
+    public static final int MAX_FRAME_LENGTH = 1 << 20;
+
+    private static final byte FLAG_COMPRESSED = 1;
+
+    /**
+     * Encode a batch of messages into a single frame.
+     * <br><br>
+     * The frame starts with a flags byte, followed by the message count and each message. When the encoded messages are at least
+     * <code>compressionThreshold</code> bytes long, they are deflated and the compressed flag is set.
+     *
+     * @param batch messages to encode
+     * @param compressionThreshold minimum length in bytes before compressing, or 0 to never compress
+     * @return encoded frame
+     */
+    public static byte[] encode(List<RelayMessage> batch, int compressionThreshold) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * batch.size() + 4);
+        try(DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(batch.size());
+            for(RelayMessage message : batch) {
+                writeString(out, message.getOrigin());
+                writeString(out, message.getRoom());
+                writeString(out, message.getSender());
+                writeString(out, message.getBody());
+                out.writeLong(message.getTimestamp());
+            }
+        } catch(IOException e) {
+            // a ByteArrayOutputStream never throws
+            throw new UncheckedIOException(e);
+        }
+        byte[] payload = bytes.toByteArray();
+        boolean compress = compressionThreshold > 0 && payload.length >= compressionThreshold;
+        if(compress) payload = deflate(payload);
+
+        byte[] frame = new byte[payload.length + 1];
+        frame[0] = compress ? FLAG_COMPRESSED : 0;
+        System.arraycopy(payload, 0, frame, 1, payload.length);
+        return frame;
+    }
+
+    /**
+     * Decode a frame created by {@link #encode(List, int)}.
+     * @param frame frame to decode
+     * @return decoded messages
+     * @throws IOException if the frame is malformed
+     */
+    public static List<RelayMessage> decode(byte[] frame) throws IOException {
+        if(frame.length == 0) throw new IOException("Received an empty relay frame.");
+        byte[] payload;
+        if((frame[0] & FLAG_COMPRESSED) != 0) payload = inflate(frame, 1, frame.length - 1);
+        else {
+            payload = new byte[frame.length - 1];
+            System.arraycopy(frame, 1, payload, 0, payload.length);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int count = in.readInt();
+        if(count < 0 || count > payload.length) throw new IOException("Received a relay frame with an invalid message count (" + count + ").");
+        List<RelayMessage> messages = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            messages.add(new RelayMessage(readString(in), readString(in), readString(in), readString(in), in.readLong()));
+        }
+        return messages;
+    }
+
+    /**
+     * Write a frame to a stream, prefixed by its length.
+     * @param out stream to write to
+     * @param frame frame to write
+     * @throws IOException if the stream could not be written to
+     */
+    public static void writeFrame(DataOutputStream out, byte[] frame) throws IOException {
+        out.writeInt(frame.length);
+        out.write(frame);
+        out.flush();
+    }
+
+    /**
+     * Read a length-prefixed frame from a stream, blocking until it has been fully received.
+     * @param in stream to read from
+     * @return the frame
+     * @throws IOException if the stream was closed, or the length prefix is invalid
+     */
+    public static byte[] readFrame(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if(length < 0 || length > MAX_FRAME_LENGTH) throw new IOException("Received a relay frame with an invalid length (" + length + ").");
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return frame;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if(value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if(length == -1) return null;
+        if(length < 0 || length > in.available()) throw new IOException("Received a relay frame with an invalid string length (" + length + ").");
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2 + 16);
+            // the uncompressed length lets the receiver size its buffer exactly
+            out.write(payload.length >>> 24);
+            out.write(payload.length >>> 16);
+            out.write(payload.length >>> 8);
+            out.write(payload.length);
+            byte[] buffer = new byte[4096];
+            while(!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] frame, int offset, int length) throws IOException {
+        if(length < 4) throw new IOException("Received a truncated compressed relay frame.");
+        int size = ((frame[offset] & 0xFF) << 24) | ((frame[offset + 1] & 0xFF) << 16) | ((frame[offset + 2] & 0xFF) << 8) | (frame[offset + 3] & 0xFF);
+        if(size < 0 || size > MAX_FRAME_LENGTH * 8) throw new IOException("Received a compressed relay frame with an invalid length (" + size + ").");
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(frame, offset + 4, length - 4);
+            byte[] payload = new byte[size];
+            int read = 0;
+            while(read < size) {
+                int n = inflater.inflate(payload, read, size - read);
+                if(n == 0 && (inflater.finished() || inflater.needsInput())) break;
+                read += n;
+            }
+            if(read != size) throw new IOException("Received a truncated compressed relay frame.");
+            return payload;
+        } catch(DataFormatException e) {
+            throw new IOException("Received a corrupt compressed relay frame.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.simplyamazing.jonkcore.Objects.Relay;
+
+public final class RelayMessage {
+    private final String origin;
+    private final String room;
+    private final String sender;
+    private final String body;
+    private final long timestamp;
+
+    /**
+     * Constructor for the RelayMessage object.
+     * @param origin the identifier of the server the message was sent on
+     * @param room the name of the ChatRoom the message was sent in
+     * @param sender the formatted name of the User who sent the message
+     * @param body the unformatted message
+     * @param timestamp the time the message was sent, in milliseconds since the epoch
+     */
+    public RelayMessage(String origin, String room, String sender, String body, long timestamp) {
+        this.origin = origin;
+        this.room = room;
+        this.sender = sender;
+        this.body = body;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Get the identifier of the server the message was sent on.
+     * @return server identifier
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Get the name of the ChatRoom the message was sent in.
+     * @return ChatRoom name
+     */
+    public String getRoom() {
+        return room;
+    }
+
+    /**
+     * Get the formatted name of the User who sent the message.
+     * @return sender name
+     */
+    public String getSender() {
+        return sender;
+    }
+
+    /**
+     * Get the unformatted message, which is styled by the receiving ChatRoom.
+     * @return message body
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Get the time the message was sent.
+     * @return time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,115 @@
+package dev.simplyamazing.jonkcore.Objects.Relay;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IRelayTransport;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+public class TcpTransport implements IRelayTransport {
+    private static final int CONNECT_TIMEOUT = 5000;
+    private static final long MAX_BACKOFF = 30000;
+
+    private final String name;
+    private final String host;
+    private final int port;
+    private final Logger logger;
+    private volatile boolean closed;
+    private volatile Socket socket;
+    private volatile DataOutputStream out;
+    private Thread reader;
+
+    /**
+     * Constructor for the TcpTransport object.
+     * <br><br>
+     * The transport connects to a {@link RelayBroker}, which forwards every frame to the other connected servers. Frames are length-prefixed
+     * (see {@link RelayCodec#writeFrame}). If the connection is lost, it is re-established in the background with an increasing delay.
+     *
+     * @param name the name of the link
+     * @param host the host of the broker
+     * @param port the port of the broker
+     * @param logger logger to report connection changes to
+     */
+    public TcpTransport(String name, String host, int port, Logger logger) {
+        this.name = name;
+        this.host = host;
+        this.port = port;
+        this.logger = logger;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized void open(Consumer<byte[]> receiver) {
+        if(reader != null) throw new IllegalStateException("The transport " + name + " is already open.");
+        this.reader = new Thread(() -> run(receiver), "JonkCORE-Relay-" + name);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @Override
+    public void send(byte[] frame) throws IOException {
+        DataOutputStream stream = out;
+        if(stream == null) throw new IOException("The transport " + name + " is not connected.");
+        synchronized(stream) {
+            RelayCodec.writeFrame(stream, frame);
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return out != null;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        disconnect();
+        Thread thread = reader;
+        if(thread != null) thread.interrupt();
+    }
+
+    private void run(Consumer<byte[]> receiver) {
+        long backoff = 1000;
+        while(!closed) {
+            try {
+                Socket connection = new Socket();
+                connection.setTcpNoDelay(true);
+                connection.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT);
+                this.socket = connection;
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                this.out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                logger.info("Relay link " + name + " connected to " + host + ":" + port + ".");
+                backoff = 1000;
+                while(!closed) receiver.accept(RelayCodec.readFrame(in));
+            } catch(IOException e) {
+                if(closed) return;
+                logger.warning("Relay link " + name + " lost its connection to " + host + ":" + port + " (" + e.getMessage() + "), retrying in " + backoff / 1000 + "s.");
+            } finally {
+                disconnect();
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch(InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(MAX_BACKOFF, backoff * 2);
+        }
+    }
+
+    private void disconnect() {
+        this.out = null;
+        Socket connection = socket;
+        this.socket = null;
+        if(connection != null) {
+            try {
+                connection.close();
+            } catch(IOException ignored) {}
+        }
+    }
+}
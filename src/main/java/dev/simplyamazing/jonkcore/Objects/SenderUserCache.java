@@ -0,0 +1,192 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class SenderUserCache {
+    private static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toNanos(10);
+    private static final long SWEEP_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final long idleTimeout;
+    private User console;
+    private final Map<String, NamedEntry> named;
+    // open-addressed table of command block Users, keyed by packed block position and world
+    private long[] blockKeys;
+    private World[] blockWorlds;
+    private User[] blockUsers;
+    private long[] blockLastUsed;
+    private int blockCount;
+    private long lastSweep;
+
+    /**
+     * Constructor for the SenderUserCache object, evicting Users after 10 minutes of inactivity.
+     */
+    public SenderUserCache() {
+        this(DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Constructor for the SenderUserCache object.
+     * @param idleTimeout nanoseconds a cached User may go unused before it is evicted
+     */
+    public SenderUserCache(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        this.named = new HashMap<>();
+        this.lastSweep = System.nanoTime();
+        resetBlocks(16);
+    }
+
+    /**
+     * Retrieve the cached User of a non-player CommandSender, creating it if it does not exist.
+     * <br><br>
+     * The console has a single User for the lifetime of the cache. Command blocks have one User per block position, and any other sender has one User per name.
+     * Every call refreshes the legacy CommandSender of the returned User, as the server may create a new sender object for each execution.
+     * <br><br>
+     * Looking up an existing User does not allocate.
+     *
+     * @param sender the CommandSender, which must not be a Player
+     * @return the cached User
+     */
+    public synchronized User get(CommandSender sender) {
+        long now = System.nanoTime();
+        if(now - lastSweep > SWEEP_INTERVAL) sweep(now);
+        if(sender instanceof ConsoleCommandSender) {
+            if(console == null) console = new User(sender);
+            console.legacySender = sender;
+            return console;
+        }
+        if(sender instanceof BlockCommandSender blockSender) {
+            return getBlockUser(blockSender, now);
+        }
+        NamedEntry entry = named.get(sender.getName());
+        if(entry == null) {
+            entry = new NamedEntry(new User(sender));
+            named.put(sender.getName(), entry);
+        }
+        entry.user.legacySender = sender;
+        entry.lastUsed = now;
+        return entry.user;
+    }
+
+    /**
+     * Evict every User that has not been used within the idle timeout.
+     * <br><br>
+     * This is run automatically during lookups, but may also be called manually.
+     */
+    public synchronized void sweep() {
+        sweep(System.nanoTime());
+    }
+
+    /**
+     * Remove and release every cached User, including the console.
+     */
+    public synchronized void clear() {
+        if(console != null) console.release();
+        console = null;
+        named.values().forEach(entry -> entry.user.release());
+        named.clear();
+        for(User user : blockUsers) {
+            if(user != null) user.release();
+        }
+        resetBlocks(16);
+    }
+
+    /**
+     * Retrieve the amount of cached Users, including the console.
+     * @return amount of cached Users
+     */
+    public synchronized int size() {
+        return (console == null ? 0 : 1) + named.size() + blockCount;
+    }
+
+    private User getBlockUser(BlockCommandSender sender, long now) {
+        Block block = sender.getBlock();
+        World world = block.getWorld();
+        long key = pack(block.getX(), block.getY(), block.getZ());
+        int mask = blockKeys.length - 1;
+        int slot = mix(key) & mask;
+        while(blockUsers[slot] != null) {
+            if(blockKeys[slot] == key && blockWorlds[slot] == world) {
+                blockUsers[slot].legacySender = sender;
+                blockLastUsed[slot] = now;
+                return blockUsers[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        User user = new User(sender);
+        insertBlock(key, world, user, now);
+        return user;
+    }
+
+    private void insertBlock(long key, World world, User user, long lastUsed) {
+        if((blockCount + 1) * 2 > blockKeys.length) rehash(blockKeys.length * 2, false, 0);
+        int mask = blockKeys.length - 1;
+        int slot = mix(key) & mask;
+        while(blockUsers[slot] != null) slot = (slot + 1) & mask;
+        blockKeys[slot] = key;
+        blockWorlds[slot] = world;
+        blockUsers[slot] = user;
+        blockLastUsed[slot] = lastUsed;
+        blockCount++;
+    }
+
+    private void sweep(long now) {
+        lastSweep = now;
+        Iterator<NamedEntry> it = named.values().iterator();
+        while(it.hasNext()) {
+            NamedEntry entry = it.next();
+            if(now - entry.lastUsed > idleTimeout) {
+                entry.user.release();
+                it.remove();
+            }
+        }
+        rehash(blockKeys.length, true, now);
+    }
+
+    private void rehash(int capacity, boolean evictIdle, long now) {
+        long[] keys = blockKeys;
+        World[] worlds = blockWorlds;
+        User[] users = blockUsers;
+        long[] lastUsed = blockLastUsed;
+        resetBlocks(capacity);
+        for(int i = 0; i < users.length; i++) {
+            if(users[i] == null) continue;
+            if(evictIdle && now - lastUsed[i] > idleTimeout) users[i].release();
+            else insertBlock(keys[i], worlds[i], users[i], lastUsed[i]);
+        }
+    }
+
+    private void resetBlocks(int capacity) {
+        this.blockKeys = new long[capacity];
+        this.blockWorlds = new World[capacity];
+        this.blockUsers = new User[capacity];
+        this.blockLastUsed = new long[capacity];
+        this.blockCount = 0;
+    }
+
+    private static long pack(int x, int y, int z) {
+        return ((long)(x & 0x3FFFFFF) << 38) | ((long)(z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32));
+    }
+
+    private static final class NamedEntry {
+        private final User user;
+        private long lastUsed;
+
+        private NamedEntry(User user) {
+            this.user = user;
+        }
+    }
+}
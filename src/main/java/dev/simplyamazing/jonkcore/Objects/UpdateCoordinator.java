@@ -0,0 +1,189 @@
+package dev.simplyamazing.jonkcore.Objects;
+
+import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
+import dev.simplyamazing.jonkcore.Utilities.UpdateChecker;
+import org.bukkit.plugin.Plugin;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+public class UpdateCoordinator {
+    private final Map<String, UpdateChecker> checkers;
+    private final Map<String, HostLimiter> hosts;
+    private volatile int maxRequestsPerHost;
+
+    /**
+     * Constructor for the UpdateCoordinator object.
+     * @param maxRequestsPerHost the maximum amount of requests sent to the same host at once
+     */
+    public UpdateCoordinator(int maxRequestsPerHost) {
+        this.checkers = new ConcurrentHashMap<>();
+        this.hosts = new ConcurrentHashMap<>();
+        this.maxRequestsPerHost = Math.max(1, maxRequestsPerHost);
+    }
+
+    /**
+     * Retrieve the UpdateChecker of a plugin, creating it if it does not exist.
+     * <br><br>
+     * Every UpdateChecker shares the same HttpClient, and so the same connection pool.
+     *
+     * @param plugin the plugin, which must also be a Bukkit {@link Plugin}
+     * @return the UpdateChecker of the plugin
+     */
+    public UpdateChecker getChecker(IJonkPlugin plugin) {
+        String name = plugin instanceof Plugin p ? p.getName() : plugin.getClass().getName();
+        UpdateChecker checker = checkers.get(name);
+        // a reloaded plugin is a new instance, and so needs a new checker
+        if(checker == null || checker.getPlugin() != plugin) {
+            checker = new UpdateChecker(plugin);
+            checkers.put(name, checker);
+        }
+        return checker;
+    }
+
+    /**
+     * Check a single plugin for updates, respecting the per-host request limit.
+     * @param plugin the plugin to check
+     * @return future completed with the result of the check
+     */
+    public CompletableFuture<UpdateChecker.Result> check(IJonkPlugin plugin) {
+        UpdateChecker checker = getChecker(plugin);
+        String host = checker.getEndpoint() == null || checker.getEndpoint().getHost() == null ? "" : checker.getEndpoint().getHost().toLowerCase(Locale.ROOT);
+        return hosts.computeIfAbsent(host, h -> new HostLimiter()).submit(checker::check);
+    }
+
+    /**
+     * Check every plugin for updates in parallel.
+     * <br><br>
+     * All requests are sent at once, other than those waiting for the per-host request limit, so the whole check takes about as long as the slowest request.
+     *
+     * @param plugins the plugins to check
+     * @return future completed with the report once every plugin has been checked
+     */
+    public CompletableFuture<Report> checkAll(Collection<? extends IJonkPlugin> plugins) {
+        long start = System.nanoTime();
+        List<CompletableFuture<UpdateChecker.Result>> futures = new ArrayList<>(plugins.size());
+        for(IJonkPlugin plugin : plugins) futures.add(check(plugin));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<UpdateChecker.Result> results = new ArrayList<>(futures.size());
+            for(CompletableFuture<UpdateChecker.Result> future : futures) results.add(future.join());
+            return new Report(results, System.nanoTime() - start);
+        });
+    }
+
+    /**
+     * Set the maximum amount of requests sent to the same host at once.
+     * @param max the maximum amount of requests
+     */
+    public void setMaxRequestsPerHost(int max) {
+        this.maxRequestsPerHost = Math.max(1, max);
+    }
+
+    /**
+     * Remove every UpdateChecker and its cached result.
+     */
+    public void clear() {
+        checkers.clear();
+    }
+
+    private final class HostLimiter {
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+
+        private <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> request.get().whenComplete((value, error) -> {
+                release();
+                if(error != null) result.completeExceptionally(error);
+                else result.complete(value);
+            });
+            boolean startNow;
+            synchronized(this) {
+                startNow = active < maxRequestsPerHost;
+                if(startNow) active++;
+                else waiting.add(start);
+            }
+            if(startNow) start.run();
+            return result;
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized(this) {
+                next = waiting.poll();
+                if(next == null) active--;
+            }
+            if(next != null) next.run();
+        }
+    }
+
+    public static final class Report {
+        private final List<UpdateChecker.Result> results;
+        private final long elapsed;
+
+        private Report(List<UpdateChecker.Result> results, long elapsed) {
+            this.results = Collections.unmodifiableList(results);
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Get the result of every plugin that was checked.
+         * @return list of results
+         */
+        public List<UpdateChecker.Result> getResults() {
+            return results;
+        }
+
+        /**
+         * Get the amount of plugins with an update available.
+         * @return amount of outdated plugins
+         */
+        public int getOutdatedCount() {
+            int count = 0;
+            for(UpdateChecker.Result result : results) {
+                if(result.isSuccessful() && !result.isUpToDate()) count++;
+            }
+            return count;
+        }
+
+        /**
+         * Get the amount of time the whole check took.
+         * @return elapsed time, in milliseconds
+         */
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsed);
+        }
+
+        /**
+         * Format the report into chat messages, one per plugin.
+         * @return list of messages
+         */
+        public List<String> getLines() {
+            List<String> lines = new ArrayList<>(results.size() + 1);
+            lines.add("&aChecked &e" + results.size() + " &aplugin" + (results.size() == 1 ? "" : "s") + " in &e" + getElapsedMillis() + "ms&a, &e"
+                    + getOutdatedCount() + " &aupdate" + (getOutdatedCount() == 1 ? "" : "s") + " available.");
+            for(UpdateChecker.Result result : results) {
+                IJonkPlugin plugin = result.getPlugin();
+                String name = plugin instanceof Plugin p ? p.getName() : plugin.getClass().getSimpleName();
+                String line = "&8- &e" + name + " &7v" + result.getCurrentVersion() + "&8: ";
+                if(!result.isSuccessful()) line += "&c" + result.getError();
+                else if(result.isUpToDate()) line += "&aUp to date.";
+                else line += "&6Update available! &7v" + result.getLatestVersion();
+                lines.add(line);
+            }
+            return lines;
+        }
+
+        /**
+         * Write the report to a logger, without colour codes.
+         * @param logger the logger to write to
+         */
+        public void log(Logger logger) {
+            for(String line : getLines()) logger.info(line.replaceAll("&[0-9a-fk-or]", ""));
+        }
+    }
+}
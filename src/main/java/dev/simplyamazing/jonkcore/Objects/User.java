@@ -8,6 +8,7 @@ import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
 import dev.simplyamazing.jonkcore.Utilities.ChatUtilities;
+import dev.simplyamazing.jonkcore.Utilities.CompletionUtils;
 import dev.simplyamazing.jonkcore.Utilities.PermissionUtils;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -17,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 public class User extends PluginObject implements IUser {
     // server target variables
@@ -27,6 +29,15 @@ public class User extends PluginObject implements IUser {
     protected List<ChatRoom> subscribedChatRooms;
     // attribute variable
     protected List<Attribute> attributes;
+    // conversion variable
+    protected long modificationCount;
+    // tab-completion variables
+    private String[] sortedChatRoomNames;
+    private long sortedChatRoomNamesVersion = -1;
+    // rate limiting variable, see RateLimiter
+    volatile int rateLimitSlot = -1;
+    // recent message signatures, see DuplicateDetector
+    volatile DuplicateDetector.Window duplicateWindow;
 
     /**
      * Constructor for a User object with a legacy CommandSender.
@@ -49,15 +60,70 @@ public class User extends PluginObject implements IUser {
      * @param legacyPlayer The legacy Player to create the User object from.
      */
     protected User(final Player legacyPlayer) {
-        super(new ID(legacyPlayer.getUniqueId()));
-        this.legacyPlayer = legacyPlayer;
+        this(legacyPlayer.getUniqueId());
+        bind(legacyPlayer);
+    }
+
+    /**
+     * Constructor for a player-User object that has not yet been bound to a legacy Player.
+     * <br><br>
+     * This is used to prepare a User before the Player has joined (see {@link Index#preloadUser(UUID)}), and is safe to call off the main thread.
+     * The User must be bound with {@link #bind(Player)} before it is used.
+     *
+     * @param uuid The UUID of the Player this User will be bound to.
+     */
+    protected User(final UUID uuid) {
+        super(new ID(uuid));
+        this.legacyPlayer = null;
         this.legacySender = null;
-        this.focusedChatRoom = JonkCORE.getInstance().getStorage().getChatRoom("global");
-        this.subscribedChatRooms = new ArrayList<>(ChatRoom.findApplicableRooms(legacyPlayer));
+        this.focusedChatRoom = null;
+        this.subscribedChatRooms = new ArrayList<>();
         this.attributes = new ArrayList<>();
-        try {
-            focusedChatRoom.subscribe(this);
-        } catch(PermissionRequiredException ignored) {}
+    }
+
+    /**
+     * Attach this User to its legacy Player before it is bound, so it can be messaged and checked for permissions while the Player waits in the join queue.
+     * <br><br>
+     * This is safe to call from any thread, and does not subscribe the User to any ChatRoom (see {@link Index#getPendingUser(Player)}).
+     *
+     * @param legacyPlayer The legacy Player to attach to.
+     */
+    void attach(final Player legacyPlayer) {
+        if(this.legacyPlayer == null) this.legacyPlayer = legacyPlayer;
+    }
+
+    /**
+     * Bind this User to its legacy Player, and subscribe it to all applicable ChatRooms.
+     * <br><br>
+     * Rather than being notified of each ChatRoom separately, the User is sent a single welcome message listing their ChatRooms.
+     * This must be called on the main thread, once the Player has joined.
+     *
+     * @param legacyPlayer The legacy Player to bind to.
+     */
+    void bind(final Player legacyPlayer) {
+        this.legacyPlayer = legacyPlayer;
+        this.focusedChatRoom = JonkCORE.getInstance().getStorage().getChatRoom("global");
+        this.modificationCount++;
+        // the focused ChatRoom keeps its own permission and lock checks; a User refused by it is neither listed nor sent its messages
+        if(focusedChatRoom != null) {
+            try {
+                focusedChatRoom.subscribe(this, false);
+            } catch(PermissionRequiredException ignored) {}
+        }
+        // subscribe on both sides, so every listed ChatRoom also delivers to this User and can be focused
+        for(ChatRoom chatRoom : JonkCORE.getInstance().getStorage().getJoinCandidates().findApplicableRooms(this)) {
+            if(chatRoom != focusedChatRoom && chatRoom.join(this) && !subscribedChatRooms.contains(chatRoom)) {
+                subscribedChatRooms.add(chatRoom);
+                modificationCount++;
+            }
+        }
+        if(subscribedChatRooms.isEmpty()) return;
+        StringBuilder rooms = new StringBuilder();
+        for(ChatRoom chatRoom : subscribedChatRooms) {
+            if(rooms.length() > 0) rooms.append(", ");
+            rooms.append(chatRoom.getIdentifier().toString());
+        }
+        sendMessage("&7[&a+&7] &bYou have been added to the chatroom" + (subscribedChatRooms.size() == 1 ? "" : "s") + " &a(" + rooms + ")&b.");
     }
 
     /**
@@ -120,6 +186,23 @@ public class User extends PluginObject implements IUser {
         return new ArrayList<>(subscribedChatRooms);
     }
 
+    /**
+     * Retrieve the names of the ChatRooms this User is currently in, sorted case-insensitively for tab-completion.
+     * <br><br>
+     * The array is cached until the User's ChatRooms change, and must not be modified.
+     *
+     * @return The sorted names of the ChatRooms this User is currently in.
+     */
+    public String[] getSortedChatRoomNames() {
+        String[] names = sortedChatRoomNames;
+        if(names == null || sortedChatRoomNamesVersion != modificationCount) {
+            names = CompletionUtils.sortedNames(subscribedChatRooms);
+            this.sortedChatRoomNames = names;
+            this.sortedChatRoomNamesVersion = modificationCount;
+        }
+        return names;
+    }
+
     /**
      * Subscribe a User to a ChatRoom.
      * <br><br>
@@ -141,6 +224,7 @@ public class User extends PluginObject implements IUser {
             if(!this.subscribedChatRooms.contains(chatRoom1)) {
                 if(chatRoom1.isSubscribed(this)) {
                     subscribedChatRooms.add(chatRoom1);
+                    modificationCount++;
                 } else {
                     chatRoom1.subscribe(this);
                 }
@@ -169,9 +253,11 @@ public class User extends PluginObject implements IUser {
                     chatRoom1.unsubscribe(this);
                 } else {
                     subscribedChatRooms.remove(chatRoom1);
+                    modificationCount++;
                 }
                 if(focusedChatRoom.equals(chatRoom1)) {
                     focusedChatRoom = JonkCORE.getInstance().getStorage().getChatRoom("global");
+                    modificationCount++;
                     sendMessage(JonkCORE.getInstance().getPrefix() + "&cYou have been unsubscribed from the chat room &e" + chatRoom1.getIdentifier().toString() + "&c, so you have been moved to the global chat room.");
                 }
             }
@@ -196,6 +282,7 @@ public class User extends PluginObject implements IUser {
             if(subscribedChatRooms.contains(chatRoom1)) {
                 if(chatRoom1.isSubscribed(this)) {
                     focusedChatRoom = chatRoom1;
+                    modificationCount++;
                 } else throw new UserException(this, "User cannot focus on a ChatRoom they are not subscribed to.");
             } else throw new UserException(this, "User cannot focus on a ChatRoom they are not subscribed to.");
         } else throw new IllegalArgumentException("Provided ChatRoom is a differing implementation than required (Expected: " + ChatRoom.class.getName() + ", Provided: " + chatRoom.getClass().getName() + ")");
@@ -438,6 +525,35 @@ public class User extends PluginObject implements IUser {
         this.attributes.clear();
         user.getAttributes().forEach(this::addAttribute);
         this.focusedChatRoom = (user.getFocusedChatRoom() != null && user.getFocusedChatRoom() instanceof ChatRoom) ? (ChatRoom)user.getFocusedChatRoom() : focusedChatRoom;
+        this.modificationCount++;
+    }
+
+    /**
+     * Retrieve the amount of times this User has been modified.
+     * <br><br>
+     * The count is increased whenever this User's legacy target, ChatRooms, focused ChatRoom or Attributes change.
+     *
+     * @return The modification count of this User.
+     */
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Silently detach this User from every ChatRoom it is subscribed to.
+     * <br><br>
+     * This is used to release converted User objects once they are no longer referenced, so they do not remain in ChatRooms and receive duplicate messages.
+     * Unlike {@link #unsubscribeFromChat(IChatRoom)}, no messages are sent and the <code>global</code> ChatRoom is also left.
+     */
+    void release() {
+        for(ChatRoom chatRoom : subscribedChatRooms) {
+            chatRoom.detach(this);
+        }
+        subscribedChatRooms.clear();
+        modificationCount++;
+        RateLimiter rateLimiter = JonkCORE.getInstance() == null ? null : JonkCORE.getInstance().getRateLimiter();
+        if(rateLimiter != null) rateLimiter.releaseSlot(this);
     }
 
     /**
@@ -493,6 +609,7 @@ public class User extends PluginObject implements IUser {
     @Override
     public void addAttribute(Attribute attribute) {
         attributes.add(attribute);
+        modificationCount++;
     }
 
     /**
@@ -515,7 +632,7 @@ public class User extends PluginObject implements IUser {
      */
     @Override
     public void removeAttribute(ID id) {
-        attributes.removeIf(attribute -> attribute.getIdentifier().equals(id));
+        if(attributes.removeIf(attribute -> attribute.getIdentifier().equals(id))) modificationCount++;
     }
 
     /**
@@ -538,7 +655,7 @@ public class User extends PluginObject implements IUser {
      */
     @Override
     public void removeAttribute(Attribute attribute) {
-        attributes.remove(attribute);
+        if(attributes.remove(attribute)) modificationCount++;
     }
 
     /**
@@ -566,20 +683,28 @@ public class User extends PluginObject implements IUser {
     /**
      * Fetch a User object from a legacy CommandSender.
      * <br><br>
-     * The {@link CommandSender} will be automatically checked on whether it's an instance of Player, and if so, will either return a new User object or an existing one from the {@link Index}.
-     * If the {@link CommandSender} is not an instance of Player, a new User object will be created.
+     * The {@link CommandSender} will be automatically checked on whether it's an instance of Player, and if so, will return the registered User object from the {@link Index}.
+     * If the {@link CommandSender} is not an instance of Player, a cached User object for the console, command block or other sender will be returned
+     * (see {@link Index#getSenderUser(CommandSender)}).
      * <br><br>
-     * Any returned User object is <b>not</b> added to the {@link Index}, even if the object is newly created. This should be done manually as usage varies.
+     * A Player still waiting in the join queue is registered immediately on the main thread. Off the main thread this method does not wait, and returns the User object
+     * the Player will be registered with instead (see {@link Index#getPendingUser(Player)}), which is not yet subscribed to any ChatRoom.
      *
      * @param sender The CommandSender object.
      * @return The User object.
      */
     public static User fetch(CommandSender sender) {
         if(sender instanceof Player player) {
-            if(JonkCORE.getInstance().getStorage().getUser(new ID(player.getUniqueId())) == null) return new User((Player)sender);
-            return JonkCORE.getInstance().getStorage().getUser(new ID(player.getUniqueId()));
+            Index storage = JonkCORE.getInstance().getStorage();
+            User registered = storage.getUser(new ID(player.getUniqueId()));
+            if(registered != null) return registered;
+            // the player may have joined but still be waiting in the join queue, which is only processed on the main thread
+            if(JonkCORE.getInstance().getUserCreationEvent() != null) JonkCORE.getInstance().getUserCreationEvent().getJoinProcessor().ensureRegistered(player);
+            registered = storage.getUser(new ID(player.getUniqueId()));
+            // hand out the object the player will be registered with, rather than an unregistered duplicate
+            return (registered == null) ? storage.getPendingUser(player) : registered;
         }
-        return new User(sender);
+        return JonkCORE.getInstance().getStorage().getSenderUser(sender);
     }
 
     /**
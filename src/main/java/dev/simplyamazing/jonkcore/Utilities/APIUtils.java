@@ -3,18 +3,19 @@ package dev.simplyamazing.jonkcore.Utilities;
 import dev.simplyamazing.jonkcore.JonkCORE;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IChatRoom;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
-import org.bukkit.plugin.Plugin;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class APIUtils {
-    public static HashMap<IJonkPlugin, IChatRoom> getAllChatRooms() {
-        HashMap<IJonkPlugin, IChatRoom> chatRooms = new HashMap<>();
-        for(Plugin plugin : JonkCORE.getInstance().getJonkPlugins()) {
-            ((IJonkPlugin)plugin).getStorage().getChatRooms().forEach(chatRoom -> chatRooms.put((IJonkPlugin)plugin, chatRoom));
-        }
-        return chatRooms;
+    /**
+     * Retrieve every chat room of every sub-plugin, keyed by sub-plugin.
+     * <br><br>
+     * The map is taken from the {@link dev.simplyamazing.jonkcore.Objects.ChatRoomDirectory}, and cannot be modified.
+     *
+     * @return map of sub-plugin to all of its chat rooms
+     */
+    public static Map<IJonkPlugin, List<IChatRoom>> getAllChatRooms() {
+        return JonkCORE.getInstance().getChatRoomDirectory().asMap();
     }
 }
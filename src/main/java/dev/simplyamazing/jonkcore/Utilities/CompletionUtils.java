@@ -0,0 +1,65 @@
+package dev.simplyamazing.jonkcore.Utilities;
+
+import dev.simplyamazing.jonkcore.Objects.ChatRoom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class CompletionUtils {
+    private static volatile int maxResults = 100;
+
+    /**
+     * Build a sorted array of ChatRoom names, for use with {@link #complete(String[], String)}.
+     * @param chatRooms : ChatRooms to take the names of
+     * @return : the names, sorted case-insensitively
+     */
+    public static String[] sortedNames(Collection<ChatRoom> chatRooms) {
+        String[] names = new String[chatRooms.size()];
+        int i = 0;
+        for(ChatRoom chatRoom : chatRooms) {
+            names[i++] = chatRoom.getIdentifier().toString();
+        }
+        Arrays.sort(names, String.CASE_INSENSITIVE_ORDER);
+        return names;
+    }
+
+    /**
+     * Retrieve the names starting with a prefix from a sorted array of names, up to the configured maximum.
+     * <br><br>
+     * The range of matching names is found with a binary search, so only the matching names are visited.
+     * @param sorted : names, sorted case-insensitively (see {@link #sortedNames(Collection)})
+     * @param prefix : the partially typed name, case-insensitive
+     * @return : the matching names, in order
+     */
+    public static List<String> complete(String[] sorted, String prefix) {
+        int limit = maxResults;
+        int low = 0, high = sorted.length;
+        // find the first name not ordered before the prefix
+        while(low < high) {
+            int mid = (low + high) >>> 1;
+            if(String.CASE_INSENSITIVE_ORDER.compare(sorted[mid], prefix) < 0) low = mid + 1;
+            else high = mid;
+        }
+        int end = low;
+        while(end < sorted.length && end - low < limit && sorted[end].regionMatches(true, 0, prefix, 0, prefix.length())) end++;
+        return new ArrayList<>(Arrays.asList(sorted).subList(low, end));
+    }
+
+    /**
+     * Set the maximum amount of results returned by {@link #complete(String[], String)}.
+     * @param max : maximum amount of results
+     */
+    public static void setMaxResults(int max) {
+        maxResults = Math.max(1, max);
+    }
+
+    /**
+     * Get the maximum amount of results returned by {@link #complete(String[], String)}.
+     * @return : maximum amount of results
+     */
+    public static int getMaxResults() {
+        return maxResults;
+    }
+}
@@ -1,6 +1,7 @@
 package dev.simplyamazing.jonkcore.Utilities;
 
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IUser;
+import dev.simplyamazing.jonkcore.Objects.Metrics.Metrics;
 import org.bukkit.entity.Player;
 
 public class PermissionUtils {
@@ -12,6 +13,7 @@ public class PermissionUtils {
      */
     public static boolean checkOnly(IUser u, String permission) {
         if(permission == null || permission.equals("")) return true;
+        Metrics.count(Metrics.PERMISSION_LOOKUPS);
         return u.safeGetLegacy().hasPermission(permission);
     }
 
@@ -26,6 +28,7 @@ public class PermissionUtils {
     @Deprecated
     public static boolean legacyCheckOnly(Player p, String permission) {
         if(permission == null || permission.equals("")) return true;
+        Metrics.count(Metrics.PERMISSION_LOOKUPS);
         return p.hasPermission(permission);
     }
 
@@ -37,6 +40,7 @@ public class PermissionUtils {
      */
     public static boolean checkNotOnly(IUser u, String permission) {
         if(permission == null || permission.equals("")) return false;
+        Metrics.count(Metrics.PERMISSION_LOOKUPS);
         return !u.safeGetLegacy().hasPermission(permission);
     }
 
@@ -118,9 +122,10 @@ public class PermissionUtils {
      * @return : true if the User has the permission, parent permission, or is op, false otherwise
      */
     public static boolean checkAny(IUser u, String permission) {
-        if(checkOnly(u, "*")) return true;
-        else if(checkParent(u, permission)) return true;
-        return checkOnly(u, split(permission, 1));
+        long start = Metrics.start();
+        boolean result = checkOnly(u, "*") || checkParent(u, permission) || checkOnly(u, split(permission, 1));
+        Metrics.stop(Metrics.PERMISSION_CHECKS, start);
+        return result;
     }
 
     /**
@@ -133,9 +138,10 @@ public class PermissionUtils {
      */
     @Deprecated
     public static boolean legacyCheckAny(Player p, String permission) {
-        if(legacyCheckOnly(p, "*")) return true;
-        else if(legacyCheckParent(p, permission)) return true;
-        return legacyCheckOnly(p, split(permission, 1));
+        long start = Metrics.start();
+        boolean result = legacyCheckOnly(p, "*") || legacyCheckParent(p, permission) || legacyCheckOnly(p, split(permission, 1));
+        Metrics.stop(Metrics.PERMISSION_CHECKS, start);
+        return result;
     }
 
     /**
@@ -150,6 +156,39 @@ public class PermissionUtils {
         return checkNotOnly(u, split(permission, 1));
     }
 
+    /**
+     * Precompile a permission for repeated use with {@link #checkCompiled(IUser, String[])}.
+     * <br><br>
+     * The result contains every permission that {@link #checkAny(IUser, String)} would check, so the permission does not need to be split again on each check.
+     * @param permission : permission to compile
+     * @return : the compiled permission, or an empty array if the permission is null or empty
+     */
+    public static String[] compile(String permission) {
+        if(permission == null || permission.equals("")) return new String[0];
+        return new String[] { "*", permission, splitBackwards(permission, 1), split(permission, 1) };
+    }
+
+    /**
+     * Check if a User has a precompiled permission in any way, equivalent to {@link #checkAny(IUser, String)}.
+     * @param u : User to check
+     * @param compiled : permission compiled with {@link #compile(String)}
+     * @return : true if the User has the permission, parent permission, or is op, false otherwise
+     */
+    public static boolean checkCompiled(IUser u, String[] compiled) {
+        if(compiled.length == 0) return true;
+        long start = Metrics.start();
+        boolean result = false;
+        for(String permission : compiled) {
+            if(checkOnly(u, permission)) {
+                result = true;
+                break;
+            }
+        }
+        if(!result) result = u.safeGetLegacy().isOp();
+        Metrics.stop(Metrics.PERMISSION_CHECKS, start);
+        return result;
+    }
+
     /**
      * Split a permission down to a certain depth, from front to back (i.e. when permission = "jonkcore.chats.general.mute" & dots = 1, result is "jonkcore.").
      * @param permission : permission to split
@@ -1,74 +1,297 @@
 package dev.simplyamazing.jonkcore.Utilities;
 
-import dev.simplyamazing.jonkcore.JonkCORE;
 import dev.simplyamazing.jonkcore.Objects.Interfaces.IJonkPlugin;
 
-import java.io.*;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 public class UpdateChecker implements Runnable {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
+    private static volatile HttpClient sharedClient;
+
     private final IJonkPlugin plugin;
+    private final HttpClient client;
+    private final URI endpoint;
+    private final long ttl;
+    // conditional request variables, and the version of the response they validate
+    private String etag;
+    private String lastModified;
+    private String validatedVersion;
+    // cached result variables
+    private Result cached;
+    private CompletableFuture<Result> inFlight;
+    // legacy variables
     private boolean upToDate;
     private String latestVersion;
 
+    /**
+     * Constructor for the UpdateChecker object, checking the plugin.yml in the repository of a plugin, and caching the result for 30 minutes.
+     * @param plugin the plugin to check for updates
+     */
     public UpdateChecker(final IJonkPlugin plugin) {
+        this(plugin, getSharedClient(), resolveEndpoint(plugin.getRepository()), DEFAULT_TTL);
+    }
+
+    /**
+     * Constructor for the UpdateChecker object with all custom values.
+     * <br><br>
+     * This allows the checker to be pointed at any server, such as a local stub server while testing.
+     * @param plugin the plugin to check for updates
+     * @param client the HttpClient to send requests with
+     * @param endpoint the URI of the plugin.yml to read the latest version from, or null if the plugin has no repository
+     * @param ttl how long a result is cached before the endpoint is checked again
+     */
+    public UpdateChecker(final IJonkPlugin plugin, final HttpClient client, final URI endpoint, final Duration ttl) {
         this.plugin = plugin;
+        this.client = client;
+        this.endpoint = endpoint;
+        this.ttl = ttl.toNanos();
         this.latestVersion = plugin.getVersion();
         this.upToDate = true;
     }
 
     /**
-     * Run the update checker to check if the plugin is up to date.
+     * Check whether the plugin is up to date, without blocking.
+     * <br><br>
+     * A cached result is returned while it is younger than the TTL, and only one request is made at a time. Otherwise, a conditional request is sent with
+     * the ETag and Last-Modified values of the previous response, so an unchanged plugin.yml is not downloaded again.
+     * <br><br>
+     * The returned future is completed on an HTTP client thread, and is never completed exceptionally; failures are reported through {@link Result#isSuccessful()}.
+     *
+     * @return future completed with the result of the check
+     */
+    public synchronized CompletableFuture<Result> check() {
+        if(cached != null && cached.isSuccessful() && System.nanoTime() - cached.checkedAt < ttl) return CompletableFuture.completedFuture(cached);
+        if(inFlight != null) return inFlight;
+        if(endpoint == null) return CompletableFuture.completedFuture(store(Result.failure(plugin, "The plugin does not have a valid repository.")));
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint).timeout(READ_TIMEOUT).GET();
+        if(etag != null) request.header("If-None-Match", etag);
+        if(lastModified != null) request.header("If-Modified-Since", lastModified);
+        CompletableFuture<Result> future = client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    synchronized(this) {
+                        this.inFlight = null;
+                        if(error != null) return store(Result.failure(plugin, "Failed to check for updates: " + error.getMessage()));
+                        return store(handle(response));
+                    }
+                });
+        // the request may already have completed
+        if(!future.isDone()) this.inFlight = future;
+        return future;
+    }
+
+    /**
+     * Retrieve the most recent result without checking again.
+     * @return the most recent result, or null if the plugin has not been checked yet
+     */
+    public synchronized Result getCachedResult() {
+        return cached;
+    }
+
+    /**
+     * Discard the cached result and the conditional request values, so the next check always downloads the plugin.yml again.
+     */
+    public synchronized void invalidate() {
+        this.cached = null;
+        this.etag = null;
+        this.lastModified = null;
+        this.validatedVersion = null;
+    }
+
+    /**
+     * Run the update checker to check if the plugin is up to date, blocking until the check is complete.
+     * <br><br>
+     * This must not be called on the main thread, {@link #check()} should be used instead.
      */
     @Override
     public void run() {
-        System.out.println(plugin.getPrefix() + "Checking for updates...");
-        InputStream in = null;
-        try {
-            in = new URL(plugin.getRepository().getPath() + "main/resources/plugin.yml").openStream();
-        } catch(IOException e) {
-            System.out.println(plugin.getPrefix() + "Failed to check for updates!");
-            e.printStackTrace();
-        }
-        if(in == null) return;
-        BufferedReader br = new BufferedReader(new InputStreamReader(in));
-        try {
-            String line = null;
-            while(line == null || line.startsWith("version: ")) {
-                line = br.readLine();
-            }
-            latestVersion = line.replaceFirst("version: ", "");
-            upToDate = JonkCORE.getInstance().getDescription().getVersion().equals(latestVersion);
-            if(upToDate) {
-                System.out.println(plugin.getPrefix() + "Plugin is up to date!");
-            } else {
-                System.out.println(plugin.getPrefix() + "Plugin is outdated! The latest version is " + latestVersion + ".");
-            }
-        } catch(IOException e) {
-            System.out.println(plugin.getPrefix() + "Failed to read latest version!");
-            e.printStackTrace();
-        } finally {
-            try {
-                br.close();
-            } catch(IOException e) {
-                e.printStackTrace();
-            }
+        Result result = check().join();
+        if(!result.isSuccessful()) {
+            System.out.println(plugin.getPrefix() + result.getError());
+        } else if(result.isUpToDate()) {
+            System.out.println(plugin.getPrefix() + "Plugin is up to date!");
+        } else {
+            System.out.println(plugin.getPrefix() + "Plugin is outdated! The latest version is " + result.getLatestVersion() + ".");
         }
     }
 
     /**
-     * Check if the plugin is up to date.
+     * Check if the plugin is up to date, as of the most recent check.
      * @return whether the plugin is up to date.
      */
-    public boolean isUpToDate() {
+    public synchronized boolean isUpToDate() {
         return upToDate;
     }
 
     /**
-     * Get the latest version of the plugin.
+     * Get the latest version of the plugin, as of the most recent check.
      * @return the latest version of the plugin.
      */
-    public String getLatestVersion() {
+    public synchronized String getLatestVersion() {
         return latestVersion;
     }
+
+    /**
+     * Get the plugin this UpdateChecker checks.
+     * @return the plugin
+     */
+    public IJonkPlugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Get the URI of the plugin.yml this UpdateChecker reads the latest version from.
+     * @return the endpoint, or null if the plugin has no repository
+     */
+    public URI getEndpoint() {
+        return endpoint;
+    }
+
+    private Result handle(HttpResponse<String> response) {
+        // answered from the last successful response, as the cached result may be a later failure
+        if(response.statusCode() == 304 && validatedVersion != null) {
+            return new Result(plugin, validatedVersion, true, null);
+        }
+        if(response.statusCode() != 200) {
+            return Result.failure(plugin, "Failed to check for updates: the server responded with " + response.statusCode() + ".");
+        }
+        String version = null;
+        for(String line : response.body().split("\n")) {
+            if(line.startsWith("version: ")) {
+                version = line.substring("version: ".length()).trim();
+                break;
+            }
+        }
+        if(version == null) return Result.failure(plugin, "Failed to read latest version!");
+        this.etag = response.headers().firstValue("ETag").orElse(null);
+        this.lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        this.validatedVersion = version;
+        return new Result(plugin, version, false, null);
+    }
+
+    private Result store(Result result) {
+        this.cached = result;
+        if(result.isSuccessful()) {
+            this.latestVersion = result.latestVersion;
+            this.upToDate = result.isUpToDate();
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the HttpClient shared by every UpdateChecker, so connections are pooled between them.
+     * @return the shared HttpClient
+     */
+    public static HttpClient getSharedClient() {
+        HttpClient client = sharedClient;
+        if(client == null) {
+            synchronized(UpdateChecker.class) {
+                client = sharedClient;
+                if(client == null) {
+                    client = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).followRedirects(HttpClient.Redirect.NORMAL).build();
+                    sharedClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Resolve the URI of the plugin.yml within a repository.
+     * @param repository the repository of a plugin, pointing at its <code>src</code> directory
+     * @return the URI of the plugin.yml, or null if the repository is not valid
+     */
+    public static URI resolveEndpoint(URL repository) {
+        if(repository == null) return null;
+        try {
+            String base = repository.toString();
+            return URI.create(base + (base.endsWith("/") ? "" : "/") + "main/resources/plugin.yml");
+        } catch(IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static final class Result {
+        private final IJonkPlugin plugin;
+        private final String latestVersion;
+        private final boolean notModified;
+        private final String error;
+        private final long checkedAt;
+
+        private Result(IJonkPlugin plugin, String latestVersion, boolean notModified, String error) {
+            this.plugin = plugin;
+            this.latestVersion = latestVersion;
+            this.notModified = notModified;
+            this.error = error;
+            this.checkedAt = System.nanoTime();
+        }
+
+        private static Result failure(IJonkPlugin plugin, String error) {
+            return new Result(plugin, null, false, error);
+        }
+
+        /**
+         * Get the plugin that was checked.
+         * @return the plugin
+         */
+        public IJonkPlugin getPlugin() {
+            return plugin;
+        }
+
+        /**
+         * Check whether the latest version was retrieved.
+         * @return true if the check succeeded
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        /**
+         * Get the reason the check failed.
+         * @return the error message, or null if the check succeeded
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * Check whether the plugin is up to date. A failed check is never up to date.
+         * @return whether the plugin is up to date
+         */
+        public boolean isUpToDate() {
+            return isSuccessful() && plugin.getVersion().equals(latestVersion);
+        }
+
+        /**
+         * Get the version of the plugin that is running.
+         * @return the current version
+         */
+        public String getCurrentVersion() {
+            return plugin.getVersion();
+        }
+
+        /**
+         * Get the latest version of the plugin.
+         * @return the latest version, or null if the check failed
+         */
+        public String getLatestVersion() {
+            return latestVersion;
+        }
+
+        /**
+         * Check whether the server reported the plugin.yml as unchanged since the previous check.
+         * @return true if the previous version was re-used
+         */
+        public boolean isNotModified() {
+            return notModified;
+        }
+    }
 }